@@ -0,0 +1,47 @@
+package com.coveo.configuration.parameterstore;
+
+import java.net.URI;
+
+import com.coveo.configuration.parameterstore.strategy.ParameterStorePropertySourceConfigurationStrategy;
+import com.coveo.configuration.parameterstore.strategy.ParameterStorePropertySourceConfigurationStrategyFactory;
+import com.coveo.configuration.parameterstore.strategy.StrategyType;
+
+/**
+ * Points every region of the multi-region strategy at a {@link FakeParameterStoreServer}. The strategy only sets the
+ * region of each client, so the endpoint set on the builder it's given is kept for all of them. The default strategy
+ * already honors the custom endpoint and is left as is.
+ */
+public class FakeServerStrategyFactory extends ParameterStorePropertySourceConfigurationStrategyFactory
+{
+    private final URI endpoint;
+
+    private FakeServerStrategyFactory(String endpoint)
+    {
+        this.endpoint = URI.create(endpoint);
+    }
+
+    /**
+     * Makes {@link ParameterStorePropertySourceEnvironmentPostProcessor} use the fake server until {@link #uninstall()}
+     * is called.
+     */
+    public static void install(String endpoint)
+    {
+        ParameterStorePropertySourceEnvironmentPostProcessor.strategyFactory = new FakeServerStrategyFactory(endpoint);
+    }
+
+    public static void uninstall()
+    {
+        ParameterStorePropertySourceEnvironmentPostProcessor.strategyFactory = new ParameterStorePropertySourceConfigurationStrategyFactory();
+    }
+
+    @Override
+    public ParameterStorePropertySourceConfigurationStrategy getStrategy(StrategyType strategyType)
+    {
+        ParameterStorePropertySourceConfigurationStrategy strategy = super.getStrategy(strategyType);
+        if (strategyType != StrategyType.MULTI_REGION) {
+            return strategy;
+        }
+        return (environment, ssmClientBuilder) -> strategy.configureParameterStorePropertySources(environment,
+                                                                                                   ssmClientBuilder.endpointOverride(endpoint));
+    }
+}
@@ -0,0 +1,125 @@
+package com.coveo.configuration.parameterstore.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import software.amazon.awssdk.awscore.DefaultAwsResponseMetadata;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+import software.amazon.awssdk.services.ssm.model.ParameterType;
+
+/**
+ * In-process {@link SsmClient} answering from a map after a configurable pause, so that the benchmarks measure this
+ * library rather than HTTP and JSON. Paths are listed in a single page.
+ */
+public class LatencySsmClient implements SsmClient
+{
+    private static final SdkHttpResponse OK = SdkHttpResponse.builder().statusCode(200).build();
+
+    private final Map<String, String> parameters = new ConcurrentHashMap<>();
+    private final long latencyInNanos;
+
+    public LatencySsmClient(long latencyInMicros)
+    {
+        this.latencyInNanos = TimeUnit.MICROSECONDS.toNanos(latencyInMicros);
+    }
+
+    public void putParameter(String name, String value)
+    {
+        parameters.put(name, value);
+    }
+
+    @Override
+    public GetParameterResponse getParameter(GetParameterRequest getParameterRequest)
+    {
+        pause();
+        String value = parameters.get(getParameterRequest.name());
+        if (value == null) {
+            throw ParameterNotFoundException.builder()
+                                            .message("Parameter " + getParameterRequest.name() + " not found.")
+                                            .build();
+        }
+        GetParameterResponse.Builder builder = GetParameterResponse.builder()
+                                                                   .parameter(parameter(getParameterRequest.name(),
+                                                                                        value));
+        builder.responseMetadata(DefaultAwsResponseMetadata.create(Collections.emptyMap()));
+        builder.sdkHttpResponse(OK);
+        return builder.build();
+    }
+
+    @Override
+    public GetParametersResponse getParameters(GetParametersRequest getParametersRequest)
+    {
+        pause();
+        List<Parameter> found = new ArrayList<>();
+        List<String> invalidParameters = new ArrayList<>();
+        for (String name : getParametersRequest.names()) {
+            String value = parameters.get(name);
+            if (value == null) {
+                invalidParameters.add(name);
+            } else {
+                found.add(parameter(name, value));
+            }
+        }
+        GetParametersResponse.Builder builder = GetParametersResponse.builder()
+                                                                     .parameters(found)
+                                                                     .invalidParameters(invalidParameters);
+        builder.responseMetadata(DefaultAwsResponseMetadata.create(Collections.emptyMap()));
+        builder.sdkHttpResponse(OK);
+        return builder.build();
+    }
+
+    @Override
+    public GetParametersByPathResponse getParametersByPath(GetParametersByPathRequest getParametersByPathRequest)
+    {
+        pause();
+        String path = getParametersByPathRequest.path();
+        String prefix = path.endsWith("/") ? path : path + "/";
+        List<Parameter> found = new ArrayList<>();
+        for (Map.Entry<String, String> entry : parameters.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                found.add(parameter(entry.getKey(), entry.getValue()));
+            }
+        }
+        GetParametersByPathResponse.Builder builder = GetParametersByPathResponse.builder().parameters(found);
+        builder.responseMetadata(DefaultAwsResponseMetadata.create(Collections.emptyMap()));
+        builder.sdkHttpResponse(OK);
+        return builder.build();
+    }
+
+    @Override
+    public String serviceName()
+    {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close()
+    {
+    }
+
+    private void pause()
+    {
+        if (latencyInNanos > 0) {
+            LockSupport.parkNanos(latencyInNanos);
+        }
+    }
+
+    private static Parameter parameter(String name, String value)
+    {
+        return Parameter.builder().name(name).value(value).type(ParameterType.STRING).version(1L).build();
+    }
+}
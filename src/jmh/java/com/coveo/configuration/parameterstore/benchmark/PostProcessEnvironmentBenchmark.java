@@ -0,0 +1,120 @@
+package com.coveo.configuration.parameterstore.benchmark;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import com.coveo.configuration.parameterstore.FakeParameterStoreServer;
+import com.coveo.configuration.parameterstore.FakeServerStrategyFactory;
+import com.coveo.configuration.parameterstore.ParameterStorePropertySourceConfigurationProperties;
+import com.coveo.configuration.parameterstore.ParameterStorePropertySourceEnvironmentPostProcessor;
+
+/**
+ * Cost of booting with the Parameter Store: each invocation runs
+ * {@link ParameterStorePropertySourceEnvironmentPostProcessor#postProcessEnvironment} on a fresh environment, then
+ * resolves its placeholders. The SDK clients call a {@link FakeParameterStoreServer} through the custom endpoint, so
+ * that client creation, HTTP and JSON are part of the measure. The multi-region strategy doesn't use the custom
+ * endpoint, so {@link FakeServerStrategyFactory} points its regions at the server. Each strategy runs with the blocking
+ * and the async engine; with {@code MULTI_REGION_PARALLEL}, every region is queried at once for each placeholder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class PostProcessEnvironmentBenchmark
+{
+    private static final String PARAMETER_PATH = "/benchmark/property";
+    private static final String PROPERTY_NAME = "property";
+
+    @Param({ "10", "100" })
+    public int placeholderCount;
+
+    @Param({ "DEFAULT", "MULTI_REGION", "MULTI_REGION_PARALLEL" })
+    public String strategy;
+
+    @Param({ "false", "true" })
+    public boolean async;
+
+    @Param({ "0", "5" })
+    public long latencyInMillis;
+
+    private FakeParameterStoreServer server;
+    private ParameterStorePropertySourceEnvironmentPostProcessor postProcessor;
+
+    @Setup(Level.Trial)
+    public void startServer() throws IOException
+    {
+        System.setProperty("aws.accessKeyId", "benchmark");
+        System.setProperty("aws.secretAccessKey", "benchmark");
+        System.setProperty("aws.region", "us-east-1");
+
+        server = FakeParameterStoreServer.start();
+        for (int i = 0; i < placeholderCount; i++) {
+            server.putParameter(PARAMETER_PATH + i, "value" + i);
+        }
+        server.setLatencyInMillis(latencyInMillis);
+        FakeServerStrategyFactory.install(server.getEndpoint());
+        postProcessor = new ParameterStorePropertySourceEnvironmentPostProcessor();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer()
+    {
+        FakeServerStrategyFactory.uninstall();
+        server.close();
+    }
+
+    @Benchmark
+    public void postProcessEnvironment(Blackhole blackhole)
+    {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", buildProperties()));
+
+        postProcessor.postProcessEnvironment(environment, null);
+
+        for (int i = 0; i < placeholderCount; i++) {
+            blackhole.consume(environment.getProperty(PROPERTY_NAME + i));
+        }
+    }
+
+    private Map<String, Object> buildProperties()
+    {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ParameterStorePropertySourceConfigurationProperties.ENABLED, "true");
+        properties.put(ParameterStorePropertySourceConfigurationProperties.SSM_CLIENT_CUSTOM_ENDPOINT,
+                       server.getEndpoint());
+        properties.put(ParameterStorePropertySourceConfigurationProperties.SSM_CLIENT_SIGNING_REGION, "us-east-1");
+        properties.put(ParameterStorePropertySourceConfigurationProperties.ASYNC_ENABLED, String.valueOf(async));
+        if (strategy.startsWith("MULTI_REGION")) {
+            properties.put(ParameterStorePropertySourceConfigurationProperties.MULTI_REGION_SSM_CLIENT_REGIONS,
+                           "us-east-1,us-west-2");
+        }
+        if ("MULTI_REGION_PARALLEL".equals(strategy)) {
+            properties.put(ParameterStorePropertySourceConfigurationProperties.MULTI_REGION_PARALLEL, "true");
+        }
+        for (int i = 0; i < placeholderCount; i++) {
+            properties.put(PROPERTY_NAME + i, "${" + PARAMETER_PATH + i + "}");
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,96 @@
+package com.coveo.configuration.parameterstore.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.coveo.configuration.parameterstore.ParameterStorePropertySource;
+import com.coveo.configuration.parameterstore.ParameterStoreSource;
+import com.coveo.configuration.parameterstore.cache.ParameterStoreCache;
+
+/**
+ * Cost of a single {@link ParameterStorePropertySource#getProperty(String)}: a name that isn't a parameter, a
+ * prefetched parameter, a cached parameter, and parameters that have to be fetched every time because nothing caches
+ * them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertyLookupBenchmark
+{
+    private static final String PREFETCHED_PATH = "/benchmark/prefetched";
+    private static final String PREFETCHED_NAME = PREFETCHED_PATH + "/property";
+    private static final String CACHED_NAME = "/benchmark/cached";
+    private static final String FETCHED_NAME = "/benchmark/fetched";
+    private static final String MISSING_NAME = "/benchmark/missing";
+    private static final String SPRING_PROPERTY_NAME = "spring.application.name";
+
+    @Param({ "0", "1000" })
+    public long latencyInMicros;
+
+    private ParameterStorePropertySource cachingPropertySource;
+    private ParameterStorePropertySource uncachedPropertySource;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        LatencySsmClient ssmClient = new LatencySsmClient(latencyInMicros);
+        ssmClient.putParameter(PREFETCHED_NAME, "prefetched");
+        ssmClient.putParameter(CACHED_NAME, "cached");
+        ssmClient.putParameter(FETCHED_NAME, "fetched");
+
+        ParameterStoreSource cachingSource = new ParameterStoreSource(ssmClient,
+                                                                      false,
+                                                                      new ParameterStoreCache(TimeUnit.HOURS.toMillis(1),
+                                                                                              1000));
+        cachingSource.prefetch(Collections.singletonList(PREFETCHED_PATH));
+        cachingPropertySource = new ParameterStorePropertySource("cached", cachingSource);
+        uncachedPropertySource = new ParameterStorePropertySource("uncached",
+                                                                  new ParameterStoreSource(ssmClient, false));
+    }
+
+    @Benchmark
+    public Object nonParameterName()
+    {
+        return cachingPropertySource.getProperty(SPRING_PROPERTY_NAME);
+    }
+
+    @Benchmark
+    public Object prefetchedHit()
+    {
+        return cachingPropertySource.getProperty(PREFETCHED_NAME);
+    }
+
+    @Benchmark
+    public Object cacheHit()
+    {
+        return cachingPropertySource.getProperty(CACHED_NAME);
+    }
+
+    @Benchmark
+    public Object miss()
+    {
+        return uncachedPropertySource.getProperty(FETCHED_NAME);
+    }
+
+    @Benchmark
+    public Object missNotFound()
+    {
+        return uncachedPropertySource.getProperty(MISSING_NAME);
+    }
+}
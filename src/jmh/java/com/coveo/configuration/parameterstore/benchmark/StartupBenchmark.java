@@ -0,0 +1,102 @@
+package com.coveo.configuration.parameterstore.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+
+import com.coveo.configuration.parameterstore.FakeParameterStoreServer;
+import com.coveo.configuration.parameterstore.ParameterStorePropertySourceConfigurationProperties;
+import com.coveo.configuration.parameterstore.warmup.ParameterStoreWarmUpRunListener;
+
+/**
+ * Wall-clock time of a cold start, with and without {@link ParameterStoreWarmUpRunListener}: each fork is a new JVM
+ * that runs a {@link SpringApplication} once, up to its placeholders being resolved from a
+ * {@link FakeParameterStoreServer}. Without the warm-up, loading and building the SDK's HTTP client, resolving the
+ * region and the credentials and connecting to the endpoint all happen on the boot thread in the post processor; with
+ * it they overlap with Spring's own startup. Region and credentials come from system properties here, so the saving of
+ * the instance metadata lookups on EC2 isn't part of the measure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark
+{
+    private static final String PARAMETER_PATH = "/benchmark/property";
+    private static final String PROPERTY_NAME = "property";
+    private static final int PLACEHOLDER_COUNT = 10;
+
+    @Param({ "false", "true" })
+    public boolean warmUp;
+
+    private FakeParameterStoreServer server;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void startServer() throws IOException
+    {
+        server = FakeParameterStoreServer.start();
+        for (int i = 0; i < PLACEHOLDER_COUNT; i++) {
+            server.putParameter(PARAMETER_PATH + i, "value" + i);
+            System.setProperty(PROPERTY_NAME + i, "${" + PARAMETER_PATH + i + "}");
+        }
+
+        // The warm-up starts before the environment is prepared and only reads system properties
+        System.setProperty("aws.accessKeyId", "benchmark");
+        System.setProperty("aws.secretAccessKey", "benchmark");
+        System.setProperty("aws.region", "us-east-1");
+        System.setProperty(ParameterStorePropertySourceConfigurationProperties.ENABLED, "true");
+        System.setProperty(ParameterStorePropertySourceConfigurationProperties.SSM_CLIENT_CUSTOM_ENDPOINT,
+                           server.getEndpoint());
+        System.setProperty(ParameterStorePropertySourceConfigurationProperties.WARM_UP_ENABLED,
+                           String.valueOf(warmUp));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer()
+    {
+        if (context != null) {
+            context.close();
+        }
+        server.close();
+    }
+
+    @Benchmark
+    public void start(Blackhole blackhole)
+    {
+        SpringApplication application = new SpringApplication(BenchmarkConfiguration.class);
+        application.setWebEnvironment(false);
+        application.setBannerMode(Banner.Mode.OFF);
+        application.setLogStartupInfo(false);
+        context = application.run();
+
+        for (int i = 0; i < PLACEHOLDER_COUNT; i++) {
+            blackhole.consume(context.getEnvironment().getProperty(PROPERTY_NAME + i));
+        }
+    }
+
+    @Configuration
+    public static class BenchmarkConfiguration
+    {
+    }
+}
@@ -0,0 +1,121 @@
+package com.coveo.configuration.parameterstore;
+
+import static com.coveo.configuration.parameterstore.ParameterStorePropertySource.PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.core.env.EnumerablePropertySource;
+
+import com.coveo.configuration.parameterstore.cache.ParameterStorePathIndex;
+import com.coveo.configuration.parameterstore.cache.ParameterStoreSnapshot;
+import com.coveo.configuration.parameterstore.event.ParameterChange;
+import com.coveo.configuration.parameterstore.event.ParameterStoreChangeEvent;
+
+/**
+ * Same as {@link ParameterStorePropertySource}, but the prefetched parameters are also listed under dotted property
+ * names, so that they can be bound to {@code @ConfigurationProperties} without a placeholder each. The names are
+ * mapped once per snapshot, and parameters under a hierarchy can be queried through {@link #getPathIndex()} without
+ * calling the Parameter Store.
+ */
+public class EnumerableParameterStorePropertySource extends EnumerablePropertySource<ParameterStoreSource>
+        implements ApplicationEventPublisherAware
+{
+    private final ParameterStorePropertyNameMapper nameMapper;
+    private volatile PropertyNames propertyNames = new PropertyNames(null, new LinkedHashMap<>());
+    private volatile ApplicationEventPublisher applicationEventPublisher;
+
+    public EnumerableParameterStorePropertySource(String name,
+                                                  ParameterStoreSource source,
+                                                  ParameterStorePropertyNameMapper nameMapper)
+    {
+        super(name, source);
+        this.nameMapper = nameMapper;
+        source.addChangeListener(this::publishChanges);
+    }
+
+    @Override
+    public Object getProperty(String name)
+    {
+        if (name.startsWith(PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER)) {
+            return source.getProperty(name);
+        }
+        String parameterName = getPropertyNames(source.getSnapshot()).parameterNames.get(name);
+        return parameterName == null ? null : source.getProperty(parameterName);
+    }
+
+    @Override
+    public boolean containsProperty(String name)
+    {
+        if (name.startsWith(PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER)) {
+            return getProperty(name) != null;
+        }
+        return getPropertyNames(source.getSnapshot()).parameterNames.containsKey(name);
+    }
+
+    @Override
+    public String[] getPropertyNames()
+    {
+        return getPropertyNames(source.getSnapshot()).names.clone();
+    }
+
+    public ParameterStorePathIndex getPathIndex()
+    {
+        return source.getSnapshot().getPathIndex();
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher)
+    {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    private PropertyNames getPropertyNames(ParameterStoreSnapshot snapshot)
+    {
+        PropertyNames currentPropertyNames = propertyNames;
+        if (currentPropertyNames.snapshot != snapshot) {
+            currentPropertyNames = mapPropertyNames(snapshot);
+            propertyNames = currentPropertyNames;
+        }
+        return currentPropertyNames;
+    }
+
+    private PropertyNames mapPropertyNames(ParameterStoreSnapshot snapshot)
+    {
+        Map<String, String> parameterNames = new LinkedHashMap<>();
+        List<String> sortedParameterNames = snapshot.getPathIndex().getNames();
+        for (String parameterName : sortedParameterNames) {
+            String propertyName = nameMapper.toPropertyName(parameterName);
+            // When two parameters map to the same name, the first one in sorted order wins
+            if (propertyName != null) {
+                parameterNames.putIfAbsent(propertyName, parameterName);
+            }
+        }
+        return new PropertyNames(snapshot, parameterNames);
+    }
+
+    private void publishChanges(List<ParameterChange> changes)
+    {
+        ApplicationEventPublisher publisher = applicationEventPublisher;
+        if (publisher != null) {
+            publisher.publishEvent(new ParameterStoreChangeEvent(this, changes));
+        }
+    }
+
+    private static final class PropertyNames
+    {
+        private final ParameterStoreSnapshot snapshot;
+        private final Map<String, String> parameterNames;
+        private final String[] names;
+
+        private PropertyNames(ParameterStoreSnapshot snapshot, Map<String, String> parameterNames)
+        {
+            this.snapshot = snapshot;
+            this.parameterNames = parameterNames;
+            this.names = parameterNames.keySet().toArray(new String[0]);
+        }
+    }
+}
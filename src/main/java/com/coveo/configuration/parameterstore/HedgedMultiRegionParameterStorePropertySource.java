@@ -0,0 +1,269 @@
+package com.coveo.configuration.parameterstore;
+
+import static com.coveo.configuration.parameterstore.ParameterStorePropertySource.PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.coveo.configuration.parameterstore.engine.ParameterStoreFutures;
+import com.coveo.configuration.parameterstore.metrics.ParameterStoreMetrics;
+
+/**
+ * Resolves a property in the first region, and sends the same request to the next region whenever no region answered
+ * within the hedging delay. The first value received wins, whichever region it comes from. A region that doesn't have
+ * the property (or fails) doesn't end the race: the next region is then queried right away. If no region has the
+ * property, the failure of the highest-precedence region that failed is thrown, so halting the boot still only happens
+ * when the property is missing from every region.
+ * <p>
+ * The hedging delay is either fixed, or derived from a percentile of the latencies observed in the first region. Hedges
+ * are issued by the given scheduler, and the calling thread only waits for the outcome.
+ */
+public class HedgedMultiRegionParameterStorePropertySource extends MultiRegionParameterStorePropertySource
+{
+    static final int MIN_LATENCY_SAMPLES = 20;
+
+    private final ScheduledExecutorService scheduler;
+    private final long delayInMillis;
+    private final Integer delayPercentile;
+    private final LatencyTracker primaryLatencyTracker = new LatencyTracker();
+    private volatile ParameterStoreMetrics metrics;
+
+    /**
+     * @param scheduler the scheduler hedges are issued on when the hedging delay is over.
+     * @param delayInMillis the hedging delay, or the delay used until enough latencies are observed when a percentile
+     *            is given.
+     * @param delayPercentile the percentile of the latencies of the first region used as the hedging delay, or
+     *            {@code null} to always use the fixed delay.
+     */
+    public HedgedMultiRegionParameterStorePropertySource(String name,
+                                                         List<ParameterStoreSource> sources,
+                                                         ScheduledExecutorService scheduler,
+                                                         long delayInMillis,
+                                                         Integer delayPercentile)
+    {
+        super(name, sources);
+        this.scheduler = scheduler;
+        this.delayInMillis = delayInMillis;
+        this.delayPercentile = delayPercentile;
+    }
+
+    @Override
+    public Object getProperty(String name)
+    {
+        if (!name.startsWith(PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER)) {
+            return null;
+        }
+
+        return ParameterStoreFutures.join(new HedgedLookup(name).start());
+    }
+
+    /**
+     * Sets the metrics the hedges issued and won are recorded in. Without them, nothing is recorded.
+     */
+    public void setMetrics(ParameterStoreMetrics metrics)
+    {
+        this.metrics = metrics;
+    }
+
+    long getHedgingDelayInMillis()
+    {
+        if (delayPercentile != null) {
+            long percentileInNanos = primaryLatencyTracker.getPercentile(delayPercentile);
+            if (percentileInNanos != -1) {
+                return TimeUnit.NANOSECONDS.toMillis(percentileInNanos);
+            }
+        }
+        return delayInMillis;
+    }
+
+    /**
+     * The race of the regions for a single property. Every answer and every launched region restarts the hedging delay,
+     * and a delay that ends without being restarted launches the next region. The delay is only worked out when it is
+     * first started, so a property answered from memory never computes it.
+     */
+    private final class HedgedLookup
+    {
+        private final String name;
+        private long hedgingDelayInMillis = -1;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final Throwable[] failures = new Throwable[source.size()];
+        private final boolean[] hedged = new boolean[source.size()];
+        private int launched;
+        private int pending;
+        private int delayGeneration;
+        private ScheduledFuture<?> hedgingDelay;
+
+        private HedgedLookup(String name)
+        {
+            this.name = name;
+        }
+
+        private CompletableFuture<Object> start()
+        {
+            launchNextRegion(false, -1);
+            return result;
+        }
+
+        /**
+         * @param delayGeneration the hedging delay that ended, or -1 if the next region is launched for another reason.
+         */
+        private void launchNextRegion(boolean hedge, int delayGeneration)
+        {
+            int regionIndex;
+            synchronized (this) {
+                if (result.isDone() || launched == source.size()
+                        || (delayGeneration != -1 && delayGeneration != this.delayGeneration)) {
+                    return;
+                }
+                regionIndex = launched++;
+                pending++;
+                if (hedge) {
+                    hedged[regionIndex] = true;
+                    if (metrics != null) {
+                        metrics.recordHedgeIssued();
+                    }
+                }
+            }
+
+            long start = System.nanoTime();
+            CompletableFuture<Object> lookup = source.get(regionIndex).getPropertyAsync(name);
+            // A property the region has in memory is answered right away, without waiting for the hedging delay, and
+            // says nothing about the latency of the region
+            boolean fetched = !lookup.isDone();
+            if (fetched) {
+                synchronized (this) {
+                    restartHedgingDelay();
+                }
+            }
+            lookup.whenComplete((value, failure) -> onAnswer(regionIndex,
+                                                             value,
+                                                             failure == null ? null : ParameterStoreFutures.unwrap(failure),
+                                                             fetched ? System.nanoTime() - start : -1));
+        }
+
+        private void onAnswer(int regionIndex, Object value, Throwable failure, long latencyInNanos)
+        {
+            if (regionIndex == 0 && failure == null && latencyInNanos != -1) {
+                primaryLatencyTracker.record(latencyInNanos);
+            }
+
+            boolean launchNextRegion = false;
+            Throwable highestPrecedenceFailure = null;
+            synchronized (this) {
+                if (result.isDone()) {
+                    return;
+                }
+                pending--;
+                failures[regionIndex] = failure;
+                if (value != null || (pending == 0 && launched == source.size())) {
+                    stopHedgingDelay();
+                    if (value != null && hedged[regionIndex] && metrics != null) {
+                        metrics.recordHedgeWon();
+                    }
+                    highestPrecedenceFailure = value == null ? getHighestPrecedenceFailure() : null;
+                } else if (pending == 0) {
+                    launchNextRegion = true;
+                } else {
+                    restartHedgingDelay();
+                }
+            }
+
+            if (launchNextRegion) {
+                launchNextRegion(false, -1);
+            } else if (highestPrecedenceFailure != null) {
+                result.completeExceptionally(highestPrecedenceFailure);
+            } else {
+                result.complete(value);
+            }
+        }
+
+        private void restartHedgingDelay()
+        {
+            stopHedgingDelay();
+            if (!result.isDone() && launched < source.size()) {
+                if (hedgingDelayInMillis == -1) {
+                    hedgingDelayInMillis = getHedgingDelayInMillis();
+                }
+                int generation = delayGeneration;
+                hedgingDelay = scheduler.schedule(() -> launchNextRegion(true, generation),
+                                                  hedgingDelayInMillis,
+                                                  TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void stopHedgingDelay()
+        {
+            delayGeneration++;
+            if (hedgingDelay != null) {
+                hedgingDelay.cancel(false);
+                hedgingDelay = null;
+            }
+        }
+
+        private Throwable getHighestPrecedenceFailure()
+        {
+            for (Throwable failure : failures) {
+                if (failure != null) {
+                    return failure;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Keeps the latest latencies in a ring buffer to compute percentiles over a sliding window. Sorting the window is
+     * too costly to do for every lookup, so a percentile is reused until {@code RECOMPUTE_INTERVAL} latencies were
+     * recorded since it was computed.
+     */
+    private static final class LatencyTracker
+    {
+        private static final int WINDOW_SIZE = 256;
+        private static final int RECOMPUTE_INTERVAL = 16;
+
+        private final long[] latenciesInNanos = new long[WINDOW_SIZE];
+        private long count;
+        private int computedPercentile = -1;
+        private long computedPercentileInNanos;
+        private long computedAtCount;
+
+        synchronized void record(long latencyInNanos)
+        {
+            latenciesInNanos[(int) (count++ % WINDOW_SIZE)] = latencyInNanos;
+        }
+
+        /**
+         * @return the percentile of the latencies in the window, or -1 if not enough latencies were recorded.
+         */
+        long getPercentile(int percentile)
+        {
+            long[] window;
+            long windowCount;
+            synchronized (this) {
+                if (count < MIN_LATENCY_SAMPLES) {
+                    return -1;
+                }
+                if (computedPercentile == percentile && count - computedAtCount < RECOMPUTE_INTERVAL) {
+                    return computedPercentileInNanos;
+                }
+                windowCount = count;
+                window = Arrays.copyOf(latenciesInNanos, (int) Math.min(count, WINDOW_SIZE));
+            }
+            Arrays.sort(window);
+            int index = (int) Math.ceil(percentile / 100.0 * window.length) - 1;
+            long percentileInNanos = window[Math.max(0, Math.min(index, window.length - 1))];
+            synchronized (this) {
+                if (windowCount >= computedAtCount) {
+                    computedPercentile = percentile;
+                    computedPercentileInNanos = percentileInNanos;
+                    computedAtCount = windowCount;
+                }
+            }
+            return percentileInNanos;
+        }
+    }
+}
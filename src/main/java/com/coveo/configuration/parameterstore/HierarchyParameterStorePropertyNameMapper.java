@@ -0,0 +1,45 @@
+package com.coveo.configuration.parameterstore;
+
+import static com.coveo.configuration.parameterstore.ParameterStorePropertySource.PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Maps a parameter to its path relative to the deepest root hierarchy it is under, with levels separated by dots and an
+ * optional prefix: with the root {@code /prod/my-service} and the prefix {@code app}, {@code /prod/my-service/db/url}
+ * is listed as {@code app.db.url}. Parameters outside every root aren't listed.
+ */
+public class HierarchyParameterStorePropertyNameMapper implements ParameterStorePropertyNameMapper
+{
+    private static final String PROPERTY_NAME_SEPARATOR = ".";
+
+    private final List<String> rootPrefixes;
+    private final String propertyPrefix;
+
+    public HierarchyParameterStorePropertyNameMapper(List<String> rootPaths, String propertyPrefix)
+    {
+        this.rootPrefixes = rootPaths.stream()
+                                     .map(path -> StringUtils.trimTrailingCharacter(path, '/')
+                                             + PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER)
+                                     .sorted(Comparator.comparingInt(String::length).reversed())
+                                     .collect(Collectors.toList());
+        this.propertyPrefix = StringUtils.hasText(propertyPrefix) ? propertyPrefix + PROPERTY_NAME_SEPARATOR : "";
+    }
+
+    @Override
+    public String toPropertyName(String parameterName)
+    {
+        for (String rootPrefix : rootPrefixes) {
+            if (parameterName.startsWith(rootPrefix) && parameterName.length() > rootPrefix.length()) {
+                return propertyPrefix + parameterName.substring(rootPrefix.length())
+                                                     .replace(PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER,
+                                                              PROPERTY_NAME_SEPARATOR);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,83 @@
+package com.coveo.configuration.parameterstore;
+
+import static com.coveo.configuration.parameterstore.ParameterStorePropertySource.PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.core.env.PropertySource;
+
+import com.coveo.configuration.parameterstore.engine.ParameterStoreFutures;
+import com.coveo.configuration.parameterstore.event.ParameterChange;
+import com.coveo.configuration.parameterstore.event.ParameterStoreChangeEvent;
+
+/**
+ * Resolves a property in every region at once instead of one region after the other. The sources are ordered by
+ * precedence: the value of the first source that has the property wins, and the lookups of the lower-precedence
+ * sources are cancelled as soon as it is known. A cancelled lookup only stops being waited for: the call it made still
+ * completes and fills the cache of its region. The lookups of every region are composed without blocking and the
+ * calling thread waits once for the outcome, so the sources must not block the calling thread while fetching: they use
+ * either the async engine or a blocking engine making its calls on an executor.
+ */
+public class MultiRegionParameterStorePropertySource extends PropertySource<List<ParameterStoreSource>>
+        implements ApplicationEventPublisherAware
+{
+    private volatile ApplicationEventPublisher applicationEventPublisher;
+
+    public MultiRegionParameterStorePropertySource(String name, List<ParameterStoreSource> sources)
+    {
+        super(name, sources);
+        sources.forEach(regionSource -> regionSource.addChangeListener(this::publishChanges));
+    }
+
+    @Override
+    public Object getProperty(String name)
+    {
+        if (!name.startsWith(PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER)) {
+            return null;
+        }
+
+        CompletableFuture<Object> value = source.get(0).getPropertyAsync(name);
+        // What the first region already has in memory wins without querying the other regions
+        if (value.isDone() && (value.isCompletedExceptionally() || value.join() != null)) {
+            return ParameterStoreFutures.join(value);
+        }
+
+        List<CompletableFuture<Object>> lookups = new ArrayList<>();
+        lookups.add(value);
+        for (ParameterStoreSource lowerPrecedenceSource : source.subList(1, source.size())) {
+            lookups.add(lowerPrecedenceSource.getPropertyAsync(name));
+        }
+        for (int i = 0; i < lookups.size() - 1; i++) {
+            List<CompletableFuture<Object>> lowerPrecedenceLookups = lookups.subList(i + 1, lookups.size());
+            lookups.get(i).thenAccept(higherPrecedenceValue -> {
+                if (higherPrecedenceValue != null) {
+                    lowerPrecedenceLookups.forEach(lowerPrecedenceLookup -> lowerPrecedenceLookup.cancel(false));
+                }
+            });
+        }
+        for (CompletableFuture<Object> lowerPrecedenceLookup : lookups.subList(1, lookups.size())) {
+            value = value.thenCompose(higherPrecedenceValue -> higherPrecedenceValue != null
+                    ? CompletableFuture.completedFuture(higherPrecedenceValue)
+                    : lowerPrecedenceLookup);
+        }
+        return ParameterStoreFutures.join(value);
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher)
+    {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    private void publishChanges(List<ParameterChange> changes)
+    {
+        ApplicationEventPublisher publisher = applicationEventPublisher;
+        if (publisher != null) {
+            publisher.publishEvent(new ParameterStoreChangeEvent(this, changes));
+        }
+    }
+}
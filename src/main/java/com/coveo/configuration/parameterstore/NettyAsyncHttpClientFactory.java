@@ -0,0 +1,20 @@
+package com.coveo.configuration.parameterstore;
+
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+
+/**
+ * Builds the HTTP client of the async engine. Kept apart from {@link ParameterStoreEngineFactory} since Netty is an
+ * optional dependency: this class is only loaded when the async engine is enabled and Netty is on the classpath.
+ */
+final class NettyAsyncHttpClientFactory
+{
+    private NettyAsyncHttpClientFactory()
+    {
+    }
+
+    static SdkAsyncHttpClient build(int maxConcurrency)
+    {
+        return NettyNioAsyncHttpClient.builder().maxConcurrency(maxConcurrency).build();
+    }
+}
@@ -0,0 +1,355 @@
+package com.coveo.configuration.parameterstore;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ClassUtils;
+
+import com.coveo.configuration.parameterstore.engine.AdaptiveRateLimiter;
+import com.coveo.configuration.parameterstore.engine.AsyncParameterStoreEngine;
+import com.coveo.configuration.parameterstore.engine.BlockingParameterStoreEngine;
+import com.coveo.configuration.parameterstore.engine.CircuitBreakerParameterStoreEngine;
+import com.coveo.configuration.parameterstore.engine.ListenedParameterStoreEngine;
+import com.coveo.configuration.parameterstore.engine.MeteredParameterStoreEngine;
+import com.coveo.configuration.parameterstore.engine.ParameterStoreCircuitBreaker;
+import com.coveo.configuration.parameterstore.engine.ParameterStoreEngine;
+import com.coveo.configuration.parameterstore.engine.RateLimitedParameterStoreEngine;
+import com.coveo.configuration.parameterstore.engine.SsmCallListener;
+import com.coveo.configuration.parameterstore.metrics.ParameterStoreMetrics;
+import com.coveo.configuration.parameterstore.registry.ParameterStoreProcessRegistry;
+import software.amazon.awssdk.awscore.client.builder.AwsClientBuilder;
+import software.amazon.awssdk.services.ssm.SsmAsyncClient;
+import software.amazon.awssdk.services.ssm.SsmAsyncClientBuilder;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.SsmClientBuilder;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+/**
+ * Builds the engine a {@link ParameterStoreSource} makes its calls with: the client, then the decorators around every
+ * call enabled by the environment (metrics, {@link SsmCallListener}s, rate limiting and the circuit breaker). What the
+ * source does with the parameters it resolved is decorated by {@link ParameterStoreSourceFactory} on top of it.
+ */
+public class ParameterStoreEngineFactory
+{
+    private static final Log logger = LogFactory.getLog(ParameterStoreEngineFactory.class);
+
+    private static final String NETTY_CLIENT_CLASS_NAME = "software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient";
+    private static final int DEFAULT_ASYNC_MAX_CONCURRENCY = 50;
+    private static final double DEFAULT_RATE_LIMIT_PERMITS_PER_SECOND = 40.0;
+    private static final int DEFAULT_RATE_LIMIT_MAX_RETRIES = 5;
+    private static final long DEFAULT_RATE_LIMIT_BACKOFF_BASE_IN_MILLIS = 100L;
+    private static final long DEFAULT_RATE_LIMIT_BACKOFF_CAP_IN_MILLIS = 5000L;
+    private static final String RATE_LIMIT_THREAD_NAME_PREFIX = "parameter-store-rate-limit-";
+    private static final long RATE_LIMIT_THREAD_KEEP_ALIVE_IN_SECONDS = 60L;
+    private static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD = 50;
+    private static final int DEFAULT_CIRCUIT_BREAKER_SLIDING_WINDOW_SIZE = 20;
+    private static final int DEFAULT_CIRCUIT_BREAKER_CONSECUTIVE_FAILURES = 5;
+    private static final long DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION_IN_SECONDS = 30L;
+    private static final int DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_PROBES = 3;
+
+    private static volatile ScheduledExecutorService rateLimitScheduler;
+
+    private List<SsmCallListener> ssmCallListeners;
+
+    /**
+     * Builds the client from the given builder, or an {@link SsmAsyncClient} when the async engine is enabled. The
+     * configurer applies the same settings (region, endpoint...) to whichever builder is used.
+     *
+     * @param registryKey the key under which the client is shared with the other application contexts, or null if it
+     *            isn't.
+     * @param callExecutor the executor the blocking engine makes its calls on, or null to make them on the calling
+     *            thread.
+     */
+    public ParameterStoreEngine createParameterStoreEngine(ConfigurableEnvironment environment,
+                                                           SsmClientBuilder ssmClientBuilder,
+                                                           Consumer<AwsClientBuilder<?, ?>> clientConfigurer,
+                                                           String registryKey,
+                                                           Executor callExecutor,
+                                                           String sourceName)
+    {
+        boolean async = isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.ASYNC_ENABLED);
+        return addCircuitBreaker(environment,
+                                 decorateParameterStoreEngine(environment,
+                                                              buildParameterStoreEngine(environment,
+                                                                                        ssmClientBuilder,
+                                                                                        clientConfigurer,
+                                                                                        registryKey,
+                                                                                        callExecutor),
+                                                              async || callExecutor != null,
+                                                              sourceName),
+                                 sourceName);
+    }
+
+    public ParameterStoreEngine createParameterStoreEngine(ConfigurableEnvironment environment,
+                                                           SsmClient ssmClient,
+                                                           String sourceName)
+    {
+        return addCircuitBreaker(environment,
+                                 decorateParameterStoreEngine(environment,
+                                                              new BlockingParameterStoreEngine(ssmClient),
+                                                              false,
+                                                              sourceName),
+                                 sourceName);
+    }
+
+    private ParameterStoreEngine buildParameterStoreEngine(ConfigurableEnvironment environment,
+                                                           SsmClientBuilder ssmClientBuilder,
+                                                           Consumer<AwsClientBuilder<?, ?>> clientConfigurer,
+                                                           String registryKey,
+                                                           Executor callExecutor)
+    {
+        if (!isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.ASYNC_ENABLED)) {
+            return new BlockingParameterStoreEngine(getClient(environment, registryKey, () -> {
+                clientConfigurer.accept(ssmClientBuilder);
+                return ssmClientBuilder.build();
+            }), callExecutor);
+        }
+
+        if (!ClassUtils.isPresent(NETTY_CLIENT_CLASS_NAME, ParameterStoreEngineFactory.class.getClassLoader())) {
+            throw new IllegalStateException(String.format("The property '%s' requires software.amazon.awssdk:netty-nio-client on the classpath.",
+                                                          ParameterStorePropertySourceConfigurationProperties.ASYNC_ENABLED));
+        }
+
+        int maxConcurrency = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.ASYNC_MAX_CONCURRENCY,
+                                                     Integer.class,
+                                                     DEFAULT_ASYNC_MAX_CONCURRENCY);
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException(String.format("The property '%s' must be greater than 0.",
+                                                             ParameterStorePropertySourceConfigurationProperties.ASYNC_MAX_CONCURRENCY));
+        }
+
+        return new AsyncParameterStoreEngine(getClient(environment, registryKey, () -> {
+            SsmAsyncClientBuilder ssmAsyncClientBuilder = SsmAsyncClient.builder()
+                                                                        .overrideConfiguration(ParameterStorePropertySourceEnvironmentPostProcessor.buildClientOverrideConfiguration(environment))
+                                                                        .httpClient(NettyAsyncHttpClientFactory.build(maxConcurrency));
+            clientConfigurer.accept(ssmAsyncClientBuilder);
+            return ssmAsyncClientBuilder.build();
+        }));
+    }
+
+    /**
+     * @return the client shared by the application contexts under the registry key along with the settings it's built
+     *         from, or a new one if the source isn't shared.
+     */
+    private <T extends SdkAutoCloseable> T getClient(ConfigurableEnvironment environment,
+                                                     String registryKey,
+                                                     Supplier<T> clientFactory)
+    {
+        if (registryKey == null) {
+            return clientFactory.get();
+        }
+        String clientKey = String.join("|",
+                                       registryKey,
+                                       String.valueOf(isEnabled(environment,
+                                                                ParameterStorePropertySourceConfigurationProperties.ASYNC_ENABLED)),
+                                       environment.getProperty(ParameterStorePropertySourceConfigurationProperties.ASYNC_MAX_CONCURRENCY,
+                                                               ""),
+                                       environment.getProperty(ParameterStorePropertySourceConfigurationProperties.MAX_ERROR_RETRY,
+                                                               ""),
+                                       String.valueOf(isEnabled(environment,
+                                                                ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_ENABLED)),
+                                       String.valueOf(isEnabled(environment,
+                                                                ParameterStorePropertySourceConfigurationProperties.METRICS_ENABLED)));
+        return ParameterStoreProcessRegistry.getInstance().getClient(clientKey, clientFactory);
+    }
+
+    /**
+     * With metrics enabled, calls are metered right above the client under the source name, which is the region with
+     * the multi-region strategy. The {@link SsmCallListener}s are told about them at the same level.
+     *
+     * @param nonBlocking whether the engine makes its calls off the calling thread, with the async client or on a call
+     *            executor. The rate limiter then waits on a scheduler of its own rather than on the calling thread.
+     */
+    private ParameterStoreEngine decorateParameterStoreEngine(ConfigurableEnvironment environment,
+                                                              ParameterStoreEngine engine,
+                                                              boolean nonBlocking,
+                                                              String sourceName)
+    {
+        ParameterStoreMetrics metrics = buildParameterStoreMetrics(environment);
+        if (metrics != null) {
+            engine = new MeteredParameterStoreEngine(engine, metrics, sourceName);
+        }
+        List<SsmCallListener> listeners = getSsmCallListeners();
+        if (!listeners.isEmpty()) {
+            engine = new ListenedParameterStoreEngine(engine, listeners, sourceName);
+        }
+        if (!isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_ENABLED)) {
+            return engine;
+        }
+
+        double permitsPerSecond = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_PERMITS_PER_SECOND,
+                                                          Double.class,
+                                                          DEFAULT_RATE_LIMIT_PERMITS_PER_SECOND);
+        int burst = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_BURST,
+                                            Integer.class,
+                                            (int) Math.ceil(permitsPerSecond));
+        int maxRetries = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_MAX_RETRIES,
+                                                 Integer.class,
+                                                 DEFAULT_RATE_LIMIT_MAX_RETRIES);
+        long backoffBaseInMillis = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_BACKOFF_BASE_IN_MILLIS,
+                                                           Long.class,
+                                                           DEFAULT_RATE_LIMIT_BACKOFF_BASE_IN_MILLIS);
+        long backoffCapInMillis = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_BACKOFF_CAP_IN_MILLIS,
+                                                          Long.class,
+                                                          DEFAULT_RATE_LIMIT_BACKOFF_CAP_IN_MILLIS);
+        if (permitsPerSecond <= 0 || burst <= 0 || maxRetries < 0 || backoffBaseInMillis <= 0
+                || backoffCapInMillis < backoffBaseInMillis) {
+            throw new IllegalArgumentException(String.format("The properties '%s', '%s' and '%s' must be greater than 0, '%s' can't be negative and '%s' can't be lower than '%s'.",
+                                                             ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_PERMITS_PER_SECOND,
+                                                             ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_BURST,
+                                                             ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_BACKOFF_BASE_IN_MILLIS,
+                                                             ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_MAX_RETRIES,
+                                                             ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_BACKOFF_CAP_IN_MILLIS,
+                                                             ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_BACKOFF_BASE_IN_MILLIS));
+        }
+
+        // The blocking engine waits on the calling thread, unless it was given an executor to make its calls on
+        ScheduledExecutorService scheduler = nonBlocking ? getRateLimitScheduler() : null;
+
+        RateLimitedParameterStoreEngine rateLimitedEngine = new RateLimitedParameterStoreEngine(engine,
+                                                                                                new AdaptiveRateLimiter(permitsPerSecond,
+                                                                                                                        burst),
+                                                                                                scheduler,
+                                                                                                maxRetries,
+                                                                                                backoffBaseInMillis,
+                                                                                                backoffCapInMillis);
+        rateLimitedEngine.setMetrics(metrics);
+        return rateLimitedEngine;
+    }
+
+    /**
+     * @return the scheduler the rate limiters of every source of the JVM wait on. It only delays calls that don't block
+     *         it, so a single thread is enough, and the thread stops while no call is waiting, so that nothing needs to
+     *         shut it down when the application contexts are closed.
+     */
+    private static ScheduledExecutorService getRateLimitScheduler()
+    {
+        if (rateLimitScheduler == null) {
+            synchronized (ParameterStoreEngineFactory.class) {
+                if (rateLimitScheduler == null) {
+                    ThreadFactory threadFactory = buildDaemonThreadFactory(RATE_LIMIT_THREAD_NAME_PREFIX);
+                    ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+                    scheduler.setKeepAliveTime(RATE_LIMIT_THREAD_KEEP_ALIVE_IN_SECONDS, TimeUnit.SECONDS);
+                    scheduler.allowCoreThreadTimeOut(true);
+                    rateLimitScheduler = scheduler;
+                }
+            }
+        }
+        return rateLimitScheduler;
+    }
+
+    /**
+     * Loads the listeners registered in {@code META-INF/spring.factories} and {@code META-INF/services} once, keeping a
+     * single instance of a class registered in both.
+     */
+    private synchronized List<SsmCallListener> getSsmCallListeners()
+    {
+        if (ssmCallListeners == null) {
+            ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+            Map<Class<?>, SsmCallListener> listeners = new LinkedHashMap<>();
+            for (SsmCallListener listener : SpringFactoriesLoader.loadFactories(SsmCallListener.class, classLoader)) {
+                listeners.putIfAbsent(listener.getClass(), listener);
+            }
+            for (SsmCallListener listener : ServiceLoader.load(SsmCallListener.class, classLoader)) {
+                listeners.putIfAbsent(listener.getClass(), listener);
+            }
+            ssmCallListeners = new ArrayList<>(listeners.values());
+            if (!ssmCallListeners.isEmpty()) {
+                logger.info(String.format("The calls to the Parameter Store are reported to %s.", ssmCallListeners));
+            }
+        }
+        return ssmCallListeners;
+    }
+
+    private ParameterStoreMetrics buildParameterStoreMetrics(ConfigurableEnvironment environment)
+    {
+        return isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.METRICS_ENABLED)
+                ? ParameterStoreMetrics.getInstance()
+                : null;
+    }
+
+    private ParameterStoreCircuitBreaker buildParameterStoreCircuitBreaker(ConfigurableEnvironment environment)
+    {
+        if (!isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_ENABLED)) {
+            return null;
+        }
+
+        int failureRateThreshold = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD,
+                                                           Integer.class,
+                                                           DEFAULT_CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD);
+        int slidingWindowSize = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_SLIDING_WINDOW_SIZE,
+                                                        Integer.class,
+                                                        DEFAULT_CIRCUIT_BREAKER_SLIDING_WINDOW_SIZE);
+        int consecutiveFailures = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_CONSECUTIVE_FAILURES,
+                                                          Integer.class,
+                                                          DEFAULT_CIRCUIT_BREAKER_CONSECUTIVE_FAILURES);
+        long openDurationInSeconds = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_OPEN_DURATION_IN_SECONDS,
+                                                             Long.class,
+                                                             DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION_IN_SECONDS);
+        int halfOpenProbes = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_HALF_OPEN_PROBES,
+                                                     Integer.class,
+                                                     DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_PROBES);
+        if (failureRateThreshold <= 0 || failureRateThreshold > 100 || slidingWindowSize <= 0
+                || consecutiveFailures <= 0 || openDurationInSeconds <= 0 || halfOpenProbes <= 0) {
+            throw new IllegalArgumentException(String.format("The properties '%s', '%s', '%s', '%s' and '%s' must be greater than 0, and '%s' can't be greater than 100.",
+                                                             ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD,
+                                                             ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_SLIDING_WINDOW_SIZE,
+                                                             ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_CONSECUTIVE_FAILURES,
+                                                             ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_OPEN_DURATION_IN_SECONDS,
+                                                             ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_HALF_OPEN_PROBES,
+                                                             ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD));
+        }
+
+        return new ParameterStoreCircuitBreaker(failureRateThreshold,
+                                                slidingWindowSize,
+                                                consecutiveFailures,
+                                                TimeUnit.SECONDS.toMillis(openDurationInSeconds),
+                                                halfOpenProbes);
+    }
+
+    /**
+     * The breaker is above the rate limiter, so that calls it rejects don't wait for a permit. With metrics enabled,
+     * its state is published under the source name, like the calls.
+     */
+    private ParameterStoreEngine addCircuitBreaker(ConfigurableEnvironment environment,
+                                                   ParameterStoreEngine engine,
+                                                   String sourceName)
+    {
+        ParameterStoreCircuitBreaker circuitBreaker = buildParameterStoreCircuitBreaker(environment);
+        if (circuitBreaker == null) {
+            return engine;
+        }
+        ParameterStoreMetrics metrics = buildParameterStoreMetrics(environment);
+        if (metrics != null) {
+            metrics.registerCircuitBreaker(sourceName, () -> circuitBreaker.getState().name());
+        }
+        return new CircuitBreakerParameterStoreEngine(engine, circuitBreaker);
+    }
+
+    private static ThreadFactory buildDaemonThreadFactory(String threadNamePrefix)
+    {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private boolean isEnabled(ConfigurableEnvironment environment, String property)
+    {
+        return Boolean.TRUE.equals(environment.getProperty(property, Boolean.class));
+    }
+}
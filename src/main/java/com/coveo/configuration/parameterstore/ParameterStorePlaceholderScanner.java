@@ -0,0 +1,97 @@
+package com.coveo.configuration.parameterstore;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+
+/**
+ * Finds every Parameter Store key referenced by a placeholder (such as {@code ${/my/key}} or
+ * {@code ${/my/key:default}}) in the property sources of an environment, including placeholders nested in other
+ * placeholders. Keys that contain placeholders themselves can't be known before resolution and are skipped.
+ */
+public class ParameterStorePlaceholderScanner
+{
+    private static final String PLACEHOLDER_PREFIX = "${";
+    private static final String PLACEHOLDER_SUFFIX = "}";
+    private static final String VALUE_SEPARATOR = ":";
+    private static final Pattern PARAMETER_NAME_PATTERN = Pattern.compile("/[a-zA-Z0-9_.\\-/]*");
+
+    public Set<String> scan(ConfigurableEnvironment environment)
+    {
+        Set<String> propertyNames = new LinkedHashSet<>();
+        for (PropertySource<?> propertySource : environment.getPropertySources()) {
+            if (propertySource instanceof EnumerablePropertySource) {
+                EnumerablePropertySource<?> enumerablePropertySource = (EnumerablePropertySource<?>) propertySource;
+                for (String name : enumerablePropertySource.getPropertyNames()) {
+                    Object value = enumerablePropertySource.getProperty(name);
+                    if (value instanceof String) {
+                        propertyNames.addAll(scan((String) value));
+                    }
+                }
+            }
+        }
+        return propertyNames;
+    }
+
+    /**
+     * Same as {@link #scan(ConfigurableEnvironment)}, but tells which properties reference each key, as
+     * {@code property (property source)}. The Parameter Store property sources themselves aren't scanned, so that no
+     * parameter is fetched.
+     */
+    public Map<String, List<String>> scanReferences(ConfigurableEnvironment environment)
+    {
+        Map<String, List<String>> references = new LinkedHashMap<>();
+        for (PropertySource<?> propertySource : environment.getPropertySources()) {
+            if (propertySource instanceof EnumerablePropertySource
+                    && !(propertySource.getSource() instanceof ParameterStoreSource)) {
+                EnumerablePropertySource<?> enumerablePropertySource = (EnumerablePropertySource<?>) propertySource;
+                for (String name : enumerablePropertySource.getPropertyNames()) {
+                    Object value = enumerablePropertySource.getProperty(name);
+                    if (value instanceof String) {
+                        for (String propertyName : scan((String) value)) {
+                            references.computeIfAbsent(propertyName, key -> new ArrayList<>())
+                                      .add(String.format("%s (%s)", name, propertySource.getName()));
+                        }
+                    }
+                }
+            }
+        }
+        return references;
+    }
+
+    public Set<String> scan(String value)
+    {
+        Set<String> propertyNames = new LinkedHashSet<>();
+        int placeholderIndex = value.indexOf(PLACEHOLDER_PREFIX);
+        while (placeholderIndex != -1) {
+            int keyStart = placeholderIndex + PLACEHOLDER_PREFIX.length();
+            int keyEnd = findKeyEnd(value, keyStart);
+            if (keyEnd != -1) {
+                String key = value.substring(keyStart, keyEnd);
+                if (PARAMETER_NAME_PATTERN.matcher(key).matches()) {
+                    propertyNames.add(key);
+                }
+            }
+            placeholderIndex = value.indexOf(PLACEHOLDER_PREFIX, keyStart);
+        }
+        return propertyNames;
+    }
+
+    private int findKeyEnd(String value, int keyStart)
+    {
+        int suffixIndex = value.indexOf(PLACEHOLDER_SUFFIX, keyStart);
+        int separatorIndex = value.indexOf(VALUE_SEPARATOR, keyStart);
+        if (separatorIndex != -1 && (suffixIndex == -1 || separatorIndex < suffixIndex)) {
+            return separatorIndex;
+        }
+        return suffixIndex;
+    }
+}
@@ -0,0 +1,14 @@
+package com.coveo.configuration.parameterstore;
+
+/**
+ * Maps the name of a parameter to the name of the property it is listed as by an
+ * {@link EnumerableParameterStorePropertySource}. Implementations must have a public no-argument constructor to be set
+ * with the {@code awsParameterStorePropertySource.enumerable.nameMapper} property.
+ */
+public interface ParameterStorePropertyNameMapper
+{
+    /**
+     * @return the name of the property, or {@code null} to not list the parameter.
+     */
+    String toPropertyName(String parameterName);
+}
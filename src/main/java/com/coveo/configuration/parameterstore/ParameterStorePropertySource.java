@@ -1,14 +1,25 @@
 package com.coveo.configuration.parameterstore;
 
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.core.env.PropertySource;
 
+import com.coveo.configuration.parameterstore.event.ParameterChange;
+import com.coveo.configuration.parameterstore.event.ParameterStoreChangeEvent;
+
 public class ParameterStorePropertySource extends PropertySource<ParameterStoreSource>
+        implements ApplicationEventPublisherAware
 {
     public static final String PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER = "/";
 
+    private volatile ApplicationEventPublisher applicationEventPublisher;
+
     public ParameterStorePropertySource(String name, ParameterStoreSource source)
     {
         super(name, source);
+        source.addChangeListener(this::publishChanges);
     }
 
     @Override
@@ -19,4 +30,18 @@ public class ParameterStorePropertySource extends PropertySource<ParameterStoreS
         }
         return null;
     }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher)
+    {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    private void publishChanges(List<ParameterChange> changes)
+    {
+        ApplicationEventPublisher publisher = applicationEventPublisher;
+        if (publisher != null) {
+            publisher.publishEvent(new ParameterStoreChangeEvent(this, changes));
+        }
+    }
 }
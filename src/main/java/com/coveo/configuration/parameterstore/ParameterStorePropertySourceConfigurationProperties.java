@@ -3,6 +3,21 @@ package com.coveo.configuration.parameterstore;
 public final class ParameterStorePropertySourceConfigurationProperties
 {
     private static final String SSM_CLIENT = "ssmClient";
+    private static final String MULTI_REGION = "multiRegion";
+    private static final String HEDGING = "hedging";
+    private static final String CACHE = "cache";
+    private static final String PREFETCH = "prefetch";
+    private static final String ASYNC = "async";
+    private static final String REFRESH = "refresh";
+    private static final String RATE_LIMIT = "rateLimit";
+    private static final String CIRCUIT_BREAKER = "circuitBreaker";
+    private static final String SNAPSHOT_FILE = "snapshotFile";
+    private static final String SHARED_CACHE = "sharedCache";
+    private static final String ENUMERABLE = "enumerable";
+    private static final String METRICS = "metrics";
+    private static final String TRACE = "trace";
+    private static final String REUSE = "reuse";
+    private static final String WARM_UP = "warmUp";
     private static final String PROPERTY_SOURCE_PREFIX = "awsParameterStorePropertySource";
     private static final String SOURCE_PREFIX = "awsParameterStoreSource";
     private static final String SSM_CLIENT_ENDPOINT_CONFIG_PREFIX = joinWithDot(SOURCE_PREFIX,
@@ -14,16 +29,116 @@ public final class ParameterStorePropertySourceConfigurationProperties
     public static final String ENABLED = joinWithDot(PROPERTY_SOURCE_PREFIX, "enabled");
     public static final String ACCEPTED_PROFILES = joinWithDot(PROPERTY_SOURCE_PREFIX, "enabledProfiles");
     public static final String HALT_BOOT = joinWithDot(PROPERTY_SOURCE_PREFIX, "haltBoot");
+    public static final String ENUMERABLE_ENABLED = joinWithDot(PROPERTY_SOURCE_PREFIX, ENUMERABLE, "enabled");
+    public static final String ENUMERABLE_ROOT_PATHS = joinWithDot(PROPERTY_SOURCE_PREFIX, ENUMERABLE, "rootPaths");
+    public static final String ENUMERABLE_PROPERTY_PREFIX = joinWithDot(PROPERTY_SOURCE_PREFIX,
+                                                                        ENUMERABLE,
+                                                                        "propertyPrefix");
+    public static final String ENUMERABLE_NAME_MAPPER = joinWithDot(PROPERTY_SOURCE_PREFIX, ENUMERABLE, "nameMapper");
 
     public static final String SSM_CLIENT_CUSTOM_ENDPOINT = joinWithDot(SSM_CLIENT_ENDPOINT_CONFIG_PREFIX, "endpoint");
     public static final String SSM_CLIENT_SIGNING_REGION = joinWithDot(SSM_CLIENT_ENDPOINT_CONFIG_PREFIX,
                                                                        "signingRegion");
     public static final String MULTI_REGION_SSM_CLIENT_REGIONS = joinWithDot(SOURCE_PREFIX,
-                                                                             "multiRegion",
+                                                                             MULTI_REGION,
                                                                              SSM_CLIENT,
                                                                              "regions");
+    public static final String MULTI_REGION_PARALLEL = joinWithDot(SOURCE_PREFIX, MULTI_REGION, "parallel");
+    public static final String MULTI_REGION_HEDGING_ENABLED = joinWithDot(SOURCE_PREFIX,
+                                                                          MULTI_REGION,
+                                                                          HEDGING,
+                                                                          "enabled");
+    public static final String MULTI_REGION_HEDGING_DELAY_IN_MILLIS = joinWithDot(SOURCE_PREFIX,
+                                                                                  MULTI_REGION,
+                                                                                  HEDGING,
+                                                                                  "delayInMillis");
+    public static final String MULTI_REGION_HEDGING_DELAY_PERCENTILE = joinWithDot(SOURCE_PREFIX,
+                                                                                   MULTI_REGION,
+                                                                                   HEDGING,
+                                                                                   "delayPercentile");
     public static final String MAX_ERROR_RETRY = joinWithDot(SOURCE_PREFIX, SSM_CLIENT, "maxErrorRetry");
 
+    public static final String CACHE_ENABLED = joinWithDot(SOURCE_PREFIX, CACHE, "enabled");
+    public static final String CACHE_TIME_TO_LIVE_IN_SECONDS = joinWithDot(SOURCE_PREFIX, CACHE, "timeToLiveInSeconds");
+    public static final String CACHE_MAX_SIZE = joinWithDot(SOURCE_PREFIX, CACHE, "maxSize");
+    public static final String CACHE_SOFT_TIME_TO_LIVE_IN_SECONDS = joinWithDot(SOURCE_PREFIX,
+                                                                                CACHE,
+                                                                                "softTimeToLiveInSeconds");
+    public static final String CACHE_REVALIDATION_CONCURRENCY = joinWithDot(SOURCE_PREFIX,
+                                                                            CACHE,
+                                                                            "revalidationConcurrency");
+
+    public static final String PREFETCH_PATHS = joinWithDot(SOURCE_PREFIX, PREFETCH, "paths");
+    public static final String PREFETCH_PLACEHOLDERS = joinWithDot(SOURCE_PREFIX, PREFETCH, "placeholders");
+    public static final String PREFETCH_MANIFEST = joinWithDot(SOURCE_PREFIX, PREFETCH, "manifest");
+    public static final String PREFETCH_CONCURRENCY = joinWithDot(SOURCE_PREFIX, PREFETCH, "concurrency");
+
+    public static final String ASYNC_ENABLED = joinWithDot(SOURCE_PREFIX, ASYNC, "enabled");
+    public static final String ASYNC_MAX_CONCURRENCY = joinWithDot(SOURCE_PREFIX, ASYNC, "maxConcurrency");
+
+    public static final String REFRESH_ENABLED = joinWithDot(SOURCE_PREFIX, REFRESH, "enabled");
+    public static final String REFRESH_INTERVAL_IN_SECONDS = joinWithDot(SOURCE_PREFIX, REFRESH, "intervalInSeconds");
+    public static final String REFRESH_JITTER_IN_SECONDS = joinWithDot(SOURCE_PREFIX, REFRESH, "jitterInSeconds");
+    public static final String REFRESH_INCREMENTAL = joinWithDot(SOURCE_PREFIX, REFRESH, "incremental");
+    public static final String REFRESH_CONCURRENCY = joinWithDot(SOURCE_PREFIX, REFRESH, "concurrency");
+
+    public static final String RATE_LIMIT_ENABLED = joinWithDot(SOURCE_PREFIX, RATE_LIMIT, "enabled");
+    public static final String RATE_LIMIT_PERMITS_PER_SECOND = joinWithDot(SOURCE_PREFIX, RATE_LIMIT, "permitsPerSecond");
+    public static final String RATE_LIMIT_BURST = joinWithDot(SOURCE_PREFIX, RATE_LIMIT, "burst");
+    public static final String RATE_LIMIT_MAX_RETRIES = joinWithDot(SOURCE_PREFIX, RATE_LIMIT, "maxRetries");
+    public static final String RATE_LIMIT_BACKOFF_BASE_IN_MILLIS = joinWithDot(SOURCE_PREFIX,
+                                                                               RATE_LIMIT,
+                                                                               "backoffBaseInMillis");
+    public static final String RATE_LIMIT_BACKOFF_CAP_IN_MILLIS = joinWithDot(SOURCE_PREFIX,
+                                                                              RATE_LIMIT,
+                                                                              "backoffCapInMillis");
+
+    public static final String CIRCUIT_BREAKER_ENABLED = joinWithDot(SOURCE_PREFIX, CIRCUIT_BREAKER, "enabled");
+    public static final String CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD = joinWithDot(SOURCE_PREFIX,
+                                                                                    CIRCUIT_BREAKER,
+                                                                                    "failureRateThreshold");
+    public static final String CIRCUIT_BREAKER_SLIDING_WINDOW_SIZE = joinWithDot(SOURCE_PREFIX,
+                                                                                 CIRCUIT_BREAKER,
+                                                                                 "slidingWindowSize");
+    public static final String CIRCUIT_BREAKER_CONSECUTIVE_FAILURES = joinWithDot(SOURCE_PREFIX,
+                                                                                  CIRCUIT_BREAKER,
+                                                                                  "consecutiveFailures");
+    public static final String CIRCUIT_BREAKER_OPEN_DURATION_IN_SECONDS = joinWithDot(SOURCE_PREFIX,
+                                                                                      CIRCUIT_BREAKER,
+                                                                                      "openDurationInSeconds");
+    public static final String CIRCUIT_BREAKER_HALF_OPEN_PROBES = joinWithDot(SOURCE_PREFIX,
+                                                                              CIRCUIT_BREAKER,
+                                                                              "halfOpenProbes");
+
+    public static final String SNAPSHOT_FILE_ENABLED = joinWithDot(SOURCE_PREFIX, SNAPSHOT_FILE, "enabled");
+    public static final String SNAPSHOT_FILE_DIRECTORY = joinWithDot(SOURCE_PREFIX, SNAPSHOT_FILE, "directory");
+    public static final String SNAPSHOT_FILE_KEY = joinWithDot(SOURCE_PREFIX, SNAPSHOT_FILE, "key");
+    public static final String SNAPSHOT_FILE_KEY_PROVIDER = joinWithDot(SOURCE_PREFIX, SNAPSHOT_FILE, "keyProvider");
+    public static final String SNAPSHOT_FILE_MAX_AGE_IN_SECONDS = joinWithDot(SOURCE_PREFIX,
+                                                                              SNAPSHOT_FILE,
+                                                                              "maxAgeInSeconds");
+    public static final String SNAPSHOT_FILE_STALE_POLICY = joinWithDot(SOURCE_PREFIX, SNAPSHOT_FILE, "stalePolicy");
+
+    public static final String SHARED_CACHE_ENABLED = joinWithDot(SOURCE_PREFIX, SHARED_CACHE, "enabled");
+    public static final String SHARED_CACHE_DIRECTORY = joinWithDot(SOURCE_PREFIX, SHARED_CACHE, "directory");
+    public static final String SHARED_CACHE_SIZE_IN_BYTES = joinWithDot(SOURCE_PREFIX, SHARED_CACHE, "sizeInBytes");
+    public static final String SHARED_CACHE_TIME_TO_LIVE_IN_SECONDS = joinWithDot(SOURCE_PREFIX,
+                                                                                  SHARED_CACHE,
+                                                                                  "timeToLiveInSeconds");
+    public static final String SHARED_CACHE_KEY = joinWithDot(SOURCE_PREFIX, SHARED_CACHE, "key");
+    public static final String SHARED_CACHE_KEY_PROVIDER = joinWithDot(SOURCE_PREFIX, SHARED_CACHE, "keyProvider");
+
+    public static final String METRICS_ENABLED = joinWithDot(SOURCE_PREFIX, METRICS, "enabled");
+
+    public static final String TRACE_ENABLED = joinWithDot(SOURCE_PREFIX, TRACE, "enabled");
+    public static final String TRACE_SLOWEST_KEYS = joinWithDot(SOURCE_PREFIX, TRACE, "slowestKeys");
+
+    public static final String REUSE_ENABLED = joinWithDot(SOURCE_PREFIX, REUSE, "enabled");
+    public static final String REUSE_MAX_AGE_IN_SECONDS = joinWithDot(SOURCE_PREFIX, REUSE, "maxAgeInSeconds");
+
+    public static final String WARM_UP_ENABLED = joinWithDot(SOURCE_PREFIX, WARM_UP, "enabled");
+    public static final String WARM_UP_TIMEOUT_IN_MILLIS = joinWithDot(SOURCE_PREFIX, WARM_UP, "timeoutInMillis");
+
     private static String joinWithDot(String... elements)
     {
         return String.join(".", elements);
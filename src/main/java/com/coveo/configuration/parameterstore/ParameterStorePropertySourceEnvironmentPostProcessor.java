@@ -1,8 +1,15 @@
 package com.coveo.configuration.parameterstore;
 
+import com.coveo.configuration.parameterstore.engine.RateLimitedParameterStoreEngine;
+import com.coveo.configuration.parameterstore.event.ParameterStoreChangeEventInitializer;
+import com.coveo.configuration.parameterstore.lifecycle.ParameterStoreLifecycleListener;
+import com.coveo.configuration.parameterstore.metrics.ParameterStoreMetrics;
 import com.coveo.configuration.parameterstore.strategy.ParameterStorePropertySourceConfigurationStrategy;
 import com.coveo.configuration.parameterstore.strategy.ParameterStorePropertySourceConfigurationStrategyFactory;
 import com.coveo.configuration.parameterstore.strategy.StrategyType;
+import com.coveo.configuration.parameterstore.trace.ParameterStoreBootTrace;
+import com.coveo.configuration.parameterstore.trace.ParameterStoreBootTraceReporter;
+import com.coveo.configuration.parameterstore.warmup.ParameterStoreWarmUp;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.env.EnvironmentPostProcessor;
 import org.springframework.core.Ordered;
@@ -12,30 +19,96 @@ import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.core.internal.retry.SdkDefaultRetrySetting;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.core.retry.conditions.MaxNumberOfRetriesCondition;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
 import software.amazon.awssdk.services.ssm.SsmClient;
 import software.amazon.awssdk.services.ssm.SsmClientBuilder;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
 
 public class ParameterStorePropertySourceEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+    private static final int DEFAULT_TRACE_SLOWEST_KEYS = 10;
+    private static final long DEFAULT_WARM_UP_TIMEOUT_IN_MILLIS = 5000L;
+
     static ParameterStorePropertySourceConfigurationStrategyFactory strategyFactory = new ParameterStorePropertySourceConfigurationStrategyFactory();
 
     @Override
     public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
         if (isParameterStorePropertySourceEnabled(environment)) {
+            long start = System.nanoTime();
             getParameterStorePropertySourceConfigurationStrategy(environment).configureParameterStorePropertySources(environment,
                     preconfigureSSMClientBuilder(environment));
+            if (application != null) {
+                application.addListeners(new ParameterStoreLifecycleListener(environment));
+            }
+            if (application != null && isRefreshEnabled(environment)) {
+                application.addInitializers(new ParameterStoreChangeEventInitializer());
+            }
+            if (application != null && isTraceEnabled(environment)) {
+                application.addListeners(new ParameterStoreBootTraceReporter(ParameterStoreBootTrace.forEnvironment(environment),
+                        environment.getProperty(ParameterStorePropertySourceConfigurationProperties.TRACE_SLOWEST_KEYS,
+                                Integer.class,
+                                DEFAULT_TRACE_SLOWEST_KEYS)));
+            }
+            if (isMetricsEnabled(environment)) {
+                ParameterStoreMetrics.getInstance().recordPostProcessing(System.nanoTime() - start);
+            }
         }
     }
 
     private SsmClientBuilder preconfigureSSMClientBuilder(ConfigurableEnvironment environment) {
-        return SsmClient
+        SsmClientBuilder ssmClientBuilder = SsmClient
                 .builder()
-                .overrideConfiguration(ClientOverrideConfiguration.builder()
-                        .retryPolicy(RetryPolicy.builder()
-                                .retryCondition(MaxNumberOfRetriesCondition.create(environment.getProperty(ParameterStorePropertySourceConfigurationProperties.MAX_ERROR_RETRY,
-                                        Integer.class,
-                                        SdkDefaultRetrySetting.defaultMaxAttempts())))
-                                .build())
-                        .build());
+                .overrideConfiguration(buildClientOverrideConfiguration(environment));
+        ParameterStoreWarmUp warmUp = ParameterStoreWarmUp.getStarted();
+        if (warmUp != null) {
+            warmUp.configure(ssmClientBuilder,
+                    environment.getProperty(ParameterStorePropertySourceConfigurationProperties.WARM_UP_TIMEOUT_IN_MILLIS,
+                            Long.class,
+                            DEFAULT_WARM_UP_TIMEOUT_IN_MILLIS));
+        }
+        return ssmClientBuilder;
+    }
+
+    static ClientOverrideConfiguration buildClientOverrideConfiguration(ConfigurableEnvironment environment) {
+        RetryCondition retryCondition = MaxNumberOfRetriesCondition.create(environment.getProperty(ParameterStorePropertySourceConfigurationProperties.MAX_ERROR_RETRY,
+                Integer.class,
+                SdkDefaultRetrySetting.defaultMaxAttempts()));
+        if (isRateLimitEnabled(environment)) {
+            // Throttled calls are retried by the rate limiter, retrying them here as well would only add to the load
+            RetryCondition maxNumberOfRetriesCondition = retryCondition;
+            retryCondition = context -> !RateLimitedParameterStoreEngine.isThrottlingException(context.exception())
+                    && maxNumberOfRetriesCondition.shouldRetry(context);
+        }
+        if (isMetricsEnabled(environment)) {
+            RetryCondition meteredRetryCondition = retryCondition;
+            ParameterStoreMetrics metrics = ParameterStoreMetrics.getInstance();
+            retryCondition = context -> {
+                boolean shouldRetry = meteredRetryCondition.shouldRetry(context);
+                // Calls that aren't retried reach the engines, which record how they failed
+                if (shouldRetry) {
+                    metrics.recordRetry();
+                    if (RateLimitedParameterStoreEngine.isThrottlingException(context.exception())) {
+                        metrics.recordThrottle();
+                    }
+                }
+                return shouldRetry;
+            };
+        }
+        if (isTraceEnabled(environment)) {
+            RetryCondition tracedRetryCondition = retryCondition;
+            ParameterStoreBootTrace bootTrace = ParameterStoreBootTrace.forEnvironment(environment);
+            retryCondition = context -> {
+                boolean shouldRetry = tracedRetryCondition.shouldRetry(context);
+                if (shouldRetry && context.originalRequest() instanceof GetParameterRequest) {
+                    bootTrace.recordRetry(((GetParameterRequest) context.originalRequest()).name());
+                }
+                return shouldRetry;
+            };
+        }
+        return ClientOverrideConfiguration.builder()
+                .retryPolicy(RetryPolicy.builder()
+                        .retryCondition(retryCondition)
+                        .build())
+                .build();
     }
 
     private ParameterStorePropertySourceConfigurationStrategy getParameterStorePropertySourceConfigurationStrategy(ConfigurableEnvironment environment) {
@@ -54,6 +127,26 @@ public class ParameterStorePropertySourceEnvironmentPostProcessor implements Env
                 && environment.acceptsProfiles(userDefinedEnabledProfiles));
     }
 
+    private boolean isRefreshEnabled(ConfigurableEnvironment environment) {
+        return Boolean.TRUE.equals(environment.getProperty(ParameterStorePropertySourceConfigurationProperties.REFRESH_ENABLED,
+                Boolean.class));
+    }
+
+    private static boolean isRateLimitEnabled(ConfigurableEnvironment environment) {
+        return Boolean.TRUE.equals(environment.getProperty(ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_ENABLED,
+                Boolean.class));
+    }
+
+    private static boolean isMetricsEnabled(ConfigurableEnvironment environment) {
+        return Boolean.TRUE.equals(environment.getProperty(ParameterStorePropertySourceConfigurationProperties.METRICS_ENABLED,
+                Boolean.class));
+    }
+
+    private static boolean isTraceEnabled(ConfigurableEnvironment environment) {
+        return Boolean.TRUE.equals(environment.getProperty(ParameterStorePropertySourceConfigurationProperties.TRACE_ENABLED,
+                Boolean.class));
+    }
+
     private boolean isMultiRegionEnabled(ConfigurableEnvironment environment) {
         return environment.containsProperty(ParameterStorePropertySourceConfigurationProperties.MULTI_REGION_SSM_CLIENT_REGIONS);
     }
@@ -4,43 +4,732 @@ package com.coveo.configuration.parameterstore;
 //import com.amazonaws.services.simplesystemsmanagement.model.GetParameterRequest;
 //import com.amazonaws.services.simplesystemsmanagement.model.GetParameterResult;
 //import com.amazonaws.services.simplesystemsmanagement.model.ParameterNotFoundException;
+import com.coveo.configuration.parameterstore.cache.CachedParameter;
+import com.coveo.configuration.parameterstore.cache.ParameterStoreCache;
+import com.coveo.configuration.parameterstore.cache.ParameterStoreSnapshot;
+import com.coveo.configuration.parameterstore.engine.BlockingParameterStoreEngine;
+import com.coveo.configuration.parameterstore.engine.ParameterStoreEngine;
+import com.coveo.configuration.parameterstore.engine.ParameterStoreFutures;
+import com.coveo.configuration.parameterstore.event.ParameterChange;
 import com.coveo.configuration.parameterstore.exception.ParameterStoreError;
 import com.coveo.configuration.parameterstore.exception.ParameterStoreParameterNotFoundError;
+import com.coveo.configuration.parameterstore.metrics.ParameterStoreMetrics;
+import com.coveo.configuration.parameterstore.trace.ParameterStoreBootTrace;
+import com.coveo.configuration.parameterstore.trace.ParameterStoreLookupOutcome;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersRequest;
 import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
 import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+import software.amazon.awssdk.services.ssm.model.ParameterMetadata;
 import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+import software.amazon.awssdk.services.ssm.model.ParameterStringFilter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class ParameterStoreSource
 {
-    private SsmClient ssmClient;
+    private static final Log logger = LogFactory.getLog(ParameterStoreSource.class);
+
+    private static final int GET_PARAMETERS_BY_PATH_MAX_RESULTS = 10;
+    private static final int GET_PARAMETERS_MAX_NAMES = 10;
+    private static final int DESCRIBE_PARAMETERS_MAX_RESULTS = 50;
+    private static final int DESCRIBE_PARAMETERS_MAX_FILTER_VALUES = 50;
+    private static final String PATH_FILTER_KEY = "Path";
+    private static final String RECURSIVE_FILTER_OPTION = "Recursive";
+    private static final String NAME_FILTER_KEY = "Name";
+    private static final String EQUALS_FILTER_OPTION = "Equals";
+
+    private ParameterStoreEngine engine;
     private boolean haltBoot;
+    private ParameterStoreCache cache;
+    private ParameterStoreMetrics metrics;
+    private volatile ParameterStoreSnapshot snapshot = ParameterStoreSnapshot.EMPTY;
+    private volatile boolean trackResolvedParameters;
+    private final List<Consumer<List<ParameterChange>>> changeListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<ParameterStoreSnapshot>> snapshotListeners = new CopyOnWriteArrayList<>();
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlightLookups = new ConcurrentHashMap<>();
+    private volatile Executor revalidationExecutor;
+    private volatile ParameterStoreBootTrace bootTrace;
+    private volatile String bootTraceRegion;
+    private final Set<String> revalidatingPropertyNames = ConcurrentHashMap.newKeySet();
 
     public ParameterStoreSource(SsmClient ssmClient, boolean haltBoot)
     {
-        this.ssmClient = ssmClient;
+        this(ssmClient, haltBoot, null);
+    }
+
+    public ParameterStoreSource(SsmClient ssmClient, boolean haltBoot, ParameterStoreCache cache)
+    {
+        this(new BlockingParameterStoreEngine(ssmClient), haltBoot, cache);
+    }
+
+    public ParameterStoreSource(ParameterStoreEngine engine, boolean haltBoot, ParameterStoreCache cache)
+    {
+        this.engine = engine;
         this.haltBoot = haltBoot;
+        this.cache = cache;
     }
 
     public Object getProperty(String propertyName)
     {
+        return ParameterStoreFutures.join(getPropertyAsync(propertyName));
+    }
+
+    /**
+     * Same as {@link #getProperty(String)}, but the returned future is completed with the failure instead of throwing
+     * it. With a non-blocking engine, the calling thread isn't tied up while the parameter is fetched.
+     */
+    public CompletableFuture<Object> getPropertyAsync(String propertyName)
+    {
+        ParameterStoreBootTrace currentBootTrace = bootTrace;
+        long start = currentBootTrace == null ? 0L : System.nanoTime();
+
+        CompletableFuture<Object> lookup = getPropertyFromMemory(propertyName);
+        boolean fetched = lookup == null;
+        if (fetched) {
+            if (metrics != null) {
+                metrics.recordCacheMiss();
+            }
+            lookup = fetchPropertyOnce(propertyName);
+        }
+
+        if (currentBootTrace != null) {
+            lookup.whenComplete((value, failure) -> currentBootTrace.record(bootTraceRegion,
+                                                                            propertyName,
+                                                                            fetched,
+                                                                            toLookupOutcome(value, failure),
+                                                                            System.nanoTime() - start));
+        }
+        return lookup;
+    }
+
+    /**
+     * @return the lookup of a property prefetched or cached, or {@code null} if it must be fetched.
+     */
+    private CompletableFuture<Object> getPropertyFromMemory(String propertyName)
+    {
+        CachedParameter prefetchedParameter = snapshot.get(propertyName);
+        if (prefetchedParameter != null) {
+            recordCacheHit();
+            return resolve(propertyName, prefetchedParameter);
+        }
+
+        if (cache != null) {
+            CachedParameter cachedParameter = cache.get(propertyName);
+            if (cachedParameter != null) {
+                if (cache.isStale(cachedParameter)) {
+                    revalidate(propertyName);
+                }
+                recordCacheHit();
+                return resolve(propertyName, cachedParameter);
+            }
+        }
+        return null;
+    }
+
+    private static ParameterStoreLookupOutcome toLookupOutcome(Object value, Throwable failure)
+    {
+        if (failure == null) {
+            return value == null ? ParameterStoreLookupOutcome.NOT_FOUND : ParameterStoreLookupOutcome.FOUND;
+        }
+        return ParameterStoreFutures.unwrap(failure) instanceof ParameterStoreParameterNotFoundError
+                ? ParameterStoreLookupOutcome.NOT_FOUND
+                : ParameterStoreLookupOutcome.FAILED;
+    }
+
+    private void recordCacheHit()
+    {
+        if (metrics != null) {
+            metrics.recordCacheHit();
+        }
+    }
+
+    /**
+     * Fetches the property again in the background to replace its stale cache entry, unless it is already being
+     * fetched again or no executor was given to do it.
+     */
+    private void revalidate(String propertyName)
+    {
+        Executor executor = revalidationExecutor;
+        if (executor == null || !revalidatingPropertyNames.add(propertyName)) {
+            return;
+        }
         try {
-            GetParameterResponse getParameterResult = ssmClient.getParameter(GetParameterRequest.builder()
-                                                                                                .name(propertyName)
-                                                                                                .withDecryption(true)
-                                                                                                .build());
+            executor.execute(() -> fetchPropertyOnce(propertyName).whenComplete((value, failure) -> {
+                revalidatingPropertyNames.remove(propertyName);
+                Throwable cause = failure == null ? null : ParameterStoreFutures.unwrap(failure);
+                // A parameter that no longer exists was already cached as missing
+                if (cause != null && !(cause instanceof ParameterStoreParameterNotFoundError)) {
+                    logger.warn(String.format("Fetching the stale parameter '%s' again failed, its cached value is kept until it expires.",
+                                              propertyName),
+                                cause);
+                }
+            }));
+        } catch (RuntimeException e) {
+            revalidatingPropertyNames.remove(propertyName);
+            logger.warn(String.format("Fetching the stale parameter '%s' again could not be scheduled.", propertyName),
+                        e);
+        }
+    }
+
+    /**
+     * Coalesces concurrent lookups of the same property: only the first one calls the Parameter Store, and the others
+     * wait for its outcome, be it a value, a missing parameter or a failure.
+     */
+    private CompletableFuture<Object> fetchPropertyOnce(String propertyName)
+    {
+        CompletableFuture<Object> lookup = new CompletableFuture<>();
+        CompletableFuture<Object> inFlightLookup = inFlightLookups.putIfAbsent(propertyName, lookup);
+        if (inFlightLookup == null) {
+            inFlightLookup = lookup;
+            fetchProperty(propertyName).whenComplete((value, failure) -> {
+                inFlightLookups.remove(propertyName, lookup);
+                if (failure != null) {
+                    lookup.completeExceptionally(failure);
+                } else {
+                    lookup.complete(value);
+                }
+            });
+        }
+        // Every caller gets its own future, so that none of them can cancel the lookup shared with the others
+        return inFlightLookup.thenApply(Function.identity());
+    }
+
+    private CompletableFuture<Object> fetchProperty(String propertyName)
+    {
+        CompletableFuture<GetParameterResponse> getParameterCall;
+        try {
+            getParameterCall = engine.getParameter(GetParameterRequest.builder()
+                                                                      .name(propertyName)
+                                                                      .withDecryption(true)
+                                                                      .build());
+        } catch (RuntimeException e) {
+            getParameterCall = new CompletableFuture<>();
+            getParameterCall.completeExceptionally(e);
+        }
+
+        return getParameterCall.handle((getParameterResult, failure) -> {
+            if (failure != null) {
+                return onFailure(propertyName, ParameterStoreFutures.unwrap(failure));
+            }
             validate(propertyName, getParameterResult);
-            return getParameterResult.parameter().value();
-        } catch (ParameterNotFoundException e) {
-            if (haltBoot) {
-                throw new ParameterStoreParameterNotFoundError(propertyName, e);
+            String value = getParameterResult.parameter().value();
+            Parameter parameter = getParameterResult.parameter().toBuilder().name(propertyName).build();
+            if (trackResolvedParameters) {
+                updateSnapshot(latest -> latest.withParameters(Collections.singletonList(parameter),
+                                                               Collections.emptyList()));
+            } else if (cache != null) {
+                cache.putValue(propertyName, value);
+            }
+            return value;
+        });
+    }
+
+    /**
+     * When enabled, parameters fetched one at a time are added to the snapshot instead of the cache, so that they are
+     * kept up to date by {@link #refresh(Executor)} and served from memory afterwards.
+     */
+    public void setTrackResolvedParameters(boolean trackResolvedParameters)
+    {
+        this.trackResolvedParameters = trackResolvedParameters;
+    }
+
+    /**
+     * Sets the executor fetching stale cache entries again in the background. Without one, stale entries are served
+     * until they expire.
+     */
+    public void setRevalidationExecutor(Executor revalidationExecutor)
+    {
+        this.revalidationExecutor = revalidationExecutor;
+    }
+
+    /**
+     * Sets the metrics cache hits and misses and missing parameters are recorded in. Without them, nothing is recorded.
+     */
+    public void setMetrics(ParameterStoreMetrics metrics)
+    {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sets the trace every lookup is recorded in, under the given region, until it is stopped. Without it, lookups
+     * aren't timed.
+     */
+    public void setBootTrace(ParameterStoreBootTrace bootTrace, String region)
+    {
+        this.bootTraceRegion = region;
+        this.bootTrace = bootTrace;
+    }
+
+    /**
+     * Recursively fetches every parameter under the given hierarchies, which are then served from memory. Other
+     * properties, including the ones under those hierarchies that weren't returned, are still fetched one at a time. If
+     * a hierarchy fails, its parameters are left to be fetched one at a time when they are resolved.
+     *
+     * @return whether every hierarchy was fetched.
+     */
+    public boolean prefetch(List<String> paths)
+    {
+        List<CompletableFuture<List<Parameter>>> hierarchies = new ArrayList<>();
+        for (String path : paths) {
+            hierarchies.add(getHierarchy(path).handle((parameters, failure) -> {
+                if (failure != null) {
+                    logger.warn(String.format("Prefetching the parameters under '%s' failed, they will be fetched one at a time.",
+                                              path),
+                                ParameterStoreFutures.unwrap(failure));
+                    return null;
+                }
+                return parameters;
+            }));
+        }
+
+        List<String> prefetchedPaths = new ArrayList<>();
+        List<Parameter> parameters = new ArrayList<>();
+        List<List<Parameter>> hierarchyParameters = ParameterStoreFutures.joinAll(hierarchies);
+        for (int i = 0; i < paths.size(); i++) {
+            if (hierarchyParameters.get(i) != null) {
+                prefetchedPaths.add(paths.get(i));
+                parameters.addAll(hierarchyParameters.get(i));
+            }
+        }
+        updateSnapshot(latest -> latest.withPaths(prefetchedPaths, parameters));
+        return prefetchedPaths.size() == paths.size();
+    }
+
+    /**
+     * Fetches the given parameters in batches of {@value #GET_PARAMETERS_MAX_NAMES} using {@code GetParameters}, with
+     * the batches dispatched concurrently on the given executor. Parameters returned as invalid are remembered as
+     * missing. If a batch fails, its parameters are left to be fetched one at a time when they are resolved.
+     */
+    public void prefetchParameters(Collection<String> propertyNames, Executor executor)
+    {
+        ParameterStoreSnapshot current = snapshot;
+        List<String> unknownPropertyNames = propertyNames.stream()
+                                                         .distinct()
+                                                         .filter(propertyName -> current.get(propertyName) == null)
+                                                         .collect(Collectors.toList());
+
+        List<CompletableFuture<GetParametersResponse>> batches = new ArrayList<>();
+        for (CompletableFuture<GetParametersResponse> batch : fetchParameters(unknownPropertyNames, executor)) {
+            batches.add(batch.handle((result, failure) -> {
+                if (failure != null) {
+                    logger.warn("Prefetching a batch of parameters failed, they will be fetched one at a time.",
+                                ParameterStoreFutures.unwrap(failure));
+                    return null;
+                }
+                return result;
+            }));
+        }
+
+        List<Parameter> parameters = new ArrayList<>();
+        List<String> missingPropertyNames = new ArrayList<>();
+        for (GetParametersResponse getParametersResult : ParameterStoreFutures.joinAll(batches)) {
+            if (getParametersResult != null) {
+                parameters.addAll(getRequestedParameters(getParametersResult));
+                missingPropertyNames.addAll(getParametersResult.invalidParameters());
+            }
+        }
+        if (metrics != null && !missingPropertyNames.isEmpty()) {
+            metrics.recordNotFound(missingPropertyNames.size());
+        }
+        updateSnapshot(latest -> latest.withParameters(parameters, missingPropertyNames));
+    }
+
+    /**
+     * Fetches again every hierarchy and parameter of the snapshot, then replaces the snapshot with a single reference
+     * swap. Lookups keep being served from the previous snapshot while the new one is built. If any call fails, the
+     * previous snapshot is kept and the failure is thrown.
+     */
+    public void refresh(Executor executor)
+    {
+        ParameterStoreSnapshot base = snapshot;
+        List<String> propertyNames = getTrackedPropertyNames(base);
+
+        List<CompletableFuture<GetParametersResponse>> batches = fetchParameters(propertyNames, executor);
+        List<Parameter> pathParameters = fetchParametersByPath(base.getPaths());
+
+        List<Parameter> parameters = new ArrayList<>();
+        List<String> missingPropertyNames = new ArrayList<>();
+        for (GetParametersResponse getParametersResult : ParameterStoreFutures.joinAll(batches)) {
+            parameters.addAll(getRequestedParameters(getParametersResult));
+            missingPropertyNames.addAll(getParametersResult.invalidParameters());
+        }
+
+        ParameterStoreSnapshot refreshed = ParameterStoreSnapshot.EMPTY.withPaths(base.getPaths(), pathParameters)
+                                                                       .withParameters(parameters,
+                                                                                       missingPropertyNames);
+        swapSnapshot(base, refreshed);
+    }
+
+    /**
+     * Same as {@link #refresh(Executor)}, but only the metadata of the parameters is listed using
+     * {@code DescribeParameters}, and only the parameters whose version changed since the snapshot was built are fetched
+     * again. Parameters that are no longer listed are considered missing. {@code DescribeParameters} can't filter on a
+     * version or label selector, so parameters resolved with one are always fetched again.
+     */
+    public void refreshChanged(Executor executor)
+    {
+        ParameterStoreSnapshot base = snapshot;
+        List<String> propertyNames = new ArrayList<>();
+        List<String> changedPropertyNames = new ArrayList<>();
+        for (String propertyName : getTrackedPropertyNames(base)) {
+            if (ParameterStoreSnapshot.hasSelector(propertyName)) {
+                changedPropertyNames.add(propertyName);
+            } else {
+                propertyNames.add(propertyName);
+            }
+        }
+
+        Map<String, ParameterMetadata> metadata = describeParameters(base.getPaths(), propertyNames, executor);
+
+        List<Parameter> unchangedParameters = new ArrayList<>();
+        for (ParameterMetadata parameterMetadata : metadata.values()) {
+            Parameter knownParameter = base.getParameters().get(parameterMetadata.name());
+            if (isChanged(knownParameter, parameterMetadata)) {
+                changedPropertyNames.add(parameterMetadata.name());
+            } else {
+                unchangedParameters.add(knownParameter);
+            }
+        }
+
+        List<Parameter> changedParameters = new ArrayList<>();
+        List<String> missingPropertyNames = propertyNames.stream()
+                                                         .filter(propertyName -> !metadata.containsKey(propertyName))
+                                                         .collect(Collectors.toList());
+        for (GetParametersResponse getParametersResult : ParameterStoreFutures.joinAll(fetchParameters(changedPropertyNames,
+                                                                                                       executor))) {
+            changedParameters.addAll(getRequestedParameters(getParametersResult));
+            missingPropertyNames.addAll(getParametersResult.invalidParameters());
+        }
+
+        ParameterStoreSnapshot refreshed = ParameterStoreSnapshot.EMPTY.withPaths(base.getPaths(), unchangedParameters)
+                                                                       .withParameters(changedParameters,
+                                                                                       missingPropertyNames);
+        swapSnapshot(base, refreshed);
+    }
+
+    public ParameterStoreSnapshot getSnapshot()
+    {
+        return snapshot;
+    }
+
+    /**
+     * Registers a listener called with the parameters that changed after each {@link #refresh(Executor)}, on the
+     * refreshing thread.
+     */
+    public void addChangeListener(Consumer<List<ParameterChange>> changeListener)
+    {
+        changeListeners.add(changeListener);
+    }
+
+    /**
+     * Registers a listener called with the new snapshot every time parameters were fetched into it, on the thread that
+     * fetched them.
+     */
+    public void addSnapshotListener(Consumer<ParameterStoreSnapshot> snapshotListener)
+    {
+        snapshotListeners.add(snapshotListener);
+    }
+
+    /**
+     * Serves the parameters of a snapshot that was built beforehand, for example by a previous run of the application,
+     * instead of fetching them. Parameters fetched afterwards are added to it, and {@link #refresh(Executor)} replaces
+     * it with the current values.
+     */
+    public void restoreSnapshot(ParameterStoreSnapshot restoredSnapshot)
+    {
+        synchronized (this) {
+            snapshot = restoredSnapshot.withAdditionsOf(snapshot, ParameterStoreSnapshot.EMPTY);
+        }
+    }
+
+    private void updateSnapshot(UnaryOperator<ParameterStoreSnapshot> update)
+    {
+        ParameterStoreSnapshot updated;
+        synchronized (this) {
+            updated = update.apply(snapshot);
+            snapshot = updated;
+        }
+        notifySnapshotListeners(updated);
+    }
+
+    private void notifySnapshotListeners(ParameterStoreSnapshot updated)
+    {
+        for (Consumer<ParameterStoreSnapshot> snapshotListener : snapshotListeners) {
+            try {
+                snapshotListener.accept(updated);
+            } catch (RuntimeException e) {
+                logger.warn("A listener failed to handle the fetched parameters.", e);
             }
-        } catch (Exception e) {
-            throw new ParameterStoreError(propertyName, e);
+        }
+    }
+
+    private void swapSnapshot(ParameterStoreSnapshot base, ParameterStoreSnapshot refreshed)
+    {
+        List<ParameterChange> changes;
+        ParameterStoreSnapshot swapped;
+        synchronized (this) {
+            ParameterStoreSnapshot latest = snapshot;
+            // Parameters resolved while refreshing were added to the latest snapshot and must not be lost
+            swapped = latest == base ? refreshed : refreshed.withAdditionsOf(latest, base);
+            snapshot = swapped;
+            changes = swapped.diff(latest);
+        }
+
+        notifySnapshotListeners(swapped);
+        if (changes.isEmpty()) {
+            return;
+        }
+        for (Consumer<List<ParameterChange>> changeListener : changeListeners) {
+            try {
+                changeListener.accept(changes);
+            } catch (RuntimeException e) {
+                logger.warn("A listener failed to handle the refreshed parameters.", e);
+            }
+        }
+    }
+
+    /**
+     * @return the parameters of the snapshot that fetching its hierarchies again doesn't keep up to date. Missing
+     *         parameters are always part of them, since a hierarchy can't tell that a parameter is still missing.
+     */
+    private List<String> getTrackedPropertyNames(ParameterStoreSnapshot base)
+    {
+        return Stream.concat(base.getParameters().keySet().stream().filter(propertyName -> !base.isCovered(propertyName)),
+                             base.getMissingParameterNames().stream())
+                     .collect(Collectors.toList());
+    }
+
+    private boolean isChanged(Parameter knownParameter, ParameterMetadata parameterMetadata)
+    {
+        if (knownParameter == null) {
+            return true;
+        }
+        if (knownParameter.version() != null && parameterMetadata.version() != null) {
+            return !knownParameter.version().equals(parameterMetadata.version());
+        }
+        return knownParameter.lastModifiedDate() == null
+                || !knownParameter.lastModifiedDate().equals(parameterMetadata.lastModifiedDate());
+    }
+
+    private Map<String, ParameterMetadata> describeParameters(List<String> paths,
+                                                              List<String> propertyNames,
+                                                              Executor executor)
+    {
+        List<CompletableFuture<List<ParameterMetadata>>> listings = new ArrayList<>();
+        for (String path : paths) {
+            listings.add(describeParameters(ParameterStringFilter.builder()
+                                                                 .key(PATH_FILTER_KEY)
+                                                                 .option(RECURSIVE_FILTER_OPTION)
+                                                                 .values(path)
+                                                                 .build(),
+                                            executor));
+        }
+        for (int i = 0; i < propertyNames.size(); i += DESCRIBE_PARAMETERS_MAX_FILTER_VALUES) {
+            listings.add(describeParameters(ParameterStringFilter.builder()
+                                                                 .key(NAME_FILTER_KEY)
+                                                                 .option(EQUALS_FILTER_OPTION)
+                                                                 .values(propertyNames.subList(i,
+                                                                                               Math.min(i + DESCRIBE_PARAMETERS_MAX_FILTER_VALUES,
+                                                                                                        propertyNames.size())))
+                                                                 .build(),
+                                            executor));
+        }
+
+        Map<String, ParameterMetadata> metadata = new HashMap<>();
+        for (List<ParameterMetadata> listing : ParameterStoreFutures.joinAll(listings)) {
+            listing.forEach(parameterMetadata -> metadata.put(parameterMetadata.name(), parameterMetadata));
+        }
+        return metadata;
+    }
+
+    private CompletableFuture<List<ParameterMetadata>> describeParameters(ParameterStringFilter filter, Executor executor)
+    {
+        return CompletableFuture.supplyAsync(() -> describeParameters(filter, null, new ArrayList<>()), executor)
+                                .thenCompose(Function.identity())
+                                .handle((metadata, failure) -> {
+                                    if (failure != null) {
+                                        throw new ParameterStoreError(filter.values().toString(),
+                                                                      asException(ParameterStoreFutures.unwrap(failure)));
+                                    }
+                                    return metadata;
+                                });
+    }
+
+    private CompletableFuture<List<ParameterMetadata>> describeParameters(ParameterStringFilter filter,
+                                                                          String nextToken,
+                                                                          List<ParameterMetadata> metadata)
+    {
+        return engine.describeParameters(DescribeParametersRequest.builder()
+                                                                  .parameterFilters(filter)
+                                                                  .maxResults(DESCRIBE_PARAMETERS_MAX_RESULTS)
+                                                                  .nextToken(nextToken)
+                                                                  .build())
+                     .thenCompose(describeParametersResult -> {
+                         metadata.addAll(describeParametersResult.parameters());
+                         if (describeParametersResult.nextToken() == null) {
+                             return CompletableFuture.completedFuture(metadata);
+                         }
+                         return describeParameters(filter, describeParametersResult.nextToken(), metadata);
+                     });
+    }
+
+    private List<Parameter> fetchParametersByPath(List<String> paths)
+    {
+        List<CompletableFuture<List<Parameter>>> hierarchies = new ArrayList<>();
+        for (String path : paths) {
+            hierarchies.add(getHierarchy(path));
+        }
+
+        List<Parameter> parameters = new ArrayList<>();
+        ParameterStoreFutures.joinAll(hierarchies).forEach(parameters::addAll);
+        return parameters;
+    }
+
+    private CompletableFuture<List<Parameter>> getHierarchy(String path)
+    {
+        CompletableFuture<List<Parameter>> hierarchy;
+        try {
+            hierarchy = getParametersByPath(path, null, new ArrayList<>());
+        } catch (RuntimeException e) {
+            hierarchy = new CompletableFuture<>();
+            hierarchy.completeExceptionally(e);
+        }
+        return hierarchy.handle((parameters, failure) -> {
+            if (failure != null) {
+                throw new ParameterStoreError(path, asException(ParameterStoreFutures.unwrap(failure)));
+            }
+            return parameters;
+        });
+    }
+
+    private List<CompletableFuture<GetParametersResponse>> fetchParameters(List<String> propertyNames,
+                                                                           Executor executor)
+    {
+        List<CompletableFuture<GetParametersResponse>> batches = new ArrayList<>();
+        for (int i = 0; i < propertyNames.size(); i += GET_PARAMETERS_MAX_NAMES) {
+            List<String> batch = propertyNames.subList(i, Math.min(i + GET_PARAMETERS_MAX_NAMES, propertyNames.size()));
+            batches.add(CompletableFuture.supplyAsync(() -> engine.getParameters(GetParametersRequest.builder()
+                                                                                                     .names(batch)
+                                                                                                     .withDecryption(true)
+                                                                                                     .build()),
+                                                      executor)
+                                         .thenCompose(Function.identity())
+                                         .handle((getParametersResult, failure) -> {
+                                             if (failure != null) {
+                                                 throw new ParameterStoreError(batch.toString(),
+                                                                               asException(ParameterStoreFutures.unwrap(failure)));
+                                             }
+                                             return getParametersResult;
+                                         }));
+        }
+        return batches;
+    }
+
+    /**
+     * @return the parameters of the response under the names they were requested with: a parameter requested with a
+     *         version or label selector is returned under its plain name, along with the selector.
+     */
+    private static List<Parameter> getRequestedParameters(GetParametersResponse getParametersResult)
+    {
+        return getParametersResult.parameters()
+                                  .stream()
+                                  .map(parameter -> parameter.selector() == null ? parameter
+                                                                                 : parameter.toBuilder()
+                                                                                            .name(parameter.name()
+                                                                                                    + parameter.selector())
+                                                                                            .build())
+                                  .collect(Collectors.toList());
+    }
+
+    private CompletableFuture<List<Parameter>> getParametersByPath(String path,
+                                                                   String nextToken,
+                                                                   List<Parameter> parameters)
+    {
+        return engine.getParametersByPath(GetParametersByPathRequest.builder()
+                                                                    .path(path)
+                                                                    .recursive(true)
+                                                                    .withDecryption(true)
+                                                                    .maxResults(GET_PARAMETERS_BY_PATH_MAX_RESULTS)
+                                                                    .nextToken(nextToken)
+                                                                    .build())
+                     .thenCompose(getParametersByPathResult -> {
+                         parameters.addAll(getParametersByPathResult.parameters());
+                         if (getParametersByPathResult.nextToken() == null) {
+                             return CompletableFuture.completedFuture(parameters);
+                         }
+                         return getParametersByPath(path, getParametersByPathResult.nextToken(), parameters);
+                     });
+    }
+
+    private CompletableFuture<Object> resolve(String propertyName, CachedParameter cachedParameter)
+    {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        try {
+            result.complete(cachedParameter.isFound() ? cachedParameter.getValue()
+                                                      : onParameterNotFound(propertyName, null));
+        } catch (Error e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private Object onFailure(String propertyName, Throwable failure)
+    {
+        if (failure instanceof ParameterNotFoundException) {
+            if (metrics != null) {
+                metrics.recordNotFound(1);
+            }
+            if (trackResolvedParameters) {
+                updateSnapshot(latest -> latest.withParameters(Collections.emptyList(),
+                                                               Collections.singletonList(propertyName)));
+            } else if (cache != null) {
+                cache.putNotFound(propertyName);
+            }
+            return onParameterNotFound(propertyName, (ParameterNotFoundException) failure);
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw new ParameterStoreError(propertyName, asException(failure));
+    }
+
+    private Object onParameterNotFound(String propertyName, Exception e)
+    {
+        if (haltBoot) {
+            throw new ParameterStoreParameterNotFoundError(propertyName, e);
         }
         return null;
     }
 
+    private Exception asException(Throwable failure)
+    {
+        return failure instanceof Exception ? (Exception) failure : new RuntimeException(failure);
+    }
+
     private void validate(String propertyName, GetParameterResponse getParameterResult)
     {
         String requestId = getParameterResult.responseMetadata().requestId();
@@ -0,0 +1,740 @@
+package com.coveo.configuration.parameterstore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+import com.coveo.configuration.parameterstore.cache.ParameterStoreCache;
+import com.coveo.configuration.parameterstore.cache.ParameterStoreSnapshot;
+import com.coveo.configuration.parameterstore.cache.SharedParameterStoreCache;
+import com.coveo.configuration.parameterstore.engine.LastKnownValueParameterStoreEngine;
+import com.coveo.configuration.parameterstore.engine.ParameterStoreEngine;
+import com.coveo.configuration.parameterstore.engine.RecordingParameterStoreEngine;
+import com.coveo.configuration.parameterstore.engine.SharedCacheParameterStoreEngine;
+import com.coveo.configuration.parameterstore.exception.ParameterStoreError;
+import com.coveo.configuration.parameterstore.lifecycle.ParameterStoreLifecycle;
+import com.coveo.configuration.parameterstore.manifest.ParameterStoreKeyManifest;
+import com.coveo.configuration.parameterstore.metrics.ParameterStoreMetrics;
+import com.coveo.configuration.parameterstore.persistence.ParameterStoreSnapshotFile;
+import com.coveo.configuration.parameterstore.persistence.ParameterStoreSnapshotKeyProvider;
+import com.coveo.configuration.parameterstore.persistence.ParameterStoreSnapshotWriter;
+import com.coveo.configuration.parameterstore.persistence.PropertyParameterStoreSnapshotKeyProvider;
+import com.coveo.configuration.parameterstore.persistence.StaleSnapshotPolicy;
+import com.coveo.configuration.parameterstore.refresh.ParameterStoreRefresher;
+import com.coveo.configuration.parameterstore.registry.ParameterStoreProcessRegistry;
+import com.coveo.configuration.parameterstore.trace.ParameterStoreBootTrace;
+
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.awscore.client.builder.AwsClientBuilder;
+import software.amazon.awssdk.regions.providers.AwsRegionProvider;
+import software.amazon.awssdk.regions.providers.DefaultAwsRegionProviderChain;
+import software.amazon.awssdk.services.ssm.SsmAsyncClient;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.SsmClientBuilder;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+
+public class ParameterStoreSourceFactory
+{
+    private static final Log logger = LogFactory.getLog(ParameterStoreSourceFactory.class);
+
+    private static final long DEFAULT_CACHE_TIME_TO_LIVE_IN_SECONDS = 300L;
+    private static final int DEFAULT_CACHE_MAX_SIZE = 1000;
+    private static final int DEFAULT_CACHE_REVALIDATION_CONCURRENCY = 2;
+    private static final String REVALIDATION_THREAD_NAME_PREFIX = "parameter-store-revalidation-";
+    private static final String DEFAULT_SOURCE_NAME = "default";
+    private static final String DEFAULT_SNAPSHOT_FILE_DIRECTORY_NAME = "aws-parameter-store";
+    private static final String SNAPSHOT_FILE_EXTENSION = ".snapshot";
+    private static final String SHARED_CACHE_FILE_EXTENSION = ".cache";
+    private static final int DEFAULT_SHARED_CACHE_SIZE_IN_BYTES = 4 * 1024 * 1024;
+    private static final int MIN_SHARED_CACHE_SIZE_IN_BYTES = 4096;
+    private static final long DEFAULT_SNAPSHOT_FILE_MAX_AGE_IN_SECONDS = 3600L;
+    private static final long SNAPSHOT_FILE_WRITE_DELAY_IN_MILLIS = 1000L;
+    private static final String SNAPSHOT_FILE_THREAD_NAME_PREFIX = "parameter-store-snapshot-file-";
+    private static final int DEFAULT_PREFETCH_CONCURRENCY = 4;
+    private static final String PREFETCH_THREAD_NAME_PREFIX = "parameter-store-prefetch-";
+    private static final long DEFAULT_REFRESH_INTERVAL_IN_SECONDS = 300L;
+    private static final long DEFAULT_REFRESH_JITTER_IN_SECONDS = 30L;
+    private static final int DEFAULT_REFRESH_CONCURRENCY = 1;
+    private static final String REFRESH_THREAD_NAME_PREFIX = "parameter-store-refresh-";
+    private static final String REFRESH_FETCH_THREAD_NAME_PREFIX = "parameter-store-refresh-fetch-";
+    private static final long DEFAULT_REUSE_MAX_AGE_IN_SECONDS = 300L;
+
+    private final AwsCredentialsProvider credentialsProvider;
+    private final AwsRegionProvider regionProvider;
+    private ParameterStoreEngineFactory engineFactory = new ParameterStoreEngineFactory();
+    private ParameterStorePlaceholderScanner placeholderScanner = new ParameterStorePlaceholderScanner();
+
+    public ParameterStoreSourceFactory()
+    {
+        this(DefaultCredentialsProvider.create(), new DefaultAwsRegionProviderChain());
+    }
+
+    /**
+     * @param credentialsProvider resolves the credentials of the default source, telling apart the Parameter Stores
+     *            shared across application contexts.
+     * @param regionProvider resolves the region of the default source, for the same purpose.
+     */
+    ParameterStoreSourceFactory(AwsCredentialsProvider credentialsProvider, AwsRegionProvider regionProvider)
+    {
+        this.credentialsProvider = credentialsProvider;
+        this.regionProvider = regionProvider;
+    }
+
+    /**
+     * Builds the client from the given builder, or an {@link SsmAsyncClient} when the async engine is enabled. The
+     * configurer applies the same settings (region, endpoint...) to whichever builder is used.
+     */
+    public ParameterStoreSource createParameterStoreSource(ConfigurableEnvironment environment,
+                                                           SsmClientBuilder ssmClientBuilder,
+                                                           Consumer<AwsClientBuilder<?, ?>> clientConfigurer,
+                                                           boolean haltBoot)
+    {
+        return createParameterStoreSource(environment, ssmClientBuilder, clientConfigurer, haltBoot, DEFAULT_SOURCE_NAME);
+    }
+
+    /**
+     * Same as {@link #createParameterStoreSource(ConfigurableEnvironment, SsmClientBuilder, Consumer, boolean)}, for a
+     * source that must be told apart from the others (one per region for instance) in what it saves.
+     */
+    public ParameterStoreSource createParameterStoreSource(ConfigurableEnvironment environment,
+                                                           SsmClientBuilder ssmClientBuilder,
+                                                           Consumer<AwsClientBuilder<?, ?>> clientConfigurer,
+                                                           boolean haltBoot,
+                                                           String sourceName)
+    {
+        return createParameterStoreSource(environment, ssmClientBuilder, clientConfigurer, haltBoot, sourceName, null);
+    }
+
+    /**
+     * Same as {@link #createParameterStoreSource(ConfigurableEnvironment, SsmClientBuilder, Consumer, boolean, String)},
+     * for a source whose lookups must not block the calling thread. With the blocking engine, the calls are made on the
+     * given executor; the async engine doesn't need it.
+     */
+    public ParameterStoreSource createParameterStoreSource(ConfigurableEnvironment environment,
+                                                           SsmClientBuilder ssmClientBuilder,
+                                                           Consumer<AwsClientBuilder<?, ?>> clientConfigurer,
+                                                           boolean haltBoot,
+                                                           String sourceName,
+                                                           Executor callExecutor)
+    {
+        String registryKey = buildRegistryKey(environment, sourceName);
+        return createParameterStoreSource(environment,
+                                          engineFactory.createParameterStoreEngine(environment,
+                                                                                   ssmClientBuilder,
+                                                                                   clientConfigurer,
+                                                                                   registryKey,
+                                                                                   callExecutor,
+                                                                                   sourceName),
+                                          haltBoot,
+                                          sourceName,
+                                          registryKey);
+    }
+
+    public ParameterStoreSource createParameterStoreSource(ConfigurableEnvironment environment,
+                                                           SsmClient ssmClient,
+                                                           boolean haltBoot)
+    {
+        return createParameterStoreSource(environment,
+                                          engineFactory.createParameterStoreEngine(environment,
+                                                                                   ssmClient,
+                                                                                   DEFAULT_SOURCE_NAME),
+                                          haltBoot,
+                                          DEFAULT_SOURCE_NAME,
+                                          null);
+    }
+
+    /**
+     * @return a property source listing the prefetched parameters under dotted names if
+     *         {@code awsParameterStorePropertySource.enumerable.enabled} is set, otherwise a plain one.
+     */
+    public PropertySource<ParameterStoreSource> createParameterStorePropertySource(ConfigurableEnvironment environment,
+                                                                                   String name,
+                                                                                   ParameterStoreSource parameterStoreSource)
+    {
+        if (!isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.ENUMERABLE_ENABLED)) {
+            return new ParameterStorePropertySource(name, parameterStoreSource);
+        }
+        return new EnumerableParameterStorePropertySource(name,
+                                                          parameterStoreSource,
+                                                          buildPropertyNameMapper(environment));
+    }
+
+    private ParameterStorePropertyNameMapper buildPropertyNameMapper(ConfigurableEnvironment environment)
+    {
+        String nameMapperClassName = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.ENUMERABLE_NAME_MAPPER);
+        if (nameMapperClassName != null) {
+            try {
+                return BeanUtils.instantiateClass(ClassUtils.forName(nameMapperClassName,
+                                                                     ClassUtils.getDefaultClassLoader()),
+                                                  ParameterStorePropertyNameMapper.class);
+            } catch (ClassNotFoundException | LinkageError | BeanInstantiationException e) {
+                throw new IllegalArgumentException(String.format("The property '%s' must be the name of a class implementing %s with a no-argument constructor.",
+                                                                 ParameterStorePropertySourceConfigurationProperties.ENUMERABLE_NAME_MAPPER,
+                                                                 ParameterStorePropertyNameMapper.class.getName()),
+                                                   e);
+            }
+        }
+
+        String[] rootPaths = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.ENUMERABLE_ROOT_PATHS,
+                                                     String[].class,
+                                                     environment.getProperty(ParameterStorePropertySourceConfigurationProperties.PREFETCH_PATHS,
+                                                                             String[].class));
+        if (ObjectUtils.isEmpty(rootPaths)) {
+            throw new IllegalArgumentException(String.format("To list the parameters, the property '%s' or '%s' must not be empty.",
+                                                             ParameterStorePropertySourceConfigurationProperties.ENUMERABLE_ROOT_PATHS,
+                                                             ParameterStorePropertySourceConfigurationProperties.PREFETCH_PATHS));
+        }
+        return new HierarchyParameterStorePropertyNameMapper(Arrays.asList(rootPaths),
+                                                             environment.getProperty(ParameterStorePropertySourceConfigurationProperties.ENUMERABLE_PROPERTY_PREFIX));
+    }
+
+    /**
+     * @param registryKey the key under which the source shares what it resolved with the other application contexts,
+     *            or null if it doesn't.
+     */
+    private ParameterStoreSource createParameterStoreSource(ConfigurableEnvironment environment,
+                                                            ParameterStoreEngine engine,
+                                                            boolean haltBoot,
+                                                            String sourceName,
+                                                            String registryKey)
+    {
+        ParameterStoreCache cache = registryKey != null ? getSharedParameterStoreCache(environment, registryKey)
+                                                        : buildParameterStoreCache(environment);
+        ParameterStoreSnapshotFile snapshotFile = null;
+        ParameterStoreSnapshotFile.SavedSnapshot savedSnapshot = null;
+        ParameterStoreSnapshotWriter snapshotWriter = null;
+        ParameterStoreSnapshot fallbackSnapshot = ParameterStoreSnapshot.EMPTY;
+        if (isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.SNAPSHOT_FILE_ENABLED)) {
+            snapshotFile = buildSnapshotFile(environment, sourceName);
+            savedSnapshot = snapshotFile.read();
+            snapshotWriter = new ParameterStoreSnapshotWriter(snapshotFile,
+                                                              Executors.newSingleThreadScheduledExecutor(buildDaemonThreadFactory(SNAPSHOT_FILE_THREAD_NAME_PREFIX)),
+                                                              SNAPSHOT_FILE_WRITE_DELAY_IN_MILLIS);
+            ParameterStoreLifecycle.forEnvironment(environment).onClose(snapshotWriter::close);
+            fallbackSnapshot = getFallbackSnapshot(environment, savedSnapshot);
+        }
+
+        ParameterStoreSource parameterStoreSource = new ParameterStoreSource(decorateLookups(environment,
+                                                                                             engine,
+                                                                                             sourceName,
+                                                                                             cache,
+                                                                                             snapshotWriter,
+                                                                                             fallbackSnapshot),
+                                                                             haltBoot,
+                                                                             cache);
+        parameterStoreSource.setMetrics(buildParameterStoreMetrics(environment));
+        if (isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.TRACE_ENABLED)) {
+            parameterStoreSource.setBootTrace(ParameterStoreBootTrace.forEnvironment(environment), sourceName);
+        }
+        if (cache != null && environment.containsProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_SOFT_TIME_TO_LIVE_IN_SECONDS)) {
+            parameterStoreSource.setRevalidationExecutor(buildRevalidationExecutor(environment));
+        }
+        if (registryKey != null) {
+            shareResolvedParameters(environment, parameterStoreSource, registryKey);
+        }
+
+        if (snapshotFile != null) {
+            prefetchFromSnapshotFile(environment, parameterStoreSource, snapshotFile, savedSnapshot, snapshotWriter);
+        } else {
+            prefetch(environment, parameterStoreSource);
+        }
+
+        if (isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.REFRESH_ENABLED)) {
+            parameterStoreSource.setTrackResolvedParameters(true);
+            buildParameterStoreRefresher(environment, parameterStoreSource).start();
+        }
+
+        return parameterStoreSource;
+    }
+
+    /**
+     * Decorates the engine with what the source does with the parameters it fetches one at a time: looking them up in
+     * and publishing them to the shared cache of the host, saving them in the snapshot file, and serving their last
+     * known value when they can't be fetched.
+     */
+    private ParameterStoreEngine decorateLookups(ConfigurableEnvironment environment,
+                                                 ParameterStoreEngine engine,
+                                                 String sourceName,
+                                                 ParameterStoreCache cache,
+                                                 ParameterStoreSnapshotWriter snapshotWriter,
+                                                 ParameterStoreSnapshot fallbackSnapshot)
+    {
+        SharedParameterStoreCache sharedCache = buildSharedCache(environment, sourceName);
+        if (sharedCache != null) {
+            engine = new SharedCacheParameterStoreEngine(engine, sharedCache);
+        }
+        if (snapshotWriter != null) {
+            engine = new RecordingParameterStoreEngine(engine, snapshotWriter::acceptResolved);
+        }
+
+        ParameterStoreCache lastKnownValueCache = null;
+        if (cache != null
+                && isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_ENABLED)) {
+            // Served in place of the values that can't be fetched while the breaker is open
+            cache.setKeepExpiredValues(true);
+            lastKnownValueCache = cache;
+        }
+        if (lastKnownValueCache != null || !fallbackSnapshot.getParameters().isEmpty()) {
+            ParameterStoreCache expiredValues = lastKnownValueCache;
+            engine = new LastKnownValueParameterStoreEngine(engine,
+                                                            propertyName -> getLastKnownValue(propertyName,
+                                                                                              expiredValues,
+                                                                                              fallbackSnapshot));
+        }
+        return engine;
+    }
+
+    /**
+     * @return the cached value of the parameter kept past its expiry, if the cache keeps them, or else its value in the
+     *         fallback snapshot.
+     */
+    private static String getLastKnownValue(String propertyName,
+                                            ParameterStoreCache cache,
+                                            ParameterStoreSnapshot fallbackSnapshot)
+    {
+        if (cache != null) {
+            String cachedValue = cache.getLastKnownValue(propertyName);
+            if (cachedValue != null) {
+                return cachedValue;
+            }
+        }
+        Parameter fallbackParameter = fallbackSnapshot.getParameters().get(propertyName);
+        return fallbackParameter == null ? null : fallbackParameter.value();
+    }
+
+    /**
+     * Serves the parameters prefetched by a previous application context of the JVM, which the prefetch then skips, and
+     * publishes the snapshot for the next ones. The parameters resolved one at a time are shared through the cache.
+     */
+    private void shareResolvedParameters(ConfigurableEnvironment environment,
+                                         ParameterStoreSource parameterStoreSource,
+                                         String registryKey)
+    {
+        ParameterStoreProcessRegistry registry = ParameterStoreProcessRegistry.getInstance();
+        ParameterStoreSnapshot sharedSnapshot = registry.getSnapshot(registryKey,
+                                                                     TimeUnit.SECONDS.toMillis(getReuseMaxAgeInSeconds(environment)));
+        if (sharedSnapshot != null) {
+            parameterStoreSource.restoreSnapshot(sharedSnapshot);
+        }
+        parameterStoreSource.addSnapshotListener(snapshot -> registry.putSnapshot(registryKey, snapshot));
+    }
+
+    /**
+     * @return what tells the Parameter Store of the source apart from the others of the JVM: the region, the endpoint
+     *         and the access key the credentials resolve to. Null if {@code awsParameterStoreSource.reuse.enabled}
+     *         isn't set, or if the region or the credentials can't be resolved, in which case nothing is shared.
+     */
+    private String buildRegistryKey(ConfigurableEnvironment environment, String sourceName)
+    {
+        if (!isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.REUSE_ENABLED)) {
+            return null;
+        }
+        try {
+            // The clients of the default source resolve their region and credentials with the SDK's provider chains
+            String region = sourceName;
+            if (DEFAULT_SOURCE_NAME.equals(sourceName)) {
+                region = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.SSM_CLIENT_SIGNING_REGION);
+                if (region == null) {
+                    region = regionProvider.getRegion().id();
+                }
+            }
+            return String.join("|",
+                               sourceName,
+                               region,
+                               environment.getProperty(ParameterStorePropertySourceConfigurationProperties.SSM_CLIENT_CUSTOM_ENDPOINT,
+                                                       ""),
+                               credentialsProvider.resolveCredentials().accessKeyId());
+        } catch (RuntimeException e) {
+            logger.warn("The region or the credentials of the Parameter Store couldn't be resolved, nothing is shared.",
+                        e);
+            return null;
+        }
+    }
+
+    /**
+     * @return whether every prefetched hierarchy was fetched.
+     */
+    private boolean prefetch(ConfigurableEnvironment environment, ParameterStoreSource parameterStoreSource)
+    {
+        boolean prefetched = true;
+        String[] prefetchPaths = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.PREFETCH_PATHS,
+                                                         String[].class);
+        if (!ObjectUtils.isEmpty(prefetchPaths)) {
+            // Hierarchies restored from a snapshot file are already known
+            List<String> knownPaths = parameterStoreSource.getSnapshot().getPaths();
+            List<String> unknownPaths = Arrays.stream(prefetchPaths)
+                                              .filter(path -> !knownPaths.contains(path)
+                                                      && !knownPaths.contains(StringUtils.trimTrailingCharacter(path,
+                                                                                                                '/')))
+                                              .collect(Collectors.toList());
+            if (!unknownPaths.isEmpty()) {
+                prefetched = parameterStoreSource.prefetch(unknownPaths);
+            }
+        }
+
+        Set<String> propertyNames = new LinkedHashSet<>();
+        if (isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.PREFETCH_PLACEHOLDERS)) {
+            propertyNames.addAll(placeholderScanner.scan(environment));
+        }
+        if (isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.PREFETCH_MANIFEST)) {
+            propertyNames.addAll(ParameterStoreKeyManifest.load(ClassUtils.getDefaultClassLoader()));
+        }
+        if (!propertyNames.isEmpty()) {
+            prefetchParameters(environment, parameterStoreSource, propertyNames);
+        }
+        return prefetched;
+    }
+
+    /**
+     * Serves the parameters saved by a previous run while they are fetched again in the background, unless the saved
+     * snapshot is stale and the policy says otherwise. Every parameter fetched afterwards is saved again, while it is
+     * still cached as it would be without the file.
+     */
+    private void prefetchFromSnapshotFile(ConfigurableEnvironment environment,
+                                          ParameterStoreSource parameterStoreSource,
+                                          ParameterStoreSnapshotFile snapshotFile,
+                                          ParameterStoreSnapshotFile.SavedSnapshot savedSnapshot,
+                                          ParameterStoreSnapshotWriter snapshotWriter)
+    {
+        StaleSnapshotPolicy stalePolicy = getStaleSnapshotPolicy(environment);
+        boolean restored = false;
+        if (savedSnapshot != null && (!isStale(environment, savedSnapshot) || stalePolicy == StaleSnapshotPolicy.ACCEPT)) {
+            parameterStoreSource.restoreSnapshot(savedSnapshot.getSnapshot());
+            restored = true;
+        }
+        parameterStoreSource.addSnapshotListener(snapshotWriter);
+
+        boolean prefetched = prefetch(environment, parameterStoreSource);
+        if (!prefetched && !restored && savedSnapshot != null && stalePolicy == StaleSnapshotPolicy.FALLBACK) {
+            logger.warn(String.format("Prefetching the parameters failed, the stale snapshot saved at %s in '%s' is used.",
+                                      savedSnapshot.getSavedAt(),
+                                      snapshotFile.getPath()));
+            parameterStoreSource.restoreSnapshot(savedSnapshot.getSnapshot());
+            restored = true;
+        }
+
+        if (restored) {
+            revalidateInBackground(parameterStoreSource);
+        }
+    }
+
+    /**
+     * @return the saved snapshot whose values are served when a parameter can't be fetched, if it is too stale to be
+     *         restored and the policy falls back on it, or else an empty snapshot.
+     */
+    private ParameterStoreSnapshot getFallbackSnapshot(ConfigurableEnvironment environment,
+                                                       ParameterStoreSnapshotFile.SavedSnapshot savedSnapshot)
+    {
+        if (isStale(environment, savedSnapshot) && getStaleSnapshotPolicy(environment) == StaleSnapshotPolicy.FALLBACK) {
+            return savedSnapshot.getSnapshot();
+        }
+        return ParameterStoreSnapshot.EMPTY;
+    }
+
+    private boolean isStale(ConfigurableEnvironment environment, ParameterStoreSnapshotFile.SavedSnapshot savedSnapshot)
+    {
+        long maxAgeInSeconds = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.SNAPSHOT_FILE_MAX_AGE_IN_SECONDS,
+                                                       Long.class,
+                                                       DEFAULT_SNAPSHOT_FILE_MAX_AGE_IN_SECONDS);
+        if (maxAgeInSeconds <= 0) {
+            throw new IllegalArgumentException(String.format("The property '%s' must be greater than 0.",
+                                                             ParameterStorePropertySourceConfigurationProperties.SNAPSHOT_FILE_MAX_AGE_IN_SECONDS));
+        }
+        return savedSnapshot != null && savedSnapshot.getSavedAt().plusSeconds(maxAgeInSeconds).isBefore(Instant.now());
+    }
+
+    private StaleSnapshotPolicy getStaleSnapshotPolicy(ConfigurableEnvironment environment)
+    {
+        return environment.getProperty(ParameterStorePropertySourceConfigurationProperties.SNAPSHOT_FILE_STALE_POLICY,
+                                       StaleSnapshotPolicy.class,
+                                       StaleSnapshotPolicy.FALLBACK);
+    }
+
+    private void revalidateInBackground(ParameterStoreSource parameterStoreSource)
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor(buildDaemonThreadFactory(SNAPSHOT_FILE_THREAD_NAME_PREFIX));
+        executor.execute(() -> {
+            try {
+                parameterStoreSource.refresh(Runnable::run);
+            } catch (RuntimeException | ParameterStoreError e) {
+                logger.warn("Fetching the parameters restored from the snapshot file failed, the restored values are kept.",
+                            e);
+            }
+        });
+        executor.shutdown();
+    }
+
+    private ParameterStoreSnapshotFile buildSnapshotFile(ConfigurableEnvironment environment, String sourceName)
+    {
+        String directory = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.SNAPSHOT_FILE_DIRECTORY,
+                                                   Paths.get(System.getProperty("java.io.tmpdir"),
+                                                             DEFAULT_SNAPSHOT_FILE_DIRECTORY_NAME)
+                                                        .toString());
+        ParameterStoreSnapshotKeyProvider keyProvider = buildKeyProvider(environment,
+                                                                         ParameterStorePropertySourceConfigurationProperties.SNAPSHOT_FILE_KEY_PROVIDER);
+        if (keyProvider == null) {
+            keyProvider = new PropertyParameterStoreSnapshotKeyProvider();
+        }
+
+        return new ParameterStoreSnapshotFile(Paths.get(directory, sourceName + SNAPSHOT_FILE_EXTENSION),
+                                              keyProvider.getKey(environment));
+    }
+
+    /**
+     * Maps the host-local shared cache, unless it is disabled. Without a key, {@code SecureString} parameters aren't
+     * shared. The cache is only an optimization, so a file that can't be mapped leaves the source without it.
+     */
+    private SharedParameterStoreCache buildSharedCache(ConfigurableEnvironment environment, String sourceName)
+    {
+        if (!isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.SHARED_CACHE_ENABLED)) {
+            return null;
+        }
+
+        String directory = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.SHARED_CACHE_DIRECTORY,
+                                                   Paths.get(System.getProperty("java.io.tmpdir"),
+                                                             DEFAULT_SNAPSHOT_FILE_DIRECTORY_NAME)
+                                                        .toString());
+        int sizeInBytes = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.SHARED_CACHE_SIZE_IN_BYTES,
+                                                  Integer.class,
+                                                  DEFAULT_SHARED_CACHE_SIZE_IN_BYTES);
+        long timeToLiveInSeconds = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.SHARED_CACHE_TIME_TO_LIVE_IN_SECONDS,
+                                                           Long.class,
+                                                           DEFAULT_CACHE_TIME_TO_LIVE_IN_SECONDS);
+        if (sizeInBytes < MIN_SHARED_CACHE_SIZE_IN_BYTES || timeToLiveInSeconds <= 0) {
+            throw new IllegalArgumentException(String.format("The property '%s' must be at least %d and '%s' must be greater than 0.",
+                                                             ParameterStorePropertySourceConfigurationProperties.SHARED_CACHE_SIZE_IN_BYTES,
+                                                             MIN_SHARED_CACHE_SIZE_IN_BYTES,
+                                                             ParameterStorePropertySourceConfigurationProperties.SHARED_CACHE_TIME_TO_LIVE_IN_SECONDS));
+        }
+
+        ParameterStoreSnapshotKeyProvider keyProvider = buildKeyProvider(environment,
+                                                                         ParameterStorePropertySourceConfigurationProperties.SHARED_CACHE_KEY_PROVIDER);
+        if (keyProvider == null
+                && environment.containsProperty(ParameterStorePropertySourceConfigurationProperties.SHARED_CACHE_KEY)) {
+            keyProvider = new PropertyParameterStoreSnapshotKeyProvider(ParameterStorePropertySourceConfigurationProperties.SHARED_CACHE_KEY);
+        }
+
+        Path path = Paths.get(directory, sourceName + SHARED_CACHE_FILE_EXTENSION);
+        try {
+            return new SharedParameterStoreCache(path,
+                                                 sizeInBytes,
+                                                 TimeUnit.SECONDS.toMillis(timeToLiveInSeconds),
+                                                 keyProvider == null ? null : keyProvider.getKey(environment));
+        } catch (IOException e) {
+            logger.warn(String.format("The shared cache '%s' can't be mapped, parameters won't be shared with the other applications of the host.",
+                                      path),
+                        e);
+            return null;
+        }
+    }
+
+    private ParameterStoreSnapshotKeyProvider buildKeyProvider(ConfigurableEnvironment environment,
+                                                               String keyProviderProperty)
+    {
+        String keyProviderClassName = environment.getProperty(keyProviderProperty);
+        if (keyProviderClassName == null) {
+            return null;
+        }
+
+        try {
+            return BeanUtils.instantiateClass(ClassUtils.forName(keyProviderClassName,
+                                                                 ClassUtils.getDefaultClassLoader()),
+                                              ParameterStoreSnapshotKeyProvider.class);
+        } catch (ClassNotFoundException | LinkageError | BeanInstantiationException e) {
+            throw new IllegalArgumentException(String.format("The property '%s' must be the name of a class implementing %s with a no-argument constructor.",
+                                                             keyProviderProperty,
+                                                             ParameterStoreSnapshotKeyProvider.class.getName()),
+                                               e);
+        }
+    }
+
+    private void prefetchParameters(ConfigurableEnvironment environment,
+                                    ParameterStoreSource parameterStoreSource,
+                                    Set<String> propertyNames)
+    {
+        if (isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.ASYNC_ENABLED)) {
+            // The async engine doesn't tie up the calling thread, so every batch is sent from it
+            parameterStoreSource.prefetchParameters(propertyNames, Runnable::run);
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(environment.getProperty(ParameterStorePropertySourceConfigurationProperties.PREFETCH_CONCURRENCY,
+                                                                                        Integer.class,
+                                                                                        DEFAULT_PREFETCH_CONCURRENCY),
+                                                                buildDaemonThreadFactory(PREFETCH_THREAD_NAME_PREFIX));
+        try {
+            parameterStoreSource.prefetchParameters(propertyNames, executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * @return a refresher stopped, along with its executors, when the application context is closed.
+     */
+    private ParameterStoreRefresher buildParameterStoreRefresher(ConfigurableEnvironment environment,
+                                                                 ParameterStoreSource parameterStoreSource)
+    {
+        long intervalInSeconds = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.REFRESH_INTERVAL_IN_SECONDS,
+                                                         Long.class,
+                                                         DEFAULT_REFRESH_INTERVAL_IN_SECONDS);
+        long jitterInSeconds = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.REFRESH_JITTER_IN_SECONDS,
+                                                       Long.class,
+                                                       DEFAULT_REFRESH_JITTER_IN_SECONDS);
+        int concurrency = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.REFRESH_CONCURRENCY,
+                                                  Integer.class,
+                                                  DEFAULT_REFRESH_CONCURRENCY);
+        if (intervalInSeconds <= 0 || jitterInSeconds < 0 || concurrency <= 0) {
+            throw new IllegalArgumentException(String.format("The properties '%s' and '%s' must be greater than 0 and '%s' can't be negative.",
+                                                             ParameterStorePropertySourceConfigurationProperties.REFRESH_INTERVAL_IN_SECONDS,
+                                                             ParameterStorePropertySourceConfigurationProperties.REFRESH_CONCURRENCY,
+                                                             ParameterStorePropertySourceConfigurationProperties.REFRESH_JITTER_IN_SECONDS));
+        }
+
+        // With a single thread, the batches are fetched one after the other on the refresh thread itself
+        ExecutorService fetchExecutor = null;
+        if (concurrency > 1) {
+            fetchExecutor = Executors.newFixedThreadPool(concurrency, buildDaemonThreadFactory(REFRESH_FETCH_THREAD_NAME_PREFIX));
+        }
+        ThreadFactory threadFactory = buildDaemonThreadFactory(REFRESH_THREAD_NAME_PREFIX);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+
+        ParameterStoreRefresher refresher = new ParameterStoreRefresher(parameterStoreSource,
+                                                                        scheduler,
+                                                                        fetchExecutor != null ? fetchExecutor
+                                                                                              : Runnable::run,
+                                                                        TimeUnit.SECONDS.toMillis(intervalInSeconds),
+                                                                        TimeUnit.SECONDS.toMillis(jitterInSeconds),
+                                                                        isEnabled(environment,
+                                                                                  ParameterStorePropertySourceConfigurationProperties.REFRESH_INCREMENTAL));
+        ExecutorService refreshFetchExecutor = fetchExecutor;
+        ParameterStoreLifecycle.forEnvironment(environment).onClose(() -> {
+            refresher.stop();
+            scheduler.shutdown();
+            if (refreshFetchExecutor != null) {
+                refreshFetchExecutor.shutdown();
+            }
+        });
+        return refresher;
+    }
+
+    private ThreadFactory buildDaemonThreadFactory(String threadNamePrefix)
+    {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private ParameterStoreMetrics buildParameterStoreMetrics(ConfigurableEnvironment environment)
+    {
+        return isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.METRICS_ENABLED)
+                ? ParameterStoreMetrics.getInstance()
+                : null;
+    }
+
+    /**
+     * @return the cache of the first application context of the JVM sharing the registry key. Without
+     *         {@code awsParameterStoreSource.cache.enabled}, one keeping the resolved parameters for
+     *         {@code awsParameterStoreSource.reuse.maxAgeInSeconds}.
+     */
+    private ParameterStoreCache getSharedParameterStoreCache(ConfigurableEnvironment environment, String registryKey)
+    {
+        long maxAgeInMillis = TimeUnit.SECONDS.toMillis(getReuseMaxAgeInSeconds(environment));
+        ParameterStoreCache cache = buildParameterStoreCache(environment);
+        return ParameterStoreProcessRegistry.getInstance()
+                                            .getCache(registryKey,
+                                                      () -> cache != null ? cache
+                                                                          : new ParameterStoreCache(maxAgeInMillis,
+                                                                                                    DEFAULT_CACHE_MAX_SIZE));
+    }
+
+    private long getReuseMaxAgeInSeconds(ConfigurableEnvironment environment)
+    {
+        long maxAgeInSeconds = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.REUSE_MAX_AGE_IN_SECONDS,
+                                                       Long.class,
+                                                       DEFAULT_REUSE_MAX_AGE_IN_SECONDS);
+        if (maxAgeInSeconds <= 0) {
+            throw new IllegalArgumentException(String.format("The property '%s' must be greater than 0.",
+                                                             ParameterStorePropertySourceConfigurationProperties.REUSE_MAX_AGE_IN_SECONDS));
+        }
+        return maxAgeInSeconds;
+    }
+
+    private ParameterStoreCache buildParameterStoreCache(ConfigurableEnvironment environment)
+    {
+        if (!isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.CACHE_ENABLED)) {
+            return null;
+        }
+
+        long timeToLiveInSeconds = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_TIME_TO_LIVE_IN_SECONDS,
+                                                           Long.class,
+                                                           DEFAULT_CACHE_TIME_TO_LIVE_IN_SECONDS);
+        int maxSize = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_MAX_SIZE,
+                                              Integer.class,
+                                              DEFAULT_CACHE_MAX_SIZE);
+        long softTimeToLiveInSeconds = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_SOFT_TIME_TO_LIVE_IN_SECONDS,
+                                                               Long.class,
+                                                               timeToLiveInSeconds);
+        if (timeToLiveInSeconds <= 0 || maxSize <= 0 || softTimeToLiveInSeconds <= 0
+                || softTimeToLiveInSeconds > timeToLiveInSeconds) {
+            throw new IllegalArgumentException(String.format("The properties '%s', '%s' and '%s' must be greater than 0, and '%s' can't be greater than '%s'.",
+                                                             ParameterStorePropertySourceConfigurationProperties.CACHE_TIME_TO_LIVE_IN_SECONDS,
+                                                             ParameterStorePropertySourceConfigurationProperties.CACHE_SOFT_TIME_TO_LIVE_IN_SECONDS,
+                                                             ParameterStorePropertySourceConfigurationProperties.CACHE_MAX_SIZE,
+                                                             ParameterStorePropertySourceConfigurationProperties.CACHE_SOFT_TIME_TO_LIVE_IN_SECONDS,
+                                                             ParameterStorePropertySourceConfigurationProperties.CACHE_TIME_TO_LIVE_IN_SECONDS));
+        }
+
+        return new ParameterStoreCache(TimeUnit.SECONDS.toMillis(softTimeToLiveInSeconds),
+                                       TimeUnit.SECONDS.toMillis(timeToLiveInSeconds),
+                                       maxSize);
+    }
+
+    /**
+     * @return an executor of the source, shut down along with its application context.
+     */
+    private Executor buildRevalidationExecutor(ConfigurableEnvironment environment)
+    {
+        int concurrency = environment.getProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_REVALIDATION_CONCURRENCY,
+                                                  Integer.class,
+                                                  DEFAULT_CACHE_REVALIDATION_CONCURRENCY);
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException(String.format("The property '%s' must be greater than 0.",
+                                                             ParameterStorePropertySourceConfigurationProperties.CACHE_REVALIDATION_CONCURRENCY));
+        }
+        ThreadFactory threadFactory = buildDaemonThreadFactory(REVALIDATION_THREAD_NAME_PREFIX);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, threadFactory);
+        ParameterStoreLifecycle.forEnvironment(environment).onClose(executor::shutdown);
+        return executor;
+    }
+
+    private boolean isEnabled(ConfigurableEnvironment environment, String property)
+    {
+        return Boolean.TRUE.equals(environment.getProperty(property, Boolean.class));
+    }
+}
@@ -0,0 +1,55 @@
+package com.coveo.configuration.parameterstore.cache;
+
+public final class CachedParameter
+{
+    private final String value;
+    private final long staleTimeInMillis;
+    private final long expirationTimeInMillis;
+    private final Long version;
+
+    CachedParameter(String value, long expirationTimeInMillis)
+    {
+        this(value, expirationTimeInMillis, expirationTimeInMillis, null);
+    }
+
+    CachedParameter(String value, long staleTimeInMillis, long expirationTimeInMillis)
+    {
+        this(value, staleTimeInMillis, expirationTimeInMillis, null);
+    }
+
+    CachedParameter(String value, long staleTimeInMillis, long expirationTimeInMillis, Long version)
+    {
+        this.value = value;
+        this.staleTimeInMillis = staleTimeInMillis;
+        this.expirationTimeInMillis = expirationTimeInMillis;
+        this.version = version;
+    }
+
+    public String getValue()
+    {
+        return value;
+    }
+
+    /**
+     * @return the version of the parameter, or {@code null} if it isn't known.
+     */
+    public Long getVersion()
+    {
+        return version;
+    }
+
+    public boolean isFound()
+    {
+        return value != null;
+    }
+
+    boolean isStale(long nowInMillis)
+    {
+        return nowInMillis >= staleTimeInMillis;
+    }
+
+    boolean isExpired(long nowInMillis)
+    {
+        return nowInMillis >= expirationTimeInMillis;
+    }
+}
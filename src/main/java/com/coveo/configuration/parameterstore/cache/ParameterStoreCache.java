@@ -0,0 +1,130 @@
+package com.coveo.configuration.parameterstore.cache;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-memory cache of Parameter Store lookups. Parameters that were not found are cached as well (negative
+ * entries) so missing keys don't cost a round-trip to AWS every time they are resolved. When the cache is full, the
+ * least recently used entry is evicted.
+ *
+ * <p>
+ * Entries can also go stale before they expire: a stale entry is still returned, but should be fetched again in the
+ * background so that it is replaced before it expires.
+ *
+ * <p>
+ * Expired values can be kept until they are evicted, to be served when fetching them again fails.
+ */
+public class ParameterStoreCache
+{
+    private final long softTimeToLiveInMillis;
+    private final long timeToLiveInMillis;
+    private final Clock clock;
+    private final Map<String, CachedParameter> entries;
+    private volatile boolean keepExpiredValues;
+
+    public ParameterStoreCache(long timeToLiveInMillis, int maxSize)
+    {
+        this(timeToLiveInMillis, timeToLiveInMillis, maxSize);
+    }
+
+    /**
+     * @param softTimeToLiveInMillis the age after which an entry is stale.
+     * @param timeToLiveInMillis the age after which an entry expired and is no longer returned.
+     */
+    public ParameterStoreCache(long softTimeToLiveInMillis, long timeToLiveInMillis, int maxSize)
+    {
+        this(softTimeToLiveInMillis, timeToLiveInMillis, maxSize, Clock.systemUTC());
+    }
+
+    ParameterStoreCache(long timeToLiveInMillis, int maxSize, Clock clock)
+    {
+        this(timeToLiveInMillis, timeToLiveInMillis, maxSize, clock);
+    }
+
+    ParameterStoreCache(long softTimeToLiveInMillis, long timeToLiveInMillis, int maxSize, Clock clock)
+    {
+        this.softTimeToLiveInMillis = softTimeToLiveInMillis;
+        this.timeToLiveInMillis = timeToLiveInMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, CachedParameter>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedParameter> eldest)
+            {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the cached parameter, or {@code null} if the parameter was never cached or its entry expired.
+     */
+    public synchronized CachedParameter get(String propertyName)
+    {
+        CachedParameter cachedParameter = entries.get(propertyName);
+        if (cachedParameter != null && cachedParameter.isExpired(clock.millis())) {
+            if (!keepExpiredValues || !cachedParameter.isFound()) {
+                entries.remove(propertyName);
+            }
+            return null;
+        }
+        return cachedParameter;
+    }
+
+    /**
+     * @return the value of the parameter, even if its entry expired, or {@code null} if it isn't cached. Expired values
+     *         are only kept when {@link #setKeepExpiredValues(boolean)} is enabled.
+     */
+    public synchronized String getLastKnownValue(String propertyName)
+    {
+        CachedParameter cachedParameter = entries.get(propertyName);
+        return cachedParameter == null ? null : cachedParameter.getValue();
+    }
+
+    /**
+     * When enabled, expired values are kept until they are evicted or replaced, instead of being dropped when they are
+     * looked up. Expired parameters that were not found are always dropped.
+     */
+    public void setKeepExpiredValues(boolean keepExpiredValues)
+    {
+        this.keepExpiredValues = keepExpiredValues;
+    }
+
+    /**
+     * @return whether the entry went stale and should be fetched again.
+     */
+    public boolean isStale(CachedParameter cachedParameter)
+    {
+        return cachedParameter.isStale(clock.millis());
+    }
+
+    public synchronized void putValue(String propertyName, String value)
+    {
+        entries.put(propertyName, newEntry(value));
+    }
+
+    public synchronized void putNotFound(String propertyName)
+    {
+        entries.put(propertyName, newEntry(null));
+    }
+
+    public synchronized int size()
+    {
+        return entries.size();
+    }
+
+    public synchronized void clear()
+    {
+        entries.clear();
+    }
+
+    private CachedParameter newEntry(String value)
+    {
+        long nowInMillis = clock.millis();
+        return new CachedParameter(value, nowInMillis + softTimeToLiveInMillis, nowInMillis + timeToLiveInMillis);
+    }
+}
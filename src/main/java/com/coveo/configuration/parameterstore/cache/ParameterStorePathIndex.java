@@ -0,0 +1,104 @@
+package com.coveo.configuration.parameterstore.cache;
+
+import static com.coveo.configuration.parameterstore.ParameterStorePropertySource.PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import software.amazon.awssdk.services.ssm.model.Parameter;
+
+/**
+ * Immutable index of the names of the parameters of a {@link ParameterStoreSnapshot}, sorted so that every parameter
+ * under a hierarchy is found with two binary searches instead of a scan of the snapshot.
+ */
+public final class ParameterStorePathIndex
+{
+    // Sorts right after the separator, so that every name under "/a/b/" is lower than "/a/b0"
+    private static final char AFTER_SPLIT_CHARACTER = (char) (PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER.charAt(0) + 1);
+
+    private final String[] names;
+    private final String[] values;
+    private final List<String> nameList;
+
+    private ParameterStorePathIndex(String[] names, String[] values)
+    {
+        this.names = names;
+        this.values = values;
+        this.nameList = Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    static ParameterStorePathIndex of(Map<String, Parameter> parameters)
+    {
+        String[] names = parameters.keySet().toArray(new String[0]);
+        Arrays.sort(names);
+        String[] values = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            values[i] = parameters.get(names[i]).value();
+        }
+        return new ParameterStorePathIndex(names, values);
+    }
+
+    /**
+     * @return the names of every parameter, sorted.
+     */
+    public List<String> getNames()
+    {
+        return nameList;
+    }
+
+    /**
+     * @return the sorted names of the parameters under the given hierarchy, at any depth.
+     */
+    public List<String> getNamesUnder(String path)
+    {
+        String prefix = toPrefix(path);
+        return nameList.subList(lowerBound(prefix), lowerBound(upperLimit(prefix)));
+    }
+
+    /**
+     * @return the parameters under the given hierarchy, at any depth, by name in sorted order.
+     */
+    public Map<String, String> getSubtree(String path)
+    {
+        String prefix = toPrefix(path);
+        Map<String, String> subtree = new LinkedHashMap<>();
+        for (int i = lowerBound(prefix), end = lowerBound(upperLimit(prefix)); i < end; i++) {
+            subtree.put(names[i], values[i]);
+        }
+        return Collections.unmodifiableMap(subtree);
+    }
+
+    /**
+     * @return the value of the parameter, or {@code null} if it isn't indexed.
+     */
+    public String getValue(String name)
+    {
+        int index = Arrays.binarySearch(names, name);
+        return index < 0 ? null : values[index];
+    }
+
+    public int size()
+    {
+        return names.length;
+    }
+
+    private int lowerBound(String key)
+    {
+        int index = Arrays.binarySearch(names, key);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private static String toPrefix(String path)
+    {
+        return path.endsWith(PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER) ? path
+                                                                        : path + PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER;
+    }
+
+    private static String upperLimit(String prefix)
+    {
+        return prefix.substring(0, prefix.length() - 1) + AFTER_SPLIT_CHARACTER;
+    }
+}
@@ -0,0 +1,213 @@
+package com.coveo.configuration.parameterstore.cache;
+
+import static com.coveo.configuration.parameterstore.ParameterStorePropertySource.PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import com.coveo.configuration.parameterstore.event.ParameterChange;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+
+/**
+ * Immutable view of the parameters fetched ahead of time from the Parameter Store, along with the hierarchies they were
+ * fetched from. It also remembers the parameters that were explicitly looked up and not found. A parameter under one of
+ * its paths that isn't in the snapshot is unknown to it, since it may have been created since or be referenced with a
+ * version or label selector.
+ */
+public final class ParameterStoreSnapshot
+{
+    public static final ParameterStoreSnapshot EMPTY = new ParameterStoreSnapshot(Collections.emptyList(),
+                                                                                  Collections.emptyMap(),
+                                                                                  Collections.emptySet());
+
+    private static final char PARAMETER_SELECTOR_CHARACTER = ':';
+
+    private final List<String> paths;
+    private final Map<String, Parameter> parameters;
+    private final Set<String> missingParameterNames;
+    private volatile ParameterStorePathIndex pathIndex;
+
+    private ParameterStoreSnapshot(List<String> paths,
+                                   Map<String, Parameter> parameters,
+                                   Set<String> missingParameterNames)
+    {
+        this.paths = paths;
+        this.parameters = parameters;
+        this.missingParameterNames = missingParameterNames;
+    }
+
+    /**
+     * @return a new snapshot containing the parameters of this one along with the given hierarchies and parameters.
+     */
+    public ParameterStoreSnapshot withPaths(Collection<String> paths, Collection<Parameter> parameters)
+    {
+        List<String> mergedPaths = new ArrayList<>(this.paths);
+        paths.stream().map(ParameterStoreSnapshot::normalizePath).forEach(mergedPaths::add);
+        Map<String, Parameter> mergedParameters = new HashMap<>(this.parameters);
+        parameters.forEach(parameter -> mergedParameters.put(parameter.name(), parameter));
+        return new ParameterStoreSnapshot(Collections.unmodifiableList(mergedPaths),
+                                          Collections.unmodifiableMap(mergedParameters),
+                                          missingParameterNames);
+    }
+
+    /**
+     * @return a new snapshot containing the parameters of this one along with the given found and missing parameters.
+     */
+    public ParameterStoreSnapshot withParameters(Collection<Parameter> parameters,
+                                                 Collection<String> missingParameterNames)
+    {
+        Map<String, Parameter> mergedParameters = new HashMap<>(this.parameters);
+        parameters.forEach(parameter -> mergedParameters.put(parameter.name(), parameter));
+        Set<String> mergedMissingParameterNames = new HashSet<>(this.missingParameterNames);
+        mergedMissingParameterNames.addAll(missingParameterNames);
+        mergedMissingParameterNames.removeAll(mergedParameters.keySet());
+        return new ParameterStoreSnapshot(paths,
+                                          Collections.unmodifiableMap(mergedParameters),
+                                          Collections.unmodifiableSet(mergedMissingParameterNames));
+    }
+
+    /**
+     * @return a new snapshot containing the parameters of this one along with the hierarchies and parameters that were
+     *         added to {@code latest} since {@code base}.
+     */
+    public ParameterStoreSnapshot withAdditionsOf(ParameterStoreSnapshot latest, ParameterStoreSnapshot base)
+    {
+        List<String> addedPaths = latest.paths.stream()
+                                              .filter(path -> !base.paths.contains(path))
+                                              .collect(Collectors.toList());
+        List<Parameter> addedParameters = latest.parameters.values()
+                                                           .stream()
+                                                           .filter(parameter -> !base.parameters.containsKey(parameter.name()))
+                                                           .collect(Collectors.toList());
+        List<String> addedMissingParameterNames = latest.missingParameterNames.stream()
+                                                                              .filter(propertyName -> !base.missingParameterNames.contains(propertyName))
+                                                                              .collect(Collectors.toList());
+        return withPaths(addedPaths, addedParameters).withParameters(Collections.emptyList(),
+                                                                     addedMissingParameterNames);
+    }
+
+    /**
+     * @return the parameters that were added, updated or removed in this snapshot compared to the previous one. A
+     *         parameter is updated when its version changed, or its value when no version is known.
+     */
+    public List<ParameterChange> diff(ParameterStoreSnapshot previous)
+    {
+        Set<String> propertyNames = new TreeSet<>(previous.parameters.keySet());
+        propertyNames.addAll(parameters.keySet());
+
+        List<ParameterChange> changes = new ArrayList<>();
+        for (String propertyName : propertyNames) {
+            Parameter previousParameter = previous.parameters.get(propertyName);
+            Parameter currentParameter = parameters.get(propertyName);
+            if (previousParameter == null) {
+                changes.add(new ParameterChange(propertyName, ParameterChange.Type.ADDED, null, currentParameter.version()));
+            } else if (currentParameter == null) {
+                changes.add(new ParameterChange(propertyName,
+                                                ParameterChange.Type.REMOVED,
+                                                previousParameter.version(),
+                                                null));
+            } else if (isUpdated(previousParameter, currentParameter)) {
+                changes.add(new ParameterChange(propertyName,
+                                                ParameterChange.Type.UPDATED,
+                                                previousParameter.version(),
+                                                currentParameter.version()));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * @return the parameter if it is part of the snapshot, a not found parameter if it is known to be missing, or
+     *         {@code null} if the snapshot doesn't know about it.
+     */
+    public CachedParameter get(String propertyName)
+    {
+        Parameter parameter = parameters.get(propertyName);
+        if (parameter != null) {
+            return new CachedParameter(parameter.value(), Long.MAX_VALUE);
+        }
+        if (missingParameterNames.contains(propertyName)) {
+            return new CachedParameter(null, Long.MAX_VALUE);
+        }
+        return null;
+    }
+
+    /**
+     * @return whether the parameter is kept up to date by fetching one of the snapshot's hierarchies again. Names with a
+     *         version or label selector never are, since the hierarchies only return the latest version.
+     */
+    public boolean isCovered(String propertyName)
+    {
+        return !hasSelector(propertyName) && paths.stream().anyMatch(path -> isUnderPath(propertyName, path));
+    }
+
+    /**
+     * @return whether the name ends with a version or label selector, such as {@code /db/password:3}.
+     */
+    public static boolean hasSelector(String propertyName)
+    {
+        return propertyName.indexOf(PARAMETER_SELECTOR_CHARACTER) >= 0;
+    }
+
+    public List<String> getPaths()
+    {
+        return paths;
+    }
+
+    public Map<String, Parameter> getParameters()
+    {
+        return parameters;
+    }
+
+    public Set<String> getMissingParameterNames()
+    {
+        return missingParameterNames;
+    }
+
+    /**
+     * @return the index of the names of the parameters, built on first use.
+     */
+    public ParameterStorePathIndex getPathIndex()
+    {
+        ParameterStorePathIndex currentPathIndex = pathIndex;
+        if (currentPathIndex == null) {
+            // Building it twice concurrently is harmless, both indexes are equal
+            currentPathIndex = ParameterStorePathIndex.of(parameters);
+            pathIndex = currentPathIndex;
+        }
+        return currentPathIndex;
+    }
+
+    private static boolean isUpdated(Parameter previousParameter, Parameter currentParameter)
+    {
+        if (previousParameter.version() != null && currentParameter.version() != null) {
+            return !previousParameter.version().equals(currentParameter.version());
+        }
+        return !Objects.equals(previousParameter.value(), currentParameter.value());
+    }
+
+    private static boolean isUnderPath(String propertyName, String path)
+    {
+        if (PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER.equals(path)) {
+            return propertyName.startsWith(path);
+        }
+        return propertyName.startsWith(path + PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER);
+    }
+
+    private static String normalizePath(String path)
+    {
+        if (path.length() > 1 && path.endsWith(PARAMETER_STORE_HIERARCHY_SPLIT_CHARACTER)) {
+            return path.substring(0, path.length() - 1);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,385 @@
+package com.coveo.configuration.parameterstore.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Cache shared by the JVMs of a host through a memory-mapped file, so that a parameter fetched by one of them is served
+ * to the others without calling the Parameter Store. Entries are appended to the file with their expiration time and
+ * version, and the file is compacted when it is full. Each JVM indexes the entries it has already read, so a lookup
+ * only reads the entries appended since the previous one.
+ *
+ * <p>
+ * The JVMs coordinate through file locks: a shared lock to read and an exclusive lock to write. Values of
+ * {@code SecureString} parameters are encrypted with AES-GCM, and aren't shared at all without a key. Since the cache
+ * is only an optimization, failures to read or write it are logged and treated as misses.
+ */
+public class SharedParameterStoreCache implements Closeable
+{
+    private static final Log logger = LogFactory.getLog(SharedParameterStoreCache.class);
+
+    // A JVM can't hold overlapping locks on a file, even through different channels, so its threads take turns
+    private static final ConcurrentMap<Path, Object> FILE_MONITORS = new ConcurrentHashMap<>();
+
+    private static final int MAGIC = 0x50534301; // 'P', 'S', 'C', format version 1
+    private static final int MAGIC_OFFSET = 0;
+    private static final int GENERATION_OFFSET = 4;
+    private static final int END_OFFSET = 8;
+    private static final int HEADER_SIZE = 16;
+
+    // length (int), expiration time (long), version (long), flags (byte), name length (short), value length (int)
+    private static final int ENTRY_LENGTH_OFFSET = 0;
+    private static final int ENTRY_EXPIRATION_OFFSET = 4;
+    private static final int ENTRY_VERSION_OFFSET = 12;
+    private static final int ENTRY_FLAGS_OFFSET = 20;
+    private static final int ENTRY_NAME_LENGTH_OFFSET = 21;
+    private static final int ENTRY_NAME_OFFSET = 23;
+    private static final int ENTRY_FIXED_SIZE = 27;
+
+    private static final byte FOUND_FLAG = 1;
+    private static final byte ENCRYPTED_FLAG = 2;
+    private static final long NO_VERSION = -1L;
+    private static final int MAX_NAME_LENGTH = 0xFFFF;
+
+    private static final String CIPHER_TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH_IN_BYTES = 12;
+    private static final int TAG_LENGTH_IN_BITS = 128;
+
+    private final Path path;
+    private final SecretKey key;
+    private final long timeToLiveInMillis;
+    private final Clock clock;
+    private final Object monitor;
+    private final FileChannel channel;
+    private final MappedByteBuffer segment;
+    private final SecureRandom random = new SecureRandom();
+
+    private final Map<String, Integer> index = new HashMap<>();
+    private int indexedGeneration = -1;
+    private int indexedEnd;
+
+    /**
+     * @param sizeInBytes the size of the file when it is created. A file that already exists keeps its size.
+     * @param key the key the values of {@code SecureString} parameters are encrypted with, or {@code null} to not share
+     *            them.
+     */
+    public SharedParameterStoreCache(Path path, int sizeInBytes, long timeToLiveInMillis, SecretKey key)
+            throws IOException
+    {
+        this(path, sizeInBytes, timeToLiveInMillis, key, Clock.systemUTC());
+    }
+
+    SharedParameterStoreCache(Path path, int sizeInBytes, long timeToLiveInMillis, SecretKey key, Clock clock)
+            throws IOException
+    {
+        this.path = path.toAbsolutePath().normalize();
+        this.key = key;
+        this.timeToLiveInMillis = timeToLiveInMillis;
+        this.clock = clock;
+        this.monitor = FILE_MONITORS.computeIfAbsent(this.path, ignored -> new Object());
+
+        Files.createDirectories(this.path.getParent());
+        channel = open(this.path);
+        try {
+            synchronized (monitor) {
+                try (FileLock lock = channel.lock()) {
+                    long size = channel.size() >= HEADER_SIZE ? channel.size() : sizeInBytes;
+                    segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(size, Integer.MAX_VALUE));
+                    if (segment.getInt(MAGIC_OFFSET) != MAGIC) {
+                        segment.putInt(MAGIC_OFFSET, MAGIC);
+                        segment.putInt(GENERATION_OFFSET, 0);
+                        segment.putInt(END_OFFSET, HEADER_SIZE);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Path getPath()
+    {
+        return path;
+    }
+
+    /**
+     * @return the parameter published by any JVM of the host, or {@code null} if there is none or it expired.
+     */
+    public CachedParameter get(String name)
+    {
+        try {
+            synchronized (monitor) {
+                try (FileLock lock = channel.lock(0, Long.MAX_VALUE, true)) {
+                    Integer offset = updateIndex() ? index.get(name) : null;
+                    return offset == null ? null : readEntry(offset, name);
+                }
+            }
+        } catch (IOException | RuntimeException | GeneralSecurityException e) {
+            logger.warn(String.format("The parameter '%s' can't be read from the shared cache '%s'.", name, path), e);
+            return null;
+        }
+    }
+
+    /**
+     * Publishes the value of a parameter, unless a newer version of it is already published.
+     */
+    public void putValue(String name, String value, Long version, boolean secure)
+    {
+        if (secure && key == null) {
+            return;
+        }
+        put(name, value, version == null ? NO_VERSION : version, secure);
+    }
+
+    public void putNotFound(String name)
+    {
+        put(name, null, NO_VERSION, false);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+
+    private void put(String name, String value, long version, boolean secure)
+    {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        if (nameBytes.length > MAX_NAME_LENGTH) {
+            return;
+        }
+
+        try {
+            byte flags = 0;
+            byte[] valueBytes = new byte[0];
+            if (value != null) {
+                flags = FOUND_FLAG;
+                valueBytes = value.getBytes(StandardCharsets.UTF_8);
+                if (secure) {
+                    flags |= ENCRYPTED_FLAG;
+                    valueBytes = encrypt(nameBytes, valueBytes);
+                }
+            }
+            int length = ENTRY_FIXED_SIZE + nameBytes.length + valueBytes.length;
+
+            synchronized (monitor) {
+                try (FileLock lock = channel.lock()) {
+                    if (!updateIndex()) {
+                        logger.warn(String.format("The shared cache '%s' is corrupted, it is cleared.", path));
+                        clear();
+                    }
+                    Integer publishedOffset = index.get(name);
+                    if (publishedOffset != null && isUpToDate(publishedOffset, version)) {
+                        return;
+                    }
+                    if (segment.getInt(END_OFFSET) + length > segment.capacity()) {
+                        compact();
+                        if (segment.getInt(END_OFFSET) + length > segment.capacity()) {
+                            logger.debug(String.format("The shared cache '%s' is full, the parameter '%s' isn't published.",
+                                                       path,
+                                                       name));
+                            return;
+                        }
+                    }
+                    append(nameBytes, valueBytes, flags, version);
+                }
+            }
+        } catch (IOException | RuntimeException | GeneralSecurityException e) {
+            logger.warn(String.format("The parameter '%s' can't be published to the shared cache '%s'.", name, path),
+                        e);
+        }
+    }
+
+    /**
+     * Indexes the entries appended by any JVM since the last call, or every entry if the file was compacted since.
+     *
+     * @return {@code false} if the file is corrupted.
+     */
+    private boolean updateIndex()
+    {
+        int generation = segment.getInt(GENERATION_OFFSET);
+        if (generation != indexedGeneration) {
+            index.clear();
+            indexedGeneration = generation;
+            indexedEnd = HEADER_SIZE;
+        }
+
+        int end = segment.getInt(END_OFFSET);
+        if (end < HEADER_SIZE || end > segment.capacity()) {
+            return false;
+        }
+        while (indexedEnd < end) {
+            int length = segment.getInt(indexedEnd + ENTRY_LENGTH_OFFSET);
+            if (length < ENTRY_FIXED_SIZE || length > end - indexedEnd) {
+                return false;
+            }
+            index.put(new String(readBytes(indexedEnd + ENTRY_NAME_OFFSET, getNameLength(indexedEnd)),
+                                 StandardCharsets.UTF_8),
+                      indexedEnd);
+            indexedEnd += length;
+        }
+        return true;
+    }
+
+    private CachedParameter readEntry(int offset, String name) throws GeneralSecurityException
+    {
+        long expirationTimeInMillis = segment.getLong(offset + ENTRY_EXPIRATION_OFFSET);
+        if (clock.millis() >= expirationTimeInMillis) {
+            return null;
+        }
+        byte flags = segment.get(offset + ENTRY_FLAGS_OFFSET);
+        if ((flags & FOUND_FLAG) == 0) {
+            return new CachedParameter(null, expirationTimeInMillis);
+        }
+
+        int valueLengthOffset = offset + ENTRY_NAME_OFFSET + getNameLength(offset);
+        byte[] valueBytes = readBytes(valueLengthOffset + 4, segment.getInt(valueLengthOffset));
+        if ((flags & ENCRYPTED_FLAG) != 0) {
+            if (key == null) {
+                return null;
+            }
+            valueBytes = decrypt(name.getBytes(StandardCharsets.UTF_8), valueBytes);
+        }
+        long version = segment.getLong(offset + ENTRY_VERSION_OFFSET);
+        return new CachedParameter(new String(valueBytes, StandardCharsets.UTF_8),
+                                   expirationTimeInMillis,
+                                   expirationTimeInMillis,
+                                   version == NO_VERSION ? null : version);
+    }
+
+    private boolean isUpToDate(int offset, long version)
+    {
+        return clock.millis() < segment.getLong(offset + ENTRY_EXPIRATION_OFFSET) && version != NO_VERSION
+                && segment.getLong(offset + ENTRY_VERSION_OFFSET) >= version;
+    }
+
+    private void append(byte[] nameBytes, byte[] valueBytes, byte flags, long version)
+    {
+        int offset = segment.getInt(END_OFFSET);
+        int length = ENTRY_FIXED_SIZE + nameBytes.length + valueBytes.length;
+        ByteBuffer entry = segment.duplicate();
+        entry.position(offset);
+        entry.putInt(length)
+             .putLong(clock.millis() + timeToLiveInMillis)
+             .putLong(version)
+             .put(flags)
+             .putShort((short) nameBytes.length)
+             .put(nameBytes)
+             .putInt(valueBytes.length)
+             .put(valueBytes);
+        segment.putInt(END_OFFSET, offset + length);
+        updateIndex();
+    }
+
+    /**
+     * Rewrites the file with only the latest unexpired entry of each parameter.
+     */
+    private void compact()
+    {
+        long now = clock.millis();
+        List<Integer> liveOffsets = new ArrayList<>(index.values());
+        liveOffsets.sort(null);
+        ByteArrayOutputStream liveEntries = new ByteArrayOutputStream();
+        for (int offset : liveOffsets) {
+            if (now < segment.getLong(offset + ENTRY_EXPIRATION_OFFSET)) {
+                byte[] entry = readBytes(offset, segment.getInt(offset + ENTRY_LENGTH_OFFSET));
+                liveEntries.write(entry, 0, entry.length);
+            }
+        }
+
+        ByteBuffer entries = segment.duplicate();
+        entries.position(HEADER_SIZE);
+        entries.put(liveEntries.toByteArray());
+        segment.putInt(END_OFFSET, HEADER_SIZE + liveEntries.size());
+        segment.putInt(GENERATION_OFFSET, segment.getInt(GENERATION_OFFSET) + 1);
+        updateIndex();
+    }
+
+    private void clear()
+    {
+        segment.putInt(END_OFFSET, HEADER_SIZE);
+        segment.putInt(GENERATION_OFFSET, segment.getInt(GENERATION_OFFSET) + 1);
+        updateIndex();
+    }
+
+    private int getNameLength(int offset)
+    {
+        return segment.getShort(offset + ENTRY_NAME_LENGTH_OFFSET) & MAX_NAME_LENGTH;
+    }
+
+    private byte[] readBytes(int offset, int length)
+    {
+        byte[] bytes = new byte[length];
+        ByteBuffer source = segment.duplicate();
+        source.position(offset);
+        source.get(bytes);
+        return bytes;
+    }
+
+    // The name is authenticated with the value, so that an encrypted value can't be moved to another parameter
+    private byte[] encrypt(byte[] nameBytes, byte[] valueBytes) throws GeneralSecurityException
+    {
+        byte[] iv = new byte[IV_LENGTH_IN_BYTES];
+        random.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_IN_BITS, iv));
+        cipher.updateAAD(nameBytes);
+        byte[] encryptedValue = cipher.doFinal(valueBytes);
+
+        byte[] encrypted = Arrays.copyOf(iv, IV_LENGTH_IN_BYTES + encryptedValue.length);
+        System.arraycopy(encryptedValue, 0, encrypted, IV_LENGTH_IN_BYTES, encryptedValue.length);
+        return encrypted;
+    }
+
+    private byte[] decrypt(byte[] nameBytes, byte[] encrypted) throws GeneralSecurityException
+    {
+        Cipher cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_IN_BITS, encrypted, 0, IV_LENGTH_IN_BYTES));
+        cipher.updateAAD(nameBytes);
+        return cipher.doFinal(encrypted, IV_LENGTH_IN_BYTES, encrypted.length - IV_LENGTH_IN_BYTES);
+    }
+
+    private static FileChannel open(Path path) throws IOException
+    {
+        try {
+            return FileChannel.open(path,
+                                    EnumSet.of(StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE),
+                                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system, the permissions of the directory apply
+            return FileChannel.open(path,
+                                    StandardOpenOption.READ,
+                                    StandardOpenOption.WRITE,
+                                    StandardOpenOption.CREATE);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket whose rate adapts to the Parameter Store's answers (additive increase, multiplicative decrease): each
+ * throttled call halves the rate, at most once per second so that a burst of throttled calls already in flight counts
+ * as a single signal, and each successful call raises it back a little, up to the configured rate.
+ *
+ * <p>
+ * Permits are reserved rather than waited for: {@link #reserve()} always takes a permit, possibly borrowing from the
+ * future, and tells the caller how long to wait before making its call. This keeps the limiter free of any thread.
+ */
+public class AdaptiveRateLimiter
+{
+    private static final double MIN_PERMITS_PER_SECOND = 1.0;
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final long DECREASE_COOLDOWN_IN_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double maxPermitsPerSecond;
+    private final double minPermitsPerSecond;
+    private final double burst;
+    private final LongSupplier nanoClock;
+
+    private double permitsPerSecond;
+    private double availablePermits;
+    private long lastRefillNanos;
+    private long lastDecreaseNanos;
+    private boolean decreased;
+
+    public AdaptiveRateLimiter(double permitsPerSecond, int burst)
+    {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    AdaptiveRateLimiter(double permitsPerSecond, int burst, LongSupplier nanoClock)
+    {
+        this.maxPermitsPerSecond = permitsPerSecond;
+        this.minPermitsPerSecond = Math.min(MIN_PERMITS_PER_SECOND, permitsPerSecond);
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+        this.permitsPerSecond = permitsPerSecond;
+        this.availablePermits = burst;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a permit.
+     *
+     * @return how long, in nanoseconds, the caller must wait before using its permit.
+     */
+    public synchronized long reserve()
+    {
+        refill();
+        availablePermits -= 1;
+        if (availablePermits >= 0) {
+            return 0;
+        }
+        return (long) (-availablePermits / permitsPerSecond * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public synchronized void onSuccess()
+    {
+        // Grows by about one permit per second for every second's worth of successful calls
+        permitsPerSecond = Math.min(maxPermitsPerSecond, permitsPerSecond + 1 / permitsPerSecond);
+    }
+
+    public synchronized void onThrottled()
+    {
+        refill();
+        long now = nanoClock.getAsLong();
+        if (decreased && now - lastDecreaseNanos < DECREASE_COOLDOWN_IN_NANOS) {
+            return;
+        }
+        permitsPerSecond = Math.max(minPermitsPerSecond, permitsPerSecond * DECREASE_FACTOR);
+        availablePermits = Math.min(availablePermits, 0);
+        lastDecreaseNanos = now;
+        decreased = true;
+    }
+
+    public synchronized double getPermitsPerSecond()
+    {
+        return permitsPerSecond;
+    }
+
+    private void refill()
+    {
+        long now = nanoClock.getAsLong();
+        double elapsedSeconds = (double) (now - lastRefillNanos) / TimeUnit.SECONDS.toNanos(1);
+        availablePermits = Math.min(burst, availablePermits + elapsedSeconds * permitsPerSecond);
+        lastRefillNanos = now;
+    }
+}
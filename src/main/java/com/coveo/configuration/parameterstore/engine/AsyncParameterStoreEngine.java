@@ -0,0 +1,51 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import java.util.concurrent.CompletableFuture;
+
+import software.amazon.awssdk.services.ssm.SsmAsyncClient;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersRequest;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersResponse;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+
+/**
+ * Engine backed by the non-blocking {@link SsmAsyncClient}: calls return immediately, so many requests can be in
+ * flight over a few connections without tying up a thread per call.
+ */
+public class AsyncParameterStoreEngine implements ParameterStoreEngine
+{
+    private SsmAsyncClient ssmAsyncClient;
+
+    public AsyncParameterStoreEngine(SsmAsyncClient ssmAsyncClient)
+    {
+        this.ssmAsyncClient = ssmAsyncClient;
+    }
+
+    @Override
+    public CompletableFuture<GetParameterResponse> getParameter(GetParameterRequest getParameterRequest)
+    {
+        return ssmAsyncClient.getParameter(getParameterRequest);
+    }
+
+    @Override
+    public CompletableFuture<GetParametersResponse> getParameters(GetParametersRequest getParametersRequest)
+    {
+        return ssmAsyncClient.getParameters(getParametersRequest);
+    }
+
+    @Override
+    public CompletableFuture<GetParametersByPathResponse> getParametersByPath(GetParametersByPathRequest getParametersByPathRequest)
+    {
+        return ssmAsyncClient.getParametersByPath(getParametersByPathRequest);
+    }
+
+    @Override
+    public CompletableFuture<DescribeParametersResponse> describeParameters(DescribeParametersRequest describeParametersRequest)
+    {
+        return ssmAsyncClient.describeParameters(describeParametersRequest);
+    }
+}
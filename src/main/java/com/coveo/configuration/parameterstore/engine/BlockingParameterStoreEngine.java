@@ -0,0 +1,75 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersRequest;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersResponse;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+
+/**
+ * Engine backed by the blocking {@link SsmClient}: every call runs on the calling thread and returns a completed
+ * future, unless an executor is given, in which case calls run on it and the calling thread is free to make others.
+ */
+public class BlockingParameterStoreEngine implements ParameterStoreEngine
+{
+    private SsmClient ssmClient;
+    private Executor callExecutor;
+
+    public BlockingParameterStoreEngine(SsmClient ssmClient)
+    {
+        this(ssmClient, null);
+    }
+
+    public BlockingParameterStoreEngine(SsmClient ssmClient, Executor callExecutor)
+    {
+        this.ssmClient = ssmClient;
+        this.callExecutor = callExecutor;
+    }
+
+    @Override
+    public CompletableFuture<GetParameterResponse> getParameter(GetParameterRequest getParameterRequest)
+    {
+        return call(() -> ssmClient.getParameter(getParameterRequest));
+    }
+
+    @Override
+    public CompletableFuture<GetParametersResponse> getParameters(GetParametersRequest getParametersRequest)
+    {
+        return call(() -> ssmClient.getParameters(getParametersRequest));
+    }
+
+    @Override
+    public CompletableFuture<GetParametersByPathResponse> getParametersByPath(GetParametersByPathRequest getParametersByPathRequest)
+    {
+        return call(() -> ssmClient.getParametersByPath(getParametersByPathRequest));
+    }
+
+    @Override
+    public CompletableFuture<DescribeParametersResponse> describeParameters(DescribeParametersRequest describeParametersRequest)
+    {
+        return call(() -> ssmClient.describeParameters(describeParametersRequest));
+    }
+
+    private <T> CompletableFuture<T> call(Supplier<T> call)
+    {
+        if (callExecutor != null) {
+            return CompletableFuture.supplyAsync(call, callExecutor);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            result.complete(call.get());
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+}
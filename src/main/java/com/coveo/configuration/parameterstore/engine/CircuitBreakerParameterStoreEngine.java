@@ -0,0 +1,104 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersRequest;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersResponse;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+
+/**
+ * Engine making every call through a {@link ParameterStoreCircuitBreaker}. While the breaker is open, calls fail right
+ * away with a {@link ParameterStoreCircuitOpenException}. Only failures showing that the Parameter Store is unavailable
+ * count against it: errors on the client side, throttling and server errors. A parameter that doesn't exist is an
+ * answer like any other.
+ */
+public class CircuitBreakerParameterStoreEngine implements ParameterStoreEngine
+{
+    private static final int SERVER_ERROR_STATUS_CODE = 500;
+
+    private final ParameterStoreEngine delegate;
+    private final ParameterStoreCircuitBreaker circuitBreaker;
+
+    public CircuitBreakerParameterStoreEngine(ParameterStoreEngine delegate,
+                                              ParameterStoreCircuitBreaker circuitBreaker)
+    {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public CompletableFuture<GetParameterResponse> getParameter(GetParameterRequest getParameterRequest)
+    {
+        return call(() -> delegate.getParameter(getParameterRequest));
+    }
+
+    @Override
+    public CompletableFuture<GetParametersResponse> getParameters(GetParametersRequest getParametersRequest)
+    {
+        return call(() -> delegate.getParameters(getParametersRequest));
+    }
+
+    @Override
+    public CompletableFuture<GetParametersByPathResponse> getParametersByPath(GetParametersByPathRequest getParametersByPathRequest)
+    {
+        return call(() -> delegate.getParametersByPath(getParametersByPathRequest));
+    }
+
+    @Override
+    public CompletableFuture<DescribeParametersResponse> describeParameters(DescribeParametersRequest describeParametersRequest)
+    {
+        return call(() -> delegate.describeParameters(describeParametersRequest));
+    }
+
+    public ParameterStoreCircuitBreaker getCircuitBreaker()
+    {
+        return circuitBreaker;
+    }
+
+    static boolean isUnavailable(Throwable failure)
+    {
+        if (!(failure instanceof AwsServiceException)) {
+            return true;
+        }
+        AwsServiceException serviceException = (AwsServiceException) failure;
+        return serviceException.isThrottlingException() || serviceException.statusCode() >= SERVER_ERROR_STATUS_CODE;
+    }
+
+    private <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> call)
+    {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (!circuitBreaker.tryAcquirePermission()) {
+            result.completeExceptionally(new ParameterStoreCircuitOpenException());
+            return result;
+        }
+
+        CompletableFuture<T> delegateCall;
+        try {
+            delegateCall = call.get();
+        } catch (RuntimeException e) {
+            delegateCall = new CompletableFuture<>();
+            delegateCall.completeExceptionally(e);
+        }
+
+        delegateCall.whenComplete((response, failure) -> {
+            if (failure != null && isUnavailable(ParameterStoreFutures.unwrap(failure))) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            if (failure != null) {
+                result.completeExceptionally(ParameterStoreFutures.unwrap(failure));
+            } else {
+                result.complete(response);
+            }
+        });
+        return result;
+    }
+}
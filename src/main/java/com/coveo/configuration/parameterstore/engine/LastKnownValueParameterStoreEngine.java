@@ -0,0 +1,90 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import software.amazon.awssdk.services.ssm.model.DescribeParametersRequest;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersResponse;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+
+/**
+ * Engine answering a parameter fetched one at a time with its last known value when the call fails, instead of
+ * failing: the Parameter Store can't be reached, or the {@link CircuitBreakerParameterStoreEngine} below it is open. A
+ * parameter that doesn't exist isn't a failure, and a parameter without a last known value still fails. The other
+ * calls are left as is, since the prefetch and the refresh already keep what they had when they fail.
+ */
+public class LastKnownValueParameterStoreEngine implements ParameterStoreEngine
+{
+    private static final Log logger = LogFactory.getLog(LastKnownValueParameterStoreEngine.class);
+
+    private final ParameterStoreEngine delegate;
+    private final Function<String, String> lastKnownValues;
+
+    /**
+     * @param lastKnownValues returns the last known value of a parameter, or null if there is none.
+     */
+    public LastKnownValueParameterStoreEngine(ParameterStoreEngine delegate, Function<String, String> lastKnownValues)
+    {
+        this.delegate = delegate;
+        this.lastKnownValues = lastKnownValues;
+    }
+
+    @Override
+    public CompletableFuture<GetParameterResponse> getParameter(GetParameterRequest getParameterRequest)
+    {
+        CompletableFuture<GetParameterResponse> getParameterCall;
+        try {
+            getParameterCall = delegate.getParameter(getParameterRequest);
+        } catch (RuntimeException e) {
+            getParameterCall = new CompletableFuture<>();
+            getParameterCall.completeExceptionally(e);
+        }
+        return getParameterCall.handle((getParameterResult, failure) -> {
+            if (failure == null) {
+                return CompletableFuture.completedFuture(getParameterResult);
+            }
+            Throwable cause = ParameterStoreFutures.unwrap(failure);
+            String lastKnownValue = cause instanceof ParameterNotFoundException || cause instanceof Error
+                    ? null
+                    : lastKnownValues.apply(getParameterRequest.name());
+            if (lastKnownValue == null) {
+                CompletableFuture<GetParameterResponse> failedCall = new CompletableFuture<>();
+                failedCall.completeExceptionally(cause);
+                return failedCall;
+            }
+            if (!(cause instanceof ParameterStoreCircuitOpenException)) {
+                logger.warn(String.format("Fetching the parameter '%s' failed, its last known value is used.",
+                                          getParameterRequest.name()),
+                            cause);
+            }
+            return ParameterStoreResponses.found(getParameterRequest.name(), lastKnownValue, null);
+        }).thenCompose(Function.identity());
+    }
+
+    @Override
+    public CompletableFuture<GetParametersResponse> getParameters(GetParametersRequest getParametersRequest)
+    {
+        return delegate.getParameters(getParametersRequest);
+    }
+
+    @Override
+    public CompletableFuture<GetParametersByPathResponse> getParametersByPath(GetParametersByPathRequest getParametersByPathRequest)
+    {
+        return delegate.getParametersByPath(getParametersByPathRequest);
+    }
+
+    @Override
+    public CompletableFuture<DescribeParametersResponse> describeParameters(DescribeParametersRequest describeParametersRequest)
+    {
+        return delegate.describeParameters(describeParametersRequest);
+    }
+}
@@ -0,0 +1,125 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.coveo.configuration.parameterstore.metrics.ParameterStoreMetrics;
+
+import software.amazon.awssdk.services.ssm.model.DescribeParametersRequest;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersResponse;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.ParameterStringFilter;
+
+/**
+ * Engine telling the {@link SsmCallListener}s about every call made through the client. Like
+ * {@link MeteredParameterStoreEngine}, it wraps the client itself, so that each attempt of the rate limiter is a call
+ * of its own. It is only added when there is at least one listener: otherwise calls don't go through it at all.
+ */
+public class ListenedParameterStoreEngine implements ParameterStoreEngine
+{
+    private static final Log logger = LogFactory.getLog(ListenedParameterStoreEngine.class);
+
+    private final ParameterStoreEngine delegate;
+    private final SsmCallListener[] listeners;
+    private final String region;
+
+    public ListenedParameterStoreEngine(ParameterStoreEngine delegate, List<SsmCallListener> listeners, String region)
+    {
+        this.delegate = delegate;
+        this.listeners = listeners.toArray(new SsmCallListener[0]);
+        this.region = region;
+    }
+
+    @Override
+    public CompletableFuture<GetParameterResponse> getParameter(GetParameterRequest getParameterRequest)
+    {
+        return call(new SsmCall(ParameterStoreMetrics.GET_PARAMETER,
+                                getParameterRequest.name(),
+                                1,
+                                region,
+                                RateLimitedParameterStoreEngine.currentAttempt()),
+                    () -> delegate.getParameter(getParameterRequest));
+    }
+
+    @Override
+    public CompletableFuture<GetParametersResponse> getParameters(GetParametersRequest getParametersRequest)
+    {
+        return call(new SsmCall(ParameterStoreMetrics.GET_PARAMETERS,
+                                null,
+                                getParametersRequest.names().size(),
+                                region,
+                                RateLimitedParameterStoreEngine.currentAttempt()),
+                    () -> delegate.getParameters(getParametersRequest));
+    }
+
+    @Override
+    public CompletableFuture<GetParametersByPathResponse> getParametersByPath(GetParametersByPathRequest getParametersByPathRequest)
+    {
+        return call(new SsmCall(ParameterStoreMetrics.GET_PARAMETERS_BY_PATH,
+                                getParametersByPathRequest.path(),
+                                1,
+                                region,
+                                RateLimitedParameterStoreEngine.currentAttempt()),
+                    () -> delegate.getParametersByPath(getParametersByPathRequest));
+    }
+
+    @Override
+    public CompletableFuture<DescribeParametersResponse> describeParameters(DescribeParametersRequest describeParametersRequest)
+    {
+        int batchSize = 0;
+        for (ParameterStringFilter filter : describeParametersRequest.parameterFilters()) {
+            batchSize += filter.values().size();
+        }
+        return call(new SsmCall(ParameterStoreMetrics.DESCRIBE_PARAMETERS,
+                                null,
+                                batchSize,
+                                region,
+                                RateLimitedParameterStoreEngine.currentAttempt()),
+                    () -> delegate.describeParameters(describeParametersRequest));
+    }
+
+    private <T> CompletableFuture<T> call(SsmCall ssmCall, Supplier<CompletableFuture<T>> call)
+    {
+        for (SsmCallListener listener : listeners) {
+            try {
+                listener.onCallStarted(ssmCall);
+            } catch (RuntimeException e) {
+                logger.warn(String.format("The listener %s failed to handle the start of %s.", listener, ssmCall), e);
+            }
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+        }
+        return result.whenComplete((response, failure) -> {
+            long durationInNanos = System.nanoTime() - start;
+            Throwable cause = failure == null ? null : ParameterStoreFutures.unwrap(failure);
+            for (SsmCallListener listener : listeners) {
+                try {
+                    if (cause == null) {
+                        listener.onCallEnded(ssmCall, durationInNanos);
+                    } else {
+                        listener.onCallFailed(ssmCall, cause, durationInNanos);
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn(String.format("The listener %s failed to handle the end of %s.", listener, ssmCall),
+                                e);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import com.coveo.configuration.parameterstore.metrics.ParameterStoreMetrics;
+
+import software.amazon.awssdk.services.ssm.model.DescribeParametersRequest;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersResponse;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+
+/**
+ * Engine recording every call made through the client in {@link ParameterStoreMetrics}: its latency, under the region
+ * of the client, and whether it was throttled or failed. It wraps the client itself, so that each call the other
+ * engines retry is counted.
+ */
+public class MeteredParameterStoreEngine implements ParameterStoreEngine
+{
+    private final ParameterStoreEngine delegate;
+    private final ParameterStoreMetrics metrics;
+    private final String region;
+
+    public MeteredParameterStoreEngine(ParameterStoreEngine delegate, ParameterStoreMetrics metrics, String region)
+    {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.region = region;
+    }
+
+    @Override
+    public CompletableFuture<GetParameterResponse> getParameter(GetParameterRequest getParameterRequest)
+    {
+        return call(ParameterStoreMetrics.GET_PARAMETER, () -> delegate.getParameter(getParameterRequest));
+    }
+
+    @Override
+    public CompletableFuture<GetParametersResponse> getParameters(GetParametersRequest getParametersRequest)
+    {
+        return call(ParameterStoreMetrics.GET_PARAMETERS, () -> delegate.getParameters(getParametersRequest));
+    }
+
+    @Override
+    public CompletableFuture<GetParametersByPathResponse> getParametersByPath(GetParametersByPathRequest getParametersByPathRequest)
+    {
+        return call(ParameterStoreMetrics.GET_PARAMETERS_BY_PATH,
+                    () -> delegate.getParametersByPath(getParametersByPathRequest));
+    }
+
+    @Override
+    public CompletableFuture<DescribeParametersResponse> describeParameters(DescribeParametersRequest describeParametersRequest)
+    {
+        return call(ParameterStoreMetrics.DESCRIBE_PARAMETERS,
+                    () -> delegate.describeParameters(describeParametersRequest));
+    }
+
+    private <T> CompletableFuture<T> call(String operation, Supplier<CompletableFuture<T>> call)
+    {
+        long start = System.nanoTime();
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+        }
+        return result.whenComplete((response, failure) -> {
+            metrics.recordCall(operation, region, System.nanoTime() - start);
+            if (failure != null) {
+                Throwable cause = ParameterStoreFutures.unwrap(failure);
+                if (RateLimitedParameterStoreEngine.isThrottlingException(cause)) {
+                    metrics.recordThrottle();
+                }
+                if (!(cause instanceof ParameterNotFoundException)) {
+                    metrics.recordError();
+                }
+            }
+        });
+    }
+}
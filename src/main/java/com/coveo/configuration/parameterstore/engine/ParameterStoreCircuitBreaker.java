@@ -0,0 +1,163 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import java.util.function.LongSupplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Circuit breaker protecting the Parameter Store from calls that are bound to fail. It opens when too many of the last
+ * calls failed, or too many failed in a row. While open, no call is permitted. Once the open duration has elapsed, a
+ * few probe calls are let through (half-open): if they all succeed the breaker closes, otherwise it opens again.
+ */
+public class ParameterStoreCircuitBreaker
+{
+    private static final Log logger = LogFactory.getLog(ParameterStoreCircuitBreaker.class);
+
+    public enum State
+    {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureRateThreshold;
+    private final boolean[] outcomes;
+    private final int consecutiveFailuresThreshold;
+    private final long openDurationInMillis;
+    private final int halfOpenProbes;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int recordedCalls;
+    private int failedCalls;
+    private int consecutiveFailures;
+    private long openedAtInMillis;
+    private int startedProbes;
+    private int successfulProbes;
+
+    /**
+     * @param failureRateThreshold the percentage of failed calls, among the last {@code slidingWindowSize} ones, that
+     *            opens the breaker.
+     * @param slidingWindowSize the number of calls the failure rate is computed on. The rate is only considered once
+     *            that many calls were made.
+     * @param consecutiveFailuresThreshold the number of failed calls in a row that opens the breaker.
+     * @param openDurationInMillis how long the breaker stays open before probing the Parameter Store again.
+     * @param halfOpenProbes the number of calls let through, and that must succeed, to close the breaker.
+     */
+    public ParameterStoreCircuitBreaker(int failureRateThreshold,
+                                        int slidingWindowSize,
+                                        int consecutiveFailuresThreshold,
+                                        long openDurationInMillis,
+                                        int halfOpenProbes)
+    {
+        this(failureRateThreshold,
+             slidingWindowSize,
+             consecutiveFailuresThreshold,
+             openDurationInMillis,
+             halfOpenProbes,
+             System::currentTimeMillis);
+    }
+
+    ParameterStoreCircuitBreaker(int failureRateThreshold,
+                                 int slidingWindowSize,
+                                 int consecutiveFailuresThreshold,
+                                 long openDurationInMillis,
+                                 int halfOpenProbes,
+                                 LongSupplier clock)
+    {
+        this.failureRateThreshold = failureRateThreshold;
+        this.outcomes = new boolean[slidingWindowSize];
+        this.consecutiveFailuresThreshold = consecutiveFailuresThreshold;
+        this.openDurationInMillis = openDurationInMillis;
+        this.halfOpenProbes = halfOpenProbes;
+        this.clock = clock;
+    }
+
+    /**
+     * @return whether a call can be made. Every permitted call must then be reported to {@link #onSuccess()} or
+     *         {@link #onFailure()}.
+     */
+    public synchronized boolean tryAcquirePermission()
+    {
+        if (state == State.OPEN && clock.getAsLong() - openedAtInMillis >= openDurationInMillis) {
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (startedProbes >= halfOpenProbes) {
+                return false;
+            }
+            startedProbes++;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    public synchronized void onSuccess()
+    {
+        if (state == State.HALF_OPEN) {
+            successfulProbes++;
+            if (successfulProbes >= halfOpenProbes) {
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            consecutiveFailures = 0;
+            record(false);
+            // The window may only now be complete
+            if (isFailureRateExceeded()) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    public synchronized void onFailure()
+    {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else if (state == State.CLOSED) {
+            consecutiveFailures++;
+            record(true);
+            if (consecutiveFailures >= consecutiveFailuresThreshold || isFailureRateExceeded()) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    public synchronized State getState()
+    {
+        return state;
+    }
+
+    private void record(boolean failed)
+    {
+        int index = recordedCalls % outcomes.length;
+        if (recordedCalls >= outcomes.length && outcomes[index]) {
+            failedCalls--;
+        }
+        outcomes[index] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        recordedCalls++;
+    }
+
+    private boolean isFailureRateExceeded()
+    {
+        return recordedCalls >= outcomes.length && failedCalls * 100 >= failureRateThreshold * outcomes.length;
+    }
+
+    private void transitionTo(State newState)
+    {
+        if (newState == State.OPEN) {
+            logger.warn(String.format("The Parameter Store circuit breaker opened, no calls will be made for %d ms.",
+                                      openDurationInMillis));
+            openedAtInMillis = clock.getAsLong();
+        } else {
+            logger.info(String.format("The Parameter Store circuit breaker is now %s.", newState));
+        }
+        state = newState;
+        startedProbes = 0;
+        successfulProbes = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+        consecutiveFailures = 0;
+    }
+}
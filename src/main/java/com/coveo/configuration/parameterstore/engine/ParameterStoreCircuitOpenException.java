@@ -0,0 +1,14 @@
+package com.coveo.configuration.parameterstore.engine;
+
+/**
+ * Thrown instead of calling the Parameter Store while the {@link ParameterStoreCircuitBreaker} is open.
+ */
+public class ParameterStoreCircuitOpenException extends RuntimeException
+{
+    private static final long serialVersionUID = 1L;
+
+    public ParameterStoreCircuitOpenException()
+    {
+        super("The Parameter Store circuit breaker is open, the call was not made.");
+    }
+}
@@ -0,0 +1,28 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import java.util.concurrent.CompletableFuture;
+
+import software.amazon.awssdk.services.ssm.model.DescribeParametersRequest;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersResponse;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+
+/**
+ * The calls made to the Parameter Store. Depending on the implementation, the returned futures are either already
+ * completed (the call blocked the calling thread) or completed later without tying up the calling thread. Callers
+ * compose the futures of concurrent calls and wait once for all of them, whichever the engine is.
+ */
+public interface ParameterStoreEngine
+{
+    CompletableFuture<GetParameterResponse> getParameter(GetParameterRequest getParameterRequest);
+
+    CompletableFuture<GetParametersResponse> getParameters(GetParametersRequest getParametersRequest);
+
+    CompletableFuture<GetParametersByPathResponse> getParametersByPath(GetParametersByPathRequest getParametersByPathRequest);
+
+    CompletableFuture<DescribeParametersResponse> describeParameters(DescribeParametersRequest describeParametersRequest);
+}
@@ -0,0 +1,57 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+public final class ParameterStoreFutures
+{
+    private ParameterStoreFutures()
+    {
+    }
+
+    /**
+     * Waits for the future and rethrows its failure as is, instead of wrapped in a {@link CompletionException}.
+     */
+    public static <T> T join(CompletableFuture<T> future)
+    {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits once for every future, then returns their results in the same order. If any of them failed, one of the
+     * failures is rethrown as is.
+     */
+    public static <T> List<T> joinAll(List<CompletableFuture<T>> futures)
+    {
+        join(CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])));
+        return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    /**
+     * @return the actual failure of a future, without the {@link CompletionException} or {@link ExecutionException}
+     *         wrapping it.
+     */
+    public static Throwable unwrap(Throwable failure)
+    {
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,44 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import software.amazon.awssdk.awscore.DefaultAwsResponseMetadata;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+
+/**
+ * Answers made by the engines themselves instead of the Parameter Store, shaped like the ones the client returns.
+ */
+final class ParameterStoreResponses
+{
+    private static final int OK_STATUS_CODE = 200;
+
+    private ParameterStoreResponses()
+    {
+    }
+
+    static CompletableFuture<GetParameterResponse> found(String name, String value, Long version)
+    {
+        GetParameterResponse.Builder builder = GetParameterResponse.builder()
+                                                                   .parameter(Parameter.builder()
+                                                                                       .name(name)
+                                                                                       .value(value)
+                                                                                       .version(version)
+                                                                                       .build());
+        builder.responseMetadata(DefaultAwsResponseMetadata.create(Collections.emptyMap()));
+        builder.sdkHttpResponse(SdkHttpResponse.builder().statusCode(OK_STATUS_CODE).build());
+        return CompletableFuture.completedFuture(builder.build());
+    }
+
+    static <T> CompletableFuture<T> notFound(String name)
+    {
+        CompletableFuture<T> response = new CompletableFuture<>();
+        response.completeExceptionally(ParameterNotFoundException.builder()
+                                                                 .message("Parameter " + name + " not found.")
+                                                                 .build());
+        return response;
+    }
+}
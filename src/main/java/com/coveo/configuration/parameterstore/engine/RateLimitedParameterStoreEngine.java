@@ -0,0 +1,188 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.coveo.configuration.parameterstore.metrics.ParameterStoreMetrics;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersRequest;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersResponse;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+
+/**
+ * Engine making every call through an {@link AdaptiveRateLimiter}. Throttled calls slow the limiter down and are
+ * retried after a decorrelated jitter backoff (a random delay between the base and three times the previous delay,
+ * capped), which spreads the retries of many instances booting at once instead of having them hit the API in waves.
+ *
+ * <p>
+ * Without a scheduler, waits block the calling thread, which suits the blocking engine. With one, calls are delayed on
+ * the scheduler and the calling thread is never blocked.
+ */
+public class RateLimitedParameterStoreEngine implements ParameterStoreEngine
+{
+    // Holds the attempt being made by the thread, read by the engines it calls into, see currentAttempt()
+    private static final ThreadLocal<int[]> attempts = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final ParameterStoreEngine delegate;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final ScheduledExecutorService scheduler;
+    private final int maxRetries;
+    private final long backoffBaseInMillis;
+    private final long backoffCapInMillis;
+    private volatile ParameterStoreMetrics metrics;
+
+    public RateLimitedParameterStoreEngine(ParameterStoreEngine delegate,
+                                           AdaptiveRateLimiter rateLimiter,
+                                           ScheduledExecutorService scheduler,
+                                           int maxRetries,
+                                           long backoffBaseInMillis,
+                                           long backoffCapInMillis)
+    {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+        this.scheduler = scheduler;
+        this.maxRetries = maxRetries;
+        this.backoffBaseInMillis = backoffBaseInMillis;
+        this.backoffCapInMillis = backoffCapInMillis;
+    }
+
+    @Override
+    public CompletableFuture<GetParameterResponse> getParameter(GetParameterRequest getParameterRequest)
+    {
+        return call(() -> delegate.getParameter(getParameterRequest));
+    }
+
+    @Override
+    public CompletableFuture<GetParametersResponse> getParameters(GetParametersRequest getParametersRequest)
+    {
+        return call(() -> delegate.getParameters(getParametersRequest));
+    }
+
+    @Override
+    public CompletableFuture<GetParametersByPathResponse> getParametersByPath(GetParametersByPathRequest getParametersByPathRequest)
+    {
+        return call(() -> delegate.getParametersByPath(getParametersByPathRequest));
+    }
+
+    @Override
+    public CompletableFuture<DescribeParametersResponse> describeParameters(DescribeParametersRequest describeParametersRequest)
+    {
+        return call(() -> delegate.describeParameters(describeParametersRequest));
+    }
+
+    public AdaptiveRateLimiter getRateLimiter()
+    {
+        return rateLimiter;
+    }
+
+    /**
+     * Retries of throttled calls are recorded in the given metrics.
+     */
+    public void setMetrics(ParameterStoreMetrics metrics)
+    {
+        this.metrics = metrics;
+    }
+
+    public static boolean isThrottlingException(Throwable failure)
+    {
+        return failure instanceof AwsServiceException && ((AwsServiceException) failure).isThrottlingException();
+    }
+
+    /**
+     * @return the attempt of the call being made on the calling thread by a rate limited engine, starting at 1, or 1
+     *         when it isn't made by one.
+     */
+    static int currentAttempt()
+    {
+        int attempt = attempts.get()[0];
+        return attempt == 0 ? 1 : attempt;
+    }
+
+    long nextBackoffInMillis(long previousBackoffInMillis)
+    {
+        long upperBound = Math.max(backoffBaseInMillis, previousBackoffInMillis * 3);
+        long backoff = backoffBaseInMillis + ThreadLocalRandom.current().nextLong(upperBound - backoffBaseInMillis + 1);
+        return Math.min(backoffCapInMillis, backoff);
+    }
+
+    private <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> call)
+    {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(call, result, 0, backoffBaseInMillis);
+        return result;
+    }
+
+    private <T> void attempt(Supplier<CompletableFuture<T>> call,
+                             CompletableFuture<T> result,
+                             int retries,
+                             long previousBackoffInMillis)
+    {
+        runAfter(rateLimiter.reserve(), () -> invoke(call, retries + 1).whenComplete((response, failure) -> {
+            if (failure == null) {
+                rateLimiter.onSuccess();
+                result.complete(response);
+                return;
+            }
+
+            Throwable cause = ParameterStoreFutures.unwrap(failure);
+            if (!isThrottlingException(cause)) {
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            rateLimiter.onThrottled();
+            if (retries >= maxRetries) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            long backoffInMillis = nextBackoffInMillis(previousBackoffInMillis);
+            ParameterStoreMetrics currentMetrics = metrics;
+            if (currentMetrics != null) {
+                currentMetrics.recordRetry();
+            }
+            runAfter(TimeUnit.MILLISECONDS.toNanos(backoffInMillis),
+                     () -> attempt(call, result, retries + 1, backoffInMillis));
+        }));
+    }
+
+    private <T> CompletableFuture<T> invoke(Supplier<CompletableFuture<T>> call, int attempt)
+    {
+        int[] currentAttempt = attempts.get();
+        currentAttempt[0] = attempt;
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        } finally {
+            currentAttempt[0] = 0;
+        }
+    }
+
+    private void runAfter(long delayInNanos, Runnable task)
+    {
+        if (delayInNanos <= 0) {
+            task.run();
+        } else if (scheduler != null) {
+            scheduler.schedule(task, delayInNanos, TimeUnit.NANOSECONDS);
+        } else {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delayInNanos);
+            } catch (InterruptedException e) {
+                // The call still goes through, only without waiting for its turn
+                Thread.currentThread().interrupt();
+            }
+            task.run();
+        }
+    }
+}
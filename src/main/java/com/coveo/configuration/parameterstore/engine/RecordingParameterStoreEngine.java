@@ -0,0 +1,87 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import software.amazon.awssdk.services.ssm.model.DescribeParametersRequest;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersResponse;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+
+/**
+ * Engine handing every parameter fetched one at a time to a consumer, on the thread that fetched it, under the name it
+ * was requested with. The parameter is {@code null} when it doesn't exist. Failed calls aren't handed over, and neither
+ * are the other calls, whose results end up in the snapshot of the source.
+ */
+public class RecordingParameterStoreEngine implements ParameterStoreEngine
+{
+    private static final Log logger = LogFactory.getLog(RecordingParameterStoreEngine.class);
+
+    private final ParameterStoreEngine delegate;
+    private final BiConsumer<String, Parameter> resolvedParameterConsumer;
+
+    public RecordingParameterStoreEngine(ParameterStoreEngine delegate,
+                                         BiConsumer<String, Parameter> resolvedParameterConsumer)
+    {
+        this.delegate = delegate;
+        this.resolvedParameterConsumer = resolvedParameterConsumer;
+    }
+
+    @Override
+    public CompletableFuture<GetParameterResponse> getParameter(GetParameterRequest getParameterRequest)
+    {
+        CompletableFuture<GetParameterResponse> getParameterCall;
+        try {
+            getParameterCall = delegate.getParameter(getParameterRequest);
+        } catch (RuntimeException e) {
+            getParameterCall = new CompletableFuture<>();
+            getParameterCall.completeExceptionally(e);
+        }
+        getParameterCall.whenComplete((getParameterResult, failure) -> {
+            String name = getParameterRequest.name();
+            if (failure == null && getParameterResult.parameter() != null
+                    && getParameterResult.parameter().value() != null) {
+                record(name, getParameterResult.parameter().toBuilder().name(name).build());
+            } else if (failure != null && ParameterStoreFutures.unwrap(failure) instanceof ParameterNotFoundException) {
+                record(name, null);
+            }
+        });
+        return getParameterCall;
+    }
+
+    @Override
+    public CompletableFuture<GetParametersResponse> getParameters(GetParametersRequest getParametersRequest)
+    {
+        return delegate.getParameters(getParametersRequest);
+    }
+
+    @Override
+    public CompletableFuture<GetParametersByPathResponse> getParametersByPath(GetParametersByPathRequest getParametersByPathRequest)
+    {
+        return delegate.getParametersByPath(getParametersByPathRequest);
+    }
+
+    @Override
+    public CompletableFuture<DescribeParametersResponse> describeParameters(DescribeParametersRequest describeParametersRequest)
+    {
+        return delegate.describeParameters(describeParametersRequest);
+    }
+
+    private void record(String name, Parameter parameter)
+    {
+        try {
+            resolvedParameterConsumer.accept(name, parameter);
+        } catch (RuntimeException e) {
+            logger.warn("Recording the resolved parameter failed.", e);
+        }
+    }
+}
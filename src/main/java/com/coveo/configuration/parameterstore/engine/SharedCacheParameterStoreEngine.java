@@ -0,0 +1,85 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.coveo.configuration.parameterstore.cache.CachedParameter;
+import com.coveo.configuration.parameterstore.cache.SharedParameterStoreCache;
+
+import software.amazon.awssdk.services.ssm.model.DescribeParametersRequest;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersResponse;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+import software.amazon.awssdk.services.ssm.model.ParameterType;
+
+/**
+ * Engine looking up the parameters fetched one at a time in the {@link SharedParameterStoreCache} of the host before
+ * calling the Parameter Store, and publishing there what it fetched, missing parameters included. The other calls are
+ * left as is: they serve the prefetch and the refresh, which must see the current values.
+ */
+public class SharedCacheParameterStoreEngine implements ParameterStoreEngine
+{
+    private final ParameterStoreEngine delegate;
+    private final SharedParameterStoreCache sharedCache;
+
+    public SharedCacheParameterStoreEngine(ParameterStoreEngine delegate, SharedParameterStoreCache sharedCache)
+    {
+        this.delegate = delegate;
+        this.sharedCache = sharedCache;
+    }
+
+    @Override
+    public CompletableFuture<GetParameterResponse> getParameter(GetParameterRequest getParameterRequest)
+    {
+        String name = getParameterRequest.name();
+        CachedParameter sharedParameter = sharedCache.get(name);
+        if (sharedParameter != null) {
+            return sharedParameter.isFound() ? ParameterStoreResponses.found(name,
+                                                                             sharedParameter.getValue(),
+                                                                             sharedParameter.getVersion())
+                                             : ParameterStoreResponses.notFound(name);
+        }
+
+        CompletableFuture<GetParameterResponse> getParameterCall;
+        try {
+            getParameterCall = delegate.getParameter(getParameterRequest);
+        } catch (RuntimeException e) {
+            getParameterCall = new CompletableFuture<>();
+            getParameterCall.completeExceptionally(e);
+        }
+        return getParameterCall.whenComplete((getParameterResult, failure) -> {
+            if (failure != null) {
+                if (ParameterStoreFutures.unwrap(failure) instanceof ParameterNotFoundException) {
+                    sharedCache.putNotFound(name);
+                }
+            } else if (getParameterResult.parameter() != null && getParameterResult.parameter().value() != null) {
+                sharedCache.putValue(name,
+                                     getParameterResult.parameter().value(),
+                                     getParameterResult.parameter().version(),
+                                     getParameterResult.parameter().type() == ParameterType.SECURE_STRING);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<GetParametersResponse> getParameters(GetParametersRequest getParametersRequest)
+    {
+        return delegate.getParameters(getParametersRequest);
+    }
+
+    @Override
+    public CompletableFuture<GetParametersByPathResponse> getParametersByPath(GetParametersByPathRequest getParametersByPathRequest)
+    {
+        return delegate.getParametersByPath(getParametersByPathRequest);
+    }
+
+    @Override
+    public CompletableFuture<DescribeParametersResponse> describeParameters(DescribeParametersRequest describeParametersRequest)
+    {
+        return delegate.describeParameters(describeParametersRequest);
+    }
+}
@@ -0,0 +1,75 @@
+package com.coveo.configuration.parameterstore.engine;
+
+/**
+ * A call made to the Parameter Store, as seen by the {@link SsmCallListener}s.
+ */
+public class SsmCall
+{
+    private final String operation;
+    private final String key;
+    private final int batchSize;
+    private final String region;
+    private final int attempt;
+
+    public SsmCall(String operation, String key, int batchSize, String region, int attempt)
+    {
+        this.operation = operation;
+        this.key = key;
+        this.batchSize = batchSize;
+        this.region = region;
+        this.attempt = attempt;
+    }
+
+    /**
+     * @return the name of the API called: {@code GetParameter}, {@code GetParameters}, {@code GetParametersByPath} or
+     *         {@code DescribeParameters}.
+     */
+    public String getOperation()
+    {
+        return operation;
+    }
+
+    /**
+     * @return the name of the parameter for {@code GetParameter}, the path for {@code GetParametersByPath}, or
+     *         {@code null} for the calls made for a batch of parameters.
+     */
+    public String getKey()
+    {
+        return key;
+    }
+
+    /**
+     * @return the number of parameter names sent with the call, 1 for the calls made for a single name or path.
+     */
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    /**
+     * @return the region of the client, or the name of the source when there is a single one.
+     */
+    public String getRegion()
+    {
+        return region;
+    }
+
+    /**
+     * @return 1 for the first attempt, incremented each time the rate limiter retries a throttled call.
+     */
+    public int getAttempt()
+    {
+        return attempt;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s(key=%s, batchSize=%d, region=%s, attempt=%d)",
+                             operation,
+                             key,
+                             batchSize,
+                             region,
+                             attempt);
+    }
+}
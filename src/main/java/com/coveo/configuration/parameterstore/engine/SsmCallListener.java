@@ -0,0 +1,28 @@
+package com.coveo.configuration.parameterstore.engine;
+
+/**
+ * Hook called around every call made to the Parameter Store, to report them to a tracer or a profiler for instance.
+ * Implementations are discovered through {@code META-INF/spring.factories} or {@code META-INF/services}, and must have
+ * a no-argument constructor. A single instance of each implementation is shared by every source.
+ *
+ * <p>
+ * The callbacks are made on the thread that made or completed the call, so they must be quick and thread-safe. A
+ * listener that throws doesn't affect the call nor the other listeners.
+ */
+public interface SsmCallListener
+{
+    default void onCallStarted(SsmCall call)
+    {
+    }
+
+    default void onCallEnded(SsmCall call, long durationInNanos)
+    {
+    }
+
+    /**
+     * Called instead of {@link #onCallEnded(SsmCall, long)}, including when the parameter doesn't exist.
+     */
+    default void onCallFailed(SsmCall call, Throwable failure, long durationInNanos)
+    {
+    }
+}
@@ -0,0 +1,59 @@
+package com.coveo.configuration.parameterstore.event;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.BeansException;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBindingPostProcessor;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+
+/**
+ * Binds a {@code @ConfigurationProperties} bean again when a parameter under one of the given paths changes, so that it
+ * picks up the new values without refreshing the whole context. Declare one per bean:
+ *
+ * <pre>
+ * &#64;Bean
+ * public ConfigurationPropertiesRebindingListener databasePropertiesRebinder()
+ * {
+ *     return new ConfigurationPropertiesRebindingListener("databaseProperties", "/prod/my-service/database");
+ * }
+ * </pre>
+ */
+public class ConfigurationPropertiesRebindingListener implements ParameterStoreChangeListener, ApplicationContextAware
+{
+    private final String beanName;
+    private final List<String> paths;
+    private ApplicationContext applicationContext;
+
+    public ConfigurationPropertiesRebindingListener(String beanName, String... paths)
+    {
+        this.beanName = beanName;
+        this.paths = Arrays.asList(paths);
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException
+    {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public boolean isInterestedIn(String parameterName)
+    {
+        return paths.stream().anyMatch(parameterName::startsWith);
+    }
+
+    @Override
+    public void onParametersChanged(List<ParameterChange> changes)
+    {
+        applicationContext.getBean(ConfigurationPropertiesBindingPostProcessor.class)
+                          .postProcessBeforeInitialization(applicationContext.getBean(beanName), beanName);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s(%s)", getClass().getSimpleName(), beanName);
+    }
+}
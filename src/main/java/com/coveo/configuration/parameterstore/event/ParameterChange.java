@@ -0,0 +1,80 @@
+package com.coveo.configuration.parameterstore.event;
+
+import java.util.Objects;
+
+/**
+ * A parameter that was added, updated or removed by a refresh. Only the versions are exposed, never the values, so
+ * changes can be logged safely.
+ */
+public final class ParameterChange
+{
+    public enum Type
+    {
+        ADDED, UPDATED, REMOVED
+    }
+
+    private final String name;
+    private final Type type;
+    private final Long previousVersion;
+    private final Long currentVersion;
+
+    public ParameterChange(String name, Type type, Long previousVersion, Long currentVersion)
+    {
+        this.name = name;
+        this.type = type;
+        this.previousVersion = previousVersion;
+        this.currentVersion = currentVersion;
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public Type getType()
+    {
+        return type;
+    }
+
+    /**
+     * @return the version before the change, or {@code null} if the parameter didn't exist or its version is unknown.
+     */
+    public Long getPreviousVersion()
+    {
+        return previousVersion;
+    }
+
+    /**
+     * @return the version after the change, or {@code null} if the parameter was removed or its version is unknown.
+     */
+    public Long getCurrentVersion()
+    {
+        return currentVersion;
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ParameterChange)) {
+            return false;
+        }
+        ParameterChange that = (ParameterChange) other;
+        return name.equals(that.name) && type == that.type && Objects.equals(previousVersion, that.previousVersion)
+                && Objects.equals(currentVersion, that.currentVersion);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(name, type, previousVersion, currentVersion);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s %s (version %s -> %s)", type, name, previousVersion, currentVersion);
+    }
+}
@@ -0,0 +1,35 @@
+package com.coveo.configuration.parameterstore.event;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published in the application context when a refresh changed some parameters. The source of the event is the
+ * Parameter Store property source that was refreshed.
+ */
+public class ParameterStoreChangeEvent extends ApplicationEvent
+{
+    private static final long serialVersionUID = 1L;
+
+    private final List<ParameterChange> changes;
+
+    public ParameterStoreChangeEvent(Object source, List<ParameterChange> changes)
+    {
+        super(source);
+        this.changes = Collections.unmodifiableList(changes);
+    }
+
+    public List<ParameterChange> getChanges()
+    {
+        return changes;
+    }
+
+    public Set<String> getChangedParameterNames()
+    {
+        return changes.stream().map(ParameterChange::getName).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,25 @@
+package com.coveo.configuration.parameterstore.event;
+
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.PropertySource;
+
+/**
+ * Hands the application context to the Parameter Store property sources so they can publish
+ * {@link ParameterStoreChangeEvent}s, and registers the dispatcher of those events to the
+ * {@link ParameterStoreChangeListener} beans.
+ */
+public class ParameterStoreChangeEventInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext>
+{
+    @Override
+    public void initialize(ConfigurableApplicationContext applicationContext)
+    {
+        for (PropertySource<?> propertySource : applicationContext.getEnvironment().getPropertySources()) {
+            if (propertySource instanceof ApplicationEventPublisherAware) {
+                ((ApplicationEventPublisherAware) propertySource).setApplicationEventPublisher(applicationContext);
+            }
+        }
+        applicationContext.addApplicationListener(new ParameterStoreChangeListenerDispatcher(applicationContext));
+    }
+}
@@ -0,0 +1,18 @@
+package com.coveo.configuration.parameterstore.event;
+
+import java.util.List;
+
+/**
+ * Implemented by beans of the application context that depend on some parameters and need to react when they change,
+ * for instance by rebinding themselves. A listener is only called with the changes it is interested in, and isn't
+ * called at all when none of the changed parameters interest it.
+ */
+public interface ParameterStoreChangeListener
+{
+    /**
+     * @return whether changes to the given parameter should be passed to {@link #onParametersChanged(List)}.
+     */
+    boolean isInterestedIn(String parameterName);
+
+    void onParametersChanged(List<ParameterChange> changes);
+}
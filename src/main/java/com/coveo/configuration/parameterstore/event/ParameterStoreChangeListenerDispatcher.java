@@ -0,0 +1,45 @@
+package com.coveo.configuration.parameterstore.event;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Passes every {@link ParameterStoreChangeEvent} to the {@link ParameterStoreChangeListener} beans interested in the
+ * changed parameters. A failing listener doesn't prevent the others from being called.
+ */
+public class ParameterStoreChangeListenerDispatcher implements ApplicationListener<ParameterStoreChangeEvent>
+{
+    private static final Log logger = LogFactory.getLog(ParameterStoreChangeListenerDispatcher.class);
+
+    private final ListableBeanFactory beanFactory;
+
+    public ParameterStoreChangeListenerDispatcher(ListableBeanFactory beanFactory)
+    {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void onApplicationEvent(ParameterStoreChangeEvent event)
+    {
+        for (ParameterStoreChangeListener listener : beanFactory.getBeansOfType(ParameterStoreChangeListener.class)
+                                                                .values()) {
+            List<ParameterChange> changes = event.getChanges()
+                                                 .stream()
+                                                 .filter(change -> listener.isInterestedIn(change.getName()))
+                                                 .collect(Collectors.toList());
+            if (changes.isEmpty()) {
+                continue;
+            }
+            try {
+                listener.onParametersChanged(changes);
+            } catch (RuntimeException e) {
+                logger.warn(String.format("The listener %s failed to handle the changes %s.", listener, changes), e);
+            }
+        }
+    }
+}
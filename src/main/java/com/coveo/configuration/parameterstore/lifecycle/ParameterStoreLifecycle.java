@@ -0,0 +1,76 @@
+package com.coveo.configuration.parameterstore.lifecycle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Stops what the Parameter Store sources of an environment started in the background (executors, schedulers...) when
+ * its application context is closed, see {@link ParameterStoreLifecycleListener}. Without an application context, as
+ * when sources are built by hand, nothing is stopped and the background threads, which are daemons, die with the JVM.
+ */
+public class ParameterStoreLifecycle
+{
+    private static final Log logger = LogFactory.getLog(ParameterStoreLifecycle.class);
+
+    private static final Map<ConfigurableEnvironment, ParameterStoreLifecycle> lifecycles = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final List<Runnable> closeActions = new ArrayList<>();
+    private boolean closed;
+
+    /**
+     * @return the lifecycle of the given environment, shared by its sources and its listener.
+     */
+    public static ParameterStoreLifecycle forEnvironment(ConfigurableEnvironment environment)
+    {
+        return lifecycles.computeIfAbsent(environment, closedEnvironment -> new ParameterStoreLifecycle());
+    }
+
+    /**
+     * Registers what to run when the environment is closed. Actions run in the reverse order of their registration,
+     * so what was started last is stopped first. An action registered once the environment is closed runs right away.
+     */
+    public void onClose(Runnable closeAction)
+    {
+        synchronized (this) {
+            if (!closed) {
+                closeActions.add(closeAction);
+                return;
+            }
+        }
+        run(closeAction);
+    }
+
+    /**
+     * Runs every registered action once. An action that fails is logged and doesn't prevent the others from running.
+     */
+    public void close()
+    {
+        List<Runnable> actions;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            actions = new ArrayList<>(closeActions);
+            closeActions.clear();
+        }
+        Collections.reverse(actions);
+        actions.forEach(ParameterStoreLifecycle::run);
+    }
+
+    private static void run(Runnable closeAction)
+    {
+        try {
+            closeAction.run();
+        } catch (RuntimeException e) {
+            logger.warn("Stopping a background task of the Parameter Store failed.", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.coveo.configuration.parameterstore.lifecycle;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Closes the {@link ParameterStoreLifecycle} of the environment when its application context is closed. Child contexts
+ * publish their own closing to this listener as well, and are ignored unless they share the environment.
+ */
+public class ParameterStoreLifecycleListener implements ApplicationListener<ContextClosedEvent>
+{
+    private final ConfigurableEnvironment environment;
+
+    public ParameterStoreLifecycleListener(ConfigurableEnvironment environment)
+    {
+        this.environment = environment;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextClosedEvent event)
+    {
+        if (event.getApplicationContext().getEnvironment() == environment) {
+            ParameterStoreLifecycle.forEnvironment(environment).close();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.coveo.configuration.parameterstore.manifest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * The Parameter Store keys referenced by an application, listed at compile time by
+ * {@link ParameterStoreKeyProcessor} in {@value #LOCATION}: one key per line, lines starting with {@code #} being
+ * comments.
+ */
+public final class ParameterStoreKeyManifest
+{
+    public static final String LOCATION = "META-INF/aws-parameter-store-keys";
+
+    private static final Log logger = LogFactory.getLog(ParameterStoreKeyManifest.class);
+    private static final String COMMENT_PREFIX = "#";
+
+    private ParameterStoreKeyManifest()
+    {
+    }
+
+    /**
+     * @return the keys of every manifest visible to the given class loader, one per jar at most. A manifest that can't
+     *         be read is skipped, its keys being looked up one at a time when they are resolved.
+     */
+    public static Set<String> load(ClassLoader classLoader)
+    {
+        Set<String> keys = new LinkedHashSet<>();
+        Enumeration<URL> manifests;
+        try {
+            manifests = classLoader.getResources(LOCATION);
+        } catch (IOException e) {
+            logger.warn(String.format("The manifests '%s' could not be listed.", LOCATION), e);
+            return keys;
+        }
+        while (manifests.hasMoreElements()) {
+            URL manifest = manifests.nextElement();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(manifest.openStream(),
+                                                                                  StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String key = line.trim();
+                    if (!key.isEmpty() && !key.startsWith(COMMENT_PREFIX)) {
+                        keys.add(key);
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn(String.format("The manifest '%s' could not be read.", manifest), e);
+            }
+        }
+        return keys;
+    }
+}
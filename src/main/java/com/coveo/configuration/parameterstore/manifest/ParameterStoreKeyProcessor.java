@@ -0,0 +1,173 @@
+package com.coveo.configuration.parameterstore.manifest;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import com.coveo.configuration.parameterstore.ParameterStorePlaceholderScanner;
+
+/**
+ * Annotation processor writing the {@link ParameterStoreKeyManifest} of the compiled application: the keys referenced
+ * by the placeholders of the {@code @Value} annotations, and of the {@code application} and {@code bootstrap}
+ * properties and YAML files already copied to the class output, at its root or in {@code config/}. Runtime scanning
+ * only sees the property files, so the keys only referenced by annotations would otherwise be fetched one at a time.
+ *
+ * <p>
+ * Build tools copying the resources after the compilation, or to another directory, as Gradle does, can list the
+ * resource directories to scan as well in the {@value #RESOURCE_DIRECTORIES_OPTION} option, separated by commas.
+ *
+ * <p>
+ * It is only registered in the jar with the {@code processor} classifier, which runs it when put on the compiler's
+ * processor path; the main jar doesn't, so depending on this library doesn't run it. It doesn't write anything if no
+ * key is found. With incremental compilation, the manifest only lists the keys of the recompiled classes.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(ParameterStoreKeyProcessor.RESOURCE_DIRECTORIES_OPTION)
+public class ParameterStoreKeyProcessor extends AbstractProcessor
+{
+    public static final String RESOURCE_DIRECTORIES_OPTION = "parameterStore.resourceDirectories";
+
+    private static final String VALUE_ANNOTATION = "org.springframework.beans.factory.annotation.Value";
+    private static final Pattern CONFIGURATION_FILE_PATTERN = Pattern.compile("(application|bootstrap)(-[^.]+)?\\.(properties|yml|yaml)");
+    private static final String[] CONFIGURATION_DIRECTORIES = { "", "config" };
+    // Any file would do, its location is only used to find the class output directory
+    private static final String CLASS_OUTPUT_PROBE = "application.properties";
+
+    private final ParameterStorePlaceholderScanner placeholderScanner = new ParameterStorePlaceholderScanner();
+    private final Set<String> keys = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion()
+    {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment)
+    {
+        TypeElement valueAnnotation = processingEnv.getElementUtils().getTypeElement(VALUE_ANNOTATION);
+        if (valueAnnotation != null) {
+            for (Element element : roundEnvironment.getElementsAnnotatedWith(valueAnnotation)) {
+                scanValueAnnotation(element, valueAnnotation);
+            }
+        }
+
+        if (roundEnvironment.processingOver()) {
+            scanConfigurationFiles();
+            writeManifest();
+        }
+        // Other processors can still process the same annotations
+        return false;
+    }
+
+    private void scanValueAnnotation(Element element, TypeElement valueAnnotation)
+    {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (annotation.getAnnotationType().asElement().equals(valueAnnotation)) {
+                for (AnnotationValue value : annotation.getElementValues().values()) {
+                    if (value.getValue() instanceof String) {
+                        keys.addAll(placeholderScanner.scan((String) value.getValue()));
+                    }
+                }
+            }
+        }
+    }
+
+    private void scanConfigurationFiles()
+    {
+        List<Path> resourceDirectories = new ArrayList<>();
+        try {
+            FileObject probe = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT,
+                                                                    "",
+                                                                    CLASS_OUTPUT_PROBE);
+            resourceDirectories.add(Paths.get(probe.toUri()).getParent());
+        } catch (IOException | RuntimeException e) {
+            // Not compiling to a directory, only the annotations and the listed directories can be scanned
+        }
+        String listedDirectories = processingEnv.getOptions().get(RESOURCE_DIRECTORIES_OPTION);
+        if (listedDirectories != null) {
+            for (String directory : listedDirectories.split(",")) {
+                if (!directory.trim().isEmpty()) {
+                    resourceDirectories.add(Paths.get(directory.trim()));
+                }
+            }
+        }
+
+        for (Path resourceDirectory : resourceDirectories) {
+            for (String directory : CONFIGURATION_DIRECTORIES) {
+                scanConfigurationDirectory(resourceDirectory.resolve(directory));
+            }
+        }
+    }
+
+    private void scanConfigurationDirectory(Path configurationDirectory)
+    {
+        if (!Files.isDirectory(configurationDirectory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(configurationDirectory)) {
+            files.filter(file -> CONFIGURATION_FILE_PATTERN.matcher(file.getFileName().toString()).matches())
+                 .forEach(this::scanConfigurationFile);
+        } catch (IOException e) {
+            warn(String.format("The configuration files in '%s' could not be listed: %s", configurationDirectory, e));
+        }
+    }
+
+    private void scanConfigurationFile(Path file)
+    {
+        try {
+            keys.addAll(placeholderScanner.scan(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            warn(String.format("The configuration file '%s' could not be read: %s", file, e));
+        }
+    }
+
+    private void writeManifest()
+    {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject manifest = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT,
+                                                                          "",
+                                                                          ParameterStoreKeyManifest.LOCATION);
+            try (Writer writer = manifest.openWriter()) {
+                writer.write("# Parameter Store keys referenced by this application, prefetched at boot");
+                writer.write(System.lineSeparator());
+                for (String key : keys) {
+                    writer.write(key);
+                    writer.write(System.lineSeparator());
+                }
+            }
+        } catch (IOException e) {
+            warn(String.format("The manifest '%s' could not be written: %s", ParameterStoreKeyManifest.LOCATION, e));
+        }
+    }
+
+    private void warn(String message)
+    {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message);
+    }
+}
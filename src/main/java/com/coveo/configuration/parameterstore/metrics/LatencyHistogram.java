@@ -0,0 +1,78 @@
+package com.coveo.configuration.parameterstore.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies counted in fixed buckets, from 1 ms to 10 s, so that recording one is a couple of atomic increments and
+ * never allocates. Percentiles are estimated as the upper bound of the bucket they fall in, capped by the highest
+ * latency recorded.
+ */
+public class LatencyHistogram
+{
+    private static final long[] BUCKET_UPPER_BOUNDS_IN_MILLIS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500,
+                                                                   5000, 10000, Long.MAX_VALUE };
+
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_UPPER_BOUNDS_IN_MILLIS.length);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalTimeInNanos = new LongAdder();
+    private final AtomicLong maxInNanos = new AtomicLong();
+
+    public void record(long durationInNanos)
+    {
+        long durationInMillis = TimeUnit.NANOSECONDS.toMillis(durationInNanos);
+        int bucket = 0;
+        while (durationInMillis >= BUCKET_UPPER_BOUNDS_IN_MILLIS[bucket]) {
+            bucket++;
+        }
+        bucketCounts.incrementAndGet(bucket);
+        count.increment();
+        totalTimeInNanos.add(durationInNanos);
+        maxInNanos.accumulateAndGet(durationInNanos, Math::max);
+    }
+
+    public long getCount()
+    {
+        return count.sum();
+    }
+
+    public long getTotalTimeInNanos()
+    {
+        return totalTimeInNanos.sum();
+    }
+
+    public LatencySummary summarize()
+    {
+        long[] counts = new long[bucketCounts.length()];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = bucketCounts.get(i);
+            total += counts[i];
+        }
+        long maxInMillis = TimeUnit.NANOSECONDS.toMillis(maxInNanos.get());
+        return new LatencySummary(total,
+                                  total == 0 ? 0 : totalTimeInNanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1) / total,
+                                  percentile(counts, total, 0.50, maxInMillis),
+                                  percentile(counts, total, 0.95, maxInMillis),
+                                  percentile(counts, total, 0.99, maxInMillis),
+                                  maxInMillis);
+    }
+
+    private static long percentile(long[] counts, long total, double percentile, long maxInMillis)
+    {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(BUCKET_UPPER_BOUNDS_IN_MILLIS[i], maxInMillis);
+            }
+        }
+        return maxInMillis;
+    }
+}
@@ -0,0 +1,74 @@
+package com.coveo.configuration.parameterstore.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Point-in-time view of a {@link LatencyHistogram}, in milliseconds.
+ */
+public class LatencySummary
+{
+    private final long count;
+    private final double meanInMillis;
+    private final long p50InMillis;
+    private final long p95InMillis;
+    private final long p99InMillis;
+    private final long maxInMillis;
+
+    @ConstructorProperties({ "count", "meanInMillis", "p50InMillis", "p95InMillis", "p99InMillis", "maxInMillis" })
+    public LatencySummary(long count,
+                          double meanInMillis,
+                          long p50InMillis,
+                          long p95InMillis,
+                          long p99InMillis,
+                          long maxInMillis)
+    {
+        this.count = count;
+        this.meanInMillis = meanInMillis;
+        this.p50InMillis = p50InMillis;
+        this.p95InMillis = p95InMillis;
+        this.p99InMillis = p99InMillis;
+        this.maxInMillis = maxInMillis;
+    }
+
+    public long getCount()
+    {
+        return count;
+    }
+
+    public double getMeanInMillis()
+    {
+        return meanInMillis;
+    }
+
+    public long getP50InMillis()
+    {
+        return p50InMillis;
+    }
+
+    public long getP95InMillis()
+    {
+        return p95InMillis;
+    }
+
+    public long getP99InMillis()
+    {
+        return p99InMillis;
+    }
+
+    public long getMaxInMillis()
+    {
+        return maxInMillis;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("count=%d, mean=%.1f ms, p50=%d ms, p95=%d ms, p99=%d ms, max=%d ms",
+                             count,
+                             meanInMillis,
+                             p50InMillis,
+                             p95InMillis,
+                             p99InMillis,
+                             maxInMillis);
+    }
+}
@@ -0,0 +1,112 @@
+package com.coveo.configuration.parameterstore.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes {@link ParameterStoreMetrics} as Micrometer meters named {@code aws.parameterstore.*}. Only loaded when
+ * Micrometer is on the classpath.
+ */
+public class MicrometerParameterStoreMetricsBinder implements MeterBinder
+{
+    private static final String PREFIX = "aws.parameterstore.";
+    private static final String[] CIRCUIT_BREAKER_STATES = { "CLOSED", "OPEN", "HALF_OPEN" };
+
+    private final ParameterStoreMetrics metrics;
+
+    public MicrometerParameterStoreMetricsBinder(ParameterStoreMetrics metrics)
+    {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Binds to {@link Metrics#globalRegistry}, which the registries of the application can be added to: the metrics
+     * exist before the application context and its registries do.
+     */
+    static void bindToGlobalRegistry(ParameterStoreMetrics metrics)
+    {
+        new MicrometerParameterStoreMetricsBinder(metrics).bindTo(Metrics.globalRegistry);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        for (String operation : metrics.getCalls().keySet()) {
+            FunctionCounter.builder(PREFIX + "calls", metrics, counted -> counted.getCalls(operation))
+                           .tags("operation", operation)
+                           .description("Calls made to the Parameter Store")
+                           .register(registry);
+        }
+        FunctionCounter.builder(PREFIX + "cache", metrics, ParameterStoreMetrics::getCacheHits)
+                       .tags("result", "hit")
+                       .description("Lookups answered without calling the Parameter Store")
+                       .register(registry);
+        FunctionCounter.builder(PREFIX + "cache", metrics, ParameterStoreMetrics::getCacheMisses)
+                       .tags("result", "miss")
+                       .description("Lookups that called the Parameter Store")
+                       .register(registry);
+        FunctionCounter.builder(PREFIX + "notfound", metrics, ParameterStoreMetrics::getNotFound)
+                       .description("Parameters the Parameter Store answered as missing")
+                       .register(registry);
+        FunctionCounter.builder(PREFIX + "throttles", metrics, ParameterStoreMetrics::getThrottles)
+                       .description("Calls throttled by the Parameter Store")
+                       .register(registry);
+        FunctionCounter.builder(PREFIX + "retries", metrics, ParameterStoreMetrics::getRetries)
+                       .description("Calls retried by the SDK or the rate limiter")
+                       .register(registry);
+        FunctionCounter.builder(PREFIX + "errors", metrics, ParameterStoreMetrics::getErrors)
+                       .description("Calls that failed, throttled ones included and missing parameters excluded")
+                       .register(registry);
+        FunctionCounter.builder(PREFIX + "hedges", metrics, ParameterStoreMetrics::getHedgesIssued)
+                       .tags("result", "issued")
+                       .description("Requests sent to the next region because no region answered within the hedging delay")
+                       .register(registry);
+        FunctionCounter.builder(PREFIX + "hedges", metrics, ParameterStoreMetrics::getHedgesWon)
+                       .tags("result", "won")
+                       .description("Hedged requests that answered first with the value")
+                       .register(registry);
+        TimeGauge.builder(PREFIX + "postprocessing.time",
+                          metrics,
+                          TimeUnit.MILLISECONDS,
+                          ParameterStoreMetrics::getPostProcessingTimeInMillis)
+                 .description("Time spent adding the Parameter Store to the environment")
+                 .register(registry);
+        metrics.addRegionListener(region -> bindLatency(registry, region));
+        metrics.addCircuitBreakerListener(region -> bindCircuitBreaker(registry, region));
+    }
+
+    private void bindLatency(MeterRegistry registry, String region)
+    {
+        LatencyHistogram histogram = metrics.getLatencyHistogram(region);
+        FunctionTimer.builder(PREFIX + "latency",
+                              histogram,
+                              LatencyHistogram::getCount,
+                              LatencyHistogram::getTotalTimeInNanos,
+                              TimeUnit.NANOSECONDS)
+                     .tags("region", region)
+                     .description("Latency of the calls made to the Parameter Store")
+                     .register(registry);
+    }
+
+    /**
+     * One gauge per state, at 1 for the current state of the breaker and 0 for the others.
+     */
+    private void bindCircuitBreaker(MeterRegistry registry, String region)
+    {
+        for (String state : CIRCUIT_BREAKER_STATES) {
+            Gauge.builder(PREFIX + "circuitbreaker.state",
+                          metrics,
+                          published -> state.equals(published.getCircuitBreakerState(region)) ? 1 : 0)
+                 .tags("region", region, "state", state)
+                 .description("State of the circuit breaker protecting the Parameter Store")
+                 .register(registry);
+        }
+    }
+}
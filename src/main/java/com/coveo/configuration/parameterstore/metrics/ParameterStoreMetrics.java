@@ -0,0 +1,310 @@
+package com.coveo.configuration.parameterstore.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Counts the calls made to the Parameter Store and what came of them. Only exists when
+ * {@code awsParameterStoreSource.metrics.enabled} is set: otherwise nothing is recorded and the components that would
+ * record something don't even hold a reference to it.
+ *
+ * <p>
+ * A single instance is shared by every source of the JVM, see {@link #getInstance()}, since it is published through
+ * JMX and, when Micrometer is on the classpath, to its global registry.
+ */
+public class ParameterStoreMetrics implements ParameterStoreMetricsMXBean
+{
+    public static final String OBJECT_NAME = "com.coveo.configuration.parameterstore:type=ParameterStoreMetrics";
+    public static final String GET_PARAMETER = "GetParameter";
+    public static final String GET_PARAMETERS = "GetParameters";
+    public static final String GET_PARAMETERS_BY_PATH = "GetParametersByPath";
+    public static final String DESCRIBE_PARAMETERS = "DescribeParameters";
+
+    private static final Log logger = LogFactory.getLog(ParameterStoreMetrics.class);
+    private static final String MICROMETER_CLASS_NAME = "io.micrometer.core.instrument.MeterRegistry";
+
+    private static volatile ParameterStoreMetrics instance;
+
+    private final Map<String, LongAdder> calls = new LinkedHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder notFound = new LongAdder();
+    private final LongAdder throttles = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder hedgesIssued = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+    private final LongAdder postProcessingTimeInNanos = new LongAdder();
+    private final ConcurrentMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> regionListeners = new CopyOnWriteArrayList<>();
+    private final ConcurrentMap<String, Supplier<String>> circuitBreakerStates = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> circuitBreakerListeners = new CopyOnWriteArrayList<>();
+
+    public ParameterStoreMetrics()
+    {
+        for (String operation : new String[] { GET_PARAMETER, GET_PARAMETERS, GET_PARAMETERS_BY_PATH,
+                                               DESCRIBE_PARAMETERS }) {
+            calls.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * @return the instance of the JVM, registered with the platform MBean server and bound to Micrometer's global
+     *         registry on first use.
+     */
+    public static ParameterStoreMetrics getInstance()
+    {
+        ParameterStoreMetrics metrics = instance;
+        if (metrics == null) {
+            synchronized (ParameterStoreMetrics.class) {
+                metrics = instance;
+                if (metrics == null) {
+                    metrics = new ParameterStoreMetrics();
+                    publish(metrics);
+                    instance = metrics;
+                }
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * @param operation one of {@link #GET_PARAMETER}, {@link #GET_PARAMETERS}, {@link #GET_PARAMETERS_BY_PATH} or
+     *            {@link #DESCRIBE_PARAMETERS}.
+     */
+    public void recordCall(String operation, String region, long durationInNanos)
+    {
+        calls.get(operation).increment();
+        LatencyHistogram histogram = latencies.get(region);
+        if (histogram == null) {
+            histogram = addRegion(region);
+        }
+        histogram.record(durationInNanos);
+    }
+
+    public void recordCacheHit()
+    {
+        cacheHits.increment();
+    }
+
+    public void recordCacheMiss()
+    {
+        cacheMisses.increment();
+    }
+
+    public void recordNotFound(int count)
+    {
+        notFound.add(count);
+    }
+
+    public void recordThrottle()
+    {
+        throttles.increment();
+    }
+
+    public void recordRetry()
+    {
+        retries.increment();
+    }
+
+    public void recordError()
+    {
+        errors.increment();
+    }
+
+    public void recordHedgeIssued()
+    {
+        hedgesIssued.increment();
+    }
+
+    public void recordHedgeWon()
+    {
+        hedgesWon.increment();
+    }
+
+    public void recordPostProcessing(long durationInNanos)
+    {
+        postProcessingTimeInNanos.add(durationInNanos);
+    }
+
+    /**
+     * The listener is told about every region calls were made to, now and when calls are made to a new one.
+     */
+    public void addRegionListener(Consumer<String> regionListener)
+    {
+        regionListeners.add(regionListener);
+        latencies.keySet().forEach(regionListener);
+    }
+
+    /**
+     * Publishes the state of the circuit breaker of a region. The breaker of the last source built for the region
+     * replaces the previous one.
+     *
+     * @param state the name of the current state of the breaker.
+     */
+    public void registerCircuitBreaker(String region, Supplier<String> state)
+    {
+        if (circuitBreakerStates.put(region, state) == null) {
+            for (Consumer<String> circuitBreakerListener : circuitBreakerListeners) {
+                circuitBreakerListener.accept(region);
+            }
+        }
+    }
+
+    /**
+     * The listener is told about every region a circuit breaker is registered for, now and when one is registered for a
+     * new region.
+     */
+    public void addCircuitBreakerListener(Consumer<String> circuitBreakerListener)
+    {
+        circuitBreakerListeners.add(circuitBreakerListener);
+        circuitBreakerStates.keySet().forEach(circuitBreakerListener);
+    }
+
+    /**
+     * @return the current state of the circuit breaker of the region, or null if it has none.
+     */
+    public String getCircuitBreakerState(String region)
+    {
+        Supplier<String> state = circuitBreakerStates.get(region);
+        return state == null ? null : state.get();
+    }
+
+    public LatencyHistogram getLatencyHistogram(String region)
+    {
+        return latencies.get(region);
+    }
+
+    public long getCalls(String operation)
+    {
+        LongAdder operationCalls = calls.get(operation);
+        return operationCalls == null ? 0 : operationCalls.sum();
+    }
+
+    @Override
+    public Map<String, Long> getCalls()
+    {
+        Map<String, Long> callCounts = new LinkedHashMap<>();
+        calls.forEach((operation, operationCalls) -> callCounts.put(operation, operationCalls.sum()));
+        return callCounts;
+    }
+
+    @Override
+    public long getCacheHits()
+    {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getCacheMisses()
+    {
+        return cacheMisses.sum();
+    }
+
+    @Override
+    public long getNotFound()
+    {
+        return notFound.sum();
+    }
+
+    @Override
+    public long getThrottles()
+    {
+        return throttles.sum();
+    }
+
+    @Override
+    public long getRetries()
+    {
+        return retries.sum();
+    }
+
+    @Override
+    public long getErrors()
+    {
+        return errors.sum();
+    }
+
+    @Override
+    public long getHedgesIssued()
+    {
+        return hedgesIssued.sum();
+    }
+
+    @Override
+    public long getHedgesWon()
+    {
+        return hedgesWon.sum();
+    }
+
+    @Override
+    public long getPostProcessingTimeInMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(postProcessingTimeInNanos.sum());
+    }
+
+    @Override
+    public Map<String, LatencySummary> getLatencies()
+    {
+        Map<String, LatencySummary> summaries = new TreeMap<>();
+        latencies.forEach((region, histogram) -> summaries.put(region, histogram.summarize()));
+        return summaries;
+    }
+
+    @Override
+    public Map<String, String> getCircuitBreakerStates()
+    {
+        Map<String, String> states = new TreeMap<>();
+        circuitBreakerStates.forEach((region, state) -> states.put(region, state.get()));
+        return states;
+    }
+
+    private synchronized LatencyHistogram addRegion(String region)
+    {
+        LatencyHistogram histogram = latencies.get(region);
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            latencies.put(region, histogram);
+            for (Consumer<String> regionListener : regionListeners) {
+                regionListener.accept(region);
+            }
+        }
+        return histogram;
+    }
+
+    private static void publish(ParameterStoreMetrics metrics)
+    {
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(metrics, objectName);
+        } catch (JMException | RuntimeException e) {
+            logger.warn("The Parameter Store metrics could not be registered with JMX.", e);
+        }
+
+        if (ClassUtils.isPresent(MICROMETER_CLASS_NAME, ParameterStoreMetrics.class.getClassLoader())) {
+            MicrometerParameterStoreMetricsBinder.bindToGlobalRegistry(metrics);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.coveo.configuration.parameterstore.metrics;
+
+import java.util.Map;
+
+/**
+ * What {@link ParameterStoreMetrics} exposes through JMX, under
+ * {@value ParameterStoreMetrics#OBJECT_NAME}.
+ */
+public interface ParameterStoreMetricsMXBean
+{
+    /**
+     * @return the number of calls made to each API ({@code GetParameter}, {@code GetParameters}...). A call retried by
+     *         the rate limiter counts once per attempt, while the retries made by the SDK are only counted by
+     *         {@link #getRetries()}.
+     */
+    Map<String, Long> getCalls();
+
+    long getCacheHits();
+
+    long getCacheMisses();
+
+    long getNotFound();
+
+    long getThrottles();
+
+    long getRetries();
+
+    long getErrors();
+
+    /**
+     * @return the number of requests sent to the next region because no region answered within the hedging delay,
+     *         with the hedged multi-region support.
+     */
+    long getHedgesIssued();
+
+    /**
+     * @return the number of hedges whose region answered first with the value.
+     */
+    long getHedgesWon();
+
+    long getPostProcessingTimeInMillis();
+
+    /**
+     * @return the latencies of the calls, by region.
+     */
+    Map<String, LatencySummary> getLatencies();
+
+    /**
+     * @return the state of the circuit breaker of each region ({@code CLOSED}, {@code OPEN} or {@code HALF_OPEN}), with
+     *         the circuit breaker enabled.
+     */
+    Map<String, String> getCircuitBreakerStates();
+}
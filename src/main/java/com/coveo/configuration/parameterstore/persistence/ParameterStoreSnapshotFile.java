@@ -0,0 +1,252 @@
+package com.coveo.configuration.parameterstore.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.coveo.configuration.parameterstore.cache.ParameterStoreSnapshot;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+
+/**
+ * A {@link ParameterStoreSnapshot} saved to disk, encrypted with AES-GCM so that the decrypted values of the
+ * parameters never reach the disk in clear, and so that a file that was tampered with is rejected. The file is
+ * replaced atomically, so a reader never sees a partially written snapshot.
+ */
+public class ParameterStoreSnapshotFile
+{
+    private static final Log logger = LogFactory.getLog(ParameterStoreSnapshotFile.class);
+
+    private static final int FORMAT_VERSION = 1;
+    private static final byte[] MAGIC = { 'P', 'S', 'S', FORMAT_VERSION };
+    private static final String CIPHER_TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH_IN_BYTES = 12;
+    private static final int TAG_LENGTH_IN_BITS = 128;
+    private static final long NO_VALUE = -1L;
+
+    private final Path path;
+    private final SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+
+    public ParameterStoreSnapshotFile(Path path, SecretKey key)
+    {
+        this.path = path;
+        this.key = key;
+    }
+
+    public Path getPath()
+    {
+        return path;
+    }
+
+    /**
+     * @return the saved snapshot, or {@code null} if there is no file or it can't be read or decrypted.
+     */
+    public SavedSnapshot read()
+    {
+        try {
+            byte[] content = Files.readAllBytes(path);
+            if (content.length < MAGIC.length + IV_LENGTH_IN_BYTES
+                    || !Arrays.equals(Arrays.copyOf(content, MAGIC.length), MAGIC)) {
+                logger.warn(String.format("The snapshot file '%s' isn't a snapshot of this version, it is ignored.",
+                                          path));
+                return null;
+            }
+
+            Cipher cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE,
+                        key,
+                        new GCMParameterSpec(TAG_LENGTH_IN_BITS, content, MAGIC.length, IV_LENGTH_IN_BYTES));
+            cipher.updateAAD(MAGIC);
+            byte[] payload = cipher.doFinal(content,
+                                            MAGIC.length + IV_LENGTH_IN_BYTES,
+                                            content.length - MAGIC.length - IV_LENGTH_IN_BYTES);
+            return deserialize(payload);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | GeneralSecurityException e) {
+            logger.warn(String.format("The snapshot file '%s' can't be read, it is ignored.", path), e);
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the file with the given snapshot. Failures are logged, since the snapshot is only an optimization.
+     */
+    public void write(ParameterStoreSnapshot snapshot, Instant savedAt)
+    {
+        Path temporaryFile = null;
+        try {
+            byte[] iv = new byte[IV_LENGTH_IN_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(CIPHER_TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_IN_BITS, iv));
+            cipher.updateAAD(MAGIC);
+            byte[] encryptedPayload = cipher.doFinal(serialize(snapshot, savedAt));
+
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            temporaryFile = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            restrictToOwner(temporaryFile);
+            try (ByteArrayOutputStream content = new ByteArrayOutputStream()) {
+                content.write(MAGIC);
+                content.write(iv);
+                content.write(encryptedPayload);
+                Files.write(temporaryFile, content.toByteArray());
+            }
+            Files.move(temporaryFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | GeneralSecurityException e) {
+            logger.warn(String.format("The snapshot file '%s' can't be written.", path), e);
+            deleteQuietly(temporaryFile);
+        }
+    }
+
+    private void restrictToOwner(Path file) throws IOException
+    {
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system, the permissions of the directory apply
+        }
+    }
+
+    private void deleteQuietly(Path file)
+    {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.debug(String.format("The temporary snapshot file '%s' can't be deleted.", file), e);
+        }
+    }
+
+    private static byte[] serialize(ParameterStoreSnapshot snapshot, Instant savedAt) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeLong(savedAt.toEpochMilli());
+            output.writeInt(snapshot.getPaths().size());
+            for (String snapshotPath : snapshot.getPaths()) {
+                output.writeUTF(snapshotPath);
+            }
+            output.writeInt(snapshot.getParameters().size());
+            for (Parameter parameter : snapshot.getParameters().values()) {
+                output.writeUTF(parameter.name());
+                writeString(output, parameter.value());
+                writeString(output, parameter.typeAsString());
+                output.writeLong(parameter.version() == null ? NO_VALUE : parameter.version());
+                output.writeLong(parameter.lastModifiedDate() == null ? NO_VALUE
+                                                                      : parameter.lastModifiedDate().toEpochMilli());
+            }
+            output.writeInt(snapshot.getMissingParameterNames().size());
+            for (String missingParameterName : snapshot.getMissingParameterNames()) {
+                output.writeUTF(missingParameterName);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static SavedSnapshot deserialize(byte[] payload) throws IOException
+    {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+            Instant savedAt = Instant.ofEpochMilli(input.readLong());
+            List<String> paths = new ArrayList<>();
+            for (int i = input.readInt(); i > 0; i--) {
+                paths.add(input.readUTF());
+            }
+            List<Parameter> parameters = new ArrayList<>();
+            for (int i = input.readInt(); i > 0; i--) {
+                Parameter.Builder parameter = Parameter.builder().name(input.readUTF()).value(readString(input));
+                String type = readString(input);
+                if (type != null) {
+                    parameter.type(type);
+                }
+                long version = input.readLong();
+                if (version != NO_VALUE) {
+                    parameter.version(version);
+                }
+                long lastModifiedDate = input.readLong();
+                if (lastModifiedDate != NO_VALUE) {
+                    parameter.lastModifiedDate(Instant.ofEpochMilli(lastModifiedDate));
+                }
+                parameters.add(parameter.build());
+            }
+            List<String> missingParameterNames = new ArrayList<>();
+            for (int i = input.readInt(); i > 0; i--) {
+                missingParameterNames.add(input.readUTF());
+            }
+            return new SavedSnapshot(ParameterStoreSnapshot.EMPTY.withPaths(paths, parameters)
+                                                                 .withParameters(Collections.emptyList(),
+                                                                                 missingParameterNames),
+                                     savedAt);
+        }
+    }
+
+    // Values can be longer than what writeUTF supports
+    private static void writeString(DataOutputStream output, String value) throws IOException
+    {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException
+    {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static final class SavedSnapshot
+    {
+        private final ParameterStoreSnapshot snapshot;
+        private final Instant savedAt;
+
+        SavedSnapshot(ParameterStoreSnapshot snapshot, Instant savedAt)
+        {
+            this.snapshot = snapshot;
+            this.savedAt = savedAt;
+        }
+
+        public ParameterStoreSnapshot getSnapshot()
+        {
+            return snapshot;
+        }
+
+        public Instant getSavedAt()
+        {
+            return savedAt;
+        }
+    }
+}
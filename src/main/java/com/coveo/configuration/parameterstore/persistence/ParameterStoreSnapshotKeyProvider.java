@@ -0,0 +1,15 @@
+package com.coveo.configuration.parameterstore.persistence;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * Provides the AES key the snapshot file, or the values of the shared cache, are encrypted with. Implementations must
+ * have a public no-argument constructor to be set with the {@code awsParameterStoreSource.snapshotFile.keyProvider} or
+ * {@code awsParameterStoreSource.sharedCache.keyProvider} property.
+ */
+public interface ParameterStoreSnapshotKeyProvider
+{
+    SecretKey getKey(Environment environment);
+}
@@ -0,0 +1,117 @@
+package com.coveo.configuration.parameterstore.persistence;
+
+import java.time.Clock;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import com.coveo.configuration.parameterstore.cache.ParameterStoreSnapshot;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+
+/**
+ * Saves the snapshots it is given to a {@link ParameterStoreSnapshotFile} in the background, along with the parameters
+ * resolved one at a time that aren't part of them. Parameters are often fetched one after the other, at boot for
+ * example, so what is given within the delay is coalesced and only the latest state is written.
+ */
+public class ParameterStoreSnapshotWriter implements Consumer<ParameterStoreSnapshot>
+{
+    private final ParameterStoreSnapshotFile snapshotFile;
+    private final ScheduledExecutorService scheduler;
+    private final long delayInMillis;
+    private final Clock clock;
+    private final AtomicReference<ParameterStoreSnapshot> latestSnapshot = new AtomicReference<>(ParameterStoreSnapshot.EMPTY);
+    private final Map<String, Parameter> resolvedParameters = new HashMap<>();
+    private final Set<String> missingParameterNames = new HashSet<>();
+    private final AtomicBoolean writePending = new AtomicBoolean();
+    private volatile boolean closed;
+
+    public ParameterStoreSnapshotWriter(ParameterStoreSnapshotFile snapshotFile,
+                                        ScheduledExecutorService scheduler,
+                                        long delayInMillis)
+    {
+        this(snapshotFile, scheduler, delayInMillis, Clock.systemUTC());
+    }
+
+    ParameterStoreSnapshotWriter(ParameterStoreSnapshotFile snapshotFile,
+                                 ScheduledExecutorService scheduler,
+                                 long delayInMillis,
+                                 Clock clock)
+    {
+        this.snapshotFile = snapshotFile;
+        this.scheduler = scheduler;
+        this.delayInMillis = delayInMillis;
+        this.clock = clock;
+    }
+
+    @Override
+    public void accept(ParameterStoreSnapshot snapshot)
+    {
+        latestSnapshot.set(snapshot);
+        scheduleWrite();
+    }
+
+    /**
+     * Saves a parameter resolved one at a time along with the snapshots, or remembers it as missing if it is
+     * {@code null}.
+     */
+    public void acceptResolved(String propertyName, Parameter parameter)
+    {
+        synchronized (resolvedParameters) {
+            if (parameter == null) {
+                resolvedParameters.remove(propertyName);
+                missingParameterNames.add(propertyName);
+            } else {
+                resolvedParameters.put(propertyName, parameter);
+                missingParameterNames.remove(propertyName);
+            }
+        }
+        scheduleWrite();
+    }
+
+    /**
+     * Writes what is pending right away, waiting for a write in progress, and shuts the scheduler down. What is given
+     * afterwards is no longer saved.
+     */
+    public void close()
+    {
+        closed = true;
+        writePendingSnapshot();
+        scheduler.shutdown();
+    }
+
+    private void scheduleWrite()
+    {
+        if (!closed && writePending.compareAndSet(false, true)) {
+            try {
+                scheduler.schedule(this::writePendingSnapshot, delayInMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Closed in the meantime, what is pending was already written
+                writePending.set(false);
+            }
+        }
+    }
+
+    synchronized void writePendingSnapshot()
+    {
+        if (!writePending.getAndSet(false)) {
+            return;
+        }
+        ParameterStoreSnapshot snapshot = latestSnapshot.get();
+        synchronized (resolvedParameters) {
+            if (!resolvedParameters.isEmpty() || !missingParameterNames.isEmpty()) {
+                // What the snapshot holds wins, it was fetched along with the rest of it
+                snapshot = snapshot.withAdditionsOf(ParameterStoreSnapshot.EMPTY.withParameters(resolvedParameters.values(),
+                                                                                                missingParameterNames),
+                                                    snapshot);
+            }
+        }
+        snapshotFile.write(snapshot, clock.instant());
+    }
+}
@@ -0,0 +1,48 @@
+package com.coveo.configuration.parameterstore.persistence;
+
+import java.util.Base64;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.core.env.Environment;
+
+import com.coveo.configuration.parameterstore.ParameterStorePropertySourceConfigurationProperties;
+
+/**
+ * Reads the key, encoded in base64, from a property, by default {@code awsParameterStoreSource.snapshotFile.key}. The
+ * property can be given through an environment variable or a system property rather than a file.
+ */
+public class PropertyParameterStoreSnapshotKeyProvider implements ParameterStoreSnapshotKeyProvider
+{
+    private static final String KEY_ALGORITHM = "AES";
+
+    private final String keyPropertyName;
+
+    public PropertyParameterStoreSnapshotKeyProvider()
+    {
+        this(ParameterStorePropertySourceConfigurationProperties.SNAPSHOT_FILE_KEY);
+    }
+
+    public PropertyParameterStoreSnapshotKeyProvider(String keyPropertyName)
+    {
+        this.keyPropertyName = keyPropertyName;
+    }
+
+    @Override
+    public SecretKey getKey(Environment environment)
+    {
+        String key = environment.getProperty(keyPropertyName);
+        if (key == null) {
+            throw new IllegalArgumentException(String.format("The property '%s' must be set to encrypt the parameters.",
+                                                             keyPropertyName));
+        }
+
+        byte[] keyBytes = Base64.getDecoder().decode(key);
+        if (keyBytes.length != 16 && keyBytes.length != 24 && keyBytes.length != 32) {
+            throw new IllegalArgumentException(String.format("The property '%s' must be a 128, 192 or 256 bits key encoded in base64.",
+                                                             keyPropertyName));
+        }
+        return new SecretKeySpec(keyBytes, KEY_ALGORITHM);
+    }
+}
@@ -0,0 +1,20 @@
+package com.coveo.configuration.parameterstore.persistence;
+
+/**
+ * What to do at boot with a snapshot file older than its maximum age.
+ */
+public enum StaleSnapshotPolicy
+{
+    /**
+     * Serve it anyway while it is fetched again in the background, like a snapshot that isn't stale.
+     */
+    ACCEPT,
+    /**
+     * Fetch the parameters at boot, and only serve the snapshot if the Parameter Store can't be reached.
+     */
+    FALLBACK,
+    /**
+     * Ignore it.
+     */
+    REJECT
+}
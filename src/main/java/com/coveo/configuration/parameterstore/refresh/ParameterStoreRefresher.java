@@ -0,0 +1,95 @@
+package com.coveo.configuration.parameterstore.refresh;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.coveo.configuration.parameterstore.ParameterStoreSource;
+import com.coveo.configuration.parameterstore.exception.ParameterStoreError;
+
+/**
+ * Periodically refreshes the snapshot of a {@link ParameterStoreSource} on the given scheduler, so that rotated values
+ * are picked up without restarting the application and without lookups ever waiting on the Parameter Store. A random
+ * jitter is added to every interval so that a fleet started at the same time doesn't refresh in lockstep. A failed
+ * refresh keeps the previous snapshot and is retried at the next interval. The batches of parameters are fetched on
+ * the given fetch executor, which must not queue them on the scheduler itself. In incremental mode, only the
+ * parameters whose version changed are fetched again.
+ */
+public class ParameterStoreRefresher
+{
+    private static final Log logger = LogFactory.getLog(ParameterStoreRefresher.class);
+
+    private final ParameterStoreSource parameterStoreSource;
+    private final ScheduledExecutorService scheduler;
+    private final Executor fetchExecutor;
+    private final long intervalInMillis;
+    private final long jitterInMillis;
+    private final boolean incremental;
+
+    private volatile boolean stopped;
+    private volatile ScheduledFuture<?> nextRefresh;
+
+    public ParameterStoreRefresher(ParameterStoreSource parameterStoreSource,
+                                   ScheduledExecutorService scheduler,
+                                   Executor fetchExecutor,
+                                   long intervalInMillis,
+                                   long jitterInMillis,
+                                   boolean incremental)
+    {
+        this.parameterStoreSource = parameterStoreSource;
+        this.scheduler = scheduler;
+        this.fetchExecutor = fetchExecutor;
+        this.intervalInMillis = intervalInMillis;
+        this.jitterInMillis = jitterInMillis;
+        this.incremental = incremental;
+    }
+
+    public void start()
+    {
+        scheduleNextRefresh();
+    }
+
+    public void stop()
+    {
+        stopped = true;
+        ScheduledFuture<?> refresh = nextRefresh;
+        if (refresh != null) {
+            refresh.cancel(false);
+        }
+    }
+
+    void refresh()
+    {
+        try {
+            if (incremental) {
+                parameterStoreSource.refreshChanged(fetchExecutor);
+            } else {
+                parameterStoreSource.refresh(fetchExecutor);
+            }
+        } catch (RuntimeException | ParameterStoreError e) {
+            logger.warn("Refreshing the parameters from the Parameter Store failed, the previous values are kept.", e);
+        } finally {
+            scheduleNextRefresh();
+        }
+    }
+
+    long getNextDelayInMillis()
+    {
+        if (jitterInMillis <= 0) {
+            return intervalInMillis;
+        }
+        return intervalInMillis + ThreadLocalRandom.current().nextLong(jitterInMillis + 1);
+    }
+
+    private void scheduleNextRefresh()
+    {
+        if (!stopped) {
+            nextRefresh = scheduler.schedule(this::refresh, getNextDelayInMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.coveo.configuration.parameterstore.registry;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.coveo.configuration.parameterstore.cache.ParameterStoreCache;
+import com.coveo.configuration.parameterstore.cache.ParameterStoreSnapshot;
+
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+/**
+ * Shares the clients, the caches and the prefetched parameters of the sources between the application contexts of the
+ * JVM, such as the bootstrap and main contexts of Spring Cloud or the contexts restarted by devtools, which all run the
+ * post processor. Only used when {@code awsParameterStoreSource.reuse.enabled} is set.
+ *
+ * <p>
+ * Entries are keyed by what tells the Parameter Stores apart (region, endpoint and the access key the credentials
+ * resolve to), along with the client settings for the clients. A client outlives the context that built it since a
+ * later context may still use it, so clients are closed when the JVM shuts down, or by {@link #shutdown()}.
+ */
+public class ParameterStoreProcessRegistry
+{
+    private static final Log logger = LogFactory.getLog(ParameterStoreProcessRegistry.class);
+
+    private static final String SHUTDOWN_THREAD_NAME = "parameter-store-registry-shutdown";
+
+    private static volatile ParameterStoreProcessRegistry instance;
+
+    private final ConcurrentMap<String, SdkAutoCloseable> clients = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ParameterStoreCache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PublishedSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public ParameterStoreProcessRegistry()
+    {
+        this(Clock.systemUTC());
+    }
+
+    ParameterStoreProcessRegistry(Clock clock)
+    {
+        this.clock = clock;
+    }
+
+    /**
+     * @return the registry of the JVM, which closes its clients when the JVM shuts down.
+     */
+    public static ParameterStoreProcessRegistry getInstance()
+    {
+        if (instance == null) {
+            synchronized (ParameterStoreProcessRegistry.class) {
+                if (instance == null) {
+                    ParameterStoreProcessRegistry registry = new ParameterStoreProcessRegistry();
+                    Runtime.getRuntime().addShutdownHook(new Thread(registry::shutdown, SHUTDOWN_THREAD_NAME));
+                    instance = registry;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @return the client registered under the given key, built by the given factory if there is none yet.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends SdkAutoCloseable> T getClient(String key, Supplier<T> clientFactory)
+    {
+        return (T) clients.computeIfAbsent(key, clientKey -> {
+            logger.debug(String.format("The Parameter Store client '%s' is shared by the application contexts.",
+                                       clientKey));
+            return clientFactory.get();
+        });
+    }
+
+    /**
+     * @return the cache registered under the given key, built by the given factory if there is none yet. Its entries
+     *         expire as they do in a single context, so the shared parameters are revalidated the same way.
+     */
+    public ParameterStoreCache getCache(String key, Supplier<ParameterStoreCache> cacheFactory)
+    {
+        return caches.computeIfAbsent(key, cacheKey -> cacheFactory.get());
+    }
+
+    /**
+     * @return the latest snapshot published under the given key, or null if there is none or it was published more
+     *         than {@code maxAgeInMillis} ago.
+     */
+    public ParameterStoreSnapshot getSnapshot(String key, long maxAgeInMillis)
+    {
+        PublishedSnapshot publishedSnapshot = snapshots.get(key);
+        if (publishedSnapshot == null
+                || publishedSnapshot.publishedAt.plusMillis(maxAgeInMillis).isBefore(clock.instant())) {
+            return null;
+        }
+        return publishedSnapshot.snapshot;
+    }
+
+    public void putSnapshot(String key, ParameterStoreSnapshot snapshot)
+    {
+        snapshots.put(key, new PublishedSnapshot(snapshot, clock.instant()));
+    }
+
+    /**
+     * Closes every client and forgets the caches and the snapshots. Clients asked for afterwards are built again.
+     */
+    public void shutdown()
+    {
+        caches.clear();
+        snapshots.clear();
+        Iterator<SdkAutoCloseable> iterator = clients.values().iterator();
+        while (iterator.hasNext()) {
+            SdkAutoCloseable client = iterator.next();
+            iterator.remove();
+            try {
+                client.close();
+            } catch (RuntimeException e) {
+                logger.warn("Closing a shared Parameter Store client failed.", e);
+            }
+        }
+    }
+
+    private static class PublishedSnapshot
+    {
+        private final ParameterStoreSnapshot snapshot;
+        private final Instant publishedAt;
+
+        private PublishedSnapshot(ParameterStoreSnapshot snapshot, Instant publishedAt)
+        {
+            this.snapshot = snapshot;
+            this.publishedAt = publishedAt;
+        }
+    }
+}
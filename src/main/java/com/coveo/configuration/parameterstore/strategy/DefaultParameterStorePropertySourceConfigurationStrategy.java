@@ -1,11 +1,12 @@
 package com.coveo.configuration.parameterstore.strategy;
 
-import com.coveo.configuration.parameterstore.ParameterStorePropertySource;
 import com.coveo.configuration.parameterstore.ParameterStorePropertySourceConfigurationProperties;
 import com.coveo.configuration.parameterstore.ParameterStoreSource;
+import com.coveo.configuration.parameterstore.ParameterStoreSourceFactory;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import software.amazon.awssdk.awscore.client.builder.AwsClientBuilder;
 import software.amazon.awssdk.regions.providers.AwsRegionProviderChain;
-import software.amazon.awssdk.services.ssm.SsmClient;
 import software.amazon.awssdk.services.ssm.SsmClientBuilder;
 
 import java.net.URI;
@@ -17,6 +18,7 @@ public class DefaultParameterStorePropertySourceConfigurationStrategy
     private static final String PARAMETER_STORE_PROPERTY_SOURCE_NAME = "AWSParameterStorePropertySource";
 
     private AwsRegionProviderChain awsRegionProviderChain;
+    private ParameterStoreSourceFactory parameterStoreSourceFactory = new ParameterStoreSourceFactory();
 
     public DefaultParameterStorePropertySourceConfigurationStrategy(AwsRegionProviderChain awsRegionProviderChain)
     {
@@ -30,26 +32,31 @@ public class DefaultParameterStorePropertySourceConfigurationStrategy
                                                    Boolean.class,
                                                    Boolean.FALSE);
         environment.getPropertySources()
-                   .addFirst(buildParameterStorePropertySource(buildSSMClient(environment, ssmClientBuilder),
-                                                               haltBoot));
+                   .addFirst(buildParameterStorePropertySource(environment, ssmClientBuilder, haltBoot));
     }
 
-    private ParameterStorePropertySource buildParameterStorePropertySource(SsmClient ssmClient, boolean haltBoot)
+    private PropertySource<ParameterStoreSource> buildParameterStorePropertySource(ConfigurableEnvironment environment,
+                                                                                   SsmClientBuilder ssmClientBuilder,
+                                                                                   boolean haltBoot)
     {
-        return new ParameterStorePropertySource(PARAMETER_STORE_PROPERTY_SOURCE_NAME,
-                                                new ParameterStoreSource(ssmClient, haltBoot));
+        return parameterStoreSourceFactory.createParameterStorePropertySource(environment,
+                                                                              PARAMETER_STORE_PROPERTY_SOURCE_NAME,
+                                                                              parameterStoreSourceFactory.createParameterStoreSource(environment,
+                                                                                                                                     ssmClientBuilder,
+                                                                                                                                     clientBuilder -> configureSSMClient(environment,
+                                                                                                                                                                         clientBuilder),
+                                                                                                                                     haltBoot));
     }
 
-    private SsmClient buildSSMClient(ConfigurableEnvironment environment, SsmClientBuilder ssmClientBuilder)
+    private void configureSSMClient(ConfigurableEnvironment environment, AwsClientBuilder<?, ?> clientBuilder)
     {
         if (hasCustomEndpoint(environment)) {
             try {
-                return ssmClientBuilder.endpointOverride(new URI(getCustomEndpoint(environment))).build();
+                clientBuilder.endpointOverride(new URI(getCustomEndpoint(environment)));
             } catch (URISyntaxException e) {
                 e.printStackTrace();
             }
         }
-        return ssmClientBuilder.build();
     }
 
     private boolean hasCustomEndpoint(ConfigurableEnvironment environment)
@@ -1,22 +1,41 @@
 package com.coveo.configuration.parameterstore.strategy;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.CollectionUtils;
 
-import com.coveo.configuration.parameterstore.ParameterStorePropertySource;
+import com.coveo.configuration.parameterstore.HedgedMultiRegionParameterStorePropertySource;
+import com.coveo.configuration.parameterstore.MultiRegionParameterStorePropertySource;
 import com.coveo.configuration.parameterstore.ParameterStorePropertySourceConfigurationProperties;
 import com.coveo.configuration.parameterstore.ParameterStoreSource;
+import com.coveo.configuration.parameterstore.ParameterStoreSourceFactory;
+import com.coveo.configuration.parameterstore.metrics.ParameterStoreMetrics;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.ssm.SsmClient;
 import software.amazon.awssdk.services.ssm.SsmClientBuilder;
 
 public class MultiRegionParameterStorePropertySourceConfigurationStrategy
         implements ParameterStorePropertySourceConfigurationStrategy
 {
     private static final String PARAMETER_STORE_PROPERTY_SOURCE_NAME = "MultiRegionAWSParameterStorePropertySource_";
+    private static final String PARALLEL_PARAMETER_STORE_PROPERTY_SOURCE_NAME = "MultiRegionAWSParameterStorePropertySource";
+    private static final String PARALLEL_THREAD_NAME_PREFIX = "parameter-store-multi-region-";
+    private static final String HEDGING_THREAD_NAME_PREFIX = "parameter-store-hedging-";
+    private static final long DEFAULT_HEDGING_DELAY_IN_MILLIS = 100L;
+    private static final long PARALLEL_THREAD_KEEP_ALIVE_IN_SECONDS = 60L;
+
+    private ParameterStoreSourceFactory parameterStoreSourceFactory = new ParameterStoreSourceFactory();
 
     @Override
     public void configureParameterStorePropertySources(ConfigurableEnvironment environment,
@@ -28,6 +47,16 @@ public class MultiRegionParameterStorePropertySourceConfigurationStrategy
 
         List<String> regions = getRegions(environment);
 
+        if (isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.MULTI_REGION_HEDGING_ENABLED)
+                || isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.MULTI_REGION_PARALLEL)) {
+            environment.getPropertySources()
+                       .addFirst(buildMultiRegionParameterStorePropertySource(environment,
+                                                                              ssmClientBuilder,
+                                                                              regions,
+                                                                              haltBoot));
+            return;
+        }
+
         // To keep the order of precedence, we have to iterate from the last region to the first one.
         // If we want the first region specified to be the first property source, we have to add it last.
         // We cannot use addLast since it adds the property source with lowest precedence and we want the
@@ -37,27 +66,122 @@ public class MultiRegionParameterStorePropertySourceConfigurationStrategy
 
         // We only want to halt boot (if true) for the last region
         environment.getPropertySources()
-                   .addFirst(buildParameterStorePropertySource(ssmClientBuilder, lastRegion, haltBoot));
+                   .addFirst(buildParameterStorePropertySource(environment, ssmClientBuilder, lastRegion, haltBoot));
 
         regions.stream()
                .skip(1)
                .forEach(region -> environment.getPropertySources()
-                                             .addFirst(buildParameterStorePropertySource(ssmClientBuilder,
+                                             .addFirst(buildParameterStorePropertySource(environment,
+                                                                                         ssmClientBuilder,
                                                                                          region,
                                                                                          false)));
     }
 
-    private ParameterStorePropertySource buildParameterStorePropertySource(SsmClientBuilder ssmClientBuilder,
-                                                                           String region,
-                                                                           boolean haltBoot)
+    private PropertySource<ParameterStoreSource> buildParameterStorePropertySource(ConfigurableEnvironment environment,
+                                                                                   SsmClientBuilder ssmClientBuilder,
+                                                                                   String region,
+                                                                                   boolean haltBoot)
+    {
+        return parameterStoreSourceFactory.createParameterStorePropertySource(environment,
+                                                                              PARAMETER_STORE_PROPERTY_SOURCE_NAME + region,
+                                                                              buildParameterStoreSource(environment,
+                                                                                                        ssmClientBuilder,
+                                                                                                        region,
+                                                                                                        haltBoot,
+                                                                                                        null));
+    }
+
+    private ParameterStoreSource buildParameterStoreSource(ConfigurableEnvironment environment,
+                                                           SsmClientBuilder ssmClientBuilder,
+                                                           String region,
+                                                           boolean haltBoot,
+                                                           Executor callExecutor)
+    {
+        return parameterStoreSourceFactory.createParameterStoreSource(environment,
+                                                                      ssmClientBuilder,
+                                                                      clientBuilder -> clientBuilder.region(Region.of(region)),
+                                                                      haltBoot,
+                                                                      region,
+                                                                      callExecutor);
+    }
+
+    private MultiRegionParameterStorePropertySource buildMultiRegionParameterStorePropertySource(ConfigurableEnvironment environment,
+                                                                                                 SsmClientBuilder ssmClientBuilder,
+                                                                                                 List<String> regions,
+                                                                                                 boolean haltBoot)
+    {
+        // Calls of the blocking engine are made on the executor, so that every region can be queried at once
+        ExecutorService executor = buildParallelExecutor();
+
+        // We only want to halt boot (if true) for the last region
+        List<ParameterStoreSource> sources = new ArrayList<>();
+        for (int i = 0; i < regions.size(); i++) {
+            boolean isLastRegion = i == regions.size() - 1;
+            sources.add(buildParameterStoreSource(environment,
+                                                  ssmClientBuilder,
+                                                  regions.get(i),
+                                                  haltBoot && isLastRegion,
+                                                  executor));
+        }
+
+        if (isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.MULTI_REGION_HEDGING_ENABLED)) {
+            HedgedMultiRegionParameterStorePropertySource hedgedPropertySource = new HedgedMultiRegionParameterStorePropertySource(PARALLEL_PARAMETER_STORE_PROPERTY_SOURCE_NAME,
+                                                                                                                                    sources,
+                                                                                                                                    buildHedgingScheduler(),
+                                                                                                                                    environment.getProperty(ParameterStorePropertySourceConfigurationProperties.MULTI_REGION_HEDGING_DELAY_IN_MILLIS,
+                                                                                                                                                            Long.class,
+                                                                                                                                                            DEFAULT_HEDGING_DELAY_IN_MILLIS),
+                                                                                                                                    environment.getProperty(ParameterStorePropertySourceConfigurationProperties.MULTI_REGION_HEDGING_DELAY_PERCENTILE,
+                                                                                                                                                            Integer.class));
+            if (isEnabled(environment, ParameterStorePropertySourceConfigurationProperties.METRICS_ENABLED)) {
+                hedgedPropertySource.setMetrics(ParameterStoreMetrics.getInstance());
+            }
+            return hedgedPropertySource;
+        }
+
+        return new MultiRegionParameterStorePropertySource(PARALLEL_PARAMETER_STORE_PROPERTY_SOURCE_NAME, sources);
+    }
+
+    /**
+     * @return the executor the calls of the property source are made on. It starts a thread for every call that finds
+     *         none idle, so that concurrent lookups never wait for one another, and the threads stop once the lookups
+     *         are over, so that the executor holds none when the properties are served from memory.
+     */
+    private ExecutorService buildParallelExecutor()
+    {
+        return new ThreadPoolExecutor(0,
+                                      Integer.MAX_VALUE,
+                                      PARALLEL_THREAD_KEEP_ALIVE_IN_SECONDS,
+                                      TimeUnit.SECONDS,
+                                      new SynchronousQueue<>(),
+                                      buildDaemonThreadFactory(PARALLEL_THREAD_NAME_PREFIX));
+    }
+
+    /**
+     * @return the scheduler the hedging delays run on. It only issues hedges, which don't block, so a single thread is
+     *         enough and the calls being made never delay a hedge.
+     */
+    private ScheduledExecutorService buildHedgingScheduler()
+    {
+        CustomizableThreadFactory threadFactory = buildDaemonThreadFactory(HEDGING_THREAD_NAME_PREFIX);
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        scheduler.setKeepAliveTime(PARALLEL_THREAD_KEEP_ALIVE_IN_SECONDS, TimeUnit.SECONDS);
+        scheduler.allowCoreThreadTimeOut(true);
+        // Hedging delays are mostly cancelled, they mustn't pile up until they are due
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    private CustomizableThreadFactory buildDaemonThreadFactory(String threadNamePrefix)
     {
-        return new ParameterStorePropertySource(PARAMETER_STORE_PROPERTY_SOURCE_NAME
-                + region, new ParameterStoreSource(buildSSMClient(ssmClientBuilder, region), haltBoot));
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
     }
 
-    private SsmClient buildSSMClient(SsmClientBuilder ssmClientBuilder, String region)
+    private boolean isEnabled(ConfigurableEnvironment environment, String property)
     {
-        return ssmClientBuilder.region(Region.of(region)).build();
+        return Boolean.TRUE.equals(environment.getProperty(property, Boolean.class));
     }
 
     private List<String> getRegions(ConfigurableEnvironment environment)
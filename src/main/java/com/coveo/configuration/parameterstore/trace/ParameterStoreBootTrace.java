@@ -0,0 +1,108 @@
+package com.coveo.configuration.parameterstore.trace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Records every property lookup of the Parameter Store sources of an environment until the application is ready: the
+ * key, the region, whether it was served from memory or fetched, how it ended, how long it took and how many times the
+ * client retried it. Only exists when {@code awsParameterStoreSource.trace.enabled} is set.
+ *
+ * <p>
+ * Each lookup is logged at debug level with the thread that made it, and {@link ParameterStoreBootTraceReporter} logs
+ * a summary once the application is ready, after which nothing is recorded anymore.
+ */
+public class ParameterStoreBootTrace
+{
+    private static final Log logger = LogFactory.getLog(ParameterStoreBootTrace.class);
+
+    private static final Map<ConfigurableEnvironment, ParameterStoreBootTrace> traces = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final ConcurrentMap<List<String>, ParameterStoreKeyTrace> keyTraces = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> pendingRetries = new ConcurrentHashMap<>();
+    private volatile boolean stopped;
+
+    /**
+     * @return the trace of the given environment, shared by its sources, the retry policy of their clients and its
+     *         reporter.
+     */
+    public static ParameterStoreBootTrace forEnvironment(ConfigurableEnvironment environment)
+    {
+        return traces.computeIfAbsent(environment, tracedEnvironment -> new ParameterStoreBootTrace());
+    }
+
+    /**
+     * @param fetched whether the lookup waited on the Parameter Store rather than being served from memory.
+     */
+    public void record(String region,
+                       String key,
+                       boolean fetched,
+                       ParameterStoreLookupOutcome outcome,
+                       long latencyInNanos)
+    {
+        if (stopped) {
+            return;
+        }
+        int retries = fetched ? takePendingRetries(key) : 0;
+        keyTraces.computeIfAbsent(Arrays.asList(region, key), regionAndKey -> new ParameterStoreKeyTrace(region, key))
+                 .record(fetched, outcome, latencyInNanos, retries);
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.format("Parameter Store lookup: key=%s region=%s fetched=%s outcome=%s latencyInMillis=%.1f retries=%d thread=%s",
+                                       key,
+                                       region,
+                                       fetched,
+                                       outcome,
+                                       latencyInNanos / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                                       retries,
+                                       Thread.currentThread().getName()));
+        }
+    }
+
+    /**
+     * Counts a retry of the client fetching the given parameter, to be added to its lookup once it completes.
+     */
+    public void recordRetry(String key)
+    {
+        if (!stopped) {
+            pendingRetries.computeIfAbsent(key, retriedKey -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    /**
+     * Ends the trace: lookups made afterwards aren't recorded.
+     */
+    public void stop()
+    {
+        stopped = true;
+        pendingRetries.clear();
+        traces.values().remove(this);
+    }
+
+    public boolean isStopped()
+    {
+        return stopped;
+    }
+
+    public List<ParameterStoreKeyTrace> getKeyTraces()
+    {
+        return new ArrayList<>(keyTraces.values());
+    }
+
+    private int takePendingRetries(String key)
+    {
+        AtomicInteger retries = pendingRetries.remove(key);
+        return retries == null ? 0 : retries.get();
+    }
+}
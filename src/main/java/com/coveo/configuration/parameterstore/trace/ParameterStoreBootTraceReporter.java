@@ -0,0 +1,101 @@
+package com.coveo.configuration.parameterstore.trace;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import com.coveo.configuration.parameterstore.ParameterStorePlaceholderScanner;
+
+/**
+ * Stops the {@link ParameterStoreBootTrace} once the application is ready and logs its summary: the time spent waiting
+ * on the Parameter Store, the slowest keys with the properties referencing them, and how many times each key was
+ * looked up and fetched.
+ */
+public class ParameterStoreBootTraceReporter implements ApplicationListener<ApplicationReadyEvent>
+{
+    private static final Log logger = LogFactory.getLog(ParameterStoreBootTraceReporter.class);
+
+    private final ParameterStoreBootTrace bootTrace;
+    private final int slowestKeyCount;
+    private final ParameterStorePlaceholderScanner placeholderScanner = new ParameterStorePlaceholderScanner();
+
+    public ParameterStoreBootTraceReporter(ParameterStoreBootTrace bootTrace, int slowestKeyCount)
+    {
+        this.bootTrace = bootTrace;
+        this.slowestKeyCount = slowestKeyCount;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event)
+    {
+        if (bootTrace.isStopped()) {
+            return;
+        }
+        bootTrace.stop();
+        if (logger.isInfoEnabled()) {
+            logger.info(formatSummary(placeholderScanner.scanReferences(event.getApplicationContext()
+                                                                             .getEnvironment())));
+        }
+    }
+
+    /**
+     * @param references the properties referencing each key, see
+     *            {@link ParameterStorePlaceholderScanner#scanReferences(org.springframework.core.env.ConfigurableEnvironment)}.
+     */
+    String formatSummary(Map<String, List<String>> references)
+    {
+        List<ParameterStoreKeyTrace> keyTraces = bootTrace.getKeyTraces();
+        int lookups = keyTraces.stream().mapToInt(ParameterStoreKeyTrace::getLookups).sum();
+        int fetches = keyTraces.stream().mapToInt(ParameterStoreKeyTrace::getFetches).sum();
+        long fetchTimeInNanos = keyTraces.stream().mapToLong(ParameterStoreKeyTrace::getFetchTimeInNanos).sum();
+
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Parameter Store boot trace: lookups=%d keys=%d fetches=%d fetchTimeInMillis=%.1f",
+                                     lookups,
+                                     keyTraces.size(),
+                                     fetches,
+                                     toMillis(fetchTimeInNanos)));
+
+        summary.append(System.lineSeparator()).append("Slowest keys:");
+        keyTraces.stream()
+                 .filter(keyTrace -> keyTrace.getFetches() > 0)
+                 .sorted(Comparator.comparingLong(ParameterStoreKeyTrace::getFetchTimeInNanos).reversed())
+                 .limit(slowestKeyCount)
+                 .forEach(keyTrace -> summary.append(System.lineSeparator())
+                                             .append(String.format("  key=%s region=%s fetchTimeInMillis=%.1f maxFetchTimeInMillis=%.1f retries=%d outcome=%s referencedBy=%s",
+                                                                   keyTrace.getKey(),
+                                                                   keyTrace.getRegion(),
+                                                                   toMillis(keyTrace.getFetchTimeInNanos()),
+                                                                   toMillis(keyTrace.getMaxFetchTimeInNanos()),
+                                                                   keyTrace.getRetries(),
+                                                                   keyTrace.getLastOutcome(),
+                                                                   references.getOrDefault(keyTrace.getKey(),
+                                                                                           Collections.emptyList()))));
+
+        summary.append(System.lineSeparator()).append("Lookups per key:");
+        keyTraces.stream()
+                 .sorted(Comparator.comparingInt(ParameterStoreKeyTrace::getLookups)
+                                   .reversed()
+                                   .thenComparing(ParameterStoreKeyTrace::getKey)
+                                   .thenComparing(ParameterStoreKeyTrace::getRegion))
+                 .forEach(keyTrace -> summary.append(System.lineSeparator())
+                                             .append(String.format("  key=%s region=%s lookups=%d fetches=%d",
+                                                                   keyTrace.getKey(),
+                                                                   keyTrace.getRegion(),
+                                                                   keyTrace.getLookups(),
+                                                                   keyTrace.getFetches())));
+        return summary.toString();
+    }
+
+    private static double toMillis(long nanos)
+    {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
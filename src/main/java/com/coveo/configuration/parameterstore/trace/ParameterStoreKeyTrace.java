@@ -0,0 +1,77 @@
+package com.coveo.configuration.parameterstore.trace;
+
+/**
+ * What the lookups of a parameter in a region amounted to during the boot.
+ */
+public class ParameterStoreKeyTrace
+{
+    private final String region;
+    private final String key;
+    private int lookups;
+    private int fetches;
+    private int retries;
+    private long fetchTimeInNanos;
+    private long maxFetchTimeInNanos;
+    private ParameterStoreLookupOutcome lastOutcome;
+
+    public ParameterStoreKeyTrace(String region, String key)
+    {
+        this.region = region;
+        this.key = key;
+    }
+
+    synchronized void record(boolean fetched, ParameterStoreLookupOutcome outcome, long latencyInNanos, int retries)
+    {
+        lookups++;
+        if (fetched) {
+            fetches++;
+            this.retries += retries;
+            fetchTimeInNanos += latencyInNanos;
+            maxFetchTimeInNanos = Math.max(maxFetchTimeInNanos, latencyInNanos);
+        }
+        lastOutcome = outcome;
+    }
+
+    public String getRegion()
+    {
+        return region;
+    }
+
+    public String getKey()
+    {
+        return key;
+    }
+
+    public synchronized int getLookups()
+    {
+        return lookups;
+    }
+
+    /**
+     * @return how many of the lookups weren't served from memory and waited on the Parameter Store.
+     */
+    public synchronized int getFetches()
+    {
+        return fetches;
+    }
+
+    public synchronized int getRetries()
+    {
+        return retries;
+    }
+
+    public synchronized long getFetchTimeInNanos()
+    {
+        return fetchTimeInNanos;
+    }
+
+    public synchronized long getMaxFetchTimeInNanos()
+    {
+        return maxFetchTimeInNanos;
+    }
+
+    public synchronized ParameterStoreLookupOutcome getLastOutcome()
+    {
+        return lastOutcome;
+    }
+}
@@ -0,0 +1,6 @@
+package com.coveo.configuration.parameterstore.trace;
+
+public enum ParameterStoreLookupOutcome
+{
+    FOUND, NOT_FOUND, FAILED
+}
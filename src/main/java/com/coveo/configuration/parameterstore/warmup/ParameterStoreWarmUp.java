@@ -0,0 +1,169 @@
+package com.coveo.configuration.parameterstore.warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.coveo.configuration.parameterstore.ParameterStorePropertySourceConfigurationProperties;
+import com.coveo.configuration.parameterstore.registry.ParameterStoreProcessRegistry;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.regions.providers.AwsRegionProvider;
+import software.amazon.awssdk.regions.providers.DefaultAwsRegionProviderChain;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.SsmClientBuilder;
+import software.amazon.awssdk.utils.IoUtils;
+
+/**
+ * Does on a background thread what the first call to the Parameter Store would otherwise do on the boot thread:
+ * resolving the region and the credentials (from the instance metadata on EC2), then looking up and connecting to the
+ * SSM endpoint. The connection is left in the pool of the HTTP client, which the client built by the post processor
+ * then uses along with the resolved region and credentials.
+ *
+ * <p>
+ * Started by {@link ParameterStoreWarmUpRunListener} when {@code awsParameterStoreSource.warmUp.enabled} is set, at most
+ * once per JVM.
+ */
+public class ParameterStoreWarmUp
+{
+    private static final Log logger = LogFactory.getLog(ParameterStoreWarmUp.class);
+
+    private static final String THREAD_NAME_PREFIX = "parameter-store-warm-up-";
+    private static final String HTTP_CLIENT_REGISTRY_KEY = "warm-up-http-client";
+
+    private static volatile ParameterStoreWarmUp started;
+
+    private final AwsRegionProvider regionProvider;
+    private final AwsCredentialsProvider credentialsProvider;
+    private final Supplier<SdkHttpClient> httpClientFactory;
+    private final String customEndpoint;
+    private final CompletableFuture<Void> warmedUp = new CompletableFuture<>();
+    private volatile Region region;
+    private volatile SdkHttpClient httpClient;
+
+    /**
+     * @param httpClientFactory called on the warm-up thread, since building the HTTP client is part of the cost.
+     * @param customEndpoint the endpoint to connect to instead of the one of the region, or null.
+     */
+    public ParameterStoreWarmUp(AwsRegionProvider regionProvider,
+                                AwsCredentialsProvider credentialsProvider,
+                                Supplier<SdkHttpClient> httpClientFactory,
+                                String customEndpoint)
+    {
+        this.regionProvider = regionProvider;
+        this.credentialsProvider = credentialsProvider;
+        this.httpClientFactory = httpClientFactory;
+        this.customEndpoint = customEndpoint;
+    }
+
+    /**
+     * Starts warming up if {@code awsParameterStoreSource.warmUp.enabled} is set and it wasn't started yet. The HTTP
+     * client is closed with the other shared clients, by {@link ParameterStoreProcessRegistry}.
+     */
+    public static synchronized void startIfEnabled(ConfigurableEnvironment environment)
+    {
+        if (started != null
+                || !Boolean.TRUE.equals(environment.getProperty(ParameterStorePropertySourceConfigurationProperties.WARM_UP_ENABLED,
+                                                                Boolean.class))) {
+            return;
+        }
+
+        ParameterStoreWarmUp warmUp = new ParameterStoreWarmUp(new DefaultAwsRegionProviderChain(),
+                                                               DefaultCredentialsProvider.create(),
+                                                               () -> ParameterStoreProcessRegistry.getInstance()
+                                                                                                  .getClient(HTTP_CLIENT_REGISTRY_KEY,
+                                                                                                             () -> ApacheHttpClient.builder()
+                                                                                                                                   .build()),
+                                                               environment.getProperty(ParameterStorePropertySourceConfigurationProperties.SSM_CLIENT_CUSTOM_ENDPOINT));
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+        ExecutorService executor = Executors.newSingleThreadExecutor(threadFactory);
+        executor.execute(warmUp::warmUp);
+        executor.shutdown();
+        started = warmUp;
+    }
+
+    /**
+     * @return the warm-up started in this JVM, or null if none was.
+     */
+    public static ParameterStoreWarmUp getStarted()
+    {
+        return started;
+    }
+
+    void warmUp()
+    {
+        long start = System.nanoTime();
+        try {
+            region = regionProvider.getRegion();
+            credentialsProvider.resolveCredentials();
+            httpClient = httpClientFactory.get();
+            openConnection();
+            warmedUp.complete(null);
+            logger.debug(String.format("The Parameter Store client was warmed up in %d ms.",
+                                       TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        } catch (RuntimeException | IOException e) {
+            logger.warn("Warming up the Parameter Store client failed, it is done by the first call instead.", e);
+            warmedUp.completeExceptionally(e);
+        }
+    }
+
+    private void openConnection() throws IOException
+    {
+        URI endpoint = customEndpoint != null ? URI.create(customEndpoint)
+                                              : URI.create("https://" + SsmClient.serviceMetadata().endpointFor(region));
+        HttpExecuteResponse response = httpClient.prepareRequest(HttpExecuteRequest.builder()
+                                                                                   .request(SdkHttpFullRequest.builder()
+                                                                                                              .method(SdkHttpMethod.GET)
+                                                                                                              .uri(endpoint)
+                                                                                                              .build())
+                                                                                   .build())
+                                                 .call();
+        // Whatever the answer, reading it to the end puts the connection back in the pool for the first call
+        if (response.responseBody().isPresent()) {
+            try (AbortableInputStream responseBody = response.responseBody().get()) {
+                IoUtils.drainInputStream(responseBody);
+            }
+        }
+    }
+
+    /**
+     * Waits up to the given timeout for the warm-up to end, then gives the builder what it resolved. If it failed or
+     * didn't end in time, the builder is left as is and the client resolves everything itself.
+     */
+    public void configure(SsmClientBuilder ssmClientBuilder, long timeoutInMillis)
+    {
+        try {
+            warmedUp.get(timeoutInMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            return;
+        } catch (TimeoutException e) {
+            logger.warn(String.format("Warming up the Parameter Store client took more than %d ms, it is done by the first call instead.",
+                                      timeoutInMillis));
+            return;
+        }
+        ssmClientBuilder.region(region).credentialsProvider(credentialsProvider).httpClient(httpClient);
+    }
+}
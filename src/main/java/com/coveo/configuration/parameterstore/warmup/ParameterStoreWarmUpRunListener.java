@@ -0,0 +1,52 @@
+package com.coveo.configuration.parameterstore.warmup;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Starts the {@link ParameterStoreWarmUp} as soon as the application starts, so that it overlaps with the rest of the
+ * startup up to the post processor. The environment isn't prepared yet at that point, so
+ * {@code awsParameterStoreSource.warmUp.enabled} is only read from the system properties and environment variables.
+ */
+public class ParameterStoreWarmUpRunListener implements SpringApplicationRunListener, Ordered
+{
+    public ParameterStoreWarmUpRunListener(SpringApplication application, String[] args)
+    {
+    }
+
+    @Override
+    public void starting()
+    {
+        ParameterStoreWarmUp.startIfEnabled(new StandardEnvironment());
+    }
+
+    @Override
+    public void environmentPrepared(ConfigurableEnvironment environment)
+    {
+    }
+
+    @Override
+    public void contextPrepared(ConfigurableApplicationContext context)
+    {
+    }
+
+    @Override
+    public void contextLoaded(ConfigurableApplicationContext context)
+    {
+    }
+
+    @Override
+    public void finished(ConfigurableApplicationContext context, Throwable exception)
+    {
+    }
+
+    @Override
+    public int getOrder()
+    {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
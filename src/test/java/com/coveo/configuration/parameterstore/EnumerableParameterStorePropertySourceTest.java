@@ -0,0 +1,103 @@
+package com.coveo.configuration.parameterstore;
+
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.coveo.configuration.parameterstore.cache.ParameterStoreSnapshot;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EnumerableParameterStorePropertySourceTest
+{
+    private static final String ROOT_PATH = "/prod/my-service";
+    private static final String DB_URL = "/prod/my-service/db/url";
+    private static final String DB_USER = "/prod/my-service/db/user";
+    private static final String OTHER_SERVICE = "/prod/other-service/db/url";
+    private static final String VALUE = "value";
+
+    @Mock
+    private ParameterStoreSource parameterStoreSourceMock;
+
+    private ParameterStoreSnapshot snapshot;
+    private EnumerableParameterStorePropertySource propertySource;
+
+    @Before
+    public void setUp()
+    {
+        snapshot = ParameterStoreSnapshot.EMPTY.withPaths(Collections.singletonList("/prod"),
+                                                          Arrays.asList(parameter(DB_USER),
+                                                                        parameter(DB_URL),
+                                                                        parameter(OTHER_SERVICE)));
+        when(parameterStoreSourceMock.getSnapshot()).thenReturn(snapshot);
+        when(parameterStoreSourceMock.getProperty(DB_URL)).thenReturn(VALUE);
+
+        propertySource = new EnumerableParameterStorePropertySource("someuselessname",
+                                                                    parameterStoreSourceMock,
+                                                                    new HierarchyParameterStorePropertyNameMapper(Collections.singletonList(ROOT_PATH),
+                                                                                                                  "app"));
+    }
+
+    @Test
+    public void testPrefetchedParametersUnderRootAreListed()
+    {
+        assertThat(propertySource.getPropertyNames(), arrayContaining("app.db.url", "app.db.user"));
+    }
+
+    @Test
+    public void testListedPropertyIsResolvedThroughItsParameter()
+    {
+        assertThat(propertySource.getProperty("app.db.url"), is(VALUE));
+        assertThat(propertySource.containsProperty("app.db.url"), is(true));
+    }
+
+    @Test
+    public void testParameterNameIsStillResolved()
+    {
+        assertThat(propertySource.getProperty(DB_URL), is(VALUE));
+    }
+
+    @Test
+    public void testUnlistedPropertyIsNotResolved()
+    {
+        assertThat(propertySource.getProperty("app.db.password"), is(nullValue()));
+        assertThat(propertySource.containsProperty("app.db.password"), is(false));
+        verify(parameterStoreSourceMock, never()).getProperty(any());
+    }
+
+    @Test
+    public void testNamesFollowTheSnapshot()
+    {
+        propertySource.getPropertyNames();
+        when(parameterStoreSourceMock.getSnapshot()).thenReturn(snapshot.withParameters(Collections.singletonList(parameter("/prod/my-service/feature")),
+                                                                                        Collections.emptyList()));
+
+        assertThat(propertySource.getPropertyNames(), arrayContaining("app.db.url", "app.db.user", "app.feature"));
+    }
+
+    @Test
+    public void testPathIndexAnswersSubtreeQueries()
+    {
+        assertThat(propertySource.getPathIndex().getNamesUnder("/prod/my-service/db"), contains(DB_URL, DB_USER));
+    }
+
+    private static Parameter parameter(String name)
+    {
+        return Parameter.builder().name(name).value(VALUE).build();
+    }
+}
@@ -0,0 +1,448 @@
+package com.coveo.configuration.parameterstore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Minimal in-process stand-in for the SSM API, speaking the AWS JSON 1.1 protocol the SDK clients use. Point a client
+ * at {@link #getEndpoint()} with any region and credentials, or set
+ * {@code awsParameterStoreSource.ssmClient.endpointConfiguration.endpoint} to it. Only what this library calls is
+ * supported: {@code GetParameter}, {@code GetParameters}, {@code GetParametersByPath} and {@code DescribeParameters}.
+ *
+ * <p>
+ * To exercise caching, batching and retries, the server can add latency to every request, answer
+ * {@code ThrottlingException} above a number of requests per second, and fail requests with a 5xx error. Throttled
+ * requests are answered right away, like AWS does.
+ */
+public class FakeParameterStoreServer implements AutoCloseable
+{
+    private static final String CONTENT_TYPE = "application/x-amz-json-1.1";
+    private static final String TARGET_HEADER = "X-Amz-Target";
+    private static final int DEFAULT_MAX_RESULTS = 10;
+    private static final String PATH_FILTER_KEY = "Path";
+    private static final String NAME_FILTER_KEY = "Name";
+    private static final String RECURSIVE_FILTER_OPTION = "Recursive";
+    private static final String BEGINS_WITH_FILTER_OPTION = "BeginsWith";
+    private static final Pattern PARAMETER_FILTER_PATTERN = Pattern.compile("\\{[^{}]*\\}");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, StoredParameter> parameters = new ConcurrentSkipListMap<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final Map<String, AtomicInteger> requestCountsByOperation = new ConcurrentHashMap<>();
+    private final AtomicInteger throttledRequestCount = new AtomicInteger();
+    private final AtomicInteger serverErrorCount = new AtomicInteger();
+    private final AtomicInteger remainingFailures = new AtomicInteger();
+    private volatile LatencyDistribution latency = LatencyDistribution.NONE;
+    private volatile int maxRequestsPerSecond;
+    private volatile double serverErrorRate;
+    private long currentSecond;
+    private int currentSecondRequestCount;
+
+    private FakeParameterStoreServer(HttpServer server, ExecutorService executor)
+    {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static FakeParameterStoreServer start() throws IOException
+    {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        FakeParameterStoreServer fakeServer = new FakeParameterStoreServer(server, executor);
+        server.createContext("/", fakeServer::handle);
+        server.setExecutor(executor);
+        server.start();
+        return fakeServer;
+    }
+
+    public String getEndpoint()
+    {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Adds the parameter, or replaces its value and increments its version like {@code PutParameter} with overwrite.
+     */
+    public void putParameter(String name, String value)
+    {
+        parameters.compute(name,
+                           (parameterName, previous) -> new StoredParameter(value,
+                                                                            previous == null ? 1 : previous.version + 1));
+    }
+
+    public void deleteParameter(String name)
+    {
+        parameters.remove(name);
+    }
+
+    /**
+     * Every request waits this long before being answered, to mimic the round trip to AWS.
+     */
+    public void setLatencyInMillis(long latencyInMillis)
+    {
+        setLatency(LatencyDistribution.fixed(latencyInMillis));
+    }
+
+    /**
+     * Every request waits a latency drawn from this distribution before being answered.
+     */
+    public void setLatency(LatencyDistribution latency)
+    {
+        this.latency = latency;
+    }
+
+    /**
+     * Requests above this number in the same second are answered with a {@code ThrottlingException}, 0 to never
+     * throttle.
+     */
+    public void setMaxRequestsPerSecond(int maxRequestsPerSecond)
+    {
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+    }
+
+    /**
+     * Fraction of the requests, between 0 and 1, randomly answered with a 500 error.
+     */
+    public void setServerErrorRate(double serverErrorRate)
+    {
+        this.serverErrorRate = serverErrorRate;
+    }
+
+    /**
+     * The next requests are answered with a 500 error, on top of the random ones.
+     */
+    public void failNextRequests(int count)
+    {
+        remainingFailures.set(count);
+    }
+
+    public int getRequestCount()
+    {
+        return requestCount.get();
+    }
+
+    public int getRequestCount(String operation)
+    {
+        AtomicInteger operationRequestCount = requestCountsByOperation.get(operation);
+        return operationRequestCount == null ? 0 : operationRequestCount.get();
+    }
+
+    public int getThrottledRequestCount()
+    {
+        return throttledRequestCount.get();
+    }
+
+    public int getServerErrorCount()
+    {
+        return serverErrorCount.get();
+    }
+
+    @Override
+    public void close()
+    {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException
+    {
+        requestCount.incrementAndGet();
+        try {
+            String body = read(exchange.getRequestBody());
+            String target = exchange.getRequestHeaders().getFirst(TARGET_HEADER);
+            String operation = target == null ? "" : target.substring(target.indexOf('.') + 1);
+            requestCountsByOperation.computeIfAbsent(operation, key -> new AtomicInteger()).incrementAndGet();
+
+            if (isThrottled()) {
+                throttledRequestCount.incrementAndGet();
+                respond(exchange, 400, error("ThrottlingException", "Rate exceeded"));
+                return;
+            }
+
+            sleep(latency.nextLatencyInMillis());
+
+            if (isFailed()) {
+                serverErrorCount.incrementAndGet();
+                respond(exchange, 500, error("InternalServerError", "Injected failure."));
+                return;
+            }
+
+            switch (operation) {
+                case "GetParameter":
+                    getParameter(exchange, body);
+                    break;
+                case "GetParameters":
+                    getParameters(exchange, body);
+                    break;
+                case "GetParametersByPath":
+                    getParametersByPath(exchange, body);
+                    break;
+                case "DescribeParameters":
+                    describeParameters(exchange, body);
+                    break;
+                default:
+                    respond(exchange, 400, error("InvalidAction", "Unsupported operation " + target));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void getParameter(HttpExchange exchange, String body) throws IOException
+    {
+        String name = stringField(body, "Name");
+        StoredParameter storedParameter = parameters.get(name);
+        if (storedParameter == null) {
+            respond(exchange, 400, error("ParameterNotFound", "Parameter " + name + " not found."));
+            return;
+        }
+        respond(exchange, 200, "{\"Parameter\":" + parameter(name, storedParameter) + "}");
+    }
+
+    private void getParameters(HttpExchange exchange, String body) throws IOException
+    {
+        List<String> found = new ArrayList<>();
+        List<String> invalid = new ArrayList<>();
+        for (String name : stringArrayField(body, "Names")) {
+            StoredParameter storedParameter = parameters.get(name);
+            if (storedParameter == null) {
+                invalid.add(quote(name));
+            } else {
+                found.add(parameter(name, storedParameter));
+            }
+        }
+        respond(exchange,
+                200,
+                "{\"Parameters\":[" + String.join(",", found) + "],\"InvalidParameters\":["
+                        + String.join(",", invalid) + "]}");
+    }
+
+    private void getParametersByPath(HttpExchange exchange, String body) throws IOException
+    {
+        String path = stringField(body, "Path");
+        String prefix = path.endsWith("/") ? path : path + "/";
+        boolean recursive = "true".equals(booleanField(body, "Recursive"));
+
+        List<String> names = parameters.keySet()
+                                       .stream()
+                                       .filter(name -> isUnder(name, prefix, recursive))
+                                       .collect(Collectors.toList());
+        respondPage(exchange, body, names, name -> parameter(name, parameters.get(name)));
+    }
+
+    private void describeParameters(HttpExchange exchange, String body) throws IOException
+    {
+        List<Predicate<String>> filters = new ArrayList<>();
+        Matcher filterArray = Pattern.compile("\"ParameterFilters\"\\s*:\\s*\\[(.*)\\]", Pattern.DOTALL).matcher(body);
+        if (filterArray.find()) {
+            Matcher filter = PARAMETER_FILTER_PATTERN.matcher(filterArray.group(1));
+            while (filter.find()) {
+                filters.add(parameterFilter(filter.group()));
+            }
+        }
+
+        List<String> names = parameters.keySet()
+                                       .stream()
+                                       .filter(name -> filters.stream().allMatch(filter -> filter.test(name)))
+                                       .collect(Collectors.toList());
+        respondPage(exchange, body, names, name -> parameterMetadata(name, parameters.get(name)));
+    }
+
+    private Predicate<String> parameterFilter(String filter)
+    {
+        String key = stringField(filter, "Key");
+        String option = stringField(filter, "Option");
+        List<String> values = stringArrayField(filter, "Values");
+        if (PATH_FILTER_KEY.equals(key)) {
+            boolean recursive = RECURSIVE_FILTER_OPTION.equals(option);
+            return name -> values.stream()
+                                 .anyMatch(path -> isUnder(name, path.endsWith("/") ? path : path + "/", recursive));
+        }
+        if (NAME_FILTER_KEY.equals(key)) {
+            boolean beginsWith = BEGINS_WITH_FILTER_OPTION.equals(option);
+            return name -> values.stream().anyMatch(value -> beginsWith ? name.startsWith(value) : name.equals(value));
+        }
+        return name -> true;
+    }
+
+    /**
+     * Pages are numbered with the index of their first name as the {@code NextToken}.
+     */
+    private void respondPage(HttpExchange exchange,
+                             String body,
+                             List<String> names,
+                             Function<String, String> toJson) throws IOException
+    {
+        String nextToken = stringField(body, "NextToken");
+        String maxResults = numberField(body, "MaxResults");
+        int from = nextToken == null ? 0 : Integer.parseInt(nextToken);
+        int to = Math.min(names.size(), from + (maxResults == null ? DEFAULT_MAX_RESULTS : Integer.parseInt(maxResults)));
+
+        List<String> page = new ArrayList<>();
+        for (String name : names.subList(from, to)) {
+            page.add(toJson.apply(name));
+        }
+        respond(exchange,
+                200,
+                "{\"Parameters\":[" + String.join(",", page) + "]"
+                        + (to < names.size() ? ",\"NextToken\":" + quote(String.valueOf(to)) : "") + "}");
+    }
+
+    private synchronized boolean isThrottled()
+    {
+        int maxRequests = maxRequestsPerSecond;
+        if (maxRequests <= 0) {
+            return false;
+        }
+        long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        if (second != currentSecond) {
+            currentSecond = second;
+            currentSecondRequestCount = 0;
+        }
+        return ++currentSecondRequestCount > maxRequests;
+    }
+
+    private boolean isFailed()
+    {
+        if (remainingFailures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+            return true;
+        }
+        double errorRate = serverErrorRate;
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    private static boolean isUnder(String name, String prefix, boolean recursive)
+    {
+        return name.startsWith(prefix) && (recursive || name.indexOf('/', prefix.length()) < 0);
+    }
+
+    private void respond(HttpExchange exchange, int statusCode, String body) throws IOException
+    {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.getResponseHeaders().set("x-amzn-RequestId", "fake-" + requestCount.get());
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    private String parameter(String name, StoredParameter storedParameter)
+    {
+        return "{\"Name\":" + quote(name) + ",\"Type\":\"String\",\"Value\":" + quote(storedParameter.value)
+                + ",\"Version\":" + storedParameter.version + ",\"LastModifiedDate\":"
+                + storedParameter.lastModifiedDateInSeconds + "}";
+    }
+
+    private String parameterMetadata(String name, StoredParameter storedParameter)
+    {
+        return "{\"Name\":" + quote(name) + ",\"Type\":\"String\",\"Version\":" + storedParameter.version
+                + ",\"LastModifiedDate\":" + storedParameter.lastModifiedDateInSeconds + "}";
+    }
+
+    private String error(String type, String message)
+    {
+        return "{\"__type\":" + quote(type) + ",\"message\":" + quote(message) + "}";
+    }
+
+    private static String stringField(String json, String field)
+    {
+        Matcher matcher = Pattern.compile("\"" + field + "\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\"").matcher(json);
+        return matcher.find() ? unquote(matcher.group(1)) : null;
+    }
+
+    private static String numberField(String json, String field)
+    {
+        Matcher matcher = Pattern.compile("\"" + field + "\"\\s*:\\s*(\\d+)").matcher(json);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static String booleanField(String json, String field)
+    {
+        Matcher matcher = Pattern.compile("\"" + field + "\"\\s*:\\s*(true|false)").matcher(json);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static List<String> stringArrayField(String json, String field)
+    {
+        List<String> values = new ArrayList<>();
+        Matcher array = Pattern.compile("\"" + field + "\"\\s*:\\s*\\[([^\\]]*)\\]").matcher(json);
+        if (array.find()) {
+            Matcher value = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"").matcher(array.group(1));
+            while (value.find()) {
+                values.add(unquote(value.group(1)));
+            }
+        }
+        return values;
+    }
+
+    private static String quote(String value)
+    {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static String unquote(String value)
+    {
+        return value.replace("\\\"", "\"").replace("\\/", "/").replace("\\\\", "\\");
+    }
+
+    private static String read(InputStream inputStream) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void sleep(long millis)
+    {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class StoredParameter
+    {
+        private final String value;
+        private final long version;
+        private final double lastModifiedDateInSeconds;
+
+        private StoredParameter(String value, long version)
+        {
+            this.value = value;
+            this.version = version;
+            this.lastModifiedDateInSeconds = System.currentTimeMillis() / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.coveo.configuration.parameterstore;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FakeParameterStoreServerTest
+{
+    private FakeParameterStoreServer server;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        server = FakeParameterStoreServer.start();
+        server.putParameter("/prod/my-service/db/url", "jdbc:url");
+        server.putParameter("/prod/my-service/db/pool/size", "10");
+        server.putParameter("/prod/my-service/feature", "on");
+    }
+
+    @After
+    public void tearDown()
+    {
+        server.close();
+    }
+
+    @Test
+    public void testGetParameter() throws IOException
+    {
+        Response response = call("GetParameter", "{\"Name\":\"/prod/my-service/feature\",\"WithDecryption\":true}");
+
+        assertThat(response.statusCode, is(200));
+        assertThat(response.body, containsString("\"Value\":\"on\""));
+    }
+
+    @Test
+    public void testGetMissingParameter() throws IOException
+    {
+        Response response = call("GetParameter", "{\"Name\":\"/prod/my-service/missing\"}");
+
+        assertThat(response.statusCode, is(400));
+        assertThat(response.body, containsString("ParameterNotFound"));
+    }
+
+    @Test
+    public void testPutParameterAgainIncrementsItsVersion() throws IOException
+    {
+        server.putParameter("/prod/my-service/feature", "off");
+
+        assertThat(call("GetParameter", "{\"Name\":\"/prod/my-service/feature\"}").body,
+                   allOf(containsString("\"Value\":\"off\""), containsString("\"Version\":2")));
+    }
+
+    @Test
+    public void testGetParametersListsTheMissingOnesAsInvalid() throws IOException
+    {
+        Response response = call("GetParameters", "{\"Names\":[\"/prod/my-service/feature\",\"/prod/my-service/missing\"]}");
+
+        assertThat(response.body,
+                   allOf(containsString("\"Value\":\"on\""),
+                         containsString("\"InvalidParameters\":[\"/prod/my-service/missing\"]")));
+    }
+
+    @Test
+    public void testGetParametersByPathIsPaginated() throws IOException
+    {
+        Response firstPage = call("GetParametersByPath",
+                                  "{\"Path\":\"/prod/my-service\",\"Recursive\":true,\"MaxResults\":2}");
+        Response secondPage = call("GetParametersByPath",
+                                   "{\"Path\":\"/prod/my-service\",\"Recursive\":true,\"MaxResults\":2,\"NextToken\":\"2\"}");
+
+        assertThat(firstPage.body, allOf(containsString("/prod/my-service/db/pool/size"), containsString("\"NextToken\"")));
+        assertThat(secondPage.body, allOf(containsString("/prod/my-service/feature"), not(containsString("NextToken"))));
+    }
+
+    @Test
+    public void testGetParametersByPathOneLevel() throws IOException
+    {
+        Response response = call("GetParametersByPath", "{\"Path\":\"/prod/my-service\"}");
+
+        assertThat(response.body, allOf(containsString("/prod/my-service/feature"), not(containsString("/db/"))));
+    }
+
+    @Test
+    public void testDescribeParametersByPathReturnsMetadataOnly() throws IOException
+    {
+        Response response = call("DescribeParameters",
+                                 "{\"ParameterFilters\":[{\"Key\":\"Path\",\"Option\":\"Recursive\",\"Values\":[\"/prod/my-service/db\"]}]}");
+
+        assertThat(response.statusCode, is(200));
+        assertThat(response.body,
+                   allOf(containsString("/prod/my-service/db/url"),
+                         containsString("/prod/my-service/db/pool/size"),
+                         containsString("\"Version\":1"),
+                         not(containsString("/prod/my-service/feature")),
+                         not(containsString("\"Value\""))));
+    }
+
+    @Test
+    public void testDescribeParametersByName() throws IOException
+    {
+        Response response = call("DescribeParameters",
+                                 "{\"ParameterFilters\":[{\"Key\":\"Name\",\"Option\":\"Equals\",\"Values\":[\"/prod/my-service/feature\",\"/prod/my-service/missing\"]}]}");
+
+        assertThat(response.body,
+                   allOf(containsString("/prod/my-service/feature"), not(containsString("/prod/my-service/db"))));
+    }
+
+    @Test
+    public void testRequestsAboveTheCapAreThrottled() throws IOException
+    {
+        server.setMaxRequestsPerSecond(2);
+
+        int throttled = 0;
+        for (int i = 0; i < 5; i++) {
+            Response response = call("GetParameter", "{\"Name\":\"/prod/my-service/feature\"}");
+            if (response.statusCode == 400 && response.body.contains("ThrottlingException")) {
+                throttled++;
+            }
+        }
+
+        // The calls could straddle two seconds, which lets at most four of them through
+        assertThat(throttled, greaterThanOrEqualTo(1));
+        assertThat(server.getThrottledRequestCount(), is(throttled));
+    }
+
+    @Test
+    public void testFailedRequestsAreAnsweredWithAServerError() throws IOException
+    {
+        server.failNextRequests(1);
+
+        Response failed = call("GetParameter", "{\"Name\":\"/prod/my-service/feature\"}");
+        Response succeeded = call("GetParameter", "{\"Name\":\"/prod/my-service/feature\"}");
+
+        assertThat(failed.statusCode, is(500));
+        assertThat(succeeded.statusCode, is(200));
+        assertThat(server.getServerErrorCount(), is(1));
+    }
+
+    @Test
+    public void testServerErrorRate() throws IOException
+    {
+        server.setServerErrorRate(1);
+
+        assertThat(call("GetParameters", "{\"Names\":[\"/prod/my-service/feature\"]}").statusCode, is(500));
+    }
+
+    @Test
+    public void testRequestsAreCountedPerOperation() throws IOException
+    {
+        call("GetParameter", "{\"Name\":\"/prod/my-service/feature\"}");
+        call("GetParameter", "{\"Name\":\"/prod/my-service/feature\"}");
+        call("DescribeParameters", "{}");
+
+        assertThat(server.getRequestCount(), is(3));
+        assertThat(server.getRequestCount("GetParameter"), is(2));
+        assertThat(server.getRequestCount("DescribeParameters"), is(1));
+        assertThat(server.getRequestCount("GetParameters"), is(0));
+    }
+
+    @Test
+    public void testLatencyIsAddedToTheRequests() throws IOException
+    {
+        server.setLatency(LatencyDistribution.uniform(50, 60));
+
+        long start = System.nanoTime();
+        call("GetParameter", "{\"Name\":\"/prod/my-service/feature\"}");
+
+        assertThat((System.nanoTime() - start) / 1_000_000, greaterThanOrEqualTo(50L));
+    }
+
+    @Test
+    public void testLogNormalLatencyHasItsMedianAndLongTail()
+    {
+        LatencyDistribution latency = LatencyDistribution.logNormal(20, 200);
+
+        int belowMedian = 0;
+        long max = 0;
+        for (int i = 0; i < 10000; i++) {
+            long latencyInMillis = latency.nextLatencyInMillis();
+            if (latencyInMillis < 20) {
+                belowMedian++;
+            }
+            max = Math.max(max, latencyInMillis);
+        }
+
+        assertThat(belowMedian, allOf(greaterThanOrEqualTo(4000), lessThanOrEqualTo(5500)));
+        assertThat(max, greaterThanOrEqualTo(200L));
+    }
+
+    private Response call(String operation, String body) throws IOException
+    {
+        HttpURLConnection connection = (HttpURLConnection) new URL(server.getEndpoint()).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/x-amz-json-1.1");
+        connection.setRequestProperty("X-Amz-Target", "AmazonSSM." + operation);
+        try (OutputStream requestBody = connection.getOutputStream()) {
+            requestBody.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        int statusCode = connection.getResponseCode();
+        try (InputStream responseBody = statusCode < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = responseBody.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return new Response(statusCode, new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static final class Response
+    {
+        private final int statusCode;
+        private final String body;
+
+        private Response(int statusCode, String body)
+        {
+            this.statusCode = statusCode;
+            this.body = body;
+        }
+    }
+}
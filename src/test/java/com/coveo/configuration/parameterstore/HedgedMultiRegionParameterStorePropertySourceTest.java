@@ -0,0 +1,139 @@
+package com.coveo.configuration.parameterstore;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.coveo.configuration.parameterstore.exception.ParameterStoreParameterNotFoundError;
+import com.coveo.configuration.parameterstore.metrics.ParameterStoreMetrics;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HedgedMultiRegionParameterStorePropertySourceTest
+{
+    private static final String PROPERTY_NAME = "/my/property";
+    private static final String PRIMARY_REGION_VALUE = "primaryRegionValue";
+    private static final String SECONDARY_REGION_VALUE = "secondaryRegionValue";
+    private static final long HEDGING_DELAY_IN_MILLIS = 50L;
+    private static final long FAST_REGION_LATENCY_IN_MILLIS = 1L;
+
+    @Mock
+    private ParameterStoreSource primaryRegionSourceMock;
+    @Mock
+    private ParameterStoreSource secondaryRegionSourceMock;
+
+    private ScheduledExecutorService scheduler;
+    private ParameterStoreMetrics metrics;
+    private HedgedMultiRegionParameterStorePropertySource propertySource;
+
+    @Before
+    public void setUp()
+    {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        when(primaryRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(CompletableFuture.completedFuture(null));
+        when(secondaryRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(CompletableFuture.completedFuture(null));
+
+        metrics = new ParameterStoreMetrics();
+        propertySource = buildPropertySource(null);
+    }
+
+    @After
+    public void tearDown()
+    {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testNoHedgeIsIssuedWhenPrimaryRegionAnswersInTime()
+    {
+        when(primaryRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(CompletableFuture.completedFuture(PRIMARY_REGION_VALUE));
+
+        assertThat(propertySource.getProperty(PROPERTY_NAME), is(PRIMARY_REGION_VALUE));
+        assertThat(metrics.getHedgesIssued(), is(0L));
+        verify(secondaryRegionSourceMock, never()).getPropertyAsync(PROPERTY_NAME);
+    }
+
+    @Test
+    public void testHedgeIsIssuedAndWinsWhenPrimaryRegionIsSlow()
+    {
+        when(primaryRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(new CompletableFuture<>());
+        when(secondaryRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(CompletableFuture.completedFuture(SECONDARY_REGION_VALUE));
+
+        assertThat(propertySource.getProperty(PROPERTY_NAME), is(SECONDARY_REGION_VALUE));
+        assertThat(metrics.getHedgesIssued(), is(1L));
+        assertThat(metrics.getHedgesWon(), is(1L));
+    }
+
+    @Test
+    public void testNextRegionIsQueriedWithoutHedgingWhenPrimaryRegionDoesNotHaveProperty()
+    {
+        when(secondaryRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(CompletableFuture.completedFuture(SECONDARY_REGION_VALUE));
+
+        assertThat(propertySource.getProperty(PROPERTY_NAME), is(SECONDARY_REGION_VALUE));
+        assertThat(metrics.getHedgesIssued(), is(0L));
+    }
+
+    @Test
+    public void testGetPropertyReturnsNullWhenNoRegionHasIt()
+    {
+        assertThat(propertySource.getProperty(PROPERTY_NAME), is(nullValue()));
+    }
+
+    @Test(expected = ParameterStoreParameterNotFoundError.class)
+    public void shouldThrowWhenLastRegionHaltsBootAndNoRegionHasProperty()
+    {
+        CompletableFuture<Object> notFound = new CompletableFuture<>();
+        notFound.completeExceptionally(new ParameterStoreParameterNotFoundError(PROPERTY_NAME, null));
+        when(secondaryRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(notFound);
+
+        propertySource.getProperty(PROPERTY_NAME);
+    }
+
+    @Test
+    public void testHedgingDelayIsDerivedFromObservedLatenciesWhenPercentileIsSet()
+    {
+        HedgedMultiRegionParameterStorePropertySource percentilePropertySource = buildPropertySource(95);
+        when(primaryRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenAnswer(invocation -> {
+            CompletableFuture<Object> value = new CompletableFuture<>();
+            scheduler.schedule(() -> value.complete(PRIMARY_REGION_VALUE),
+                               FAST_REGION_LATENCY_IN_MILLIS,
+                               TimeUnit.MILLISECONDS);
+            return value;
+        });
+
+        assertThat(percentilePropertySource.getHedgingDelayInMillis(), is(HEDGING_DELAY_IN_MILLIS));
+        for (int i = 0; i < HedgedMultiRegionParameterStorePropertySource.MIN_LATENCY_SAMPLES; i++) {
+            percentilePropertySource.getProperty(PROPERTY_NAME);
+        }
+
+        assertThat(percentilePropertySource.getHedgingDelayInMillis(), is(lessThan(HEDGING_DELAY_IN_MILLIS)));
+    }
+
+    private HedgedMultiRegionParameterStorePropertySource buildPropertySource(Integer delayPercentile)
+    {
+        HedgedMultiRegionParameterStorePropertySource hedgedPropertySource = new HedgedMultiRegionParameterStorePropertySource("someuselessname",
+                                                                                                                 Arrays.asList(primaryRegionSourceMock,
+                                                                                                                               secondaryRegionSourceMock),
+                                                                                                                 scheduler,
+                                                                                                                 HEDGING_DELAY_IN_MILLIS,
+                                                                                                                 delayPercentile);
+        hedgedPropertySource.setMetrics(metrics);
+        return hedgedPropertySource;
+    }
+}
@@ -0,0 +1,52 @@
+package com.coveo.configuration.parameterstore;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class HierarchyParameterStorePropertyNameMapperTest
+{
+    @Test
+    public void testPathRelativeToRootIsDotted()
+    {
+        ParameterStorePropertyNameMapper nameMapper = new HierarchyParameterStorePropertyNameMapper(Collections.singletonList("/prod/my-service"),
+                                                                                                    null);
+
+        assertThat(nameMapper.toPropertyName("/prod/my-service/db/url"), is("db.url"));
+    }
+
+    @Test
+    public void testPrefixIsPrepended()
+    {
+        ParameterStorePropertyNameMapper nameMapper = new HierarchyParameterStorePropertyNameMapper(Collections.singletonList("/prod/my-service/"),
+                                                                                                    "app");
+
+        assertThat(nameMapper.toPropertyName("/prod/my-service/db/url"), is("app.db.url"));
+    }
+
+    @Test
+    public void testDeepestRootWins()
+    {
+        ParameterStorePropertyNameMapper nameMapper = new HierarchyParameterStorePropertyNameMapper(Arrays.asList("/prod",
+                                                                                                                  "/prod/my-service"),
+                                                                                                    null);
+
+        assertThat(nameMapper.toPropertyName("/prod/my-service/db/url"), is("db.url"));
+        assertThat(nameMapper.toPropertyName("/prod/shared/region"), is("shared.region"));
+    }
+
+    @Test
+    public void testParametersOutsideRootsAreNotListed()
+    {
+        ParameterStorePropertyNameMapper nameMapper = new HierarchyParameterStorePropertyNameMapper(Collections.singletonList("/prod/my-service"),
+                                                                                                    null);
+
+        assertThat(nameMapper.toPropertyName("/prod/my-service-2/db/url"), is(nullValue()));
+        assertThat(nameMapper.toPropertyName("/prod/my-service"), is(nullValue()));
+    }
+}
@@ -0,0 +1,39 @@
+package com.coveo.configuration.parameterstore;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency added by {@link FakeParameterStoreServer} to each request. Real Parameter Store latencies have a long tail,
+ * which {@link #logNormal(long, long)} reproduces from a median and a p99.
+ */
+@FunctionalInterface
+public interface LatencyDistribution
+{
+    LatencyDistribution NONE = () -> 0L;
+
+    long nextLatencyInMillis();
+
+    static LatencyDistribution fixed(long latencyInMillis)
+    {
+        return () -> latencyInMillis;
+    }
+
+    static LatencyDistribution uniform(long minLatencyInMillis, long maxLatencyInMillis)
+    {
+        if (minLatencyInMillis > maxLatencyInMillis) {
+            throw new IllegalArgumentException("The minimum latency must not be greater than the maximum latency.");
+        }
+        return () -> ThreadLocalRandom.current().nextLong(minLatencyInMillis, maxLatencyInMillis + 1);
+    }
+
+    static LatencyDistribution logNormal(long medianInMillis, long p99InMillis)
+    {
+        if (medianInMillis <= 0 || p99InMillis < medianInMillis) {
+            throw new IllegalArgumentException("The median latency must be positive and not greater than the p99 latency.");
+        }
+        double mu = Math.log(medianInMillis);
+        // 2.326 is the z-score of the 99th percentile of a normal distribution
+        double sigma = Math.log((double) p99InMillis / medianInMillis) / 2.326;
+        return () -> Math.round(Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+}
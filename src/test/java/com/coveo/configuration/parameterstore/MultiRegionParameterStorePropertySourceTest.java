@@ -0,0 +1,160 @@
+package com.coveo.configuration.parameterstore;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.coveo.configuration.parameterstore.exception.ParameterStoreError;
+import com.coveo.configuration.parameterstore.exception.ParameterStoreParameterNotFoundError;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MultiRegionParameterStorePropertySourceTest
+{
+    private static final String PROPERTY_NAME = "/my/property";
+    private static final String FIRST_REGION_VALUE = "firstRegionValue";
+    private static final String SECOND_REGION_VALUE = "secondRegionValue";
+    private static final String LAST_REGION_VALUE = "lastRegionValue";
+
+    @Mock
+    private ParameterStoreSource firstRegionSourceMock;
+    @Mock
+    private ParameterStoreSource secondRegionSourceMock;
+    @Mock
+    private ParameterStoreSource lastRegionSourceMock;
+
+    private MultiRegionParameterStorePropertySource propertySource;
+
+    @Before
+    public void setUp()
+    {
+        when(firstRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(CompletableFuture.completedFuture(null));
+        when(secondRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(CompletableFuture.completedFuture(null));
+        when(lastRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(CompletableFuture.completedFuture(null));
+
+        propertySource = new MultiRegionParameterStorePropertySource("someuselessname",
+                                                                     Arrays.asList(firstRegionSourceMock,
+                                                                                   secondRegionSourceMock,
+                                                                                   lastRegionSourceMock));
+    }
+
+    @Test
+    public void testGetPropertyReturnsNullWithoutPingingParameterStoreIfPrefixIsNotPresent()
+    {
+        assertThat(propertySource.getProperty("somepropswithoutslashbefore"), is(nullValue()));
+
+        verify(firstRegionSourceMock, never()).getPropertyAsync(any());
+        verify(secondRegionSourceMock, never()).getPropertyAsync(any());
+        verify(lastRegionSourceMock, never()).getPropertyAsync(any());
+    }
+
+    @Test
+    public void testGetPropertyReturnsValueOfHighestPrecedenceRegion()
+    {
+        when(firstRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(CompletableFuture.completedFuture(FIRST_REGION_VALUE));
+        when(lastRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(CompletableFuture.completedFuture(LAST_REGION_VALUE));
+
+        assertThat(propertySource.getProperty(PROPERTY_NAME), is(FIRST_REGION_VALUE));
+    }
+
+    @Test
+    public void testLowerPrecedenceRegionsAreNotQueriedWhenFirstRegionAnswersFromMemory()
+    {
+        when(firstRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(CompletableFuture.completedFuture(FIRST_REGION_VALUE));
+
+        assertThat(propertySource.getProperty(PROPERTY_NAME), is(FIRST_REGION_VALUE));
+
+        verify(secondRegionSourceMock, never()).getPropertyAsync(any());
+        verify(lastRegionSourceMock, never()).getPropertyAsync(any());
+    }
+
+    @Test
+    public void testLowerPrecedenceRegionsAreQueriedWhileFirstRegionFetches()
+    {
+        CompletableFuture<Object> firstRegionLookup = new CompletableFuture<>();
+        when(firstRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(firstRegionLookup);
+        when(lastRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenAnswer(invocation -> {
+            firstRegionLookup.complete(null);
+            return CompletableFuture.completedFuture(LAST_REGION_VALUE);
+        });
+
+        assertThat(propertySource.getProperty(PROPERTY_NAME), is(LAST_REGION_VALUE));
+    }
+
+    @Test
+    public void testLowerPrecedenceLookupsAreCancelledOnceHigherPrecedenceRegionHasValue()
+    {
+        CompletableFuture<Object> firstRegionLookup = new CompletableFuture<>();
+        CompletableFuture<Object> lastRegionLookup = new CompletableFuture<>();
+        when(firstRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(firstRegionLookup);
+        when(secondRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(CompletableFuture.completedFuture(SECOND_REGION_VALUE));
+        when(lastRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenAnswer(invocation -> {
+            firstRegionLookup.complete(null);
+            return lastRegionLookup;
+        });
+
+        assertThat(propertySource.getProperty(PROPERTY_NAME), is(SECOND_REGION_VALUE));
+        assertThat(lastRegionLookup.isCancelled(), is(true));
+    }
+
+    @Test
+    public void testGetPropertyReturnsValueOfLastRegionWhenOnlyLastRegionHasIt()
+    {
+        when(lastRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(CompletableFuture.completedFuture(LAST_REGION_VALUE));
+
+        assertThat(propertySource.getProperty(PROPERTY_NAME), is(LAST_REGION_VALUE));
+    }
+
+    @Test
+    public void testGetPropertyReturnsNullWhenNoRegionHasIt()
+    {
+        assertThat(propertySource.getProperty(PROPERTY_NAME), is(nullValue()));
+    }
+
+    @Test
+    public void testLastRegionHaltingBootIsIgnoredWhenHigherPrecedenceRegionHasProperty()
+    {
+        when(firstRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(CompletableFuture.completedFuture(FIRST_REGION_VALUE));
+        when(lastRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(failedFuture(new ParameterStoreParameterNotFoundError(PROPERTY_NAME,
+                                                                                                                                    null)));
+
+        assertThat(propertySource.getProperty(PROPERTY_NAME), is(FIRST_REGION_VALUE));
+    }
+
+    @Test(expected = ParameterStoreParameterNotFoundError.class)
+    public void shouldThrowWhenLastRegionHaltsBootAndNoRegionHasProperty()
+    {
+        when(lastRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(failedFuture(new ParameterStoreParameterNotFoundError(PROPERTY_NAME,
+                                                                                                                                    null)));
+
+        propertySource.getProperty(PROPERTY_NAME);
+    }
+
+    @Test(expected = ParameterStoreError.class)
+    public void shouldThrowWhenLowerPrecedenceRegionFails()
+    {
+        when(secondRegionSourceMock.getPropertyAsync(PROPERTY_NAME)).thenReturn(failedFuture(new ParameterStoreError(PROPERTY_NAME,
+                                                                                                                     "Some reason.")));
+
+        propertySource.getProperty(PROPERTY_NAME);
+    }
+
+    private static CompletableFuture<Object> failedFuture(Throwable failure)
+    {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        future.completeExceptionally(failure);
+        return future;
+    }
+}
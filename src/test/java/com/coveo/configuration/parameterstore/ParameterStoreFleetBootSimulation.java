@@ -0,0 +1,203 @@
+package com.coveo.configuration.parameterstore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Simulates the rollout of a fleet: every instance boots at the same time in its own environment, running
+ * {@link ParameterStorePropertySourceEnvironmentPostProcessor} then resolving its placeholders twice, like the binding
+ * of {@code @ConfigurationProperties} and the injection of {@code @Value} fields would. All of them call a single
+ * {@link FakeParameterStoreServer} that throttles above a number of requests per second, like the Parameter Store does
+ * for an account and a region.
+ *
+ * <p>
+ * For each configuration of the library, the boot time percentiles, the number of calls made and the number of them
+ * that were throttled are printed, so that the options can be tuned for a given fleet size before deploying.
+ *
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.coveo.configuration.parameterstore.ParameterStoreFleetBootSimulation -Dexec.args="50 30 40"},
+ * the arguments being the number of instances, the number of placeholders of each instance and the number of requests
+ * per second above which the calls are throttled.
+ */
+public class ParameterStoreFleetBootSimulation
+{
+    private static final String SERVICE_PATH = "/fleet/my-service/";
+    private static final String SHARED_PATH = "/fleet/shared/";
+    private static final long MEDIAN_LATENCY_IN_MILLIS = 15;
+    private static final long P99_LATENCY_IN_MILLIS = 120;
+
+    enum Configuration
+    {
+        PLAIN(Collections.emptyMap()),
+        CACHED(Collections.singletonMap(ParameterStorePropertySourceConfigurationProperties.CACHE_ENABLED, "true")),
+        BATCHED(Collections.singletonMap(ParameterStorePropertySourceConfigurationProperties.PREFETCH_PLACEHOLDERS,
+                                         "true")),
+        RATE_LIMITED(Collections.singletonMap(ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_ENABLED,
+                                              "true"));
+
+        private final Map<String, String> properties;
+
+        Configuration(Map<String, String> properties)
+        {
+            this.properties = properties;
+        }
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        int instanceCount = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int placeholderCount = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int maxRequestsPerSecond = args.length > 2 ? Integer.parseInt(args[2]) : 40;
+        List<Configuration> configurations = args.length > 3 ? parseConfigurations(args[3])
+                                                             : Arrays.asList(Configuration.values());
+
+        System.setProperty("aws.accessKeyId", "simulation");
+        System.setProperty("aws.secretAccessKey", "simulation");
+        System.setProperty("aws.region", "us-east-1");
+
+        System.out.println(String.format("%d instances, %d placeholders each, throttled above %d requests per second",
+                                         instanceCount,
+                                         placeholderCount,
+                                         maxRequestsPerSecond));
+        System.out.println(String.format("%-13s %8s %8s %8s %8s %8s %10s %7s",
+                                         "configuration",
+                                         "p50 ms",
+                                         "p95 ms",
+                                         "p99 ms",
+                                         "max ms",
+                                         "calls",
+                                         "throttled",
+                                         "failed"));
+        for (Configuration configuration : configurations) {
+            try (FakeParameterStoreServer server = FakeParameterStoreServer.start()) {
+                for (int i = 0; i < placeholderCount; i++) {
+                    server.putParameter(parameterName(i), "value" + i);
+                }
+                server.setLatency(LatencyDistribution.logNormal(MEDIAN_LATENCY_IN_MILLIS, P99_LATENCY_IN_MILLIS));
+                server.setMaxRequestsPerSecond(maxRequestsPerSecond);
+
+                FleetResult result = bootFleet(server, configuration, instanceCount, placeholderCount);
+                System.out.println(String.format("%-13s %8d %8d %8d %8d %8d %10d %7d",
+                                                 configuration,
+                                                 result.percentile(50),
+                                                 result.percentile(95),
+                                                 result.percentile(99),
+                                                 result.percentile(100),
+                                                 server.getRequestCount(),
+                                                 server.getThrottledRequestCount(),
+                                                 result.failedBootCount));
+            }
+        }
+    }
+
+    private static FleetResult bootFleet(FakeParameterStoreServer server,
+                                         Configuration configuration,
+                                         int instanceCount,
+                                         int placeholderCount) throws InterruptedException
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(instanceCount);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<Long>> bootTimes = new ArrayList<>();
+            for (int i = 0; i < instanceCount; i++) {
+                bootTimes.add(executor.submit(() -> {
+                    startGate.await();
+                    return boot(server, configuration, placeholderCount);
+                }));
+            }
+            startGate.countDown();
+
+            FleetResult result = new FleetResult();
+            for (Future<Long> bootTime : bootTimes) {
+                try {
+                    result.bootTimesInMillis.add(bootTime.get());
+                } catch (Exception e) {
+                    result.failedBootCount++;
+                }
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long boot(FakeParameterStoreServer server, Configuration configuration, int placeholderCount)
+    {
+        long start = System.nanoTime();
+
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources()
+                   .addFirst(new MapPropertySource("application",
+                                                   buildProperties(server, configuration, placeholderCount)));
+        new ParameterStorePropertySourceEnvironmentPostProcessor().postProcessEnvironment(environment, null);
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < placeholderCount; i++) {
+                environment.getProperty("property" + i);
+            }
+        }
+
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static Map<String, Object> buildProperties(FakeParameterStoreServer server,
+                                                       Configuration configuration,
+                                                       int placeholderCount)
+    {
+        Map<String, Object> properties = new HashMap<>(configuration.properties);
+        properties.put(ParameterStorePropertySourceConfigurationProperties.ENABLED, "true");
+        properties.put(ParameterStorePropertySourceConfigurationProperties.SSM_CLIENT_CUSTOM_ENDPOINT,
+                       server.getEndpoint());
+        properties.put(ParameterStorePropertySourceConfigurationProperties.SSM_CLIENT_SIGNING_REGION, "us-east-1");
+        for (int i = 0; i < placeholderCount; i++) {
+            properties.put("property" + i, "${" + parameterName(i) + "}");
+        }
+        return properties;
+    }
+
+    /**
+     * A fifth of the parameters are shared by every service, the others belong to the service.
+     */
+    private static String parameterName(int index)
+    {
+        return (index % 5 == 0 ? SHARED_PATH : SERVICE_PATH) + "property" + index;
+    }
+
+    private static List<Configuration> parseConfigurations(String configurations)
+    {
+        List<Configuration> parsedConfigurations = new ArrayList<>();
+        for (String configuration : configurations.split(",")) {
+            parsedConfigurations.add(Configuration.valueOf(configuration.trim().toUpperCase()));
+        }
+        return parsedConfigurations;
+    }
+
+    private static final class FleetResult
+    {
+        private final List<Long> bootTimesInMillis = new ArrayList<>();
+        private int failedBootCount;
+
+        private long percentile(int percentile)
+        {
+            if (bootTimesInMillis.isEmpty()) {
+                return 0;
+            }
+            List<Long> sortedBootTimes = new ArrayList<>(bootTimesInMillis);
+            sortedBootTimes.sort(null);
+            int index = (int) Math.ceil(percentile / 100.0 * sortedBootTimes.size()) - 1;
+            return sortedBootTimes.get(Math.max(0, index));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.coveo.configuration.parameterstore;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+public class ParameterStorePlaceholderScannerTest
+{
+    private final ParameterStorePlaceholderScanner scanner = new ParameterStorePlaceholderScanner();
+
+    @Test
+    public void testScanFindsSimplePlaceholder()
+    {
+        assertThat(scanner.scan("${/my/parameter}"), contains("/my/parameter"));
+    }
+
+    @Test
+    public void testScanFindsPlaceholderWithDefaultValue()
+    {
+        assertThat(scanner.scan("jdbc:${/my/url:localhost}"), contains("/my/url"));
+    }
+
+    @Test
+    public void testScanFindsNestedPlaceholders()
+    {
+        assertThat(scanner.scan("${my.property:${/my/first:${/my/second}}}-${/my/third}"),
+                   contains("/my/first", "/my/second", "/my/third"));
+    }
+
+    @Test
+    public void testScanIgnoresPlaceholdersWithoutPrefix()
+    {
+        assertThat(scanner.scan("${my.property} and ${other:/not/a/key}"), is(empty()));
+    }
+
+    @Test
+    public void testScanIgnoresKeysBuiltFromOtherPlaceholders()
+    {
+        assertThat(scanner.scan("${/my/${environment}/parameter}"), is(empty()));
+    }
+
+    @Test
+    public void testScanEnvironmentScansEveryEnumerablePropertySource()
+    {
+        StandardEnvironment environment = new StandardEnvironment();
+        Map<String, Object> first = new HashMap<>();
+        first.put("my.password", "${/my/password}");
+        first.put("my.port", 8080);
+        Map<String, Object> second = new HashMap<>();
+        second.put("my.user", "${/my/user}");
+        environment.getPropertySources().addFirst(new MapPropertySource("first", first));
+        environment.getPropertySources().addLast(new MapPropertySource("second", second));
+
+        assertThat(scanner.scan(environment), containsInAnyOrder("/my/password", "/my/user"));
+    }
+
+    @Test
+    public void testScanReferencesTellsWhichPropertiesReferenceEachKey()
+    {
+        StandardEnvironment environment = new StandardEnvironment();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("my.password", "${/my/password}");
+        properties.put("my.url", "jdbc:${/my/host}/${my.database:${/my/password}}");
+        environment.getPropertySources().addFirst(new MapPropertySource("application", properties));
+        environment.getPropertySources()
+                   .addFirst(new EnumerableParameterStorePropertySource("parameterStore",
+                                                                        mock(ParameterStoreSource.class),
+                                                                        mock(ParameterStorePropertyNameMapper.class)));
+
+        Map<String, List<String>> references = scanner.scanReferences(environment);
+
+        assertThat(references.keySet(), containsInAnyOrder("/my/password", "/my/host"));
+        assertThat(references.get("/my/password"),
+                   containsInAnyOrder("my.password (application)", "my.url (application)"));
+        assertThat(references.get("/my/host"), contains("my.url (application)"));
+    }
+}
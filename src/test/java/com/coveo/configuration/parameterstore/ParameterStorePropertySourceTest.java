@@ -5,11 +5,20 @@ import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.coveo.configuration.parameterstore.event.ParameterChange;
+import com.coveo.configuration.parameterstore.event.ParameterStoreChangeEvent;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ParameterStorePropertySourceTest
@@ -19,6 +28,8 @@ public class ParameterStorePropertySourceTest
 
     @Mock
     private ParameterStoreSource parameterStoreSourceMock;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisherMock;
 
     private ParameterStorePropertySource parameterStorePropertySource;
 
@@ -46,4 +57,29 @@ public class ParameterStorePropertySourceTest
         assertThat(value, is(VALID_VALUE));
         verify(parameterStoreSourceMock).getProperty(VALID_PROPERTY_NAME);
     }
+
+    @Test
+    public void testChangesOfSourceArePublishedAsEvents()
+    {
+        ArgumentCaptor<Consumer<List<ParameterChange>>> changeListenerCaptor = changeListenerCaptor();
+        verify(parameterStoreSourceMock).addChangeListener(changeListenerCaptor.capture());
+        parameterStorePropertySource.setApplicationEventPublisher(applicationEventPublisherMock);
+        List<ParameterChange> changes = Collections.singletonList(new ParameterChange(VALID_PROPERTY_NAME,
+                                                                                      ParameterChange.Type.UPDATED,
+                                                                                      1L,
+                                                                                      2L));
+
+        changeListenerCaptor.getValue().accept(changes);
+
+        ArgumentCaptor<ParameterStoreChangeEvent> eventCaptor = ArgumentCaptor.forClass(ParameterStoreChangeEvent.class);
+        verify(applicationEventPublisherMock).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getSource(), is(parameterStorePropertySource));
+        assertThat(eventCaptor.getValue().getChanges(), is(changes));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private ArgumentCaptor<Consumer<List<ParameterChange>>> changeListenerCaptor()
+    {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(Consumer.class);
+    }
 }
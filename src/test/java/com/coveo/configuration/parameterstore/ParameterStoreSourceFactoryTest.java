@@ -0,0 +1,839 @@
+package com.coveo.configuration.parameterstore;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.env.PropertySource;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.coveo.configuration.parameterstore.cache.ParameterStoreSnapshot;
+import com.coveo.configuration.parameterstore.cache.SharedParameterStoreCache;
+import com.coveo.configuration.parameterstore.engine.SsmCall;
+import com.coveo.configuration.parameterstore.engine.SsmCallListener;
+import com.coveo.configuration.parameterstore.exception.ParameterStoreError;
+import com.coveo.configuration.parameterstore.exception.ParameterStoreParameterNotFoundError;
+import com.coveo.configuration.parameterstore.lifecycle.ParameterStoreLifecycle;
+import com.coveo.configuration.parameterstore.manifest.ParameterStoreKeyManifest;
+import com.coveo.configuration.parameterstore.metrics.ParameterStoreMetrics;
+import com.coveo.configuration.parameterstore.persistence.ParameterStoreSnapshotFile;
+import com.coveo.configuration.parameterstore.trace.ParameterStoreBootTrace;
+import com.coveo.configuration.parameterstore.trace.ParameterStoreKeyTrace;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.AwsResponseMetadata;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.SsmClientBuilder;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+import software.amazon.awssdk.services.ssm.model.SsmException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ParameterStoreSourceFactoryTest
+{
+    private static final Region REGION = Region.of("us-east-1");
+    private static final String REFRESH_THREAD_NAME_PREFIX = "parameter-store-refresh-";
+    private static final String PROPERTY_NAME = "/my-service/property";
+    private static final String PROPERTY_VALUE = "value";
+    // Longer than the shortest time to live of the cache, one second
+    private static final long STALE_DELAY_IN_MILLIS = 1100L;
+    private static final String ACCESS_KEY_ID = "AKIAFIRST";
+    private static final String OTHER_ACCESS_KEY_ID = "AKIAOTHER";
+    private static final byte[] SNAPSHOT_FILE_KEY = new byte[16];
+    private static final String SNAPSHOT_PATH = "/prod/my-service";
+    private static final Parameter SNAPSHOT_PARAMETER = Parameter.builder()
+                                                                 .name("/prod/my-service/password")
+                                                                 .value("saved")
+                                                                 .build();
+
+    @Mock
+    private SsmClient ssmClientMock;
+    @Mock
+    private SsmClientBuilder ssmClientBuilderMock;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private MockEnvironment environment;
+    private ParameterStoreSourceFactory factory;
+
+    @Before
+    public void setUp()
+    {
+        environment = new MockEnvironment();
+        factory = new ParameterStoreSourceFactory();
+    }
+
+    @Test
+    public void testCacheIsDisabledByDefault()
+    {
+        stubGetParameter(PROPERTY_NAME, PROPERTY_VALUE);
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        source.getProperty(PROPERTY_NAME);
+        source.getProperty(PROPERTY_NAME);
+
+        verify(ssmClientMock, times(2)).getParameter(any(GetParameterRequest.class));
+    }
+
+    @Test(expected = ParameterStoreParameterNotFoundError.class)
+    public void testMissingParameterHaltsBootWhenAsked()
+    {
+        when(ssmClientMock.getParameter(any(GetParameterRequest.class))).thenThrow(ParameterNotFoundException.builder()
+                                                                                                             .build());
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, true);
+
+        source.getProperty(PROPERTY_NAME);
+    }
+
+    @Test
+    public void testCacheIsEnabledWithProperty()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_ENABLED, "true");
+        stubGetParameter(PROPERTY_NAME, PROPERTY_VALUE);
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        source.getProperty(PROPERTY_NAME);
+
+        assertThat(source.getProperty(PROPERTY_NAME), is(PROPERTY_VALUE));
+        verify(ssmClientMock, times(1)).getParameter(any(GetParameterRequest.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShouldThrowWhenCacheTimeToLiveIsNotPositive()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_TIME_TO_LIVE_IN_SECONDS, "0");
+
+        factory.createParameterStoreSource(environment, ssmClientMock, false);
+    }
+
+    @Test
+    public void testStaleEntriesAreRevalidatedWhenSoftTimeToLiveIsSet() throws Exception
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_SOFT_TIME_TO_LIVE_IN_SECONDS, "1");
+        stubGetParameter(PROPERTY_NAME, PROPERTY_VALUE);
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+        source.getProperty(PROPERTY_NAME);
+        Thread.sleep(STALE_DELAY_IN_MILLIS);
+
+        assertThat(source.getProperty(PROPERTY_NAME), is(PROPERTY_VALUE));
+        verify(ssmClientMock, timeout(5000).times(2)).getParameter(any(GetParameterRequest.class));
+    }
+
+    @Test
+    public void testStaleEntriesAreNoLongerRevalidatedWhenTheEnvironmentIsClosed() throws Exception
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_SOFT_TIME_TO_LIVE_IN_SECONDS, "1");
+        stubGetParameter(PROPERTY_NAME, PROPERTY_VALUE);
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+        source.getProperty(PROPERTY_NAME);
+
+        ParameterStoreLifecycle.forEnvironment(environment).close();
+        Thread.sleep(STALE_DELAY_IN_MILLIS);
+
+        // The revalidation is rejected by the shut down executor before it can call the Parameter Store
+        assertThat(source.getProperty(PROPERTY_NAME), is(PROPERTY_VALUE));
+        verify(ssmClientMock, after(500).times(1)).getParameter(any(GetParameterRequest.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShouldThrowWhenCacheSoftTimeToLiveIsGreaterThanTimeToLive()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_TIME_TO_LIVE_IN_SECONDS, "10");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_SOFT_TIME_TO_LIVE_IN_SECONDS, "20");
+
+        factory.createParameterStoreSource(environment, ssmClientMock, false);
+    }
+
+    @Test
+    public void testBlockingEngineIsBuiltFromTheConfiguredBuilderByDefault()
+    {
+        when(ssmClientBuilderMock.build()).thenReturn(ssmClientMock);
+        stubGetParameter(PROPERTY_NAME, PROPERTY_VALUE);
+
+        ParameterStoreSource source = factory.createParameterStoreSource(environment,
+                                                                         ssmClientBuilderMock,
+                                                                         clientBuilder -> clientBuilder.region(REGION),
+                                                                         false);
+
+        assertThat(source.getProperty(PROPERTY_NAME), is(PROPERTY_VALUE));
+        verify(ssmClientBuilderMock).region(REGION);
+    }
+
+    @Test
+    public void testAsyncEngineIsEnabledWithProperty()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.ASYNC_ENABLED, "true");
+
+        factory.createParameterStoreSource(environment,
+                                           ssmClientBuilderMock,
+                                           clientBuilder -> clientBuilder.region(REGION),
+                                           false);
+
+        // The calls go through the asynchronous client, the blocking one is never built
+        verify(ssmClientBuilderMock, never()).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShouldThrowWhenAsyncMaxConcurrencyIsNotPositive()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.ASYNC_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.ASYNC_MAX_CONCURRENCY, "0");
+
+        factory.createParameterStoreSource(environment,
+                                           ssmClientBuilderMock,
+                                           clientBuilder -> clientBuilder.region(REGION),
+                                           false);
+    }
+
+    @Test
+    public void testThrottledCallsAreRetriedWhenRateLimited()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_BACKOFF_BASE_IN_MILLIS, "1");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_BACKOFF_CAP_IN_MILLIS, "10");
+        GetParameterResponse response = buildGetParameterResponse(PROPERTY_NAME, PROPERTY_VALUE);
+        when(ssmClientMock.getParameter(any(GetParameterRequest.class))).thenThrow(throttlingException())
+                                                                        .thenReturn(response);
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        assertThat(source.getProperty(PROPERTY_NAME), is(PROPERTY_VALUE));
+        verify(ssmClientMock, times(2)).getParameter(any(GetParameterRequest.class));
+    }
+
+    @Test
+    public void testCallsAreMeteredWithProperty()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.METRICS_ENABLED, "true");
+        stubGetParameter(PROPERTY_NAME, PROPERTY_VALUE);
+        ParameterStoreMetrics metrics = ParameterStoreMetrics.getInstance();
+        long calls = metrics.getCalls(ParameterStoreMetrics.GET_PARAMETER);
+        long cacheMisses = metrics.getCacheMisses();
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        source.getProperty(PROPERTY_NAME);
+
+        assertThat(metrics.getCalls(ParameterStoreMetrics.GET_PARAMETER), is(calls + 1));
+        assertThat(metrics.getCacheMisses(), is(cacheMisses + 1));
+    }
+
+    @Test
+    public void testNothingIsMeteredByDefault()
+    {
+        stubGetParameter(PROPERTY_NAME, PROPERTY_VALUE);
+        ParameterStoreMetrics metrics = ParameterStoreMetrics.getInstance();
+        long calls = metrics.getCalls(ParameterStoreMetrics.GET_PARAMETER);
+        long cacheMisses = metrics.getCacheMisses();
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        source.getProperty(PROPERTY_NAME);
+
+        assertThat(metrics.getCalls(ParameterStoreMetrics.GET_PARAMETER), is(calls));
+        assertThat(metrics.getCacheMisses(), is(cacheMisses));
+    }
+
+    @Test
+    public void testLookupsAreTracedWithProperty()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.TRACE_ENABLED, "true");
+        stubGetParameter(PROPERTY_NAME, PROPERTY_VALUE);
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        source.getProperty(PROPERTY_NAME);
+
+        List<ParameterStoreKeyTrace> keyTraces = ParameterStoreBootTrace.forEnvironment(environment).getKeyTraces();
+        assertThat(keyTraces.size(), is(1));
+        assertThat(keyTraces.get(0).getRegion(), is("default"));
+        assertThat(keyTraces.get(0).getKey(), is(PROPERTY_NAME));
+        assertThat(keyTraces.get(0).getFetches(), is(1));
+    }
+
+    @Test
+    public void testCallsAreReportedToRegisteredListeners() throws Exception
+    {
+        RecordingSsmCallListener.STARTED_CALLS.clear();
+        stubGetParameter(PROPERTY_NAME, PROPERTY_VALUE);
+        File classpathRoot = temporaryFolder.newFolder();
+        writeRegistration(new File(classpathRoot, "META-INF/spring.factories"),
+                          SsmCallListener.class.getName() + "=" + RecordingSsmCallListener.class.getName());
+        writeRegistration(new File(classpathRoot, "META-INF/services/" + SsmCallListener.class.getName()),
+                          RecordingSsmCallListener.class.getName());
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { classpathRoot.toURI().toURL() },
+                                                             contextClassLoader)) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+            ParameterStoreSource source = new ParameterStoreSourceFactory().createParameterStoreSource(environment,
+                                                                                                       ssmClientMock,
+                                                                                                       false);
+
+            source.getProperty(PROPERTY_NAME);
+
+            // Registered twice, the listener is still only called once
+            assertThat(RecordingSsmCallListener.STARTED_CALLS.size(), is(1));
+            assertThat(RecordingSsmCallListener.STARTED_CALLS.get(0).getKey(), is(PROPERTY_NAME));
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShouldThrowWhenRateLimitBackoffCapIsLowerThanBase()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_BACKOFF_BASE_IN_MILLIS, "200");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.RATE_LIMIT_BACKOFF_CAP_IN_MILLIS, "100");
+
+        factory.createParameterStoreSource(environment, ssmClientMock, false);
+    }
+
+    @Test
+    public void testCallsGoThroughCircuitBreakerWithProperty()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_CONSECUTIVE_FAILURES,
+                                "1");
+        when(ssmClientMock.getParameter(any(GetParameterRequest.class))).thenThrow(new RuntimeException());
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        assertLookupFails(source, PROPERTY_NAME);
+        assertLookupFails(source, PROPERTY_NAME);
+
+        verify(ssmClientMock, times(1)).getParameter(any(GetParameterRequest.class));
+    }
+
+    @Test
+    public void testCircuitBreakerStateIsPublishedWithMetrics()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.METRICS_ENABLED, "true");
+
+        factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        assertThat(ParameterStoreMetrics.getInstance().getCircuitBreakerStates().get("default"), is("CLOSED"));
+    }
+
+    @Test
+    public void testLastKnownValuesAreServedWithCircuitBreakerAndCache() throws Exception
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_CONSECUTIVE_FAILURES,
+                                "1");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CACHE_TIME_TO_LIVE_IN_SECONDS, "1");
+        GetParameterResponse response = buildGetParameterResponse(PROPERTY_NAME, PROPERTY_VALUE);
+        when(ssmClientMock.getParameter(any(GetParameterRequest.class))).thenReturn(response)
+                                                                        .thenThrow(new RuntimeException());
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+        source.getProperty(PROPERTY_NAME);
+        Thread.sleep(STALE_DELAY_IN_MILLIS);
+
+        // The expired value is served in place of the failed call, which opens the breaker
+        assertThat(source.getProperty(PROPERTY_NAME), is(PROPERTY_VALUE));
+        verify(ssmClientMock, times(2)).getParameter(any(GetParameterRequest.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShouldThrowWhenCircuitBreakerFailureRateIsAbove100()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.CIRCUIT_BREAKER_FAILURE_RATE_THRESHOLD,
+                                "101");
+
+        factory.createParameterStoreSource(environment, ssmClientMock, false);
+    }
+
+    @Test
+    public void testResolvedParametersAreTrackedWhenRefreshIsEnabled()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.REFRESH_ENABLED, "true");
+        stubGetParameter(PROPERTY_NAME, PROPERTY_VALUE);
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        source.getProperty(PROPERTY_NAME);
+
+        assertThat(source.getSnapshot().get(PROPERTY_NAME).getValue(), is(PROPERTY_VALUE));
+    }
+
+    @Test
+    public void testRefreshThreadsStopWhenTheEnvironmentIsClosed() throws Exception
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.REFRESH_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.REFRESH_CONCURRENCY, "2");
+        // The sources of the other tests are never closed
+        long threadsOfOtherTests = countLiveThreads(REFRESH_THREAD_NAME_PREFIX);
+        factory.createParameterStoreSource(environment, ssmClientMock, false);
+        assertThat(countLiveThreads(REFRESH_THREAD_NAME_PREFIX), is(threadsOfOtherTests + 1));
+
+        ParameterStoreLifecycle.forEnvironment(environment).close();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (countLiveThreads(REFRESH_THREAD_NAME_PREFIX) > threadsOfOtherTests
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(countLiveThreads(REFRESH_THREAD_NAME_PREFIX), is(threadsOfOtherTests));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShouldThrowWhenRefreshIntervalIsNotPositive()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.REFRESH_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.REFRESH_INTERVAL_IN_SECONDS, "0");
+
+        factory.createParameterStoreSource(environment, ssmClientMock, false);
+    }
+
+    @Test
+    public void testFreshSnapshotFileIsRestoredInsteadOfPrefetching() throws Exception
+    {
+        enableSnapshotFile();
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.PREFETCH_PATHS, SNAPSHOT_PATH);
+        saveSnapshot(Instant.now());
+        stubGetParameter(PROPERTY_NAME, PROPERTY_VALUE);
+
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        assertThat(source.getProperty(SNAPSHOT_PARAMETER.name()), is(SNAPSHOT_PARAMETER.value()));
+        verify(ssmClientMock, never()).getParametersByPath(any(GetParametersByPathRequest.class));
+        // Only the refresh tracks the parameters resolved afterwards in the snapshot
+        source.getProperty(PROPERTY_NAME);
+        assertThat(source.getSnapshot().get(PROPERTY_NAME), is(nullValue()));
+    }
+
+    @Test
+    public void testStaleSnapshotFileIsOnlyUsedWhenPrefetchingFails() throws Exception
+    {
+        enableSnapshotFile();
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.PREFETCH_PATHS, SNAPSHOT_PATH);
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.SNAPSHOT_FILE_MAX_AGE_IN_SECONDS, "60");
+        saveSnapshot(Instant.now().minusSeconds(120));
+        when(ssmClientMock.getParametersByPath(any(GetParametersByPathRequest.class))).thenThrow(new RuntimeException());
+
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        assertThat(source.getProperty(SNAPSHOT_PARAMETER.name()), is(SNAPSHOT_PARAMETER.value()));
+    }
+
+    @Test(expected = ParameterStoreError.class)
+    public void testStaleSnapshotFileIsIgnoredWhenRejected() throws Exception
+    {
+        enableSnapshotFile();
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.PREFETCH_PATHS, SNAPSHOT_PATH);
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.SNAPSHOT_FILE_MAX_AGE_IN_SECONDS, "60");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.SNAPSHOT_FILE_STALE_POLICY, "REJECT");
+        saveSnapshot(Instant.now().minusSeconds(120));
+        when(ssmClientMock.getParametersByPath(any(GetParametersByPathRequest.class))).thenThrow(new RuntimeException());
+        when(ssmClientMock.getParameter(any(GetParameterRequest.class))).thenThrow(new RuntimeException());
+
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        source.getProperty(SNAPSHOT_PARAMETER.name());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShouldThrowWhenSnapshotFileKeyIsMissing()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.SNAPSHOT_FILE_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.SNAPSHOT_FILE_DIRECTORY,
+                                temporaryFolder.getRoot().getPath());
+
+        factory.createParameterStoreSource(environment, ssmClientMock, false);
+    }
+
+    @Test
+    public void testPropertySourceIsNotEnumerableByDefault()
+    {
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        assertThat(factory.createParameterStorePropertySource(environment, "name", source),
+                   is(instanceOf(ParameterStorePropertySource.class)));
+    }
+
+    @Test
+    public void testPropertySourceListsPrefetchedPathsWhenEnumerable()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.ENUMERABLE_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.PREFETCH_PATHS, SNAPSHOT_PATH);
+        when(ssmClientMock.getParametersByPath(any(GetParametersByPathRequest.class))).thenReturn(GetParametersByPathResponse.builder()
+                                                                                                                             .parameters(SNAPSHOT_PARAMETER)
+                                                                                                                             .build());
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        PropertySource<ParameterStoreSource> propertySource = factory.createParameterStorePropertySource(environment,
+                                                                                                         "name",
+                                                                                                         source);
+
+        assertThat(propertySource, is(instanceOf(EnumerableParameterStorePropertySource.class)));
+        assertThat(propertySource.getProperty("password"), is(SNAPSHOT_PARAMETER.value()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShouldThrowWhenEnumerableWithoutRootPaths()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.ENUMERABLE_ENABLED, "true");
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        factory.createParameterStorePropertySource(environment, "name", source);
+    }
+
+    @Test
+    public void testSharedCacheIsDisabledByDefault() throws Exception
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.SHARED_CACHE_DIRECTORY,
+                                temporaryFolder.getRoot().getPath());
+        publishToSharedCache(SNAPSHOT_PARAMETER.name(), "shared");
+        stubGetParameter(SNAPSHOT_PARAMETER.name(), SNAPSHOT_PARAMETER.value());
+
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        assertThat(source.getProperty(SNAPSHOT_PARAMETER.name()), is(SNAPSHOT_PARAMETER.value()));
+    }
+
+    @Test
+    public void testParametersPublishedBySiblingsAreServedFromSharedCache() throws Exception
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.SHARED_CACHE_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.SHARED_CACHE_DIRECTORY,
+                                temporaryFolder.getRoot().getPath());
+        publishToSharedCache(SNAPSHOT_PARAMETER.name(), SNAPSHOT_PARAMETER.value());
+
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        assertThat(source.getProperty(SNAPSHOT_PARAMETER.name()), is(SNAPSHOT_PARAMETER.value()));
+        verify(ssmClientMock, never()).getParameter(any(GetParameterRequest.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShouldThrowWhenSharedCacheIsTooSmall()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.SHARED_CACHE_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.SHARED_CACHE_SIZE_IN_BYTES, "100");
+
+        factory.createParameterStoreSource(environment, ssmClientMock, false);
+    }
+
+    @Test
+    public void testEveryPrefetchPathIsPrefetched()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.PREFETCH_PATHS,
+                                "/prod/my-service,/prod/shared");
+        when(ssmClientMock.getParametersByPath(any(GetParametersByPathRequest.class))).thenReturn(GetParametersByPathResponse.builder()
+                                                                                                                             .build());
+
+        factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        verify(ssmClientMock, times(2)).getParametersByPath(any(GetParametersByPathRequest.class));
+    }
+
+    @Test
+    public void testPlaceholdersArePrefetchedWhenEnabled()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.PREFETCH_PLACEHOLDERS, "true");
+        environment.setProperty("my.password", "${/my/password}");
+        when(ssmClientMock.getParameters(GetParametersRequest.builder()
+                                                             .names("/my/password")
+                                                             .withDecryption(true)
+                                                             .build())).thenReturn(GetParametersResponse.builder()
+                                                                                                        .parameters(Parameter.builder()
+                                                                                                                             .name("/my/password")
+                                                                                                                             .value("secret")
+                                                                                                                             .build())
+                                                                                                        .build());
+
+        ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        assertThat(source.getProperty("/my/password"), is("secret"));
+    }
+
+    @Test
+    public void testManifestKeysArePrefetchedWithPlaceholdersWhenEnabled() throws Exception
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.PREFETCH_PLACEHOLDERS, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.PREFETCH_MANIFEST, "true");
+        environment.setProperty("my.password", "${/my/password}");
+        File classpathRoot = temporaryFolder.newFolder();
+        writeRegistration(new File(classpathRoot, ParameterStoreKeyManifest.LOCATION), "/my/user");
+        when(ssmClientMock.getParameters(GetParametersRequest.builder()
+                                                             .names("/my/password", "/my/user")
+                                                             .withDecryption(true)
+                                                             .build())).thenReturn(GetParametersResponse.builder()
+                                                                                                        .parameters(Parameter.builder()
+                                                                                                                             .name("/my/user")
+                                                                                                                             .value("admin")
+                                                                                                                             .build())
+                                                                                                        .invalidParameters("/my/password")
+                                                                                                        .build());
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { classpathRoot.toURI().toURL() },
+                                                             contextClassLoader)) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+            ParameterStoreSource source = factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+            assertThat(source.getProperty("/my/user"), is("admin"));
+            assertThat(source.getProperty("/my/password"), is(nullValue()));
+            verify(ssmClientMock, never()).getParameter(any(GetParameterRequest.class));
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    @Test
+    public void testSecondContextReusesClientAndResolvedParametersWithProperty()
+    {
+        when(ssmClientBuilderMock.build()).thenReturn(ssmClientMock);
+        when(ssmClientMock.getParameters(any(GetParametersRequest.class))).thenReturn(GetParametersResponse.builder()
+                                                                                                           .parameters(Parameter.builder()
+                                                                                                                                .name("/my/user")
+                                                                                                                                .value("admin")
+                                                                                                                                .build())
+                                                                                                           .invalidParameters("/my/password")
+                                                                                                           .build());
+        // The registry is shared by the JVM, a unique endpoint keeps this test apart from the others
+        String endpoint = "http://localhost/" + System.nanoTime();
+
+        ParameterStoreSource firstSource = buildReusingFactory(ACCESS_KEY_ID).createParameterStoreSource(buildReusingEnvironment(endpoint),
+                                                                                                         ssmClientBuilderMock,
+                                                                                                         clientBuilder -> clientBuilder.region(REGION),
+                                                                                                         false);
+        ParameterStoreSource secondSource = buildReusingFactory(ACCESS_KEY_ID).createParameterStoreSource(buildReusingEnvironment(endpoint),
+                                                                                                          ssmClientBuilderMock,
+                                                                                                          clientBuilder -> clientBuilder.region(REGION),
+                                                                                                          false);
+
+        assertThat(secondSource.getProperty("/my/user"), is("admin"));
+        assertThat(secondSource.getProperty("/my/password"), is(nullValue()));
+        assertThat(firstSource.getProperty("/my/user"), is("admin"));
+        verify(ssmClientBuilderMock, times(1)).build();
+        verify(ssmClientMock, times(1)).getParameters(any(GetParametersRequest.class));
+        verify(ssmClientMock, never()).getParameter(any(GetParameterRequest.class));
+    }
+
+    @Test
+    public void testSecondContextReusesParametersResolvedOneAtATimeThroughTheCache()
+    {
+        when(ssmClientBuilderMock.build()).thenReturn(ssmClientMock);
+        stubGetParameter("/my/key", "value");
+        String endpoint = "http://localhost/" + System.nanoTime();
+        MockEnvironment reusingEnvironment = buildReusingEnvironment(endpoint);
+        reusingEnvironment.setProperty(ParameterStorePropertySourceConfigurationProperties.PREFETCH_PLACEHOLDERS,
+                                       "false");
+
+        ParameterStoreSource firstSource = buildReusingFactory(ACCESS_KEY_ID).createParameterStoreSource(reusingEnvironment,
+                                                                                                         ssmClientBuilderMock,
+                                                                                                         clientBuilder -> clientBuilder.region(REGION),
+                                                                                                         false);
+        assertThat(firstSource.getProperty("/my/key"), is("value"));
+        ParameterStoreSource secondSource = buildReusingFactory(ACCESS_KEY_ID).createParameterStoreSource(reusingEnvironment,
+                                                                                                          ssmClientBuilderMock,
+                                                                                                          clientBuilder -> clientBuilder.region(REGION),
+                                                                                                          false);
+
+        assertThat(secondSource.getProperty("/my/key"), is("value"));
+        verify(ssmClientMock, times(1)).getParameter(any(GetParameterRequest.class));
+    }
+
+    @Test
+    public void testContextsWithOtherCredentialsShareNothing()
+    {
+        when(ssmClientBuilderMock.build()).thenReturn(ssmClientMock);
+        when(ssmClientMock.getParameters(any(GetParametersRequest.class))).thenReturn(GetParametersResponse.builder()
+                                                                                                           .parameters(Parameter.builder()
+                                                                                                                                .name("/my/user")
+                                                                                                                                .value("admin")
+                                                                                                                                .build())
+                                                                                                           .invalidParameters("/my/password")
+                                                                                                           .build());
+        String endpoint = "http://localhost/" + System.nanoTime();
+
+        buildReusingFactory(ACCESS_KEY_ID).createParameterStoreSource(buildReusingEnvironment(endpoint),
+                                                                      ssmClientBuilderMock,
+                                                                      clientBuilder -> clientBuilder.region(REGION),
+                                                                      false);
+        ParameterStoreSource otherSource = buildReusingFactory(OTHER_ACCESS_KEY_ID).createParameterStoreSource(buildReusingEnvironment(endpoint),
+                                                                                                               ssmClientBuilderMock,
+                                                                                                               clientBuilder -> clientBuilder.region(REGION),
+                                                                                                               false);
+
+        assertThat(otherSource.getProperty("/my/user"), is("admin"));
+        verify(ssmClientBuilderMock, times(2)).build();
+        verify(ssmClientMock, times(2)).getParameters(any(GetParametersRequest.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShouldThrowWhenReuseMaxAgeIsNotPositive()
+    {
+        MockEnvironment reusingEnvironment = buildReusingEnvironment("http://localhost/" + System.nanoTime());
+        reusingEnvironment.setProperty(ParameterStorePropertySourceConfigurationProperties.REUSE_MAX_AGE_IN_SECONDS, "0");
+        when(ssmClientBuilderMock.build()).thenReturn(ssmClientMock);
+
+        buildReusingFactory(ACCESS_KEY_ID).createParameterStoreSource(reusingEnvironment,
+                                                                      ssmClientBuilderMock,
+                                                                      clientBuilder -> clientBuilder.region(REGION),
+                                                                      false);
+    }
+
+    @Test
+    public void testPlaceholdersAreNotPrefetchedByDefault()
+    {
+        environment.setProperty("my.password", "${/my/password}");
+
+        factory.createParameterStoreSource(environment, ssmClientMock, false);
+
+        verify(ssmClientMock, never()).getParameters(any(GetParametersRequest.class));
+    }
+
+    private static long countLiveThreads(String threadNamePrefix)
+    {
+        return Thread.getAllStackTraces()
+                     .keySet()
+                     .stream()
+                     .filter(thread -> thread.isAlive() && thread.getName().startsWith(threadNamePrefix))
+                     .count();
+    }
+
+    private static void assertLookupFails(ParameterStoreSource source, String propertyName)
+    {
+        try {
+            source.getProperty(propertyName);
+            fail("The lookup was expected to fail");
+        } catch (ParameterStoreError expected) {
+        }
+    }
+
+    private void stubGetParameter(String name, String value)
+    {
+        GetParameterResponse response = buildGetParameterResponse(name, value);
+        when(ssmClientMock.getParameter(any(GetParameterRequest.class))).thenReturn(response);
+    }
+
+    private static GetParameterResponse buildGetParameterResponse(String name, String value)
+    {
+        return GetParameterResponse.builder()
+                                   .parameter(Parameter.builder().name(name).value(value).build())
+                                   .responseMetadata(new AwsResponseMetadata(Collections.emptyMap())
+                                   {
+                                   })
+                                   .sdkHttpResponse(SdkHttpResponse.builder().statusCode(200).build())
+                                   .build();
+    }
+
+    private static SsmException throttlingException()
+    {
+        return (SsmException) SsmException.builder()
+                                          .awsErrorDetails(AwsErrorDetails.builder()
+                                                                          .errorCode("ThrottlingException")
+                                                                          .build())
+                                          .statusCode(400)
+                                          .build();
+    }
+
+    private void publishToSharedCache(String propertyName, String value) throws Exception
+    {
+        Path sharedCacheFile = temporaryFolder.getRoot().toPath().resolve("default.cache");
+        try (SharedParameterStoreCache siblingSharedCache = new SharedParameterStoreCache(sharedCacheFile,
+                                                                                          4096,
+                                                                                          60000L,
+                                                                                          null)) {
+            siblingSharedCache.putValue(propertyName, value, 1L, false);
+        }
+    }
+
+    private void enableSnapshotFile()
+    {
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.SNAPSHOT_FILE_ENABLED, "true");
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.SNAPSHOT_FILE_DIRECTORY,
+                                temporaryFolder.getRoot().getPath());
+        environment.setProperty(ParameterStorePropertySourceConfigurationProperties.SNAPSHOT_FILE_KEY,
+                                Base64.getEncoder().encodeToString(SNAPSHOT_FILE_KEY));
+    }
+
+    private void saveSnapshot(Instant savedAt)
+    {
+        new ParameterStoreSnapshotFile(temporaryFolder.getRoot().toPath().resolve("default.snapshot"),
+                                       new SecretKeySpec(SNAPSHOT_FILE_KEY, "AES")).write(ParameterStoreSnapshot.EMPTY.withPaths(Collections.singletonList(SNAPSHOT_PATH),
+                                                                                                                                 Collections.singletonList(SNAPSHOT_PARAMETER)),
+                                                                                          savedAt);
+    }
+
+    private ParameterStoreSourceFactory buildReusingFactory(String accessKeyId)
+    {
+        return new ParameterStoreSourceFactory(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKeyId,
+                                                                                                           "secret")),
+                                               () -> REGION);
+    }
+
+    private MockEnvironment buildReusingEnvironment(String endpoint)
+    {
+        MockEnvironment reusingEnvironment = new MockEnvironment();
+        reusingEnvironment.setProperty(ParameterStorePropertySourceConfigurationProperties.REUSE_ENABLED, "true");
+        reusingEnvironment.setProperty(ParameterStorePropertySourceConfigurationProperties.SSM_CLIENT_CUSTOM_ENDPOINT,
+                                       endpoint);
+        reusingEnvironment.setProperty(ParameterStorePropertySourceConfigurationProperties.PREFETCH_PLACEHOLDERS, "true");
+        reusingEnvironment.setProperty("my.password", "${/my/password}");
+        reusingEnvironment.setProperty("my.user", "${/my/user}");
+        return reusingEnvironment;
+    }
+
+    private static void writeRegistration(File file, String registration) throws IOException
+    {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), Collections.singletonList(registration));
+    }
+
+    public static class RecordingSsmCallListener implements SsmCallListener
+    {
+        private static final List<SsmCall> STARTED_CALLS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onCallStarted(SsmCall call)
+        {
+            STARTED_CALLS.add(call);
+        }
+    }
+}
@@ -1,40 +1,99 @@
 package com.coveo.configuration.parameterstore;
 
+import com.coveo.configuration.parameterstore.cache.ParameterStoreCache;
+import com.coveo.configuration.parameterstore.cache.ParameterStoreSnapshot;
+import com.coveo.configuration.parameterstore.cache.SharedParameterStoreCache;
+import com.coveo.configuration.parameterstore.engine.BlockingParameterStoreEngine;
+import com.coveo.configuration.parameterstore.engine.LastKnownValueParameterStoreEngine;
+import com.coveo.configuration.parameterstore.engine.ParameterStoreCircuitOpenException;
+import com.coveo.configuration.parameterstore.engine.ParameterStoreEngine;
+import com.coveo.configuration.parameterstore.engine.ParameterStoreFutures;
+import com.coveo.configuration.parameterstore.engine.RecordingParameterStoreEngine;
+import com.coveo.configuration.parameterstore.engine.SharedCacheParameterStoreEngine;
+import com.coveo.configuration.parameterstore.event.ParameterChange;
 import com.coveo.configuration.parameterstore.exception.ParameterStoreError;
 import com.coveo.configuration.parameterstore.exception.ParameterStoreParameterNotFoundError;
+import com.coveo.configuration.parameterstore.metrics.ParameterStoreMetrics;
+import com.coveo.configuration.parameterstore.trace.ParameterStoreBootTrace;
+import com.coveo.configuration.parameterstore.trace.ParameterStoreKeyTrace;
+import com.coveo.configuration.parameterstore.trace.ParameterStoreLookupOutcome;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import software.amazon.awssdk.awscore.AwsResponseMetadata;
 import software.amazon.awssdk.http.SdkHttpResponse;
 import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersRequest;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersResponse;
 import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
 import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
 import software.amazon.awssdk.services.ssm.model.Parameter;
+import software.amazon.awssdk.services.ssm.model.ParameterMetadata;
 import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+import software.amazon.awssdk.services.ssm.model.ParameterStringFilter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ParameterStoreSourceTest {
     private static final String VALID_PROPERTY_NAME = "awesomeproperty";
     private static final String VALID_PROPERTY_VALUE = "awesomepropertyVALUE";
+    private static final String ROTATED_PROPERTY_VALUE = "rotatedawesomepropertyVALUE";
 
     private static final String INVALID_PROPERTY_NAME = "notawesomeproperty";
 
+    private static final String PREFETCH_PATH = "/prod/my-service";
+    private static final String PREFETCHED_PROPERTY_NAME = "/prod/my-service/db/password";
+    private static final String OTHER_PREFETCHED_PROPERTY_NAME = "/prod/my-service/db/user";
+    private static final String MISSING_PREFETCHED_PROPERTY_NAME = "/prod/my-service/db/url";
+    private static final String NEXT_TOKEN = "nextToken";
+
+    private static final long CACHE_TIME_TO_LIVE_IN_MILLIS = 60000L;
+    private static final int CACHE_MAX_SIZE = 10;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Mock
     private SsmClient ssmClientMock;
     @Mock
+    private ParameterStoreEngine parameterStoreEngineMock;
+    @Mock
     private SdkHttpResponse sdkHttpMetadataMock;
     @Mock
     private AwsResponseMetadata responseMetadataMock;
+    @Mock
+    private SharedParameterStoreCache sharedCacheMock;
 
     private ParameterStoreSource parameterStoreSource;
 
@@ -112,6 +171,613 @@ public class ParameterStoreSourceTest {
         parameterStoreSourceHaltingBoot.getProperty(VALID_PROPERTY_NAME);
     }
 
+    @Test
+    public void testGetPropertyIsServedFromCacheWhenCacheIsEnabled() {
+        when(ssmClientMock.getParameter(getParameterRequest(VALID_PROPERTY_NAME))).thenReturn(getGetParameterResult()
+                .parameter(Parameter.builder().value(VALID_PROPERTY_VALUE).build())
+                .build());
+        ParameterStoreSource cachingParameterStoreSource = new ParameterStoreSource(ssmClientMock,
+                false,
+                new ParameterStoreCache(CACHE_TIME_TO_LIVE_IN_MILLIS, CACHE_MAX_SIZE));
+
+        assertThat(cachingParameterStoreSource.getProperty(VALID_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+        assertThat(cachingParameterStoreSource.getProperty(VALID_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+
+        verify(ssmClientMock, times(1)).getParameter(getParameterRequest(VALID_PROPERTY_NAME));
+    }
+
+    @Test
+    public void testGetPropertyWhenNotFoundIsCachedWhenCacheIsEnabled() {
+        when(ssmClientMock.getParameter(getParameterRequest(INVALID_PROPERTY_NAME))).thenThrow(ParameterNotFoundException.builder().build());
+        ParameterStoreSource cachingParameterStoreSource = new ParameterStoreSource(ssmClientMock,
+                false,
+                new ParameterStoreCache(CACHE_TIME_TO_LIVE_IN_MILLIS, CACHE_MAX_SIZE));
+
+        assertThat(cachingParameterStoreSource.getProperty(INVALID_PROPERTY_NAME), is(nullValue()));
+        assertThat(cachingParameterStoreSource.getProperty(INVALID_PROPERTY_NAME), is(nullValue()));
+
+        verify(ssmClientMock, times(1)).getParameter(getParameterRequest(INVALID_PROPERTY_NAME));
+    }
+
+    @Test
+    public void testStaleCachedValueIsServedAndFetchedAgainInTheBackground() {
+        when(ssmClientMock.getParameter(getParameterRequest(VALID_PROPERTY_NAME))).thenReturn(getGetParameterResult()
+                .parameter(Parameter.builder().value(ROTATED_PROPERTY_VALUE).build())
+                .build());
+        ParameterStoreCache cache = new ParameterStoreCache(0L, CACHE_TIME_TO_LIVE_IN_MILLIS, CACHE_MAX_SIZE);
+        cache.putValue(VALID_PROPERTY_NAME, VALID_PROPERTY_VALUE);
+        List<Runnable> revalidations = new ArrayList<>();
+        ParameterStoreSource revalidatingParameterStoreSource = new ParameterStoreSource(ssmClientMock, false, cache);
+        revalidatingParameterStoreSource.setRevalidationExecutor(revalidations::add);
+
+        assertThat(revalidatingParameterStoreSource.getProperty(VALID_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+        assertThat(revalidatingParameterStoreSource.getProperty(VALID_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+        assertThat(revalidations.size(), is(1));
+        verify(ssmClientMock, never()).getParameter(any(GetParameterRequest.class));
+
+        revalidations.get(0).run();
+
+        assertThat(cache.get(VALID_PROPERTY_NAME).getValue(), is(ROTATED_PROPERTY_VALUE));
+    }
+
+    @Test
+    public void testFailedRevalidationKeepsStaleCachedValue() {
+        when(ssmClientMock.getParameter(getParameterRequest(VALID_PROPERTY_NAME))).thenThrow(new RuntimeException());
+        ParameterStoreCache cache = new ParameterStoreCache(0L, CACHE_TIME_TO_LIVE_IN_MILLIS, CACHE_MAX_SIZE);
+        cache.putValue(VALID_PROPERTY_NAME, VALID_PROPERTY_VALUE);
+        ParameterStoreSource revalidatingParameterStoreSource = new ParameterStoreSource(ssmClientMock, false, cache);
+        revalidatingParameterStoreSource.setRevalidationExecutor(Runnable::run);
+
+        assertThat(revalidatingParameterStoreSource.getProperty(VALID_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+        assertThat(revalidatingParameterStoreSource.getProperty(VALID_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+        verify(ssmClientMock, times(2)).getParameter(getParameterRequest(VALID_PROPERTY_NAME));
+    }
+
+    @Test(expected = ParameterStoreParameterNotFoundError.class)
+    public void shouldThrowOnCachedNotFoundWhenHaltBootIsTrue() {
+        ParameterStoreCache cache = new ParameterStoreCache(CACHE_TIME_TO_LIVE_IN_MILLIS, CACHE_MAX_SIZE);
+        cache.putNotFound(INVALID_PROPERTY_NAME);
+        ParameterStoreSource parameterStoreSourceHaltingBoot = new ParameterStoreSource(ssmClientMock, true, cache);
+
+        parameterStoreSourceHaltingBoot.getProperty(INVALID_PROPERTY_NAME);
+    }
+
+    @Test
+    public void testGetPropertyIsServedFromSharedCacheWithoutCallingTheParameterStore() {
+        ParameterStoreCache cache = new ParameterStoreCache(CACHE_TIME_TO_LIVE_IN_MILLIS, CACHE_MAX_SIZE);
+        cache.putValue(VALID_PROPERTY_NAME, VALID_PROPERTY_VALUE);
+        when(sharedCacheMock.get(VALID_PROPERTY_NAME)).thenReturn(cache.get(VALID_PROPERTY_NAME));
+        ParameterStoreCache localCache = new ParameterStoreCache(CACHE_TIME_TO_LIVE_IN_MILLIS, CACHE_MAX_SIZE);
+        ParameterStoreSource sharingParameterStoreSource = new ParameterStoreSource(new SharedCacheParameterStoreEngine(new BlockingParameterStoreEngine(ssmClientMock),
+                sharedCacheMock), false, localCache);
+
+        assertThat(sharingParameterStoreSource.getProperty(VALID_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+        assertThat(sharingParameterStoreSource.getProperty(VALID_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+
+        verify(sharedCacheMock, times(1)).get(VALID_PROPERTY_NAME);
+        verify(ssmClientMock, never()).getParameter(any(GetParameterRequest.class));
+    }
+
+    @Test
+    public void testCacheHitsMissesAndNotFoundAreRecorded() {
+        when(ssmClientMock.getParameter(getParameterRequest(VALID_PROPERTY_NAME))).thenReturn(getGetParameterResult()
+                .parameter(Parameter.builder().value(VALID_PROPERTY_VALUE).build())
+                .build());
+        when(ssmClientMock.getParameter(getParameterRequest(INVALID_PROPERTY_NAME))).thenThrow(ParameterNotFoundException.builder().build());
+        ParameterStoreMetrics metrics = new ParameterStoreMetrics();
+        ParameterStoreSource cachingParameterStoreSource = new ParameterStoreSource(ssmClientMock,
+                false,
+                new ParameterStoreCache(CACHE_TIME_TO_LIVE_IN_MILLIS, CACHE_MAX_SIZE));
+        cachingParameterStoreSource.setMetrics(metrics);
+
+        cachingParameterStoreSource.getProperty(VALID_PROPERTY_NAME);
+        cachingParameterStoreSource.getProperty(VALID_PROPERTY_NAME);
+        cachingParameterStoreSource.getProperty(INVALID_PROPERTY_NAME);
+        cachingParameterStoreSource.getProperty(INVALID_PROPERTY_NAME);
+
+        assertThat(metrics.getCacheMisses(), is(2L));
+        assertThat(metrics.getCacheHits(), is(2L));
+        assertThat(metrics.getNotFound(), is(1L));
+    }
+
+    @Test
+    public void testLookupsAreRecordedInBootTrace() {
+        when(ssmClientMock.getParameter(getParameterRequest(VALID_PROPERTY_NAME))).thenReturn(getGetParameterResult()
+                .parameter(Parameter.builder().value(VALID_PROPERTY_VALUE).build())
+                .build());
+        when(ssmClientMock.getParameter(getParameterRequest(INVALID_PROPERTY_NAME))).thenThrow(ParameterNotFoundException.builder().build());
+        ParameterStoreBootTrace bootTrace = new ParameterStoreBootTrace();
+        ParameterStoreSource cachingParameterStoreSource = new ParameterStoreSource(ssmClientMock,
+                false,
+                new ParameterStoreCache(CACHE_TIME_TO_LIVE_IN_MILLIS, CACHE_MAX_SIZE));
+        cachingParameterStoreSource.setBootTrace(bootTrace, "us-east-1");
+        bootTrace.recordRetry(VALID_PROPERTY_NAME);
+
+        cachingParameterStoreSource.getProperty(VALID_PROPERTY_NAME);
+        cachingParameterStoreSource.getProperty(VALID_PROPERTY_NAME);
+        cachingParameterStoreSource.getProperty(INVALID_PROPERTY_NAME);
+
+        Map<String, ParameterStoreKeyTrace> keyTraces = bootTrace.getKeyTraces()
+                .stream()
+                .collect(Collectors.toMap(ParameterStoreKeyTrace::getKey, Function.identity()));
+        ParameterStoreKeyTrace validPropertyTrace = keyTraces.get(VALID_PROPERTY_NAME);
+        assertThat(validPropertyTrace.getRegion(), is("us-east-1"));
+        assertThat(validPropertyTrace.getLookups(), is(2));
+        assertThat(validPropertyTrace.getFetches(), is(1));
+        assertThat(validPropertyTrace.getRetries(), is(1));
+        assertThat(validPropertyTrace.getLastOutcome(), is(ParameterStoreLookupOutcome.FOUND));
+        assertThat(keyTraces.get(INVALID_PROPERTY_NAME).getLastOutcome(), is(ParameterStoreLookupOutcome.NOT_FOUND));
+    }
+
+    @Test
+    public void testRecordedParametersAreCachedAsUsual() {
+        when(ssmClientMock.getParameter(getParameterRequest(VALID_PROPERTY_NAME))).thenReturn(getGetParameterResult()
+                .parameter(Parameter.builder().value(VALID_PROPERTY_VALUE).build())
+                .build());
+        when(ssmClientMock.getParameter(getParameterRequest(INVALID_PROPERTY_NAME))).thenThrow(ParameterNotFoundException.builder().build());
+        ParameterStoreCache cache = new ParameterStoreCache(CACHE_TIME_TO_LIVE_IN_MILLIS, CACHE_MAX_SIZE);
+        Map<String, Parameter> resolvedParameters = new HashMap<>();
+        ParameterStoreSource cachingParameterStoreSource = new ParameterStoreSource(new RecordingParameterStoreEngine(new BlockingParameterStoreEngine(ssmClientMock),
+                resolvedParameters::put), false, cache);
+
+        cachingParameterStoreSource.getProperty(VALID_PROPERTY_NAME);
+        cachingParameterStoreSource.getProperty(INVALID_PROPERTY_NAME);
+
+        assertThat(resolvedParameters.get(VALID_PROPERTY_NAME).value(), is(VALID_PROPERTY_VALUE));
+        assertThat(resolvedParameters.containsKey(INVALID_PROPERTY_NAME), is(true));
+        assertThat(resolvedParameters.get(INVALID_PROPERTY_NAME), is(nullValue()));
+        assertThat(cache.size(), is(2));
+        assertThat(cachingParameterStoreSource.getSnapshot().getParameters().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testSharedParameterIsTrackedForRefreshing() {
+        ParameterStoreCache cache = new ParameterStoreCache(CACHE_TIME_TO_LIVE_IN_MILLIS, CACHE_MAX_SIZE);
+        cache.putValue(VALID_PROPERTY_NAME, VALID_PROPERTY_VALUE);
+        when(sharedCacheMock.get(VALID_PROPERTY_NAME)).thenReturn(cache.get(VALID_PROPERTY_NAME));
+        ParameterStoreSource sharingParameterStoreSource = new ParameterStoreSource(new SharedCacheParameterStoreEngine(new BlockingParameterStoreEngine(ssmClientMock),
+                sharedCacheMock), false, null);
+        sharingParameterStoreSource.setTrackResolvedParameters(true);
+
+        assertThat(sharingParameterStoreSource.getProperty(VALID_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+
+        assertThat(sharingParameterStoreSource.getSnapshot().getParameters().get(VALID_PROPERTY_NAME).value(),
+                is(VALID_PROPERTY_VALUE));
+    }
+
+    @Test
+    public void testExpiredCachedValueIsServedWhenFetchingFailsWithCircuitBreaker() {
+        when(ssmClientMock.getParameter(getParameterRequest(VALID_PROPERTY_NAME))).thenReturn(getGetParameterResult()
+                .parameter(Parameter.builder().value(VALID_PROPERTY_VALUE).build())
+                .build()).thenThrow(new ParameterStoreCircuitOpenException());
+        // Every entry expires as soon as it is cached
+        ParameterStoreCache cache = new ParameterStoreCache(0L, CACHE_MAX_SIZE);
+        cache.setKeepExpiredValues(true);
+        ParameterStoreSource cachingParameterStoreSource = new ParameterStoreSource(new LastKnownValueParameterStoreEngine(new BlockingParameterStoreEngine(ssmClientMock),
+                cache::getLastKnownValue), false, cache);
+
+        assertThat(cachingParameterStoreSource.getProperty(VALID_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+        assertThat(cachingParameterStoreSource.getProperty(VALID_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+        verify(ssmClientMock, times(2)).getParameter(getParameterRequest(VALID_PROPERTY_NAME));
+    }
+
+    @Test(expected = ParameterStoreError.class)
+    public void shouldThrowWhenFetchingFailsWithCircuitBreakerAndNoKnownValue() {
+        when(ssmClientMock.getParameter(getParameterRequest(VALID_PROPERTY_NAME))).thenThrow(new ParameterStoreCircuitOpenException());
+        ParameterStoreCache cache = new ParameterStoreCache(CACHE_TIME_TO_LIVE_IN_MILLIS, CACHE_MAX_SIZE);
+        ParameterStoreSource cachingParameterStoreSource = new ParameterStoreSource(new LastKnownValueParameterStoreEngine(new BlockingParameterStoreEngine(ssmClientMock),
+                cache::getLastKnownValue), false, cache);
+
+        cachingParameterStoreSource.getProperty(VALID_PROPERTY_NAME);
+    }
+
+    @Test(expected = ParameterStoreError.class)
+    public void shouldNotServeExpiredCachedValueWithoutCircuitBreaker() {
+        when(ssmClientMock.getParameter(getParameterRequest(VALID_PROPERTY_NAME))).thenReturn(getGetParameterResult()
+                .parameter(Parameter.builder().value(VALID_PROPERTY_VALUE).build())
+                .build()).thenThrow(new RuntimeException());
+        ParameterStoreCache cache = new ParameterStoreCache(0L, CACHE_MAX_SIZE);
+        cache.setKeepExpiredValues(true);
+        ParameterStoreSource cachingParameterStoreSource = new ParameterStoreSource(ssmClientMock, false, cache);
+
+        cachingParameterStoreSource.getProperty(VALID_PROPERTY_NAME);
+        cachingParameterStoreSource.getProperty(VALID_PROPERTY_NAME);
+    }
+
+    @Test
+    public void testPrefetchWalksEveryPageAndServesParametersFromMemory() {
+        when(ssmClientMock.getParametersByPath(getParametersByPathRequest(PREFETCH_PATH, null))).thenReturn(GetParametersByPathResponse.builder()
+                .parameters(Parameter.builder().name(PREFETCHED_PROPERTY_NAME).value(VALID_PROPERTY_VALUE).build())
+                .nextToken(NEXT_TOKEN)
+                .build());
+        when(ssmClientMock.getParametersByPath(getParametersByPathRequest(PREFETCH_PATH, NEXT_TOKEN))).thenReturn(GetParametersByPathResponse.builder()
+                .parameters(Parameter.builder().name(OTHER_PREFETCHED_PROPERTY_NAME).value(VALID_PROPERTY_VALUE).build())
+                .build());
+
+        boolean prefetched = parameterStoreSource.prefetch(Collections.singletonList(PREFETCH_PATH));
+
+        assertThat(prefetched, is(true));
+        assertThat(parameterStoreSource.getProperty(PREFETCHED_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+        assertThat(parameterStoreSource.getProperty(OTHER_PREFETCHED_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+        verify(ssmClientMock, never()).getParameter(any(GetParameterRequest.class));
+    }
+
+    @Test
+    public void testPropertiesUnderPrefetchedPathsThatWereNotReturnedAreFetchedOneAtATime() {
+        when(ssmClientMock.getParametersByPath(getParametersByPathRequest(PREFETCH_PATH, null))).thenReturn(GetParametersByPathResponse.builder()
+                .parameters(Parameter.builder().name(PREFETCHED_PROPERTY_NAME).value(VALID_PROPERTY_VALUE).build())
+                .build());
+        when(ssmClientMock.getParameter(getParameterRequest(MISSING_PREFETCHED_PROPERTY_NAME))).thenReturn(getGetParameterResult()
+                .parameter(Parameter.builder().value(ROTATED_PROPERTY_VALUE).build())
+                .build());
+
+        parameterStoreSource.prefetch(Collections.singletonList(PREFETCH_PATH));
+
+        assertThat(parameterStoreSource.getProperty(MISSING_PREFETCHED_PROPERTY_NAME), is(ROTATED_PROPERTY_VALUE));
+    }
+
+    @Test
+    public void testSelectorsUnderPrefetchedPathsAreFetchedOneAtATime() {
+        String selectedPropertyName = PREFETCHED_PROPERTY_NAME + ":3";
+        when(ssmClientMock.getParametersByPath(getParametersByPathRequest(PREFETCH_PATH, null))).thenReturn(GetParametersByPathResponse.builder()
+                .parameters(Parameter.builder().name(PREFETCHED_PROPERTY_NAME).value(VALID_PROPERTY_VALUE).build())
+                .build());
+        when(ssmClientMock.getParameter(getParameterRequest(selectedPropertyName))).thenReturn(getGetParameterResult()
+                .parameter(Parameter.builder().value(ROTATED_PROPERTY_VALUE).build())
+                .build());
+
+        parameterStoreSource.prefetch(Collections.singletonList(PREFETCH_PATH));
+
+        assertThat(parameterStoreSource.getProperty(selectedPropertyName), is(ROTATED_PROPERTY_VALUE));
+    }
+
+    @Test
+    public void testRestoredSnapshotIsServedWithoutCallingTheParameterStore() {
+        parameterStoreSource.restoreSnapshot(ParameterStoreSnapshot.EMPTY.withPaths(Collections.singletonList(PREFETCH_PATH),
+                Collections.singletonList(Parameter.builder().name(PREFETCHED_PROPERTY_NAME).value(VALID_PROPERTY_VALUE).build())));
+
+        assertThat(parameterStoreSource.getProperty(PREFETCHED_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+        verify(ssmClientMock, never()).getParameter(any(GetParameterRequest.class));
+    }
+
+    @Test
+    public void testSnapshotListenersAreCalledWithFetchedParameters() {
+        when(ssmClientMock.getParametersByPath(getParametersByPathRequest(PREFETCH_PATH, null))).thenReturn(GetParametersByPathResponse.builder()
+                .parameters(Parameter.builder().name(PREFETCHED_PROPERTY_NAME).value(VALID_PROPERTY_VALUE).build())
+                .build());
+        List<ParameterStoreSnapshot> snapshots = new ArrayList<>();
+        parameterStoreSource.addSnapshotListener(snapshots::add);
+
+        parameterStoreSource.prefetch(Collections.singletonList(PREFETCH_PATH));
+
+        assertThat(snapshots, contains(parameterStoreSource.getSnapshot()));
+    }
+
+    @Test
+    public void testPropertiesOutsidePrefetchedPathsAreFetchedOneAtATime() {
+        when(ssmClientMock.getParametersByPath(getParametersByPathRequest(PREFETCH_PATH, null))).thenReturn(GetParametersByPathResponse.builder()
+                .parameters(Collections.emptyList())
+                .build());
+        when(ssmClientMock.getParameter(getParameterRequest(VALID_PROPERTY_NAME))).thenReturn(getGetParameterResult()
+                .parameter(Parameter.builder().value(VALID_PROPERTY_VALUE).build())
+                .build());
+
+        parameterStoreSource.prefetch(Collections.singletonList(PREFETCH_PATH));
+
+        assertThat(parameterStoreSource.getProperty(VALID_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+        verify(ssmClientMock).getParameter(getParameterRequest(VALID_PROPERTY_NAME));
+    }
+
+    @Test(expected = ParameterStoreParameterNotFoundError.class)
+    public void shouldThrowOnMissingPrefetchedPropertyWhenHaltBootIsTrue() {
+        when(ssmClientMock.getParametersByPath(getParametersByPathRequest(PREFETCH_PATH, null))).thenReturn(GetParametersByPathResponse.builder()
+                .parameters(Collections.emptyList())
+                .build());
+        when(ssmClientMock.getParameter(getParameterRequest(MISSING_PREFETCHED_PROPERTY_NAME))).thenThrow(ParameterNotFoundException.builder().build());
+        ParameterStoreSource parameterStoreSourceHaltingBoot = new ParameterStoreSource(ssmClientMock, true);
+        parameterStoreSourceHaltingBoot.prefetch(Collections.singletonList(PREFETCH_PATH));
+
+        parameterStoreSourceHaltingBoot.getProperty(MISSING_PREFETCHED_PROPERTY_NAME);
+    }
+
+    @Test
+    public void testPropertiesUnderFailedPrefetchedPathsAreFetchedOneAtATime() {
+        when(ssmClientMock.getParametersByPath(getParametersByPathRequest(PREFETCH_PATH, null))).thenThrow(new RuntimeException());
+        when(ssmClientMock.getParameter(getParameterRequest(PREFETCHED_PROPERTY_NAME))).thenReturn(getGetParameterResult()
+                .parameter(Parameter.builder().value(VALID_PROPERTY_VALUE).build())
+                .build());
+
+        boolean prefetched = parameterStoreSource.prefetch(Collections.singletonList(PREFETCH_PATH));
+
+        assertThat(prefetched, is(false));
+        assertThat(parameterStoreSource.getSnapshot().getPaths(), is(empty()));
+        assertThat(parameterStoreSource.getProperty(PREFETCHED_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+    }
+
+    @Test
+    public void testPrefetchParametersFetchesInBatchesOfTen() {
+        List<String> propertyNames = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            propertyNames.add("/prod/my-service/property" + i);
+        }
+        when(ssmClientMock.getParameters(getParametersRequest(propertyNames.subList(0, 10)))).thenReturn(GetParametersResponse.builder()
+                .parameters(Parameter.builder().name(propertyNames.get(0)).value(VALID_PROPERTY_VALUE).build())
+                .invalidParameters(propertyNames.subList(1, 10))
+                .build());
+        when(ssmClientMock.getParameters(getParametersRequest(propertyNames.subList(10, 12)))).thenReturn(GetParametersResponse.builder()
+                .invalidParameters(propertyNames.subList(10, 12))
+                .build());
+
+        parameterStoreSource.prefetchParameters(propertyNames, Runnable::run);
+
+        assertThat(parameterStoreSource.getProperty(propertyNames.get(0)), is(VALID_PROPERTY_VALUE));
+        assertThat(parameterStoreSource.getProperty(propertyNames.get(11)), is(nullValue()));
+        verify(ssmClientMock, times(2)).getParameters(any(GetParametersRequest.class));
+        verify(ssmClientMock, never()).getParameter(any(GetParameterRequest.class));
+    }
+
+    @Test(expected = ParameterStoreParameterNotFoundError.class)
+    public void shouldThrowOnInvalidPrefetchedParameterWhenHaltBootIsTrue() {
+        when(ssmClientMock.getParameters(getParametersRequest(Collections.singletonList(INVALID_PROPERTY_NAME)))).thenReturn(GetParametersResponse.builder()
+                .invalidParameters(INVALID_PROPERTY_NAME)
+                .build());
+        ParameterStoreSource parameterStoreSourceHaltingBoot = new ParameterStoreSource(ssmClientMock, true);
+        parameterStoreSourceHaltingBoot.prefetchParameters(Collections.singletonList(INVALID_PROPERTY_NAME), Runnable::run);
+
+        parameterStoreSourceHaltingBoot.getProperty(INVALID_PROPERTY_NAME);
+    }
+
+    @Test
+    public void testPropertiesOfFailedBatchAreFetchedOneAtATime() {
+        when(ssmClientMock.getParameters(any(GetParametersRequest.class))).thenThrow(new RuntimeException());
+        when(ssmClientMock.getParameter(getParameterRequest(VALID_PROPERTY_NAME))).thenReturn(getGetParameterResult()
+                .parameter(Parameter.builder().value(VALID_PROPERTY_VALUE).build())
+                .build());
+
+        parameterStoreSource.prefetchParameters(Arrays.asList(VALID_PROPERTY_NAME), Runnable::run);
+
+        assertThat(parameterStoreSource.getProperty(VALID_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+        verify(ssmClientMock).getParameter(getParameterRequest(VALID_PROPERTY_NAME));
+    }
+
+    @Test
+    public void testGetPropertyAsyncDoesNotWaitForTheEngine() {
+        CompletableFuture<GetParameterResponse> pendingCall = new CompletableFuture<>();
+        when(parameterStoreEngineMock.getParameter(getParameterRequest(VALID_PROPERTY_NAME))).thenReturn(pendingCall);
+        ParameterStoreSource asyncParameterStoreSource = new ParameterStoreSource(parameterStoreEngineMock, false, null);
+
+        CompletableFuture<Object> value = asyncParameterStoreSource.getPropertyAsync(VALID_PROPERTY_NAME);
+
+        assertThat(value.isDone(), is(false));
+        pendingCall.complete(getGetParameterResult().parameter(Parameter.builder().value(VALID_PROPERTY_VALUE).build())
+                .build());
+        assertThat(value.join(), is(VALID_PROPERTY_VALUE));
+    }
+
+    @Test
+    public void testConcurrentLookupsOfSamePropertyShareOneCall() {
+        CompletableFuture<GetParameterResponse> pendingCall = new CompletableFuture<>();
+        when(parameterStoreEngineMock.getParameter(getParameterRequest(VALID_PROPERTY_NAME))).thenReturn(pendingCall);
+        ParameterStoreSource asyncParameterStoreSource = new ParameterStoreSource(parameterStoreEngineMock, false, null);
+
+        CompletableFuture<Object> firstValue = asyncParameterStoreSource.getPropertyAsync(VALID_PROPERTY_NAME);
+        CompletableFuture<Object> secondValue = asyncParameterStoreSource.getPropertyAsync(VALID_PROPERTY_NAME);
+        pendingCall.complete(getGetParameterResult().parameter(Parameter.builder().value(VALID_PROPERTY_VALUE).build())
+                .build());
+
+        assertThat(firstValue.join(), is(VALID_PROPERTY_VALUE));
+        assertThat(secondValue.join(), is(VALID_PROPERTY_VALUE));
+        verify(parameterStoreEngineMock, times(1)).getParameter(getParameterRequest(VALID_PROPERTY_NAME));
+    }
+
+    @Test
+    public void testNotFoundIsSharedWithConcurrentLookupsWhenHaltBootIsTrue() {
+        CompletableFuture<GetParameterResponse> pendingCall = new CompletableFuture<>();
+        when(parameterStoreEngineMock.getParameter(getParameterRequest(INVALID_PROPERTY_NAME))).thenReturn(pendingCall);
+        ParameterStoreSource parameterStoreSourceHaltingBoot = new ParameterStoreSource(parameterStoreEngineMock,
+                true,
+                null);
+
+        CompletableFuture<Object> firstValue = parameterStoreSourceHaltingBoot.getPropertyAsync(INVALID_PROPERTY_NAME);
+        CompletableFuture<Object> secondValue = parameterStoreSourceHaltingBoot.getPropertyAsync(INVALID_PROPERTY_NAME);
+        pendingCall.completeExceptionally(ParameterNotFoundException.builder().build());
+
+        assertThat(ParameterStoreFutures.unwrap(catchFailure(firstValue)), is(instanceOf(ParameterStoreParameterNotFoundError.class)));
+        assertThat(ParameterStoreFutures.unwrap(catchFailure(secondValue)), is(instanceOf(ParameterStoreParameterNotFoundError.class)));
+        verify(parameterStoreEngineMock, times(1)).getParameter(getParameterRequest(INVALID_PROPERTY_NAME));
+    }
+
+    @Test
+    public void testLookupAfterCompletedOneCallsAgain() {
+        when(ssmClientMock.getParameter(getParameterRequest(VALID_PROPERTY_NAME))).thenReturn(getGetParameterResult()
+                .parameter(Parameter.builder().value(VALID_PROPERTY_VALUE).build())
+                .build());
+
+        parameterStoreSource.getProperty(VALID_PROPERTY_NAME);
+        parameterStoreSource.getProperty(VALID_PROPERTY_NAME);
+
+        verify(ssmClientMock, times(2)).getParameter(getParameterRequest(VALID_PROPERTY_NAME));
+    }
+
+    @Test(expected = ParameterStoreParameterNotFoundError.class)
+    public void shouldThrowOnGetPropertyWhenAsyncEngineDoesNotFindParameterAndHaltBootIsTrue() {
+        CompletableFuture<GetParameterResponse> failedCall = new CompletableFuture<>();
+        failedCall.completeExceptionally(ParameterNotFoundException.builder().build());
+        when(parameterStoreEngineMock.getParameter(getParameterRequest(INVALID_PROPERTY_NAME))).thenReturn(failedCall);
+        ParameterStoreSource parameterStoreSourceHaltingBoot = new ParameterStoreSource(parameterStoreEngineMock,
+                true,
+                null);
+
+        parameterStoreSourceHaltingBoot.getProperty(INVALID_PROPERTY_NAME);
+    }
+
+    @Test
+    public void testRefreshReplacesSnapshotWithCurrentValues() {
+        when(ssmClientMock.getParametersByPath(getParametersByPathRequest(PREFETCH_PATH, null))).thenReturn(GetParametersByPathResponse.builder()
+                .parameters(Parameter.builder().name(PREFETCHED_PROPERTY_NAME).value(VALID_PROPERTY_VALUE).build())
+                .build())
+                .thenReturn(GetParametersByPathResponse.builder()
+                        .parameters(Parameter.builder().name(PREFETCHED_PROPERTY_NAME).value(ROTATED_PROPERTY_VALUE).build())
+                        .build());
+        parameterStoreSource.prefetch(Collections.singletonList(PREFETCH_PATH));
+
+        parameterStoreSource.refresh(Runnable::run);
+
+        assertThat(parameterStoreSource.getProperty(PREFETCHED_PROPERTY_NAME), is(ROTATED_PROPERTY_VALUE));
+        verify(ssmClientMock, times(2)).getParametersByPath(getParametersByPathRequest(PREFETCH_PATH, null));
+    }
+
+    @Test
+    public void testRefreshRefetchesTrackedParameters() {
+        when(ssmClientMock.getParameter(getParameterRequest(VALID_PROPERTY_NAME))).thenReturn(getGetParameterResult()
+                .parameter(Parameter.builder().name(VALID_PROPERTY_NAME).value(VALID_PROPERTY_VALUE).build())
+                .build());
+        when(ssmClientMock.getParameter(getParameterRequest(INVALID_PROPERTY_NAME))).thenThrow(ParameterNotFoundException.builder().build());
+        when(ssmClientMock.getParameters(getParametersRequest(Arrays.asList(VALID_PROPERTY_NAME, INVALID_PROPERTY_NAME)))).thenReturn(GetParametersResponse.builder()
+                .parameters(Parameter.builder().name(VALID_PROPERTY_NAME).value(ROTATED_PROPERTY_VALUE).build(),
+                        Parameter.builder().name(INVALID_PROPERTY_NAME).value(VALID_PROPERTY_VALUE).build())
+                .build());
+        parameterStoreSource.setTrackResolvedParameters(true);
+        parameterStoreSource.getProperty(VALID_PROPERTY_NAME);
+        parameterStoreSource.getProperty(INVALID_PROPERTY_NAME);
+
+        parameterStoreSource.refresh(Runnable::run);
+
+        assertThat(parameterStoreSource.getProperty(VALID_PROPERTY_NAME), is(ROTATED_PROPERTY_VALUE));
+        assertThat(parameterStoreSource.getProperty(INVALID_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+        verify(ssmClientMock, times(1)).getParameter(getParameterRequest(VALID_PROPERTY_NAME));
+    }
+
+    @Test
+    public void testRefreshNotifiesChangeListenersOnlyWhenParametersChanged() {
+        when(ssmClientMock.getParametersByPath(getParametersByPathRequest(PREFETCH_PATH, null))).thenReturn(GetParametersByPathResponse.builder()
+                .parameters(Parameter.builder().name(PREFETCHED_PROPERTY_NAME).value(VALID_PROPERTY_VALUE).version(1L).build())
+                .build())
+                .thenReturn(GetParametersByPathResponse.builder()
+                        .parameters(Parameter.builder().name(PREFETCHED_PROPERTY_NAME).value(VALID_PROPERTY_VALUE).version(1L).build())
+                        .build())
+                .thenReturn(GetParametersByPathResponse.builder()
+                        .parameters(Parameter.builder().name(PREFETCHED_PROPERTY_NAME).value(ROTATED_PROPERTY_VALUE).version(2L).build())
+                        .build());
+        List<List<ParameterChange>> notifiedChanges = new ArrayList<>();
+        parameterStoreSource.addChangeListener(notifiedChanges::add);
+        parameterStoreSource.prefetch(Collections.singletonList(PREFETCH_PATH));
+
+        parameterStoreSource.refresh(Runnable::run);
+        parameterStoreSource.refresh(Runnable::run);
+
+        assertThat(notifiedChanges, contains(Collections.singletonList(new ParameterChange(PREFETCHED_PROPERTY_NAME,
+                ParameterChange.Type.UPDATED,
+                1L,
+                2L))));
+    }
+
+    @Test
+    public void testFailedRefreshKeepsPreviousSnapshot() {
+        when(ssmClientMock.getParametersByPath(getParametersByPathRequest(PREFETCH_PATH, null))).thenReturn(GetParametersByPathResponse.builder()
+                .parameters(Parameter.builder().name(PREFETCHED_PROPERTY_NAME).value(VALID_PROPERTY_VALUE).build())
+                .build())
+                .thenThrow(new RuntimeException());
+        parameterStoreSource.prefetch(Collections.singletonList(PREFETCH_PATH));
+
+        try {
+            parameterStoreSource.refresh(Runnable::run);
+            fail();
+        } catch (ParameterStoreError e) {
+            assertThat(parameterStoreSource.getProperty(PREFETCHED_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+        }
+    }
+
+    @Test
+    public void testRefreshChangedOnlyFetchesParametersWithNewVersion() {
+        when(ssmClientMock.getParametersByPath(getParametersByPathRequest(PREFETCH_PATH, null))).thenReturn(GetParametersByPathResponse.builder()
+                .parameters(Parameter.builder().name(PREFETCHED_PROPERTY_NAME).value(VALID_PROPERTY_VALUE).version(1L).build(),
+                        Parameter.builder().name(OTHER_PREFETCHED_PROPERTY_NAME).value(VALID_PROPERTY_VALUE).version(1L).build())
+                .build());
+        when(ssmClientMock.describeParameters(describeParametersRequest(PREFETCH_PATH, null))).thenReturn(DescribeParametersResponse.builder()
+                .parameters(ParameterMetadata.builder().name(PREFETCHED_PROPERTY_NAME).version(1L).build())
+                .nextToken(NEXT_TOKEN)
+                .build());
+        when(ssmClientMock.describeParameters(describeParametersRequest(PREFETCH_PATH, NEXT_TOKEN))).thenReturn(DescribeParametersResponse.builder()
+                .parameters(ParameterMetadata.builder().name(OTHER_PREFETCHED_PROPERTY_NAME).version(2L).build())
+                .build());
+        when(ssmClientMock.getParameters(getParametersRequest(Collections.singletonList(OTHER_PREFETCHED_PROPERTY_NAME)))).thenReturn(GetParametersResponse.builder()
+                .parameters(Parameter.builder().name(OTHER_PREFETCHED_PROPERTY_NAME).value(ROTATED_PROPERTY_VALUE).version(2L).build())
+                .build());
+        parameterStoreSource.prefetch(Collections.singletonList(PREFETCH_PATH));
+
+        parameterStoreSource.refreshChanged(Runnable::run);
+
+        assertThat(parameterStoreSource.getProperty(PREFETCHED_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+        assertThat(parameterStoreSource.getProperty(OTHER_PREFETCHED_PROPERTY_NAME), is(ROTATED_PROPERTY_VALUE));
+        verify(ssmClientMock, times(1)).getParametersByPath(any(GetParametersByPathRequest.class));
+        verify(ssmClientMock, times(1)).getParameters(any(GetParametersRequest.class));
+    }
+
+    @Test
+    public void testRefreshChangedForgetsParametersThatAreNoLongerListed() {
+        when(ssmClientMock.getParametersByPath(getParametersByPathRequest(PREFETCH_PATH, null))).thenReturn(GetParametersByPathResponse.builder()
+                .parameters(Parameter.builder().name(PREFETCHED_PROPERTY_NAME).value(VALID_PROPERTY_VALUE).version(1L).build())
+                .build());
+        when(ssmClientMock.describeParameters(describeParametersRequest(PREFETCH_PATH, null))).thenReturn(DescribeParametersResponse.builder()
+                .build());
+        when(ssmClientMock.getParameter(getParameterRequest(PREFETCHED_PROPERTY_NAME))).thenThrow(ParameterNotFoundException.builder().build());
+        parameterStoreSource.prefetch(Collections.singletonList(PREFETCH_PATH));
+
+        parameterStoreSource.refreshChanged(Runnable::run);
+
+        assertThat(parameterStoreSource.getProperty(PREFETCHED_PROPERTY_NAME), is(nullValue()));
+        verify(ssmClientMock, never()).getParameters(any(GetParametersRequest.class));
+    }
+
+    @Test
+    public void testRefreshChangedFetchesParametersWithSelectorAgainWithoutDescribingThem() {
+        String selectedPropertyName = VALID_PROPERTY_NAME + ":3";
+        when(ssmClientMock.getParameters(getParametersRequest(Collections.singletonList(selectedPropertyName)))).thenReturn(GetParametersResponse.builder()
+                .parameters(Parameter.builder().name(VALID_PROPERTY_NAME).selector(":3").value(VALID_PROPERTY_VALUE).version(3L).build())
+                .build());
+        parameterStoreSource.prefetchParameters(Collections.singletonList(selectedPropertyName), Runnable::run);
+
+        parameterStoreSource.refreshChanged(Runnable::run);
+
+        assertThat(parameterStoreSource.getProperty(selectedPropertyName), is(VALID_PROPERTY_VALUE));
+        verify(ssmClientMock, times(2)).getParameters(getParametersRequest(Collections.singletonList(selectedPropertyName)));
+        verify(ssmClientMock, never()).describeParameters(any(DescribeParametersRequest.class));
+        verify(ssmClientMock, never()).getParameter(any(GetParameterRequest.class));
+    }
+
+    @Test
+    public void testRefreshChangedDoesNotFetchUnchangedSharedParametersAgain() throws Exception {
+        try (SharedParameterStoreCache sharedCache = new SharedParameterStoreCache(temporaryFolder.getRoot().toPath().resolve("default.cache"),
+                4096,
+                CACHE_TIME_TO_LIVE_IN_MILLIS,
+                null)) {
+            sharedCache.putValue(VALID_PROPERTY_NAME, VALID_PROPERTY_VALUE, 1L, false);
+            when(ssmClientMock.describeParameters(describeParametersRequestByName(VALID_PROPERTY_NAME))).thenReturn(DescribeParametersResponse.builder()
+                    .parameters(ParameterMetadata.builder().name(VALID_PROPERTY_NAME).version(1L).build())
+                    .build());
+            ParameterStoreSource sharingParameterStoreSource = new ParameterStoreSource(new SharedCacheParameterStoreEngine(new BlockingParameterStoreEngine(ssmClientMock),
+                    sharedCache), false, null);
+            sharingParameterStoreSource.setTrackResolvedParameters(true);
+            sharingParameterStoreSource.getProperty(VALID_PROPERTY_NAME);
+
+            sharingParameterStoreSource.refreshChanged(Runnable::run);
+
+            assertThat(sharingParameterStoreSource.getProperty(VALID_PROPERTY_NAME), is(VALID_PROPERTY_VALUE));
+            verify(ssmClientMock, never()).getParameters(any(GetParametersRequest.class));
+            verify(ssmClientMock, never()).getParameter(any(GetParameterRequest.class));
+        }
+    }
+
+    private Throwable catchFailure(CompletableFuture<Object> value) {
+        try {
+            value.join();
+        } catch (CompletionException e) {
+            return e;
+        }
+        throw new AssertionError("The lookup was expected to fail");
+    }
+
     private GetParameterResponse.Builder getGetParameterResult() {
         GetParameterResponse.Builder builder = GetParameterResponse.builder();
         AwsResponseMetadata fakeAwsResponseMetadata = new AwsResponseMetadata(new HashMap<>()) {
@@ -129,4 +795,33 @@ public class ParameterStoreSourceTest {
     private GetParameterRequest getParameterRequest(String parameterName) {
         return GetParameterRequest.builder().name(parameterName).withDecryption(true).build();
     }
+
+    private GetParametersByPathRequest getParametersByPathRequest(String path, String nextToken) {
+        return GetParametersByPathRequest.builder()
+                .path(path)
+                .recursive(true)
+                .withDecryption(true)
+                .maxResults(10)
+                .nextToken(nextToken)
+                .build();
+    }
+
+    private DescribeParametersRequest describeParametersRequest(String path, String nextToken) {
+        return DescribeParametersRequest.builder()
+                .parameterFilters(ParameterStringFilter.builder().key("Path").option("Recursive").values(path).build())
+                .maxResults(50)
+                .nextToken(nextToken)
+                .build();
+    }
+
+    private DescribeParametersRequest describeParametersRequestByName(String parameterName) {
+        return DescribeParametersRequest.builder()
+                .parameterFilters(ParameterStringFilter.builder().key("Name").option("Equals").values(parameterName).build())
+                .maxResults(50)
+                .build();
+    }
+
+    private GetParametersRequest getParametersRequest(List<String> parameterNames) {
+        return GetParametersRequest.builder().names(parameterNames).withDecryption(true).build();
+    }
 }
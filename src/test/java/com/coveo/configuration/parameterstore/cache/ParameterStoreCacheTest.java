@@ -0,0 +1,140 @@
+package com.coveo.configuration.parameterstore.cache;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ParameterStoreCacheTest
+{
+    private static final long TIME_TO_LIVE_IN_MILLIS = 1000L;
+    private static final long SOFT_TIME_TO_LIVE_IN_MILLIS = 100L;
+    private static final int MAX_SIZE = 2;
+    private static final String PROPERTY_NAME = "/some/property";
+    private static final String OTHER_PROPERTY_NAME = "/some/other/property";
+    private static final String ANOTHER_PROPERTY_NAME = "/yet/another/property";
+    private static final String VALUE = "value";
+
+    @Mock
+    private Clock clockMock;
+
+    private ParameterStoreCache cache;
+
+    @Before
+    public void setUp()
+    {
+        when(clockMock.millis()).thenReturn(0L);
+
+        cache = new ParameterStoreCache(TIME_TO_LIVE_IN_MILLIS, MAX_SIZE, clockMock);
+    }
+
+    @Test
+    public void testGetReturnsNullWhenNotCached()
+    {
+        assertThat(cache.get(PROPERTY_NAME), is(nullValue()));
+    }
+
+    @Test
+    public void testGetReturnsCachedValue()
+    {
+        cache.putValue(PROPERTY_NAME, VALUE);
+
+        CachedParameter cachedParameter = cache.get(PROPERTY_NAME);
+
+        assertThat(cachedParameter.isFound(), is(true));
+        assertThat(cachedParameter.getValue(), is(VALUE));
+    }
+
+    @Test
+    public void testGetReturnsNegativeEntry()
+    {
+        cache.putNotFound(PROPERTY_NAME);
+
+        CachedParameter cachedParameter = cache.get(PROPERTY_NAME);
+
+        assertThat(cachedParameter.isFound(), is(false));
+        assertThat(cachedParameter.getValue(), is(nullValue()));
+    }
+
+    @Test
+    public void testEntriesExpireAfterTimeToLive()
+    {
+        cache.putValue(PROPERTY_NAME, VALUE);
+        cache.putNotFound(OTHER_PROPERTY_NAME);
+
+        when(clockMock.millis()).thenReturn(TIME_TO_LIVE_IN_MILLIS);
+
+        assertThat(cache.get(PROPERTY_NAME), is(nullValue()));
+        assertThat(cache.get(OTHER_PROPERTY_NAME), is(nullValue()));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void testExpiredValuesAreKeptAsLastKnownValuesWhenEnabled()
+    {
+        cache.setKeepExpiredValues(true);
+        cache.putValue(PROPERTY_NAME, VALUE);
+        cache.putNotFound(OTHER_PROPERTY_NAME);
+
+        when(clockMock.millis()).thenReturn(TIME_TO_LIVE_IN_MILLIS);
+
+        assertThat(cache.get(PROPERTY_NAME), is(nullValue()));
+        assertThat(cache.get(OTHER_PROPERTY_NAME), is(nullValue()));
+        assertThat(cache.getLastKnownValue(PROPERTY_NAME), is(VALUE));
+        assertThat(cache.getLastKnownValue(OTHER_PROPERTY_NAME), is(nullValue()));
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test
+    public void testEntriesAreNotStaleWithoutSoftTimeToLive()
+    {
+        cache.putValue(PROPERTY_NAME, VALUE);
+
+        when(clockMock.millis()).thenReturn(TIME_TO_LIVE_IN_MILLIS - 1);
+
+        assertThat(cache.isStale(cache.get(PROPERTY_NAME)), is(false));
+    }
+
+    @Test
+    public void testStaleEntriesAreReturnedUntilTheyExpire()
+    {
+        cache = new ParameterStoreCache(SOFT_TIME_TO_LIVE_IN_MILLIS, TIME_TO_LIVE_IN_MILLIS, MAX_SIZE, clockMock);
+        cache.putValue(PROPERTY_NAME, VALUE);
+
+        assertThat(cache.isStale(cache.get(PROPERTY_NAME)), is(false));
+
+        when(clockMock.millis()).thenReturn(SOFT_TIME_TO_LIVE_IN_MILLIS);
+
+        CachedParameter staleParameter = cache.get(PROPERTY_NAME);
+        assertThat(staleParameter.getValue(), is(VALUE));
+        assertThat(cache.isStale(staleParameter), is(true));
+
+        when(clockMock.millis()).thenReturn(TIME_TO_LIVE_IN_MILLIS);
+
+        assertThat(cache.get(PROPERTY_NAME), is(nullValue()));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvictedWhenFull()
+    {
+        cache.putValue(PROPERTY_NAME, VALUE);
+        cache.putValue(OTHER_PROPERTY_NAME, VALUE);
+        cache.get(PROPERTY_NAME);
+
+        cache.putValue(ANOTHER_PROPERTY_NAME, VALUE);
+
+        assertThat(cache.size(), is(MAX_SIZE));
+        assertThat(cache.get(OTHER_PROPERTY_NAME), is(nullValue()));
+        assertThat(cache.get(PROPERTY_NAME).getValue(), is(VALUE));
+        assertThat(cache.get(ANOTHER_PROPERTY_NAME).getValue(), is(VALUE));
+    }
+}
@@ -0,0 +1,93 @@
+package com.coveo.configuration.parameterstore.cache;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import software.amazon.awssdk.services.ssm.model.Parameter;
+
+public class ParameterStorePathIndexTest
+{
+    private static final String DB_URL = "/prod/my-service/db/url";
+    private static final String DB_USER = "/prod/my-service/db/user";
+    private static final String DB_POOL_SIZE = "/prod/my-service/db/pool/size";
+    private static final String DB_REPLICA_URL = "/prod/my-service/db-replica/url";
+    private static final String FEATURE = "/prod/my-service/feature";
+    private static final String SHARED = "/prod/shared/region";
+
+    private ParameterStoreSnapshot snapshot;
+
+    @Before
+    public void setUp()
+    {
+        snapshot = ParameterStoreSnapshot.EMPTY.withPaths(Collections.singletonList("/prod"),
+                                                          Arrays.asList(parameter(FEATURE),
+                                                                        parameter(DB_USER),
+                                                                        parameter(SHARED),
+                                                                        parameter(DB_REPLICA_URL),
+                                                                        parameter(DB_URL),
+                                                                        parameter(DB_POOL_SIZE)));
+    }
+
+    @Test
+    public void testNamesAreSorted()
+    {
+        assertThat(snapshot.getPathIndex().getNames(),
+                   contains(DB_REPLICA_URL, DB_POOL_SIZE, DB_URL, DB_USER, FEATURE, SHARED));
+    }
+
+    @Test
+    public void testNamesUnderPathIncludeEveryDepthButNotSiblingsSharingThePrefix()
+    {
+        assertThat(snapshot.getPathIndex().getNamesUnder("/prod/my-service/db"),
+                   contains(DB_POOL_SIZE, DB_URL, DB_USER));
+        assertThat(snapshot.getPathIndex().getNamesUnder("/prod/my-service/db/"),
+                   contains(DB_POOL_SIZE, DB_URL, DB_USER));
+    }
+
+    @Test
+    public void testNamesUnderRootIncludeEveryParameter()
+    {
+        assertThat(snapshot.getPathIndex().getNamesUnder("/").size(), is(6));
+    }
+
+    @Test
+    public void testNamesUnderUnknownPathAreEmpty()
+    {
+        assertThat(snapshot.getPathIndex().getNamesUnder("/prod/other-service"), is(empty()));
+    }
+
+    @Test
+    public void testSubtreeHasTheValuesOfTheParametersUnderPath()
+    {
+        assertThat(snapshot.getPathIndex().getSubtree("/prod/shared"),
+                   is(Collections.singletonMap(SHARED, SHARED + "-value")));
+    }
+
+    @Test
+    public void testGetValue()
+    {
+        assertThat(snapshot.getPathIndex().getValue(DB_URL), is(DB_URL + "-value"));
+        assertThat(snapshot.getPathIndex().getValue("/prod/my-service/db/password"), is(nullValue()));
+    }
+
+    @Test
+    public void testIndexIsBuiltOncePerSnapshot()
+    {
+        assertThat(snapshot.getPathIndex(), is(sameInstance(snapshot.getPathIndex())));
+    }
+
+    private static Parameter parameter(String name)
+    {
+        return Parameter.builder().name(name).value(name + "-value").build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.coveo.configuration.parameterstore.cache;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.coveo.configuration.parameterstore.event.ParameterChange;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+
+public class ParameterStoreSnapshotTest
+{
+    private static final String PATH = "/prod/my-service/";
+    private static final String PROPERTY_NAME = "/prod/my-service/db/password";
+    private static final String MISSING_PROPERTY_NAME = "/prod/my-service/db/user";
+    private static final String SIBLING_PROPERTY_NAME = "/prod/my-service-two/db/password";
+    private static final String OTHER_PROPERTY_NAME = "/prod/other-service/db/password";
+    private static final String VALUE = "value";
+
+    private final ParameterStoreSnapshot snapshot = ParameterStoreSnapshot.EMPTY.withPaths(Collections.singletonList(PATH),
+                                                                                           Collections.singletonList(Parameter.builder()
+                                                                                                                              .name(PROPERTY_NAME)
+                                                                                                                              .value(VALUE)
+                                                                                                                              .build()));
+
+    @Test
+    public void testGetReturnsPrefetchedParameter()
+    {
+        CachedParameter cachedParameter = snapshot.get(PROPERTY_NAME);
+
+        assertThat(cachedParameter.isFound(), is(true));
+        assertThat(cachedParameter.getValue(), is(VALUE));
+    }
+
+    @Test
+    public void testGetReturnsNullForUnlistedParameterUnderPrefetchedPath()
+    {
+        assertThat(snapshot.get(MISSING_PROPERTY_NAME), is(nullValue()));
+        assertThat(snapshot.isCovered(MISSING_PROPERTY_NAME), is(true));
+    }
+
+    @Test
+    public void testSelectorsAreNeverCovered()
+    {
+        assertThat(snapshot.isCovered(PROPERTY_NAME + ":3"), is(false));
+        assertThat(snapshot.get(PROPERTY_NAME + ":prod"), is(nullValue()));
+    }
+
+    @Test
+    public void testGetReturnsNullOutsidePrefetchedPaths()
+    {
+        assertThat(snapshot.get(SIBLING_PROPERTY_NAME), is(nullValue()));
+        assertThat(ParameterStoreSnapshot.EMPTY.get(PROPERTY_NAME), is(nullValue()));
+    }
+
+    @Test
+    public void testRootPathCoversEverything()
+    {
+        ParameterStoreSnapshot rootSnapshot = ParameterStoreSnapshot.EMPTY.withPaths(Arrays.asList("/"),
+                                                                                     Collections.emptyList());
+
+        assertThat(rootSnapshot.isCovered(SIBLING_PROPERTY_NAME), is(true));
+    }
+
+    @Test
+    public void testWithAdditionsOfKeepsOnlyWhatWasAddedSinceBase()
+    {
+        ParameterStoreSnapshot latest = snapshot.withParameters(Collections.singletonList(Parameter.builder()
+                                                                                                   .name(SIBLING_PROPERTY_NAME)
+                                                                                                   .value(VALUE)
+                                                                                                   .build()),
+                                                                Collections.singletonList(OTHER_PROPERTY_NAME));
+        ParameterStoreSnapshot refreshed = ParameterStoreSnapshot.EMPTY.withPaths(Collections.singletonList(PATH),
+                                                                                  Collections.emptyList());
+
+        ParameterStoreSnapshot merged = refreshed.withAdditionsOf(latest, snapshot);
+
+        assertThat(merged.get(PROPERTY_NAME), is(nullValue()));
+        assertThat(merged.get(SIBLING_PROPERTY_NAME).getValue(), is(VALUE));
+        assertThat(merged.get(OTHER_PROPERTY_NAME).isFound(), is(false));
+    }
+
+    @Test
+    public void testDiffReportsAddedUpdatedAndRemovedParameters()
+    {
+        ParameterStoreSnapshot previous = ParameterStoreSnapshot.EMPTY.withParameters(Arrays.asList(parameter(PROPERTY_NAME,
+                                                                                                                1L),
+                                                                                                      parameter(MISSING_PROPERTY_NAME,
+                                                                                                                1L),
+                                                                                                      parameter(OTHER_PROPERTY_NAME,
+                                                                                                                3L)),
+                                                                                        Collections.emptyList());
+        ParameterStoreSnapshot current = ParameterStoreSnapshot.EMPTY.withParameters(Arrays.asList(parameter(PROPERTY_NAME,
+                                                                                                               2L),
+                                                                                                     parameter(SIBLING_PROPERTY_NAME,
+                                                                                                               1L),
+                                                                                                     parameter(OTHER_PROPERTY_NAME,
+                                                                                                               3L)),
+                                                                                       Collections.emptyList());
+
+        assertThat(current.diff(previous),
+                   containsInAnyOrder(new ParameterChange(PROPERTY_NAME, ParameterChange.Type.UPDATED, 1L, 2L),
+                                      new ParameterChange(MISSING_PROPERTY_NAME, ParameterChange.Type.REMOVED, 1L, null),
+                                      new ParameterChange(SIBLING_PROPERTY_NAME, ParameterChange.Type.ADDED, null, 1L)));
+    }
+
+    private static Parameter parameter(String name, long version)
+    {
+        return Parameter.builder().name(name).value(VALUE).version(version).build();
+    }
+}
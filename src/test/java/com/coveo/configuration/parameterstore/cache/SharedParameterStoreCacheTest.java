@@ -0,0 +1,199 @@
+package com.coveo.configuration.parameterstore.cache;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SharedParameterStoreCacheTest
+{
+    private static final SecretKey KEY = new SecretKeySpec(new byte[16], "AES");
+    private static final int SIZE_IN_BYTES = 4096;
+    private static final long TIME_TO_LIVE_IN_MILLIS = 1000L;
+    private static final String PROPERTY_NAME = "/prod/shared/feature";
+    private static final String SECURE_PROPERTY_NAME = "/prod/shared/db/password";
+    private static final String VALUE = "enabled";
+    private static final String OTHER_VALUE = "disabled";
+    private static final String SECRET_VALUE = "my-very-secret-password";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private Clock clockMock;
+
+    private Path path;
+    private SharedParameterStoreCache sharedCache;
+    private SharedParameterStoreCache siblingSharedCache;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        when(clockMock.millis()).thenReturn(0L);
+        path = temporaryFolder.getRoot().toPath().resolve("default.cache");
+
+        sharedCache = new SharedParameterStoreCache(path, SIZE_IN_BYTES, TIME_TO_LIVE_IN_MILLIS, KEY, clockMock);
+        // Stands for another JVM of the host mapping the same file
+        siblingSharedCache = new SharedParameterStoreCache(path, SIZE_IN_BYTES, TIME_TO_LIVE_IN_MILLIS, KEY, clockMock);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        sharedCache.close();
+        siblingSharedCache.close();
+    }
+
+    @Test
+    public void testGetReturnsNullWhenNotPublished()
+    {
+        assertThat(siblingSharedCache.get(PROPERTY_NAME), is(nullValue()));
+    }
+
+    @Test
+    public void testPublishedValueIsServedToSiblings()
+    {
+        sharedCache.putValue(PROPERTY_NAME, VALUE, 1L, false);
+
+        CachedParameter sharedParameter = siblingSharedCache.get(PROPERTY_NAME);
+
+        assertThat(sharedParameter.isFound(), is(true));
+        assertThat(sharedParameter.getValue(), is(VALUE));
+        assertThat(sharedParameter.getVersion(), is(1L));
+    }
+
+    @Test
+    public void testPublishedNotFoundIsServedToSiblings()
+    {
+        sharedCache.putNotFound(PROPERTY_NAME);
+
+        assertThat(siblingSharedCache.get(PROPERTY_NAME).isFound(), is(false));
+    }
+
+    @Test
+    public void testPublishedValueExpires()
+    {
+        sharedCache.putValue(PROPERTY_NAME, VALUE, 1L, false);
+
+        when(clockMock.millis()).thenReturn(TIME_TO_LIVE_IN_MILLIS);
+
+        assertThat(siblingSharedCache.get(PROPERTY_NAME), is(nullValue()));
+    }
+
+    @Test
+    public void testNewerVersionReplacesPublishedValue()
+    {
+        sharedCache.putValue(PROPERTY_NAME, VALUE, 1L, false);
+
+        siblingSharedCache.putValue(PROPERTY_NAME, OTHER_VALUE, 2L, false);
+
+        assertThat(sharedCache.get(PROPERTY_NAME).getValue(), is(OTHER_VALUE));
+    }
+
+    @Test
+    public void testOlderVersionDoesNotReplacePublishedValue()
+    {
+        sharedCache.putValue(PROPERTY_NAME, OTHER_VALUE, 2L, false);
+
+        siblingSharedCache.putValue(PROPERTY_NAME, VALUE, 1L, false);
+
+        assertThat(sharedCache.get(PROPERTY_NAME).getValue(), is(OTHER_VALUE));
+    }
+
+    @Test
+    public void testSecureValueIsEncryptedInTheFile() throws Exception
+    {
+        sharedCache.putValue(SECURE_PROPERTY_NAME, SECRET_VALUE, 1L, true);
+
+        assertThat(siblingSharedCache.get(SECURE_PROPERTY_NAME).getValue(), is(SECRET_VALUE));
+        assertFalse(new String(Files.readAllBytes(path), StandardCharsets.ISO_8859_1).contains(SECRET_VALUE));
+    }
+
+    @Test
+    public void testSecureValueIsNotPublishedWithoutKey() throws Exception
+    {
+        try (SharedParameterStoreCache sharedCacheWithoutKey = new SharedParameterStoreCache(path,
+                                                                                             SIZE_IN_BYTES,
+                                                                                             TIME_TO_LIVE_IN_MILLIS,
+                                                                                             null,
+                                                                                             clockMock)) {
+            sharedCacheWithoutKey.putValue(SECURE_PROPERTY_NAME, SECRET_VALUE, 1L, true);
+        }
+
+        assertThat(sharedCache.get(SECURE_PROPERTY_NAME), is(nullValue()));
+    }
+
+    @Test
+    public void testSecureValueCannotBeReadWithOtherKey() throws Exception
+    {
+        sharedCache.putValue(SECURE_PROPERTY_NAME, SECRET_VALUE, 1L, true);
+
+        try (SharedParameterStoreCache sharedCacheWithOtherKey = new SharedParameterStoreCache(path,
+                                                                                               SIZE_IN_BYTES,
+                                                                                               TIME_TO_LIVE_IN_MILLIS,
+                                                                                               new SecretKeySpec(new byte[32],
+                                                                                                                 "AES"),
+                                                                                               clockMock)) {
+            assertThat(sharedCacheWithOtherKey.get(SECURE_PROPERTY_NAME), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void testFullFileIsCompactedKeepingLatestEntries()
+    {
+        // Each entry takes about 60 bytes, so the file fills up many times over
+        for (long version = 1; version <= 500; version++) {
+            sharedCache.putValue(PROPERTY_NAME, VALUE + version, version, false);
+        }
+
+        assertThat(siblingSharedCache.get(PROPERTY_NAME).getValue(), is(VALUE + 500));
+    }
+
+    @Test
+    public void testExpiredEntriesAreDroppedWhenCompacting()
+    {
+        sharedCache.putValue(SECURE_PROPERTY_NAME, SECRET_VALUE, 1L, true);
+        when(clockMock.millis()).thenReturn(TIME_TO_LIVE_IN_MILLIS);
+        for (long version = 1; version <= 500; version++) {
+            sharedCache.putValue(PROPERTY_NAME, VALUE + version, version, false);
+        }
+
+        when(clockMock.millis()).thenReturn(0L);
+
+        assertThat(siblingSharedCache.get(SECURE_PROPERTY_NAME), is(nullValue()));
+    }
+
+    @Test
+    public void testExistingFileIsReused() throws Exception
+    {
+        sharedCache.putValue(PROPERTY_NAME, VALUE, 1L, false);
+
+        try (SharedParameterStoreCache reopenedSharedCache = new SharedParameterStoreCache(path,
+                                                                                           SIZE_IN_BYTES * 2,
+                                                                                           TIME_TO_LIVE_IN_MILLIS,
+                                                                                           KEY,
+                                                                                           clockMock)) {
+            assertThat(reopenedSharedCache.get(PROPERTY_NAME).getValue(), is(VALUE));
+        }
+        assertThat(Files.size(path), is((long) SIZE_IN_BYTES));
+    }
+}
@@ -0,0 +1,99 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class AdaptiveRateLimiterTest
+{
+    private long nowInNanos;
+    private AdaptiveRateLimiter rateLimiter;
+
+    @Before
+    public void setUp()
+    {
+        nowInNanos = 0;
+        rateLimiter = new AdaptiveRateLimiter(10, 2, () -> nowInNanos);
+    }
+
+    @Test
+    public void testBurstIsServedWithoutWaiting()
+    {
+        assertThat(rateLimiter.reserve(), is(0L));
+        assertThat(rateLimiter.reserve(), is(0L));
+    }
+
+    @Test
+    public void testPermitsBeyondTheBurstWaitForTheRate()
+    {
+        rateLimiter.reserve();
+        rateLimiter.reserve();
+
+        assertThat(rateLimiter.reserve(), is(TimeUnit.MILLISECONDS.toNanos(100)));
+        assertThat(rateLimiter.reserve(), is(TimeUnit.MILLISECONDS.toNanos(200)));
+    }
+
+    @Test
+    public void testPermitsAreRefilledOverTime()
+    {
+        rateLimiter.reserve();
+        rateLimiter.reserve();
+
+        nowInNanos += TimeUnit.MILLISECONDS.toNanos(100);
+
+        assertThat(rateLimiter.reserve(), is(0L));
+    }
+
+    @Test
+    public void testThrottlingHalvesTheRateOncePerCooldown()
+    {
+        rateLimiter.onThrottled();
+        rateLimiter.onThrottled();
+
+        assertThat(rateLimiter.getPermitsPerSecond(), is(5.0));
+
+        nowInNanos += TimeUnit.SECONDS.toNanos(1);
+        rateLimiter.onThrottled();
+
+        assertThat(rateLimiter.getPermitsPerSecond(), is(2.5));
+    }
+
+    @Test
+    public void testThrottlingDrainsTheBurst()
+    {
+        rateLimiter.onThrottled();
+
+        assertThat(rateLimiter.reserve(), is(TimeUnit.MILLISECONDS.toNanos(200)));
+    }
+
+    @Test
+    public void testRateNeverGoesBelowTheMinimum()
+    {
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.onThrottled();
+            nowInNanos += TimeUnit.SECONDS.toNanos(1);
+        }
+
+        assertThat(rateLimiter.getPermitsPerSecond(), is(1.0));
+    }
+
+    @Test
+    public void testSuccessesRaiseTheRateBackUpToTheMaximum()
+    {
+        rateLimiter.onThrottled();
+
+        rateLimiter.onSuccess();
+
+        assertThat(rateLimiter.getPermitsPerSecond(), is(5.2));
+
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.onSuccess();
+        }
+
+        assertThat(rateLimiter.getPermitsPerSecond(), is(10.0));
+    }
+}
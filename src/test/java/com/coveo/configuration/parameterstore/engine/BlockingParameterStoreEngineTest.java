@@ -0,0 +1,80 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BlockingParameterStoreEngineTest
+{
+    private static final GetParameterRequest GET_PARAMETER_REQUEST = GetParameterRequest.builder()
+                                                                                        .name("/my-service/property")
+                                                                                        .withDecryption(true)
+                                                                                        .build();
+
+    @Mock
+    private SsmClient ssmClientMock;
+
+    private BlockingParameterStoreEngine engine;
+
+    @Before
+    public void setUp()
+    {
+        engine = new BlockingParameterStoreEngine(ssmClientMock);
+    }
+
+    @Test
+    public void testCallReturnsCompletedFuture()
+    {
+        GetParameterResponse response = GetParameterResponse.builder().build();
+        when(ssmClientMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(response);
+
+        CompletableFuture<GetParameterResponse> result = engine.getParameter(GET_PARAMETER_REQUEST);
+
+        assertThat(result.isDone(), is(true));
+        assertThat(result.join(), is(sameInstance(response)));
+    }
+
+    @Test(expected = ParameterNotFoundException.class)
+    public void testFailedCallReturnsFailedFuture()
+    {
+        when(ssmClientMock.getParameter(GET_PARAMETER_REQUEST)).thenThrow(ParameterNotFoundException.builder()
+                                                                                                     .build());
+
+        CompletableFuture<GetParameterResponse> result = engine.getParameter(GET_PARAMETER_REQUEST);
+
+        assertThat(result.isCompletedExceptionally(), is(true));
+        ParameterStoreFutures.join(result);
+    }
+
+    @Test
+    public void testCallRunsOnExecutorWhenOneIsGiven()
+    {
+        GetParameterResponse response = GetParameterResponse.builder().build();
+        when(ssmClientMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(response);
+        List<Runnable> calls = new ArrayList<>();
+        engine = new BlockingParameterStoreEngine(ssmClientMock, calls::add);
+
+        CompletableFuture<GetParameterResponse> result = engine.getParameter(GET_PARAMETER_REQUEST);
+
+        assertThat(result.isDone(), is(false));
+        calls.forEach(Runnable::run);
+        assertThat(result.join(), is(sameInstance(response)));
+    }
+}
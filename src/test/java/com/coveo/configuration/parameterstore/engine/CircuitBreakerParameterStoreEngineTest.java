@@ -0,0 +1,108 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CircuitBreakerParameterStoreEngineTest
+{
+    private static final GetParameterRequest GET_PARAMETER_REQUEST = GetParameterRequest.builder()
+                                                                                        .name("/my-service/property")
+                                                                                        .build();
+
+    @Mock
+    private ParameterStoreEngine delegateMock;
+
+    private ParameterStoreCircuitBreaker circuitBreaker;
+    private CircuitBreakerParameterStoreEngine engine;
+
+    @Before
+    public void setUp()
+    {
+        circuitBreaker = new ParameterStoreCircuitBreaker(100, 10, 1, 60000L, 1);
+        engine = new CircuitBreakerParameterStoreEngine(delegateMock, circuitBreaker);
+    }
+
+    @Test
+    public void testSuccessfulCallIsPassedThrough()
+    {
+        GetParameterResponse response = GetParameterResponse.builder().build();
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(CompletableFuture.completedFuture(response));
+
+        assertThat(engine.getParameter(GET_PARAMETER_REQUEST).join(), is(sameInstance(response)));
+        assertThat(circuitBreaker.getState(), is(ParameterStoreCircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    public void testMissingParameterDoesNotOpenTheBreaker()
+    {
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(failed(ParameterNotFoundException.builder()
+                                                                                                          .statusCode(400)
+                                                                                                          .build()));
+
+        catchFailure(engine.getParameter(GET_PARAMETER_REQUEST));
+
+        assertThat(circuitBreaker.getState(), is(ParameterStoreCircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    public void testUnreachableParameterStoreOpensTheBreaker()
+    {
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenThrow(SdkClientException.create("Unable to reach the Parameter Store"));
+
+        catchFailure(engine.getParameter(GET_PARAMETER_REQUEST));
+
+        assertThat(circuitBreaker.getState(), is(ParameterStoreCircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    public void testCallsFailWithoutReachingTheDelegateWhileOpen()
+    {
+        circuitBreaker.tryAcquirePermission();
+        circuitBreaker.onFailure();
+
+        Throwable failure = catchFailure(engine.getParameter(GET_PARAMETER_REQUEST));
+
+        assertThat(failure, is(instanceOf(ParameterStoreCircuitOpenException.class)));
+        verify(delegateMock, never()).getParameter(any(GetParameterRequest.class));
+    }
+
+    private Throwable catchFailure(CompletableFuture<?> result)
+    {
+        try {
+            result.join();
+        } catch (CompletionException e) {
+            return e.getCause();
+        }
+        fail("The call was expected to fail");
+        return null;
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable failure)
+    {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(failure);
+        return future;
+    }
+}
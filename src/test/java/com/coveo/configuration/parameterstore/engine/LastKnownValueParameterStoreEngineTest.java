@@ -0,0 +1,118 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LastKnownValueParameterStoreEngineTest
+{
+    private static final String PROPERTY_NAME = "/my-service/property";
+    private static final String LAST_KNOWN_VALUE = "lastKnownValue";
+    private static final GetParameterRequest GET_PARAMETER_REQUEST = GetParameterRequest.builder()
+                                                                                        .name(PROPERTY_NAME)
+                                                                                        .build();
+    private static final GetParameterRequest UNKNOWN_PARAMETER_REQUEST = GetParameterRequest.builder()
+                                                                                            .name("/my-service/unknown")
+                                                                                            .build();
+
+    @Mock
+    private ParameterStoreEngine delegateMock;
+
+    private LastKnownValueParameterStoreEngine engine;
+
+    @Before
+    public void setUp()
+    {
+        engine = new LastKnownValueParameterStoreEngine(delegateMock,
+                                                        Collections.singletonMap(PROPERTY_NAME, LAST_KNOWN_VALUE)::get);
+    }
+
+    @Test
+    public void testSuccessfulCallIsPassedThrough()
+    {
+        GetParameterResponse response = GetParameterResponse.builder()
+                                                            .parameter(Parameter.builder().value("value").build())
+                                                            .build();
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(CompletableFuture.completedFuture(response));
+
+        assertThat(engine.getParameter(GET_PARAMETER_REQUEST).join(), is(sameInstance(response)));
+    }
+
+    @Test
+    public void testLastKnownValueIsServedWhenTheCallFails()
+    {
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenThrow(SdkClientException.create("Unable to reach the Parameter Store"));
+
+        Parameter parameter = engine.getParameter(GET_PARAMETER_REQUEST).join().parameter();
+
+        assertThat(parameter.name(), is(PROPERTY_NAME));
+        assertThat(parameter.value(), is(LAST_KNOWN_VALUE));
+    }
+
+    @Test
+    public void testLastKnownValueIsServedWhileTheBreakerIsOpen()
+    {
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(failed(new ParameterStoreCircuitOpenException()));
+
+        assertThat(engine.getParameter(GET_PARAMETER_REQUEST).join().parameter().value(), is(LAST_KNOWN_VALUE));
+    }
+
+    @Test
+    public void testMissingParameterIsNotReplaced()
+    {
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(failed(ParameterNotFoundException.builder()
+                                                                                                          .build()));
+
+        Throwable failure = catchFailure(engine.getParameter(GET_PARAMETER_REQUEST));
+
+        assertThat(failure, is(instanceOf(ParameterNotFoundException.class)));
+    }
+
+    @Test
+    public void testCallFailsWithoutLastKnownValue()
+    {
+        when(delegateMock.getParameter(UNKNOWN_PARAMETER_REQUEST)).thenReturn(failed(new ParameterStoreCircuitOpenException()));
+
+        Throwable failure = catchFailure(engine.getParameter(UNKNOWN_PARAMETER_REQUEST));
+
+        assertThat(failure, is(instanceOf(ParameterStoreCircuitOpenException.class)));
+    }
+
+    private Throwable catchFailure(CompletableFuture<?> result)
+    {
+        try {
+            result.join();
+        } catch (CompletionException e) {
+            return e.getCause();
+        }
+        fail("The call was expected to fail");
+        return null;
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable failure)
+    {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(failure);
+        return future;
+    }
+}
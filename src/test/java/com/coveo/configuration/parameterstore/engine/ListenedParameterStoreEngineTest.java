@@ -0,0 +1,167 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.coveo.configuration.parameterstore.metrics.ParameterStoreMetrics;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+import software.amazon.awssdk.services.ssm.model.SsmException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ListenedParameterStoreEngineTest
+{
+    private static final String REGION = "us-east-1";
+    private static final String PARAMETER_NAME = "/my-service/property";
+    private static final GetParameterRequest GET_PARAMETER_REQUEST = GetParameterRequest.builder()
+                                                                                        .name(PARAMETER_NAME)
+                                                                                        .build();
+
+    @Mock
+    private ParameterStoreEngine delegateMock;
+    @Mock
+    private SsmCallListener listenerMock;
+    @Mock
+    private SsmCallListener otherListenerMock;
+
+    private ListenedParameterStoreEngine engine;
+
+    @Before
+    public void setUp()
+    {
+        engine = new ListenedParameterStoreEngine(delegateMock, Arrays.asList(listenerMock, otherListenerMock), REGION);
+    }
+
+    @Test
+    public void testListenersAreToldAboutTheStartAndEndOfACall()
+    {
+        GetParameterResponse response = GetParameterResponse.builder().build();
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(CompletableFuture.completedFuture(response));
+
+        assertThat(engine.getParameter(GET_PARAMETER_REQUEST).join(), is(sameInstance(response)));
+
+        ArgumentCaptor<SsmCall> call = ArgumentCaptor.forClass(SsmCall.class);
+        verify(listenerMock).onCallStarted(call.capture());
+        verify(listenerMock).onCallEnded(eq(call.getValue()), anyLong());
+        verify(otherListenerMock).onCallEnded(eq(call.getValue()), anyLong());
+        assertThat(call.getValue().getOperation(), is(ParameterStoreMetrics.GET_PARAMETER));
+        assertThat(call.getValue().getKey(), is(PARAMETER_NAME));
+        assertThat(call.getValue().getBatchSize(), is(1));
+        assertThat(call.getValue().getRegion(), is(REGION));
+        assertThat(call.getValue().getAttempt(), is(1));
+    }
+
+    @Test
+    public void testBatchCallHasItsSizeButNoKey()
+    {
+        GetParametersRequest getParametersRequest = GetParametersRequest.builder().names("/a", "/b", "/c").build();
+        when(delegateMock.getParameters(getParametersRequest)).thenReturn(CompletableFuture.completedFuture(GetParametersResponse.builder()
+                                                                                                                                .build()));
+
+        engine.getParameters(getParametersRequest).join();
+
+        ArgumentCaptor<SsmCall> call = ArgumentCaptor.forClass(SsmCall.class);
+        verify(listenerMock).onCallStarted(call.capture());
+        assertThat(call.getValue().getOperation(), is(ParameterStoreMetrics.GET_PARAMETERS));
+        assertThat(call.getValue().getKey(), is(nullValue()));
+        assertThat(call.getValue().getBatchSize(), is(3));
+    }
+
+    @Test
+    public void testListenersAreToldAboutFailures()
+    {
+        ParameterNotFoundException notFound = ParameterNotFoundException.builder().build();
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(failed(notFound));
+
+        engine.getParameter(GET_PARAMETER_REQUEST).handle((response, failure) -> null).join();
+
+        verify(listenerMock).onCallFailed(any(SsmCall.class), eq(notFound), anyLong());
+    }
+
+    @Test
+    public void testFailingListenerDoesNotAffectTheCallNorTheOtherListeners()
+    {
+        GetParameterResponse response = GetParameterResponse.builder().build();
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(CompletableFuture.completedFuture(response));
+        doThrow(new IllegalStateException()).when(listenerMock).onCallStarted(any(SsmCall.class));
+        doThrow(new IllegalStateException()).when(listenerMock).onCallEnded(any(SsmCall.class), anyLong());
+
+        assertThat(engine.getParameter(GET_PARAMETER_REQUEST).join(), is(sameInstance(response)));
+
+        verify(otherListenerMock).onCallEnded(any(SsmCall.class), anyLong());
+    }
+
+    @Test
+    public void testAttemptsOfTheRateLimiterAreNumbered()
+    {
+        List<Integer> attempts = new ArrayList<>();
+        SsmCallListener listener = new SsmCallListener()
+        {
+            @Override
+            public void onCallStarted(SsmCall call)
+            {
+                attempts.add(call.getAttempt());
+            }
+        };
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(failed(throttlingException()),
+                                                                          CompletableFuture.completedFuture(GetParameterResponse.builder()
+                                                                                                                                .build()));
+        RateLimitedParameterStoreEngine rateLimitedEngine = new RateLimitedParameterStoreEngine(new ListenedParameterStoreEngine(delegateMock,
+                                                                                                                                 Arrays.asList(listener),
+                                                                                                                                 REGION),
+                                                                                                new AdaptiveRateLimiter(1000,
+                                                                                                                        1000),
+                                                                                                null,
+                                                                                                2,
+                                                                                                1,
+                                                                                                1);
+
+        rateLimitedEngine.getParameter(GET_PARAMETER_REQUEST).join();
+
+        assertThat(attempts, contains(1, 2));
+        assertThat(RateLimitedParameterStoreEngine.currentAttempt(), is(1));
+    }
+
+    private static SsmException throttlingException()
+    {
+        return (SsmException) SsmException.builder()
+                                          .awsErrorDetails(AwsErrorDetails.builder()
+                                                                          .errorCode("ThrottlingException")
+                                                                          .build())
+                                          .statusCode(400)
+                                          .build();
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable failure)
+    {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(failure);
+        return future;
+    }
+}
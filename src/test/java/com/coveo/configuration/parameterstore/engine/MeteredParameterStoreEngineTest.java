@@ -0,0 +1,125 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.coveo.configuration.parameterstore.metrics.ParameterStoreMetrics;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+import software.amazon.awssdk.services.ssm.model.SsmException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MeteredParameterStoreEngineTest
+{
+    private static final String REGION = "us-east-1";
+    private static final GetParameterRequest GET_PARAMETER_REQUEST = GetParameterRequest.builder()
+                                                                                        .name("/my-service/property")
+                                                                                        .build();
+
+    @Mock
+    private ParameterStoreEngine delegateMock;
+
+    private ParameterStoreMetrics metrics;
+    private MeteredParameterStoreEngine engine;
+
+    @Before
+    public void setUp()
+    {
+        metrics = new ParameterStoreMetrics();
+        engine = new MeteredParameterStoreEngine(delegateMock, metrics, REGION);
+    }
+
+    @Test
+    public void testCallIsCountedPerApiAndTimedPerRegion()
+    {
+        GetParameterResponse response = GetParameterResponse.builder().build();
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(CompletableFuture.completedFuture(response));
+        when(delegateMock.getParameters(GetParametersRequest.builder().build())).thenReturn(CompletableFuture.completedFuture(GetParametersResponse.builder()
+                                                                                                                                                 .build()));
+
+        assertThat(engine.getParameter(GET_PARAMETER_REQUEST).join(), is(sameInstance(response)));
+        engine.getParameter(GET_PARAMETER_REQUEST).join();
+        engine.getParameters(GetParametersRequest.builder().build()).join();
+
+        assertThat(metrics.getCalls(ParameterStoreMetrics.GET_PARAMETER), is(2L));
+        assertThat(metrics.getCalls(ParameterStoreMetrics.GET_PARAMETERS), is(1L));
+        assertThat(metrics.getLatencies().get(REGION).getCount(), is(3L));
+        assertThat(metrics.getErrors(), is(0L));
+    }
+
+    @Test
+    public void testThrottledCallIsRecorded()
+    {
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(failed((SsmException) SsmException.builder()
+                                                                                                            .awsErrorDetails(AwsErrorDetails.builder()
+                                                                                                                                            .errorCode("ThrottlingException")
+                                                                                                                                            .build())
+                                                                                                            .statusCode(400)
+                                                                                                            .build()));
+
+        catchFailure(engine.getParameter(GET_PARAMETER_REQUEST));
+
+        assertThat(metrics.getThrottles(), is(1L));
+        assertThat(metrics.getErrors(), is(1L));
+        assertThat(metrics.getCalls(ParameterStoreMetrics.GET_PARAMETER), is(1L));
+    }
+
+    @Test
+    public void testMissingParameterIsNotAnError()
+    {
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(failed(ParameterNotFoundException.builder()
+                                                                                                          .statusCode(400)
+                                                                                                          .build()));
+
+        catchFailure(engine.getParameter(GET_PARAMETER_REQUEST));
+
+        assertThat(metrics.getErrors(), is(0L));
+        assertThat(metrics.getThrottles(), is(0L));
+    }
+
+    @Test
+    public void testCallThrowingIsRecordedAsFailed()
+    {
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenThrow(new IllegalStateException());
+
+        catchFailure(engine.getParameter(GET_PARAMETER_REQUEST));
+
+        assertThat(metrics.getErrors(), is(1L));
+        assertThat(metrics.getLatencies().get(REGION).getCount(), is(1L));
+    }
+
+    private Throwable catchFailure(CompletableFuture<?> result)
+    {
+        try {
+            result.join();
+        } catch (CompletionException e) {
+            return e.getCause();
+        }
+        fail("The call was expected to fail");
+        return null;
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable failure)
+    {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(failure);
+        return future;
+    }
+}
@@ -0,0 +1,129 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParameterStoreCircuitBreakerTest
+{
+    private static final int FAILURE_RATE_THRESHOLD = 50;
+    private static final int SLIDING_WINDOW_SIZE = 4;
+    private static final int CONSECUTIVE_FAILURES = 3;
+    private static final long OPEN_DURATION_IN_MILLIS = 1000L;
+    private static final int HALF_OPEN_PROBES = 2;
+
+    private long nowInMillis;
+    private ParameterStoreCircuitBreaker circuitBreaker;
+
+    @Before
+    public void setUp()
+    {
+        nowInMillis = 0;
+        circuitBreaker = new ParameterStoreCircuitBreaker(FAILURE_RATE_THRESHOLD,
+                                                          SLIDING_WINDOW_SIZE,
+                                                          CONSECUTIVE_FAILURES,
+                                                          OPEN_DURATION_IN_MILLIS,
+                                                          HALF_OPEN_PROBES,
+                                                          () -> nowInMillis);
+    }
+
+    @Test
+    public void testBreakerIsClosedAndPermitsCallsInitially()
+    {
+        assertThat(circuitBreaker.getState(), is(ParameterStoreCircuitBreaker.State.CLOSED));
+        assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+    }
+
+    @Test
+    public void testBreakerOpensAfterConsecutiveFailures()
+    {
+        fail(CONSECUTIVE_FAILURES - 1);
+
+        assertThat(circuitBreaker.getState(), is(ParameterStoreCircuitBreaker.State.CLOSED));
+
+        fail(1);
+
+        assertThat(circuitBreaker.getState(), is(ParameterStoreCircuitBreaker.State.OPEN));
+        assertThat(circuitBreaker.tryAcquirePermission(), is(false));
+    }
+
+    @Test
+    public void testBreakerOpensWhenFailureRateIsReachedOverTheWindow()
+    {
+        fail(1);
+        succeed(1);
+        fail(1);
+
+        assertThat(circuitBreaker.getState(), is(ParameterStoreCircuitBreaker.State.CLOSED));
+
+        succeed(1);
+
+        assertThat(circuitBreaker.getState(), is(ParameterStoreCircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    public void testOldOutcomesLeaveTheWindow()
+    {
+        succeed(1);
+        fail(1);
+        succeed(4);
+        fail(1);
+
+        assertThat(circuitBreaker.getState(), is(ParameterStoreCircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    public void testBreakerLetsProbesThroughOnceOpenDurationElapsed()
+    {
+        fail(CONSECUTIVE_FAILURES);
+        nowInMillis += OPEN_DURATION_IN_MILLIS;
+
+        assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+        assertThat(circuitBreaker.getState(), is(ParameterStoreCircuitBreaker.State.HALF_OPEN));
+        assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+        assertThat(circuitBreaker.tryAcquirePermission(), is(false));
+    }
+
+    @Test
+    public void testBreakerClosesWhenEveryProbeSucceeds()
+    {
+        fail(CONSECUTIVE_FAILURES);
+        nowInMillis += OPEN_DURATION_IN_MILLIS;
+
+        succeed(HALF_OPEN_PROBES);
+
+        assertThat(circuitBreaker.getState(), is(ParameterStoreCircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    public void testBreakerOpensAgainWhenAProbeFails()
+    {
+        fail(CONSECUTIVE_FAILURES);
+        nowInMillis += OPEN_DURATION_IN_MILLIS;
+
+        succeed(1);
+        fail(1);
+
+        assertThat(circuitBreaker.getState(), is(ParameterStoreCircuitBreaker.State.OPEN));
+        nowInMillis += OPEN_DURATION_IN_MILLIS - 1;
+        assertThat(circuitBreaker.tryAcquirePermission(), is(false));
+    }
+
+    private void fail(int calls)
+    {
+        for (int i = 0; i < calls; i++) {
+            circuitBreaker.tryAcquirePermission();
+            circuitBreaker.onFailure();
+        }
+    }
+
+    private void succeed(int calls)
+    {
+        for (int i = 0; i < calls; i++) {
+            circuitBreaker.tryAcquirePermission();
+            circuitBreaker.onSuccess();
+        }
+    }
+}
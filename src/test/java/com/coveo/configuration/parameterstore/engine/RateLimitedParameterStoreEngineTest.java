@@ -0,0 +1,181 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.coveo.configuration.parameterstore.metrics.ParameterStoreMetrics;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+import software.amazon.awssdk.services.ssm.model.SsmException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RateLimitedParameterStoreEngineTest
+{
+    private static final GetParameterRequest GET_PARAMETER_REQUEST = GetParameterRequest.builder()
+                                                                                        .name("/my-service/property")
+                                                                                        .build();
+    private static final long BACKOFF_BASE_IN_MILLIS = 1L;
+    private static final long BACKOFF_CAP_IN_MILLIS = 5L;
+
+    @Mock
+    private ParameterStoreEngine delegateMock;
+    @Mock
+    private ScheduledExecutorService schedulerMock;
+
+    private AdaptiveRateLimiter rateLimiter;
+    private RateLimitedParameterStoreEngine engine;
+
+    @Before
+    public void setUp()
+    {
+        rateLimiter = new AdaptiveRateLimiter(1000, 1000);
+        engine = new RateLimitedParameterStoreEngine(delegateMock,
+                                                     rateLimiter,
+                                                     null,
+                                                     2,
+                                                     BACKOFF_BASE_IN_MILLIS,
+                                                     BACKOFF_CAP_IN_MILLIS);
+    }
+
+    @Test
+    public void testSuccessfulCallIsPassedThrough()
+    {
+        GetParameterResponse response = GetParameterResponse.builder().build();
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(CompletableFuture.completedFuture(response));
+
+        assertThat(engine.getParameter(GET_PARAMETER_REQUEST).join(), is(sameInstance(response)));
+    }
+
+    @Test
+    public void testThrottledCallIsRetriedAndSlowsTheRateDown()
+    {
+        GetParameterResponse response = GetParameterResponse.builder().build();
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(failed(throttlingException()),
+                                                                          CompletableFuture.completedFuture(response));
+
+        assertThat(engine.getParameter(GET_PARAMETER_REQUEST).join(), is(sameInstance(response)));
+        verify(delegateMock, times(2)).getParameter(GET_PARAMETER_REQUEST);
+        assertThat(rateLimiter.getPermitsPerSecond(), is(lessThanOrEqualTo(500.0 + 1.0)));
+    }
+
+    @Test
+    public void testThrottlingFailureIsReturnedOnceRetriesAreExhausted()
+    {
+        SsmException throttlingException = throttlingException();
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(failed(throttlingException));
+
+        try {
+            engine.getParameter(GET_PARAMETER_REQUEST).join();
+            fail("Expected the throttling exception.");
+        } catch (CompletionException e) {
+            assertThat(e.getCause(), is(sameInstance(throttlingException)));
+        }
+        verify(delegateMock, times(3)).getParameter(GET_PARAMETER_REQUEST);
+    }
+
+    @Test
+    public void testRetriesAreRecordedInMetrics()
+    {
+        ParameterStoreMetrics metrics = new ParameterStoreMetrics();
+        engine.setMetrics(metrics);
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(failed(throttlingException()));
+
+        try {
+            engine.getParameter(GET_PARAMETER_REQUEST).join();
+            fail("Expected the throttling exception.");
+        } catch (CompletionException e) {
+            assertThat(metrics.getRetries(), is(2L));
+        }
+    }
+
+    @Test
+    public void testOtherFailuresAreNotRetried()
+    {
+        ParameterNotFoundException notFoundException = ParameterNotFoundException.builder().build();
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(failed(notFoundException));
+
+        try {
+            engine.getParameter(GET_PARAMETER_REQUEST).join();
+            fail("Expected the not found exception.");
+        } catch (CompletionException e) {
+            assertThat(e.getCause(), is(sameInstance(notFoundException)));
+        }
+        verify(delegateMock).getParameter(GET_PARAMETER_REQUEST);
+    }
+
+    @Test
+    public void testBackoffIsScheduledWhenAnExecutorIsGiven()
+    {
+        engine = new RateLimitedParameterStoreEngine(delegateMock,
+                                                     rateLimiter,
+                                                     schedulerMock,
+                                                     2,
+                                                     BACKOFF_BASE_IN_MILLIS,
+                                                     BACKOFF_CAP_IN_MILLIS);
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(failed(throttlingException()));
+
+        CompletableFuture<GetParameterResponse> result = engine.getParameter(GET_PARAMETER_REQUEST);
+
+        assertThat(result.isDone(), is(false));
+        ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+        verify(schedulerMock).schedule(any(Runnable.class), delay.capture(), eq(TimeUnit.NANOSECONDS));
+        assertThat(delay.getValue(),
+                   is(allOf(greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(BACKOFF_BASE_IN_MILLIS)),
+                            lessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(BACKOFF_CAP_IN_MILLIS)))));
+    }
+
+    @Test
+    public void testBackoffStaysWithinBaseAndCap()
+    {
+        long backoff = BACKOFF_BASE_IN_MILLIS;
+        for (int i = 0; i < 100; i++) {
+            backoff = engine.nextBackoffInMillis(backoff);
+
+            assertThat(backoff,
+                       is(allOf(greaterThanOrEqualTo(BACKOFF_BASE_IN_MILLIS), lessThanOrEqualTo(BACKOFF_CAP_IN_MILLIS))));
+        }
+    }
+
+    private static SsmException throttlingException()
+    {
+        return (SsmException) SsmException.builder()
+                                          .awsErrorDetails(AwsErrorDetails.builder()
+                                                                          .errorCode("ThrottlingException")
+                                                                          .build())
+                                          .statusCode(400)
+                                          .build();
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable failure)
+    {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(failure);
+        return future;
+    }
+}
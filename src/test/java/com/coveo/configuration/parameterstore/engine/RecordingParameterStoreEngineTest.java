@@ -0,0 +1,119 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RecordingParameterStoreEngineTest
+{
+    private static final String PROPERTY_NAME = "/my-service/property:3";
+    private static final GetParameterRequest GET_PARAMETER_REQUEST = GetParameterRequest.builder()
+                                                                                        .name(PROPERTY_NAME)
+                                                                                        .build();
+
+    @Mock
+    private ParameterStoreEngine delegateMock;
+
+    private Map<String, Parameter> recordedParameters;
+    private RecordingParameterStoreEngine engine;
+
+    @Before
+    public void setUp()
+    {
+        recordedParameters = new HashMap<>();
+        engine = new RecordingParameterStoreEngine(delegateMock, recordedParameters::put);
+    }
+
+    @Test
+    public void testFetchedParameterIsRecordedUnderTheRequestedName()
+    {
+        GetParameterResponse response = GetParameterResponse.builder()
+                                                            .parameter(Parameter.builder()
+                                                                                .name("/my-service/property")
+                                                                                .value("value")
+                                                                                .build())
+                                                            .build();
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(CompletableFuture.completedFuture(response));
+
+        assertThat(engine.getParameter(GET_PARAMETER_REQUEST).join(), is(sameInstance(response)));
+
+        assertThat(recordedParameters.get(PROPERTY_NAME).name(), is(PROPERTY_NAME));
+        assertThat(recordedParameters.get(PROPERTY_NAME).value(), is("value"));
+    }
+
+    @Test
+    public void testMissingParameterIsRecordedAsNull()
+    {
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(failed(ParameterNotFoundException.builder()
+                                                                                                          .build()));
+
+        catchFailure(engine.getParameter(GET_PARAMETER_REQUEST));
+
+        assertThat(recordedParameters.containsKey(PROPERTY_NAME), is(true));
+        assertThat(recordedParameters.get(PROPERTY_NAME), is(nullValue()));
+    }
+
+    @Test
+    public void testFailedCallIsNotRecorded()
+    {
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenThrow(SdkClientException.create("Unable to reach the Parameter Store"));
+
+        catchFailure(engine.getParameter(GET_PARAMETER_REQUEST));
+
+        assertThat(recordedParameters.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testFailingConsumerDoesNotFailTheCall()
+    {
+        GetParameterResponse response = GetParameterResponse.builder()
+                                                            .parameter(Parameter.builder().value("value").build())
+                                                            .build();
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(CompletableFuture.completedFuture(response));
+        RecordingParameterStoreEngine failingEngine = new RecordingParameterStoreEngine(delegateMock,
+                                                                                        (name, parameter) -> {
+                                                                                            throw new IllegalStateException();
+                                                                                        });
+
+        assertThat(failingEngine.getParameter(GET_PARAMETER_REQUEST).join(), is(sameInstance(response)));
+    }
+
+    private Throwable catchFailure(CompletableFuture<?> result)
+    {
+        try {
+            result.join();
+        } catch (CompletionException e) {
+            return e.getCause();
+        }
+        fail("The call was expected to fail");
+        return null;
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable failure)
+    {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(failure);
+        return future;
+    }
+}
@@ -0,0 +1,156 @@
+package com.coveo.configuration.parameterstore.engine;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.coveo.configuration.parameterstore.cache.SharedParameterStoreCache;
+
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.GetParameterResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
+import software.amazon.awssdk.services.ssm.model.ParameterType;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SharedCacheParameterStoreEngineTest
+{
+    private static final String PROPERTY_NAME = "/my-service/property";
+    private static final String PROPERTY_VALUE = "value";
+    private static final GetParameterRequest GET_PARAMETER_REQUEST = GetParameterRequest.builder()
+                                                                                        .name(PROPERTY_NAME)
+                                                                                        .build();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private ParameterStoreEngine delegateMock;
+    @Mock
+    private SharedParameterStoreCache sharedCacheMock;
+
+    private SharedCacheParameterStoreEngine engine;
+
+    @Before
+    public void setUp()
+    {
+        engine = new SharedCacheParameterStoreEngine(delegateMock, sharedCacheMock);
+    }
+
+    @Test
+    public void testSharedValueIsServedWithoutReachingTheDelegate() throws Exception
+    {
+        try (SharedParameterStoreCache sharedCache = buildSharedCache()) {
+            sharedCache.putValue(PROPERTY_NAME, PROPERTY_VALUE, 3L, false);
+
+            Parameter parameter = new SharedCacheParameterStoreEngine(delegateMock,
+                                                                      sharedCache).getParameter(GET_PARAMETER_REQUEST)
+                                                                                  .join()
+                                                                                  .parameter();
+
+            assertThat(parameter.name(), is(PROPERTY_NAME));
+            assertThat(parameter.value(), is(PROPERTY_VALUE));
+            assertThat(parameter.version(), is(3L));
+            verify(delegateMock, never()).getParameter(any(GetParameterRequest.class));
+        }
+    }
+
+    @Test
+    public void testSharedMissingParameterIsNotFoundWithoutReachingTheDelegate() throws Exception
+    {
+        try (SharedParameterStoreCache sharedCache = buildSharedCache()) {
+            sharedCache.putNotFound(PROPERTY_NAME);
+
+            Throwable failure = catchFailure(new SharedCacheParameterStoreEngine(delegateMock,
+                                                                                 sharedCache).getParameter(GET_PARAMETER_REQUEST));
+
+            assertThat(failure, is(instanceOf(ParameterNotFoundException.class)));
+            verify(delegateMock, never()).getParameter(any(GetParameterRequest.class));
+        }
+    }
+
+    @Test
+    public void testFetchedParameterIsPublished()
+    {
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(CompletableFuture.completedFuture(GetParameterResponse.builder()
+                                                                                                                                .parameter(Parameter.builder()
+                                                                                                                                                    .value(PROPERTY_VALUE)
+                                                                                                                                                    .version(3L)
+                                                                                                                                                    .type(ParameterType.SECURE_STRING)
+                                                                                                                                                    .build())
+                                                                                                                                .build()));
+
+        engine.getParameter(GET_PARAMETER_REQUEST).join();
+
+        verify(sharedCacheMock).putValue(PROPERTY_NAME, PROPERTY_VALUE, 3L, true);
+    }
+
+    @Test
+    public void testMissingParameterIsPublished()
+    {
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenReturn(failed(ParameterNotFoundException.builder()
+                                                                                                          .build()));
+
+        catchFailure(engine.getParameter(GET_PARAMETER_REQUEST));
+
+        verify(sharedCacheMock).putNotFound(PROPERTY_NAME);
+    }
+
+    @Test
+    public void testFailedCallIsNotPublished()
+    {
+        when(delegateMock.getParameter(GET_PARAMETER_REQUEST)).thenThrow(SdkClientException.create("Unable to reach the Parameter Store"));
+
+        Throwable failure = catchFailure(engine.getParameter(GET_PARAMETER_REQUEST));
+
+        assertThat(failure, is(instanceOf(SdkClientException.class)));
+        verify(sharedCacheMock, never()).putNotFound(anyString());
+        verify(sharedCacheMock, never()).putValue(anyString(), anyString(), anyLong(), anyBoolean());
+    }
+
+    private SharedParameterStoreCache buildSharedCache() throws Exception
+    {
+        return new SharedParameterStoreCache(temporaryFolder.getRoot().toPath().resolve("default.cache"),
+                                             4096,
+                                             60000L,
+                                             null);
+    }
+
+    private Throwable catchFailure(CompletableFuture<?> result)
+    {
+        try {
+            result.join();
+        } catch (CompletionException e) {
+            return e.getCause();
+        }
+        fail("The call was expected to fail");
+        return null;
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable failure)
+    {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(failure);
+        return future;
+    }
+}
@@ -0,0 +1,59 @@
+package com.coveo.configuration.parameterstore.event;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.context.properties.ConfigurationPropertiesBindingPostProcessor;
+import org.springframework.context.ApplicationContext;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConfigurationPropertiesRebindingListenerTest
+{
+    private static final String BEAN_NAME = "databaseProperties";
+    private static final String PATH = "/my-service/database";
+
+    @Mock
+    private ApplicationContext applicationContextMock;
+    @Mock
+    private ConfigurationPropertiesBindingPostProcessor bindingPostProcessorMock;
+
+    private final Object bean = new Object();
+    private ConfigurationPropertiesRebindingListener listener;
+
+    @Before
+    public void setUp()
+    {
+        when(applicationContextMock.getBean(ConfigurationPropertiesBindingPostProcessor.class)).thenReturn(bindingPostProcessorMock);
+        when(applicationContextMock.getBean(BEAN_NAME)).thenReturn(bean);
+
+        listener = new ConfigurationPropertiesRebindingListener(BEAN_NAME, PATH);
+        listener.setApplicationContext(applicationContextMock);
+    }
+
+    @Test
+    public void testIsOnlyInterestedInParametersUnderItsPaths()
+    {
+        assertThat(listener.isInterestedIn(PATH + "/password"), is(true));
+        assertThat(listener.isInterestedIn("/my-service/queue/url"), is(false));
+    }
+
+    @Test
+    public void testBeanIsBoundAgainOnChange()
+    {
+        listener.onParametersChanged(Collections.singletonList(new ParameterChange(PATH + "/password",
+                                                                                   ParameterChange.Type.UPDATED,
+                                                                                   1L,
+                                                                                   2L)));
+
+        verify(bindingPostProcessorMock).postProcessBeforeInitialization(bean, BEAN_NAME);
+    }
+}
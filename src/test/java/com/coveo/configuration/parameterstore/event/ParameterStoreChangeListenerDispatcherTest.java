@@ -0,0 +1,74 @@
+package com.coveo.configuration.parameterstore.event;
+
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.beans.factory.ListableBeanFactory;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ParameterStoreChangeListenerDispatcherTest
+{
+    private static final ParameterChange DATABASE_CHANGE = new ParameterChange("/my-service/database/password",
+                                                                               ParameterChange.Type.UPDATED,
+                                                                               1L,
+                                                                               2L);
+    private static final ParameterChange QUEUE_CHANGE = new ParameterChange("/my-service/queue/url",
+                                                                            ParameterChange.Type.ADDED,
+                                                                            null,
+                                                                            1L);
+
+    @Mock
+    private ListableBeanFactory beanFactoryMock;
+    @Mock
+    private ParameterStoreChangeListener databaseListenerMock;
+    @Mock
+    private ParameterStoreChangeListener cacheListenerMock;
+
+    private ParameterStoreChangeListenerDispatcher dispatcher;
+
+    @Before
+    public void setUp()
+    {
+        Map<String, ParameterStoreChangeListener> listeners = new LinkedHashMap<>();
+        listeners.put("databaseListener", databaseListenerMock);
+        listeners.put("cacheListener", cacheListenerMock);
+        when(beanFactoryMock.getBeansOfType(ParameterStoreChangeListener.class)).thenReturn(listeners);
+        when(databaseListenerMock.isInterestedIn(DATABASE_CHANGE.getName())).thenReturn(true);
+
+        dispatcher = new ParameterStoreChangeListenerDispatcher(beanFactoryMock);
+    }
+
+    @Test
+    public void testListenersOnlyReceiveTheChangesTheyAreInterestedIn()
+    {
+        dispatcher.onApplicationEvent(new ParameterStoreChangeEvent(this, Arrays.asList(DATABASE_CHANGE, QUEUE_CHANGE)));
+
+        verify(databaseListenerMock).onParametersChanged(Collections.singletonList(DATABASE_CHANGE));
+        verify(cacheListenerMock, never()).onParametersChanged(anyListOf(ParameterChange.class));
+    }
+
+    @Test
+    public void testFailingListenerDoesNotPreventOthersFromBeingCalled()
+    {
+        when(cacheListenerMock.isInterestedIn(DATABASE_CHANGE.getName())).thenReturn(true);
+        doThrow(new IllegalStateException()).when(databaseListenerMock)
+                                            .onParametersChanged(Collections.singletonList(DATABASE_CHANGE));
+
+        dispatcher.onApplicationEvent(new ParameterStoreChangeEvent(this, Collections.singletonList(DATABASE_CHANGE)));
+
+        verify(cacheListenerMock).onParametersChanged(Collections.singletonList(DATABASE_CHANGE));
+    }
+}
@@ -0,0 +1,89 @@
+package com.coveo.configuration.parameterstore.lifecycle;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.core.env.StandardEnvironment;
+
+public class ParameterStoreLifecycleTest
+{
+    private StandardEnvironment environment;
+    private ParameterStoreLifecycle lifecycle;
+    private List<String> closed;
+
+    @Before
+    public void setUp()
+    {
+        environment = new StandardEnvironment();
+        lifecycle = ParameterStoreLifecycle.forEnvironment(environment);
+        closed = new ArrayList<>();
+    }
+
+    @Test
+    public void testEnvironmentHasASingleLifecycle()
+    {
+        assertThat(ParameterStoreLifecycle.forEnvironment(environment), is(sameInstance(lifecycle)));
+    }
+
+    @Test
+    public void testActionsRunOnceInReverseOrder()
+    {
+        lifecycle.onClose(() -> closed.add("first"));
+        lifecycle.onClose(() -> closed.add("second"));
+
+        lifecycle.close();
+        lifecycle.close();
+
+        assertThat(closed, contains("second", "first"));
+    }
+
+    @Test
+    public void testFailedActionDoesNotPreventTheOthers()
+    {
+        lifecycle.onClose(() -> closed.add("first"));
+        lifecycle.onClose(() -> {
+            throw new IllegalStateException("Already stopped");
+        });
+
+        lifecycle.close();
+
+        assertThat(closed, contains("first"));
+    }
+
+    @Test
+    public void testActionRegisteredOnceClosedRunsRightAway()
+    {
+        lifecycle.close();
+
+        lifecycle.onClose(() -> closed.add("late"));
+
+        assertThat(closed, contains("late"));
+    }
+
+    @Test
+    public void testListenerClosesTheLifecycleWithTheContextOfTheEnvironment()
+    {
+        lifecycle.onClose(() -> closed.add("closed"));
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.setEnvironment(environment);
+        context.addApplicationListener(new ParameterStoreLifecycleListener(environment));
+        context.refresh();
+
+        StaticApplicationContext childContext = new StaticApplicationContext(context);
+        childContext.refresh();
+        childContext.close();
+        assertThat(closed, is(empty()));
+
+        context.close();
+        assertThat(closed, contains("closed"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.coveo.configuration.parameterstore.manifest;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ParameterStoreKeyManifestTest
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testKeysOfEveryManifestAreLoaded() throws IOException
+    {
+        File firstJar = writeManifest("# comment", "/my/first", "", "/my/shared");
+        File secondJar = writeManifest("/my/shared", "  /my/second  ");
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { firstJar.toURI().toURL(),
+                                                                         secondJar.toURI().toURL() },
+                                                             null)) {
+            assertThat(ParameterStoreKeyManifest.load(classLoader), contains("/my/first", "/my/shared", "/my/second"));
+        }
+    }
+
+    @Test
+    public void testNoKeyIsLoadedWithoutManifest() throws IOException
+    {
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { temporaryFolder.newFolder().toURI().toURL() },
+                                                             null)) {
+            assertThat(ParameterStoreKeyManifest.load(classLoader), is(empty()));
+        }
+    }
+
+    private File writeManifest(String... lines) throws IOException
+    {
+        File classpathRoot = temporaryFolder.newFolder();
+        File manifest = new File(classpathRoot, ParameterStoreKeyManifest.LOCATION);
+        manifest.getParentFile().mkdirs();
+        Files.write(manifest.toPath(), Arrays.asList(lines));
+        return classpathRoot;
+    }
+}
@@ -0,0 +1,119 @@
+package com.coveo.configuration.parameterstore.manifest;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ParameterStoreKeyProcessorTest
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File sourceDirectory;
+    private File classOutput;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        sourceDirectory = temporaryFolder.newFolder("src");
+        classOutput = temporaryFolder.newFolder("classes");
+    }
+
+    @Test
+    public void testKeysOfValueAnnotationsAndConfigurationFilesAreListed() throws IOException
+    {
+        write(new File(sourceDirectory, "MyComponent.java"),
+              "import org.springframework.beans.factory.annotation.Value;",
+              "public class MyComponent {",
+              "    @Value(\"${/my/field}\") private String field;",
+              "    public MyComponent(@Value(\"jdbc:${/my/host}/${my.database:${/my/database}}\") String url) {}",
+              "    @Value(\"${my.local.property}\") public void setLocal(String local) {}",
+              "}");
+        write(new File(classOutput, "application.properties"), "my.password=${/my/password}");
+        write(new File(classOutput, "config/application-prod.yml"), "my:", "  user: ${/my/user:admin}");
+        write(new File(classOutput, "other.properties"), "ignored=${/my/ignored}");
+
+        compile();
+
+        assertThat(readManifest(),
+                   contains("/my/database", "/my/field", "/my/host", "/my/password", "/my/user"));
+    }
+
+    @Test
+    public void testKeysOfConfigurationFilesInListedResourceDirectoriesAreListed() throws IOException
+    {
+        File resourceDirectory = temporaryFolder.newFolder("resources");
+        write(new File(sourceDirectory, "MyComponent.java"), "public class MyComponent {}");
+        write(new File(resourceDirectory, "application.properties"), "my.password=${/my/password}");
+        write(new File(resourceDirectory, "config/bootstrap.yml"), "my:", "  user: ${/my/user}");
+
+        compile("-A" + ParameterStoreKeyProcessor.RESOURCE_DIRECTORIES_OPTION + "=" + resourceDirectory.getPath());
+
+        assertThat(readManifest(), contains("/my/password", "/my/user"));
+    }
+
+    @Test
+    public void testNoManifestIsWrittenWithoutKeys() throws IOException
+    {
+        write(new File(sourceDirectory, "MyComponent.java"), "public class MyComponent {}");
+
+        compile();
+
+        assertThat(new File(classOutput, ParameterStoreKeyManifest.LOCATION).exists(), is(false));
+    }
+
+    private void compile(String... options) throws IOException
+    {
+        List<String> arguments = new ArrayList<>(Arrays.asList("-d",
+                                                               classOutput.getPath(),
+                                                               "-classpath",
+                                                               System.getProperty("java.class.path")));
+        arguments.addAll(Arrays.asList(options));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null,
+                                                                 fileManager,
+                                                                 null,
+                                                                 arguments,
+                                                                 null,
+                                                                 fileManager.getJavaFileObjects(new File(sourceDirectory,
+                                                                                                         "MyComponent.java")));
+            task.setProcessors(Collections.singletonList(new ParameterStoreKeyProcessor()));
+            assertThat(task.call(), is(true));
+        }
+    }
+
+    private Set<String> readManifest() throws IOException
+    {
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { classOutput.toURI().toURL() }, null)) {
+            return ParameterStoreKeyManifest.load(classLoader);
+        }
+    }
+
+    private static void write(File file, String... lines) throws IOException
+    {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), Arrays.asList(lines));
+    }
+}
@@ -0,0 +1,62 @@
+package com.coveo.configuration.parameterstore.metrics;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest
+{
+    @Test
+    public void testEmptyHistogram()
+    {
+        LatencySummary summary = new LatencyHistogram().summarize();
+
+        assertThat(summary.getCount(), is(0L));
+        assertThat(summary.getP99InMillis(), is(0L));
+    }
+
+    @Test
+    public void testPercentilesAreTheUpperBoundOfTheirBucket()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(7));
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(80));
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3000));
+
+        LatencySummary summary = histogram.summarize();
+
+        assertThat(summary.getCount(), is(100L));
+        assertThat(summary.getP50InMillis(), is(10L));
+        assertThat(summary.getP95InMillis(), is(100L));
+        assertThat(summary.getP99InMillis(), is(100L));
+        assertThat(summary.getMaxInMillis(), is(3000L));
+        assertThat(summary.getMeanInMillis(), is(closeTo(43.5, 0.01)));
+    }
+
+    @Test
+    public void testPercentileIsCappedByTheHighestLatency()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(12));
+
+        assertThat(histogram.summarize().getP99InMillis(), is(12L));
+    }
+
+    @Test
+    public void testLatenciesAboveTheLastBoundAreCounted()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.SECONDS.toNanos(60));
+
+        assertThat(histogram.summarize().getP50InMillis(), is(60000L));
+        assertThat(histogram.getTotalTimeInNanos(), is(TimeUnit.SECONDS.toNanos(60)));
+    }
+}
@@ -0,0 +1,118 @@
+package com.coveo.configuration.parameterstore.metrics;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParameterStoreMetricsTest
+{
+    private ParameterStoreMetrics metrics;
+
+    @Before
+    public void setUp()
+    {
+        metrics = new ParameterStoreMetrics();
+    }
+
+    @Test
+    public void testCallsAreCountedPerApi()
+    {
+        metrics.recordCall(ParameterStoreMetrics.GET_PARAMETER, "us-east-1", 1000);
+        metrics.recordCall(ParameterStoreMetrics.GET_PARAMETERS_BY_PATH, "us-east-1", 1000);
+        metrics.recordCall(ParameterStoreMetrics.GET_PARAMETER, "us-west-2", 1000);
+
+        assertThat(metrics.getCalls().get(ParameterStoreMetrics.GET_PARAMETER), is(2L));
+        assertThat(metrics.getCalls().get(ParameterStoreMetrics.GET_PARAMETERS_BY_PATH), is(1L));
+        assertThat(metrics.getCalls().get(ParameterStoreMetrics.DESCRIBE_PARAMETERS), is(0L));
+    }
+
+    @Test
+    public void testLatenciesAreKeptPerRegion()
+    {
+        metrics.recordCall(ParameterStoreMetrics.GET_PARAMETER, "us-west-2", TimeUnit.MILLISECONDS.toNanos(40));
+        metrics.recordCall(ParameterStoreMetrics.GET_PARAMETER, "us-east-1", TimeUnit.MILLISECONDS.toNanos(4));
+        metrics.recordCall(ParameterStoreMetrics.GET_PARAMETER, "us-east-1", TimeUnit.MILLISECONDS.toNanos(4));
+
+        assertThat(metrics.getLatencies().keySet(), contains("us-east-1", "us-west-2"));
+        assertThat(metrics.getLatencies().get("us-east-1").getCount(), is(2L));
+        assertThat(metrics.getLatencies().get("us-west-2").getMaxInMillis(), is(40L));
+    }
+
+    @Test
+    public void testRegionListenerIsToldAboutEveryRegionOnce()
+    {
+        List<String> regions = new ArrayList<>();
+        metrics.recordCall(ParameterStoreMetrics.GET_PARAMETER, "us-east-1", 1000);
+
+        metrics.addRegionListener(regions::add);
+        metrics.recordCall(ParameterStoreMetrics.GET_PARAMETER, "us-east-1", 1000);
+        metrics.recordCall(ParameterStoreMetrics.GET_PARAMETER, "us-west-2", 1000);
+        metrics.recordCall(ParameterStoreMetrics.GET_PARAMETER, "us-west-2", 1000);
+
+        assertThat(regions, contains("us-east-1", "us-west-2"));
+    }
+
+    @Test
+    public void testPostProcessingTimeAddsUp()
+    {
+        metrics.recordPostProcessing(TimeUnit.MILLISECONDS.toNanos(150));
+        metrics.recordPostProcessing(TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertThat(metrics.getPostProcessingTimeInMillis(), is(200L));
+    }
+
+    @Test
+    public void testHedgesAreCounted()
+    {
+        metrics.recordHedgeIssued();
+        metrics.recordHedgeIssued();
+        metrics.recordHedgeWon();
+
+        assertThat(metrics.getHedgesIssued(), is(2L));
+        assertThat(metrics.getHedgesWon(), is(1L));
+    }
+
+    @Test
+    public void testCircuitBreakerStatesAreKeptPerRegion()
+    {
+        List<String> regions = new ArrayList<>();
+        metrics.addCircuitBreakerListener(regions::add);
+
+        metrics.registerCircuitBreaker("us-west-2", () -> "OPEN");
+        metrics.registerCircuitBreaker("us-east-1", () -> "HALF_OPEN");
+        metrics.registerCircuitBreaker("us-east-1", () -> "CLOSED");
+
+        assertThat(metrics.getCircuitBreakerStates().keySet(), contains("us-east-1", "us-west-2"));
+        assertThat(metrics.getCircuitBreakerState("us-east-1"), is("CLOSED"));
+        assertThat(metrics.getCircuitBreakerState("us-west-2"), is("OPEN"));
+        assertThat(regions, contains("us-west-2", "us-east-1"));
+    }
+
+    @Test
+    public void testInstanceIsPublishedThroughJmx() throws Exception
+    {
+        ParameterStoreMetrics instance = ParameterStoreMetrics.getInstance();
+        long cacheHits = instance.getCacheHits();
+        instance.recordCacheHit();
+        instance.recordCall(ParameterStoreMetrics.GET_PARAMETER, "eu-west-1", 1000);
+
+        ObjectName objectName = new ObjectName(ParameterStoreMetrics.OBJECT_NAME);
+        assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, "CacheHits"), is(cacheHits + 1));
+        TabularData latencies = (TabularData) ManagementFactory.getPlatformMBeanServer().getAttribute(objectName,
+                                                                                                      "Latencies");
+        assertThat(latencies.containsKey(new Object[] { "eu-west-1" }), is(true));
+        assertThat(ParameterStoreMetrics.getInstance(), is(sameInstance(instance)));
+    }
+}
@@ -0,0 +1,122 @@
+package com.coveo.configuration.parameterstore.persistence;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.coveo.configuration.parameterstore.cache.ParameterStoreSnapshot;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+import software.amazon.awssdk.services.ssm.model.ParameterType;
+
+public class ParameterStoreSnapshotFileTest
+{
+    private static final SecretKey KEY = new SecretKeySpec(new byte[16], "AES");
+    private static final SecretKey OTHER_KEY = new SecretKeySpec(new byte[32], "AES");
+    private static final Instant SAVED_AT = Instant.ofEpochMilli(1500000000000L);
+    private static final String PATH = "/prod/my-service";
+    private static final String SECRET_VALUE = "my-very-secret-password";
+    private static final Parameter PARAMETER = Parameter.builder()
+                                                        .name("/prod/my-service/db/password")
+                                                        .value(SECRET_VALUE)
+                                                        .type(ParameterType.SECURE_STRING)
+                                                        .version(3L)
+                                                        .lastModifiedDate(SAVED_AT)
+                                                        .build();
+    private static final Parameter OTHER_PARAMETER = Parameter.builder()
+                                                              .name("/shared/feature")
+                                                              .value("enabled")
+                                                              .build();
+    private static final String MISSING_PARAMETER_NAME = "/shared/missing";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path path;
+    private ParameterStoreSnapshot snapshot;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        path = temporaryFolder.getRoot().toPath().resolve("snapshots").resolve("default.snapshot");
+        snapshot = ParameterStoreSnapshot.EMPTY.withPaths(Collections.singletonList(PATH),
+                                                          Collections.singletonList(PARAMETER))
+                                               .withParameters(Collections.singletonList(OTHER_PARAMETER),
+                                                               Collections.singletonList(MISSING_PARAMETER_NAME));
+    }
+
+    @Test
+    public void testWrittenSnapshotIsReadBack()
+    {
+        ParameterStoreSnapshotFile snapshotFile = new ParameterStoreSnapshotFile(path, KEY);
+
+        snapshotFile.write(snapshot, SAVED_AT);
+        ParameterStoreSnapshotFile.SavedSnapshot savedSnapshot = snapshotFile.read();
+
+        assertThat(savedSnapshot.getSavedAt(), is(SAVED_AT));
+        assertThat(savedSnapshot.getSnapshot().getPaths(), contains(PATH));
+        assertThat(savedSnapshot.getSnapshot().getParameters().get(PARAMETER.name()), is(PARAMETER));
+        assertThat(savedSnapshot.getSnapshot().getParameters().get(OTHER_PARAMETER.name()), is(OTHER_PARAMETER));
+        assertThat(savedSnapshot.getSnapshot().getMissingParameterNames(), contains(MISSING_PARAMETER_NAME));
+    }
+
+    @Test
+    public void testValuesAreNotWrittenInClear() throws Exception
+    {
+        new ParameterStoreSnapshotFile(path, KEY).write(snapshot, SAVED_AT);
+
+        String content = new String(Files.readAllBytes(path), StandardCharsets.ISO_8859_1);
+
+        assertThat(content.contains(SECRET_VALUE), is(false));
+        assertThat(content.contains(PARAMETER.name()), is(false));
+    }
+
+    @Test
+    public void testMissingFileIsReadAsNull()
+    {
+        assertThat(new ParameterStoreSnapshotFile(path, KEY).read(), is(nullValue()));
+    }
+
+    @Test
+    public void testFileEncryptedWithAnotherKeyIsIgnored()
+    {
+        new ParameterStoreSnapshotFile(path, KEY).write(snapshot, SAVED_AT);
+
+        assertThat(new ParameterStoreSnapshotFile(path, OTHER_KEY).read(), is(nullValue()));
+    }
+
+    @Test
+    public void testTamperedFileIsIgnored() throws Exception
+    {
+        new ParameterStoreSnapshotFile(path, KEY).write(snapshot, SAVED_AT);
+        byte[] content = Files.readAllBytes(path);
+        content[content.length - 1] ^= 1;
+        Files.write(path, content);
+
+        assertThat(new ParameterStoreSnapshotFile(path, KEY).read(), is(nullValue()));
+    }
+
+    @Test
+    public void testFileWithoutTheExpectedHeaderIsIgnored() throws Exception
+    {
+        Files.createDirectories(path.getParent());
+        Files.write(path, Arrays.asList("not", "a", "snapshot"));
+
+        assertThat(new ParameterStoreSnapshotFile(path, KEY).read(), is(nullValue()));
+    }
+}
@@ -0,0 +1,127 @@
+package com.coveo.configuration.parameterstore.persistence;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.coveo.configuration.parameterstore.cache.ParameterStoreSnapshot;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ParameterStoreSnapshotWriterTest
+{
+    private static final long DELAY_IN_MILLIS = 1000L;
+    private static final Instant NOW = Instant.ofEpochMilli(1500000000000L);
+
+    @Mock
+    private ParameterStoreSnapshotFile snapshotFileMock;
+    @Mock
+    private ScheduledExecutorService schedulerMock;
+
+    private ParameterStoreSnapshotWriter writer;
+
+    @Before
+    public void setUp()
+    {
+        writer = new ParameterStoreSnapshotWriter(snapshotFileMock,
+                                                  schedulerMock,
+                                                  DELAY_IN_MILLIS,
+                                                  Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void testSnapshotsGivenWithinTheDelayAreWrittenOnce()
+    {
+        ParameterStoreSnapshot first = snapshotOf("/first");
+        ParameterStoreSnapshot latest = snapshotOf("/latest");
+
+        writer.accept(first);
+        writer.accept(latest);
+        writer.writePendingSnapshot();
+
+        verify(schedulerMock, times(1)).schedule(any(Runnable.class), eq(DELAY_IN_MILLIS), eq(TimeUnit.MILLISECONDS));
+        verify(snapshotFileMock).write(latest, NOW);
+        verify(snapshotFileMock, never()).write(first, NOW);
+    }
+
+    @Test
+    public void testSnapshotGivenAfterAWriteIsScheduledAgain()
+    {
+        writer.accept(snapshotOf("/first"));
+        writer.writePendingSnapshot();
+
+        writer.accept(snapshotOf("/second"));
+
+        verify(schedulerMock, times(2)).schedule(any(Runnable.class), eq(DELAY_IN_MILLIS), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testResolvedParametersAreWrittenAlongWithTheSnapshot()
+    {
+        writer.accept(snapshotOf("/prefetched"));
+        writer.acceptResolved("/resolved", Parameter.builder().name("/resolved").value("value").build());
+        writer.acceptResolved("/missing", null);
+        writer.writePendingSnapshot();
+
+        ArgumentCaptor<ParameterStoreSnapshot> snapshotCaptor = ArgumentCaptor.forClass(ParameterStoreSnapshot.class);
+        verify(schedulerMock, times(1)).schedule(any(Runnable.class), eq(DELAY_IN_MILLIS), eq(TimeUnit.MILLISECONDS));
+        verify(snapshotFileMock).write(snapshotCaptor.capture(), eq(NOW));
+        assertThat(snapshotCaptor.getValue().get("/prefetched").getValue(), is("value"));
+        assertThat(snapshotCaptor.getValue().get("/resolved").getValue(), is("value"));
+        assertThat(snapshotCaptor.getValue().get("/missing").isFound(), is(false));
+    }
+
+    @Test
+    public void testResolvedParameterThatWentMissingIsNoLongerWritten()
+    {
+        writer.acceptResolved("/resolved", Parameter.builder().name("/resolved").value("value").build());
+        writer.acceptResolved("/resolved", null);
+        writer.writePendingSnapshot();
+
+        ArgumentCaptor<ParameterStoreSnapshot> snapshotCaptor = ArgumentCaptor.forClass(ParameterStoreSnapshot.class);
+        verify(snapshotFileMock).write(snapshotCaptor.capture(), eq(NOW));
+        assertThat(snapshotCaptor.getValue().get("/resolved").getValue(), is(nullValue()));
+    }
+
+    @Test
+    public void testPendingSnapshotIsWrittenWhenClosed()
+    {
+        ParameterStoreSnapshot snapshot = snapshotOf("/pending");
+        writer.accept(snapshot);
+
+        writer.close();
+        writer.accept(snapshotOf("/afterClose"));
+
+        verify(snapshotFileMock).write(snapshot, NOW);
+        verify(schedulerMock).shutdown();
+        verify(schedulerMock, times(1)).schedule(any(Runnable.class), eq(DELAY_IN_MILLIS), eq(TimeUnit.MILLISECONDS));
+    }
+
+    private ParameterStoreSnapshot snapshotOf(String name)
+    {
+        return ParameterStoreSnapshot.EMPTY.withParameters(Collections.singletonList(Parameter.builder()
+                                                                                              .name(name)
+                                                                                              .value("value")
+                                                                                              .build()),
+                                                           Collections.emptyList());
+    }
+}
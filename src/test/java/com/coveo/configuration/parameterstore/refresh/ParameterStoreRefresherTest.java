@@ -0,0 +1,137 @@
+package com.coveo.configuration.parameterstore.refresh;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.coveo.configuration.parameterstore.ParameterStoreSource;
+import com.coveo.configuration.parameterstore.exception.ParameterStoreError;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ParameterStoreRefresherTest
+{
+    private static final long INTERVAL_IN_MILLIS = 1000L;
+    private static final long JITTER_IN_MILLIS = 100L;
+
+    @Mock
+    private ParameterStoreSource parameterStoreSourceMock;
+    @Mock
+    private ScheduledExecutorService schedulerMock;
+
+    private final Executor fetchExecutor = Runnable::run;
+
+    @Test
+    public void testStartSchedulesFirstRefresh()
+    {
+        ParameterStoreRefresher refresher = new ParameterStoreRefresher(parameterStoreSourceMock,
+                                                                        schedulerMock,
+                                                                        fetchExecutor,
+                                                                        INTERVAL_IN_MILLIS,
+                                                                        0L,
+                                                                        false);
+
+        refresher.start();
+
+        verify(schedulerMock).schedule(any(Runnable.class), eq(INTERVAL_IN_MILLIS), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testRefreshRefreshesSourceAndSchedulesNextOne()
+    {
+        ParameterStoreRefresher refresher = new ParameterStoreRefresher(parameterStoreSourceMock,
+                                                                        schedulerMock,
+                                                                        fetchExecutor,
+                                                                        INTERVAL_IN_MILLIS,
+                                                                        0L,
+                                                                        false);
+
+        refresher.refresh();
+
+        verify(parameterStoreSourceMock).refresh(fetchExecutor);
+        verify(schedulerMock).schedule(any(Runnable.class), eq(INTERVAL_IN_MILLIS), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testIncrementalRefreshOnlyRefreshesChangedParameters()
+    {
+        ParameterStoreRefresher refresher = new ParameterStoreRefresher(parameterStoreSourceMock,
+                                                                        schedulerMock,
+                                                                        fetchExecutor,
+                                                                        INTERVAL_IN_MILLIS,
+                                                                        0L,
+                                                                        true);
+
+        refresher.refresh();
+
+        verify(parameterStoreSourceMock).refreshChanged(fetchExecutor);
+        verify(parameterStoreSourceMock, never()).refresh(fetchExecutor);
+    }
+
+    @Test
+    public void testFailedRefreshIsRetriedAtNextInterval()
+    {
+        doThrow(new ParameterStoreError("/my-service", new RuntimeException())).when(parameterStoreSourceMock)
+                                                                               .refresh(fetchExecutor);
+        ParameterStoreRefresher refresher = new ParameterStoreRefresher(parameterStoreSourceMock,
+                                                                        schedulerMock,
+                                                                        fetchExecutor,
+                                                                        INTERVAL_IN_MILLIS,
+                                                                        0L,
+                                                                        false);
+
+        refresher.refresh();
+
+        verify(schedulerMock).schedule(any(Runnable.class), eq(INTERVAL_IN_MILLIS), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testNoRefreshIsScheduledOnceStopped()
+    {
+        ParameterStoreRefresher refresher = new ParameterStoreRefresher(parameterStoreSourceMock,
+                                                                        schedulerMock,
+                                                                        fetchExecutor,
+                                                                        INTERVAL_IN_MILLIS,
+                                                                        0L,
+                                                                        false);
+        refresher.stop();
+
+        refresher.refresh();
+
+        verify(schedulerMock, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        verify(parameterStoreSourceMock, times(1)).refresh(fetchExecutor);
+    }
+
+    @Test
+    public void testJitterIsAddedToInterval()
+    {
+        ParameterStoreRefresher refresher = new ParameterStoreRefresher(parameterStoreSourceMock,
+                                                                        schedulerMock,
+                                                                        fetchExecutor,
+                                                                        INTERVAL_IN_MILLIS,
+                                                                        JITTER_IN_MILLIS,
+                                                                        false);
+
+        for (int i = 0; i < 100; i++) {
+            long delay = refresher.getNextDelayInMillis();
+            assertThat(delay, is(greaterThanOrEqualTo(INTERVAL_IN_MILLIS)));
+            assertThat(delay, is(lessThanOrEqualTo(INTERVAL_IN_MILLIS + JITTER_IN_MILLIS)));
+        }
+    }
+}
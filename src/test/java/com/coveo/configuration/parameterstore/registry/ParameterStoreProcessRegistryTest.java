@@ -0,0 +1,115 @@
+package com.coveo.configuration.parameterstore.registry;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.coveo.configuration.parameterstore.cache.ParameterStoreCache;
+import com.coveo.configuration.parameterstore.cache.ParameterStoreSnapshot;
+
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ParameterStoreProcessRegistryTest
+{
+    private static final String KEY = "default|us-east-1||AKIA1";
+    private static final String OTHER_KEY = "default|us-east-1||AKIA2";
+    private static final long MAX_AGE_IN_MILLIS = 1000L;
+    private static final int CACHE_MAX_SIZE = 10;
+    private static final ParameterStoreSnapshot SNAPSHOT = ParameterStoreSnapshot.EMPTY.withParameters(Collections.singletonList(Parameter.builder()
+                                                                                                                                          .name("/my/param")
+                                                                                                                                          .value("value")
+                                                                                                                                          .build()),
+                                                                                                       Collections.emptyList());
+
+    @Mock
+    private Clock clockMock;
+    @Mock
+    private SsmClient ssmClientMock;
+
+    private ParameterStoreProcessRegistry registry;
+
+    @Before
+    public void setUp()
+    {
+        when(clockMock.instant()).thenReturn(Instant.ofEpochMilli(0L));
+
+        registry = new ParameterStoreProcessRegistry(clockMock);
+    }
+
+    @Test
+    public void testClientIsBuiltOncePerKey()
+    {
+        SsmClient client = registry.getClient(KEY, () -> ssmClientMock);
+        SsmClient sameClient = registry.getClient(KEY, () -> mock(SsmClient.class));
+        SsmClient otherClient = registry.getClient(OTHER_KEY, () -> mock(SsmClient.class));
+
+        assertThat(client, is(sameInstance(ssmClientMock)));
+        assertThat(sameClient, is(sameInstance(ssmClientMock)));
+        assertThat(otherClient, is(not(sameInstance(ssmClientMock))));
+    }
+
+    @Test
+    public void testCacheIsBuiltOncePerKey()
+    {
+        ParameterStoreCache cache = new ParameterStoreCache(MAX_AGE_IN_MILLIS, CACHE_MAX_SIZE);
+
+        assertThat(registry.getCache(KEY, () -> cache), is(sameInstance(cache)));
+        assertThat(registry.getCache(KEY, () -> new ParameterStoreCache(MAX_AGE_IN_MILLIS, CACHE_MAX_SIZE)),
+                   is(sameInstance(cache)));
+        assertThat(registry.getCache(OTHER_KEY, () -> new ParameterStoreCache(MAX_AGE_IN_MILLIS, CACHE_MAX_SIZE)),
+                   is(not(sameInstance(cache))));
+    }
+
+    @Test
+    public void testSnapshotIsServedUntilItIsTooOld()
+    {
+        registry.putSnapshot(KEY, SNAPSHOT);
+
+        when(clockMock.instant()).thenReturn(Instant.ofEpochMilli(MAX_AGE_IN_MILLIS));
+        assertThat(registry.getSnapshot(KEY, MAX_AGE_IN_MILLIS), is(sameInstance(SNAPSHOT)));
+        assertThat(registry.getSnapshot(OTHER_KEY, MAX_AGE_IN_MILLIS), is(nullValue()));
+
+        when(clockMock.instant()).thenReturn(Instant.ofEpochMilli(MAX_AGE_IN_MILLIS + 1));
+        assertThat(registry.getSnapshot(KEY, MAX_AGE_IN_MILLIS), is(nullValue()));
+    }
+
+    @Test
+    public void testShutdownClosesClientsAndForgetsCachesAndSnapshots()
+    {
+        SsmClient failingClientMock = mock(SsmClient.class);
+        doThrow(new IllegalStateException()).when(failingClientMock).close();
+        registry.getClient(OTHER_KEY, () -> failingClientMock);
+        registry.getClient(KEY, () -> ssmClientMock);
+        registry.putSnapshot(KEY, SNAPSHOT);
+        ParameterStoreCache cache = registry.getCache(KEY,
+                                                      () -> new ParameterStoreCache(MAX_AGE_IN_MILLIS, CACHE_MAX_SIZE));
+
+        registry.shutdown();
+
+        verify(failingClientMock).close();
+        verify(ssmClientMock).close();
+        assertThat(registry.getSnapshot(KEY, MAX_AGE_IN_MILLIS), is(nullValue()));
+        SsmClient newClient = mock(SsmClient.class);
+        assertThat(registry.getClient(KEY, () -> newClient), is(sameInstance(newClient)));
+        assertThat(registry.getCache(KEY, () -> new ParameterStoreCache(MAX_AGE_IN_MILLIS, CACHE_MAX_SIZE)),
+                   is(not(sameInstance(cache))));
+    }
+}
@@ -1,5 +1,8 @@
 package com.coveo.configuration.parameterstore.strategy;
 
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.StringEndsWith.endsWith;
 import static org.junit.Assert.assertThat;
@@ -8,6 +11,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -20,7 +25,10 @@ import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.MutablePropertySources;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.coveo.configuration.parameterstore.HedgedMultiRegionParameterStorePropertySource;
+import com.coveo.configuration.parameterstore.MultiRegionParameterStorePropertySource;
 import com.coveo.configuration.parameterstore.ParameterStorePropertySource;
+import com.coveo.configuration.parameterstore.ParameterStoreSource;
 import com.coveo.configuration.parameterstore.ParameterStorePropertySourceConfigurationProperties;
 import software.amazon.awssdk.services.ssm.SsmClient;
 
@@ -38,6 +46,8 @@ public class MultiRegionParameterStorePropertySourceConfigurationStrategyTest
 
     @Captor
     private ArgumentCaptor<ParameterStorePropertySource> parameterStorePropertySourceArgumentCaptor;
+    @Captor
+    private ArgumentCaptor<MultiRegionParameterStorePropertySource> multiRegionParameterStorePropertySourceArgumentCaptor;
 
     private MultiRegionParameterStorePropertySourceConfigurationStrategy strategy;
 
@@ -104,6 +114,65 @@ public class MultiRegionParameterStorePropertySourceConfigurationStrategyTest
                                            Boolean.TRUE);
     }
 
+    @Test
+    public void testParallelShouldAddSingleMultiRegionPropertySourceWhereOnlyLastRegionHaltsBoot()
+    {
+        when(configurableEnvironmentMock.getProperty(ParameterStorePropertySourceConfigurationProperties.HALT_BOOT,
+                                                     Boolean.class,
+                                                     Boolean.FALSE)).thenReturn(Boolean.TRUE);
+        when(configurableEnvironmentMock.getProperty(ParameterStorePropertySourceConfigurationProperties.MULTI_REGION_PARALLEL,
+                                                     Boolean.class)).thenReturn(Boolean.TRUE);
+
+        strategy.configureParameterStorePropertySources(configurableEnvironmentMock, SsmClient.builder());
+
+        verify(mutablePropertySourcesMock).addFirst(multiRegionParameterStorePropertySourceArgumentCaptor.capture());
+
+        List<ParameterStoreSource> sources = multiRegionParameterStorePropertySourceArgumentCaptor.getValue()
+                                                                                                   .getSource();
+        assertThat(sources.size(), is(3));
+        assertThat(ReflectionTestUtils.getField(sources.get(0), "haltBoot"), is(Boolean.FALSE));
+        assertThat(ReflectionTestUtils.getField(sources.get(1), "haltBoot"), is(Boolean.FALSE));
+        assertThat(ReflectionTestUtils.getField(sources.get(2), "haltBoot"), is(Boolean.TRUE));
+    }
+
+    @Test
+    public void testHedgingShouldAddSingleHedgedMultiRegionPropertySource()
+    {
+        when(configurableEnvironmentMock.getProperty(ParameterStorePropertySourceConfigurationProperties.MULTI_REGION_HEDGING_ENABLED,
+                                                     Boolean.class)).thenReturn(Boolean.TRUE);
+        when(configurableEnvironmentMock.getProperty(ParameterStorePropertySourceConfigurationProperties.MULTI_REGION_HEDGING_DELAY_IN_MILLIS,
+                                                     Long.class,
+                                                     100L)).thenReturn(100L);
+
+        strategy.configureParameterStorePropertySources(configurableEnvironmentMock, SsmClient.builder());
+
+        verify(mutablePropertySourcesMock).addFirst(multiRegionParameterStorePropertySourceArgumentCaptor.capture());
+        assertThat(multiRegionParameterStorePropertySourceArgumentCaptor.getValue(),
+                   is(instanceOf(HedgedMultiRegionParameterStorePropertySource.class)));
+        assertThat(multiRegionParameterStorePropertySourceArgumentCaptor.getValue().getSource().size(), is(3));
+    }
+
+    @Test
+    public void testHedgesAreIssuedOnAnotherExecutorThanTheCalls()
+    {
+        when(configurableEnvironmentMock.getProperty(ParameterStorePropertySourceConfigurationProperties.MULTI_REGION_HEDGING_ENABLED,
+                                                     Boolean.class)).thenReturn(Boolean.TRUE);
+        when(configurableEnvironmentMock.getProperty(ParameterStorePropertySourceConfigurationProperties.MULTI_REGION_HEDGING_DELAY_IN_MILLIS,
+                                                     Long.class,
+                                                     100L)).thenReturn(100L);
+
+        strategy.configureParameterStorePropertySources(configurableEnvironmentMock, SsmClient.builder());
+
+        verify(mutablePropertySourcesMock).addFirst(multiRegionParameterStorePropertySourceArgumentCaptor.capture());
+        MultiRegionParameterStorePropertySource propertySource = multiRegionParameterStorePropertySourceArgumentCaptor.getValue();
+        Object callExecutor = ReflectionTestUtils.getField(ReflectionTestUtils.getField(propertySource.getSource().get(0),
+                                                                                        "engine"),
+                                                           "callExecutor");
+        assertThat(callExecutor, is(not(instanceOf(ScheduledExecutorService.class))));
+        assertThat(((ThreadPoolExecutor) callExecutor).getMaximumPoolSize(), is(Integer.MAX_VALUE));
+        assertThat(ReflectionTestUtils.getField(propertySource, "scheduler"), is(not(sameInstance(callExecutor))));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testShouldThrowWhenRegionsIsEmpty()
     {
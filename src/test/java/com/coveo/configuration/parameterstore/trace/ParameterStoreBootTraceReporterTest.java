@@ -0,0 +1,87 @@
+package com.coveo.configuration.parameterstore.trace;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.StandardEnvironment;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ParameterStoreBootTraceReporterTest
+{
+    private static final String SLOW_KEY = "/my/slow";
+    private static final String FAST_KEY = "/my/fast";
+    private static final String PREFETCHED_KEY = "/my/prefetched";
+
+    @Mock
+    private ConfigurableApplicationContext applicationContextMock;
+
+    private ParameterStoreBootTrace bootTrace;
+    private ParameterStoreBootTraceReporter reporter;
+
+    @Before
+    public void setUp()
+    {
+        bootTrace = new ParameterStoreBootTrace();
+        bootTrace.record("us-east-1", SLOW_KEY, true, ParameterStoreLookupOutcome.FOUND, TimeUnit.MILLISECONDS.toNanos(200));
+        bootTrace.record("us-east-1", FAST_KEY, true, ParameterStoreLookupOutcome.NOT_FOUND, TimeUnit.MILLISECONDS.toNanos(20));
+        bootTrace.record("us-east-1", FAST_KEY, true, ParameterStoreLookupOutcome.NOT_FOUND, TimeUnit.MILLISECONDS.toNanos(20));
+        for (int i = 0; i < 3; i++) {
+            bootTrace.record("us-east-1", PREFETCHED_KEY, false, ParameterStoreLookupOutcome.FOUND, 1000);
+        }
+        reporter = new ParameterStoreBootTraceReporter(bootTrace, 1);
+    }
+
+    @Test
+    public void testSummaryTotalsTheTimeSpentFetching()
+    {
+        String summary = reporter.formatSummary(Collections.emptyMap());
+
+        assertThat(summary, containsString("lookups=6 keys=3 fetches=3 fetchTimeInMillis=240.0"));
+    }
+
+    @Test
+    public void testSummaryListsTheSlowestKeysWithTheirReferences()
+    {
+        String summary = reporter.formatSummary(Collections.singletonMap(SLOW_KEY,
+                                                                         Collections.singletonList("my.property (application)")));
+
+        assertThat(summary,
+                   containsString("key=/my/slow region=us-east-1 fetchTimeInMillis=200.0 maxFetchTimeInMillis=200.0 retries=0 outcome=FOUND referencedBy=[my.property (application)]"));
+        assertThat(summary, not(containsString("key=/my/fast region=us-east-1 fetchTimeInMillis")));
+    }
+
+    @Test
+    public void testSummaryCountsTheLookupsOfEveryKey()
+    {
+        String summary = reporter.formatSummary(Collections.emptyMap());
+
+        assertThat(summary.indexOf("key=/my/prefetched region=us-east-1 lookups=3 fetches=0"),
+                   is(lessThan(summary.indexOf("key=/my/fast region=us-east-1 lookups=2 fetches=2"))));
+        assertThat(summary, containsString("key=/my/slow region=us-east-1 lookups=1 fetches=1"));
+    }
+
+    @Test
+    public void testTraceIsStoppedOnceTheApplicationIsReady()
+    {
+        when(applicationContextMock.getEnvironment()).thenReturn(new StandardEnvironment());
+
+        reporter.onApplicationEvent(new ApplicationReadyEvent(new SpringApplication(), new String[0], applicationContextMock));
+
+        assertThat(bootTrace.isStopped(), is(true));
+    }
+}
@@ -0,0 +1,86 @@
+package com.coveo.configuration.parameterstore.trace;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.env.StandardEnvironment;
+
+public class ParameterStoreBootTraceTest
+{
+    private static final String KEY = "/my/key";
+
+    private ParameterStoreBootTrace bootTrace;
+
+    @Before
+    public void setUp()
+    {
+        bootTrace = new ParameterStoreBootTrace();
+    }
+
+    @Test
+    public void testLookupsAreAggregatedPerRegionAndKey()
+    {
+        bootTrace.record("us-east-1", KEY, true, ParameterStoreLookupOutcome.FOUND, TimeUnit.MILLISECONDS.toNanos(30));
+        bootTrace.record("us-east-1", KEY, false, ParameterStoreLookupOutcome.FOUND, TimeUnit.MILLISECONDS.toNanos(1));
+        bootTrace.record("us-east-1", KEY, true, ParameterStoreLookupOutcome.FAILED, TimeUnit.MILLISECONDS.toNanos(10));
+        bootTrace.record("us-west-2", KEY, true, ParameterStoreLookupOutcome.FOUND, TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertThat(bootTrace.getKeyTraces(), hasSize(2));
+        ParameterStoreKeyTrace keyTrace = bootTrace.getKeyTraces()
+                                                   .stream()
+                                                   .filter(trace -> trace.getRegion().equals("us-east-1"))
+                                                   .findFirst()
+                                                   .get();
+        assertThat(keyTrace.getLookups(), is(3));
+        assertThat(keyTrace.getFetches(), is(2));
+        assertThat(keyTrace.getFetchTimeInNanos(), is(TimeUnit.MILLISECONDS.toNanos(40)));
+        assertThat(keyTrace.getMaxFetchTimeInNanos(), is(TimeUnit.MILLISECONDS.toNanos(30)));
+        assertThat(keyTrace.getLastOutcome(), is(ParameterStoreLookupOutcome.FAILED));
+    }
+
+    @Test
+    public void testRetriesAreAddedToTheNextFetchOfTheKey()
+    {
+        bootTrace.recordRetry(KEY);
+        bootTrace.recordRetry(KEY);
+        bootTrace.record("us-east-1", KEY, false, ParameterStoreLookupOutcome.FOUND, 1000);
+        bootTrace.record("us-east-1", KEY, true, ParameterStoreLookupOutcome.FOUND, 1000);
+        bootTrace.record("us-east-1", KEY, true, ParameterStoreLookupOutcome.FOUND, 1000);
+
+        assertThat(bootTrace.getKeyTraces().get(0).getRetries(), is(2));
+    }
+
+    @Test
+    public void testNothingIsRecordedOnceStopped()
+    {
+        bootTrace.stop();
+        bootTrace.recordRetry(KEY);
+        bootTrace.record("us-east-1", KEY, true, ParameterStoreLookupOutcome.FOUND, 1000);
+
+        assertThat(bootTrace.isStopped(), is(true));
+        assertThat(bootTrace.getKeyTraces(), is(empty()));
+    }
+
+    @Test
+    public void testEachEnvironmentHasItsOwnTraceUntilItIsStopped()
+    {
+        StandardEnvironment environment = new StandardEnvironment();
+        ParameterStoreBootTrace environmentTrace = ParameterStoreBootTrace.forEnvironment(environment);
+
+        assertThat(ParameterStoreBootTrace.forEnvironment(environment), is(sameInstance(environmentTrace)));
+        assertThat(ParameterStoreBootTrace.forEnvironment(new StandardEnvironment()),
+                   is(not(sameInstance(environmentTrace))));
+
+        environmentTrace.stop();
+
+        assertThat(ParameterStoreBootTrace.forEnvironment(environment), is(not(sameInstance(environmentTrace))));
+    }
+}
@@ -0,0 +1,145 @@
+package com.coveo.configuration.parameterstore.warmup;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.mock.env.MockEnvironment;
+
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.regions.providers.AwsRegionProvider;
+import software.amazon.awssdk.services.ssm.SsmClientBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ParameterStoreWarmUpTest
+{
+    private static final Region REGION = Region.of("us-east-1");
+    private static final String CUSTOM_ENDPOINT = "http://localhost:4583";
+
+    @Mock
+    private AwsRegionProvider regionProviderMock;
+    @Mock
+    private AwsCredentialsProvider credentialsProviderMock;
+    @Mock
+    private SdkHttpClient httpClientMock;
+    @Mock
+    private ExecutableHttpRequest executableHttpRequestMock;
+    @Mock
+    private SsmClientBuilder ssmClientBuilderMock;
+
+    private ByteArrayInputStream responseBody;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        responseBody = new ByteArrayInputStream(new byte[128]);
+        when(regionProviderMock.getRegion()).thenReturn(REGION);
+        when(httpClientMock.prepareRequest(any(HttpExecuteRequest.class))).thenReturn(executableHttpRequestMock);
+        when(executableHttpRequestMock.call()).thenReturn(HttpExecuteResponse.builder()
+                                                                             .response(SdkHttpResponse.builder()
+                                                                                                      .statusCode(404)
+                                                                                                      .build())
+                                                                             .responseBody(AbortableInputStream.create(responseBody))
+                                                                             .build());
+        when(ssmClientBuilderMock.region(any(Region.class))).thenReturn(ssmClientBuilderMock);
+        when(ssmClientBuilderMock.credentialsProvider(any(AwsCredentialsProvider.class))).thenReturn(ssmClientBuilderMock);
+        when(ssmClientBuilderMock.httpClient(any(SdkHttpClient.class))).thenReturn(ssmClientBuilderMock);
+    }
+
+    @Test
+    public void testBuilderIsGivenWhatWasWarmedUp()
+    {
+        ParameterStoreWarmUp warmUp = new ParameterStoreWarmUp(regionProviderMock,
+                                                               credentialsProviderMock,
+                                                               () -> httpClientMock,
+                                                               CUSTOM_ENDPOINT);
+
+        warmUp.warmUp();
+        warmUp.configure(ssmClientBuilderMock, 1000L);
+
+        verify(credentialsProviderMock).resolveCredentials();
+        assertThat(captureWarmUpUri(), is(URI.create(CUSTOM_ENDPOINT)));
+        assertThat(responseBody.available(), is(0));
+        verify(ssmClientBuilderMock).region(REGION);
+        verify(ssmClientBuilderMock).credentialsProvider(credentialsProviderMock);
+        verify(ssmClientBuilderMock).httpClient(httpClientMock);
+    }
+
+    @Test
+    public void testEndpointOfTheRegionIsConnectedToWithoutCustomEndpoint()
+    {
+        ParameterStoreWarmUp warmUp = new ParameterStoreWarmUp(regionProviderMock,
+                                                               credentialsProviderMock,
+                                                               () -> httpClientMock,
+                                                               null);
+
+        warmUp.warmUp();
+
+        assertThat(captureWarmUpUri(), is(URI.create("https://ssm.us-east-1.amazonaws.com")));
+    }
+
+    @Test
+    public void testBuilderIsLeftAsIsWhenWarmUpFailed()
+    {
+        when(regionProviderMock.getRegion()).thenThrow(SdkClientException.create("Unable to load region"));
+        ParameterStoreWarmUp warmUp = new ParameterStoreWarmUp(regionProviderMock,
+                                                               credentialsProviderMock,
+                                                               () -> httpClientMock,
+                                                               CUSTOM_ENDPOINT);
+
+        warmUp.warmUp();
+        warmUp.configure(ssmClientBuilderMock, 1000L);
+
+        verifyZeroInteractions(ssmClientBuilderMock, httpClientMock);
+    }
+
+    @Test
+    public void testBuilderIsLeftAsIsWhenWarmUpDoesNotEndInTime()
+    {
+        ParameterStoreWarmUp warmUp = new ParameterStoreWarmUp(regionProviderMock,
+                                                               credentialsProviderMock,
+                                                               () -> httpClientMock,
+                                                               CUSTOM_ENDPOINT);
+
+        warmUp.configure(ssmClientBuilderMock, 1L);
+
+        verifyZeroInteractions(ssmClientBuilderMock);
+    }
+
+    @Test
+    public void testNothingIsStartedByDefault()
+    {
+        ParameterStoreWarmUp.startIfEnabled(new MockEnvironment());
+
+        assertThat(ParameterStoreWarmUp.getStarted(), is(nullValue()));
+    }
+
+    private URI captureWarmUpUri()
+    {
+        ArgumentCaptor<HttpExecuteRequest> requestCaptor = ArgumentCaptor.forClass(HttpExecuteRequest.class);
+        verify(httpClientMock).prepareRequest(requestCaptor.capture());
+        return requestCaptor.getValue().httpRequest().getUri();
+    }
+}